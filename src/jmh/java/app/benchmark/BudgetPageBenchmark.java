@@ -0,0 +1,44 @@
+package app.benchmark;
+
+import app.budget.service.BudgetService;
+import app.user.model.User;
+import app.web.dto.BudgetPageData;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.YearMonth;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BudgetService#getBudgetPageData} with a budget for every category. The expense totals come from
+ * the stubbed grouped query, so the transaction count does not matter here; what is measured is the FX
+ * folding, the per-budget percentages and the page totals.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BudgetPageBenchmark {
+
+    private BudgetService budgetService;
+    private UUID userId;
+    private YearMonth month;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        month = YearMonth.now();
+        User user = SyntheticData.user();
+        SyntheticData.wallet(user, month, 10_000);
+
+        userId = user.getId();
+        budgetService = ServiceFixtures.budgetService(user, month,
+                ServiceFixtures.transactionService(user.getWallet(), month));
+    }
+
+    @Benchmark
+    public BudgetPageData budgetPageData() {
+        return budgetService.getBudgetPageData(userId, month.getMonthValue(), month.getYear());
+    }
+}
@@ -0,0 +1,71 @@
+package app.benchmark;
+
+import app.subscription.model.Subscription;
+import app.subscription.model.SubscriptionPeriod;
+import app.subscription.model.SubscriptionType;
+import app.transactions.model.Category;
+import app.transactions.model.Transaction;
+import app.transactions.model.Type;
+import app.user.model.User;
+import app.wallet.model.Wallet;
+import app.web.dto.SubscriptionDto;
+import app.web.dto.TransactionDto;
+import app.web.dto.UserEditRequest;
+import app.web.dto.mapper.DtoMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMapperBenchmark {
+
+    private User user;
+    private Wallet wallet;
+    private TransactionDto transactionDto;
+    private SubscriptionDto subscriptionDto;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        user = SyntheticData.user();
+        wallet = SyntheticData.wallet(user, YearMonth.now(), 0);
+
+        transactionDto = TransactionDto.builder()
+                .amount(new BigDecimal("42.50"))
+                .date(LocalDateTime.now())
+                .type(Type.EXPENSE)
+                .category(Category.FOOD)
+                .description("Groceries")
+                .build();
+        subscriptionDto = SubscriptionDto.builder()
+                .name("Streaming")
+                .period(SubscriptionPeriod.MONTHLY)
+                .type(SubscriptionType.DEFAULT)
+                .price(new BigDecimal("9.99"))
+                .expiryOn(LocalDate.now().plusMonths(1))
+                .build();
+    }
+
+    @Benchmark
+    public Transaction transactionDtoToEntity() {
+        return DtoMapper.mapTransactionDtoToEntity(transactionDto, wallet);
+    }
+
+    @Benchmark
+    public Subscription subscriptionDtoToEntity() {
+        return DtoMapper.mapSubscriptionDtoToEntity(subscriptionDto, user);
+    }
+
+    @Benchmark
+    public UserEditRequest userToEditRequest() {
+        return DtoMapper.mapUserToUserEditRequest(user);
+    }
+}
@@ -0,0 +1,112 @@
+package app.benchmark;
+
+import app.currency.model.Money;
+import app.transactions.model.Category;
+import app.transactions.model.CategoryVector;
+import app.transactions.model.Transaction;
+import app.transactions.model.Type;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-category totals and percentages for one month of expenses, the shape of the dashboard and PDF
+ * report aggregations: the former {@code BigDecimal} map/merge path against the {@code long[]}
+ * accumulator, and the same accumulator wrapped in {@link CategoryVector} as the services use it.
+ * <p>
+ * Run with {@code -prof gc} (see {@code src/jmh/README.md}) to see allocation rates next to the timings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoneyAggregationBenchmark {
+
+    private static final Category[] CATEGORIES = Category.values();
+
+    @Param({"100", "10000"})
+    private int transactionCount;
+
+    private List<Transaction> expenses;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime monthStart = LocalDateTime.now().withDayOfMonth(1);
+
+        expenses = new ArrayList<>(transactionCount);
+        for (int i = 0; i < transactionCount; i++) {
+            expenses.add(Transaction.builder()
+                    .type(Type.EXPENSE)
+                    .category(CATEGORIES[random.nextInt(CATEGORIES.length)])
+                    .amount(BigDecimal.valueOf(1 + random.nextInt(50_000), 2))
+                    .date(monthStart.plusDays(random.nextInt(28)))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public void bigDecimalMerge(Blackhole blackhole) {
+        Map<Category, BigDecimal> totals = new HashMap<>();
+        for (Transaction t : expenses) {
+            totals.merge(t.getCategory(), t.getAmount(), BigDecimal::add);
+        }
+        BigDecimal total = totals.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        totals.entrySet().stream()
+                .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue()))
+                .forEach(entry -> blackhole.consume(entry.getValue()
+                        .multiply(BigDecimal.valueOf(100))
+                        .divide(total, 0, RoundingMode.HALF_UP)
+                        .intValue()));
+    }
+
+    @Benchmark
+    public void longArrayAccumulator(Blackhole blackhole) {
+        long[] totals = new long[CATEGORIES.length];
+        for (Transaction t : expenses) {
+            totals[t.getCategory().ordinal()] += Money.minorUnitsOf(t.getAmount());
+        }
+        long total = 0;
+        for (long value : totals) {
+            total += value;
+        }
+
+        int[] ranked = new int[totals.length];
+        int size = 0;
+        for (int ordinal = 0; ordinal < totals.length; ordinal++) {
+            if (totals[ordinal] == 0) {
+                continue;
+            }
+            int i = size++;
+            while (i > 0 && totals[ranked[i - 1]] < totals[ordinal]) {
+                ranked[i] = ranked[i - 1];
+                i--;
+            }
+            ranked[i] = ordinal;
+        }
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(Money.percentOf(totals[ranked[i]], total));
+        }
+    }
+
+    @Benchmark
+    public void categoryVector(Blackhole blackhole) {
+        CategoryVector totals = new CategoryVector();
+        for (Transaction t : expenses) {
+            totals.add(t.getCategory(), t.getAmount());
+        }
+        blackhole.consume(totals.rankedPercents());
+    }
+}
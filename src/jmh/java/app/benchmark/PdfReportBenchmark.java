@@ -0,0 +1,69 @@
+package app.benchmark;
+
+import app.report.service.PdfReportService;
+import app.subscription.service.SubscriptionsService;
+import app.user.model.User;
+import app.wallet.model.Wallet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Full monthly PDF: service aggregation, Thymeleaf rendering of {@code report-pdf.html} and the
+ * OpenHTMLToPDF layout. The report lists every transaction of the month, so the row count dominates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PdfReportBenchmark {
+
+    @Param({"100", "1000"})
+    private int transactionCount;
+
+    private PdfReportService pdfReportService;
+    private User user;
+    private Wallet wallet;
+    private YearMonth month;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        month = YearMonth.now();
+        user = SyntheticData.user();
+        wallet = SyntheticData.wallet(user, month, transactionCount);
+
+        SubscriptionsService subscriptionsService = ServiceFixtures.stub(SubscriptionsService.class);
+        when(subscriptionsService.getPaidSubscriptionsForCurrentMonth(any())).thenReturn(List.of());
+
+        pdfReportService = new PdfReportService(ServiceFixtures.transactionService(wallet, month),
+                subscriptionsService, templateEngine(), new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public byte[] monthlyReport() {
+        return pdfReportService.generateMonthlyReportPdf(user, wallet, month);
+    }
+
+    private static SpringTemplateEngine templateEngine() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+        return engine;
+    }
+}
@@ -0,0 +1,100 @@
+package app.benchmark;
+
+import app.budget.repository.BudgetBulkRepository;
+import app.budget.repository.BudgetRepository;
+import app.budget.service.BudgetService;
+import app.currency.service.FxRateService;
+import app.notification.service.NotificationOutboxService;
+import app.transactions.model.Transaction;
+import app.transactions.repository.ArchivedTransactionRepository;
+import app.transactions.repository.TransactionMonthlyRollupRepository;
+import app.transactions.repository.TransactionRepository;
+import app.transactions.service.TransactionArchiveService;
+import app.transactions.service.TransactionService;
+import app.user.model.User;
+import app.user.repository.UserRepository;
+import app.wallet.model.Wallet;
+import app.wallet.repository.WalletRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Wires the real services over in-memory repositories. The repositories are Mockito stubs created with
+ * {@code stubOnly()}, which keeps Mockito from recording every invocation; millions of benchmark calls
+ * would otherwise pile up in its invocation log and end up measuring the garbage collector.
+ */
+final class ServiceFixtures {
+
+    private ServiceFixtures() {
+    }
+
+    static <T> T stub(Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+
+    static FxRateService fxRateService() {
+        return new FxRateService(new DefaultResourceLoader(), "classpath:fx/rates.csv", "EUR");
+    }
+
+    static TransactionService transactionService(Wallet wallet, YearMonth month) {
+        WalletRepository walletRepository = stub(WalletRepository.class);
+        when(walletRepository.findById(wallet.getId())).thenReturn(Optional.of(wallet));
+        when(walletRepository.existsById(wallet.getId())).thenReturn(true);
+
+        TransactionRepository transactionRepository = stub(TransactionRepository.class);
+        // answers the month query the way the database would: [from, to), newest first. The benchmarked
+        // month is sliced once here, so the measured calls don't pay for filtering and sorting the wallet
+        LocalDateTime monthStart = month.atDay(1).atStartOfDay();
+        LocalDateTime monthEnd = month.plusMonths(1).atDay(1).atStartOfDay();
+        List<Transaction> monthSlice = dateRange(wallet, monthStart, monthEnd);
+        when(transactionRepository.findByWalletIdAndDateRange(eq(wallet.getId()), any(), any())).thenAnswer(invocation -> {
+            LocalDateTime from = invocation.getArgument(1);
+            LocalDateTime to = invocation.getArgument(2);
+            return from.equals(monthStart) && to.equals(monthEnd) ? monthSlice : dateRange(wallet, from, to);
+        });
+        when(transactionRepository.topCategories(wallet.getId())).thenReturn(SyntheticData.topCategories(wallet));
+        when(transactionRepository.sumExpensesByMonthAndCategory(eq(wallet.getUser().getId()), any(), any()))
+                .thenReturn(SyntheticData.monthlyTotals(wallet, month));
+
+        return new TransactionService(transactionRepository, walletRepository,
+                stub(ApplicationEventPublisher.class), fxRateService(), archiveService(transactionRepository));
+    }
+
+    private static List<Transaction> dateRange(Wallet wallet, LocalDateTime from, LocalDateTime to) {
+        return wallet.getTransactions().stream()
+                .filter(t -> !t.getDate().isBefore(from) && t.getDate().isBefore(to))
+                .sorted(Comparator.comparing(Transaction::getDate).reversed())
+                .toList();
+    }
+
+    // archiving off, as by default, so the benchmarks measure the live-table paths only
+    static TransactionArchiveService archiveService(TransactionRepository transactionRepository) {
+        return new TransactionArchiveService(transactionRepository, stub(ArchivedTransactionRepository.class),
+                stub(TransactionMonthlyRollupRepository.class), false, 24, 500);
+    }
+
+    static BudgetService budgetService(User user, YearMonth month, TransactionService transactionService) {
+        UserRepository userRepository = stub(UserRepository.class);
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        BudgetRepository budgetRepository = stub(BudgetRepository.class);
+        when(budgetRepository.findByUserAndYearAndMonth(user, month.getYear(), month.getMonthValue()))
+                .thenReturn(SyntheticData.budgets(user, month));
+
+        return new BudgetService(budgetRepository, stub(BudgetBulkRepository.class), userRepository,
+                stub(WalletRepository.class), transactionService, fxRateService(),
+                stub(NotificationOutboxService.class));
+    }
+}
@@ -0,0 +1,138 @@
+package app.benchmark;
+
+import app.budget.model.Budget;
+import app.transactions.model.Category;
+import app.transactions.model.Transaction;
+import app.transactions.model.Type;
+import app.user.model.Country;
+import app.user.model.Role;
+import app.user.model.User;
+import app.user.model.UserVersion;
+import app.wallet.model.Wallet;
+import app.web.dto.MonthlyCategoryTotal;
+import app.web.dto.TopCategories;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic fixtures for the benchmarks. Everything is built from a fixed seed so two runs, or a run
+ * and a stored baseline, measure the same data. Dates fall in the month passed in, which the callers set
+ * to the current month because the service methods under test filter on {@code YearMonth.now()}.
+ */
+final class SyntheticData {
+
+    static final long SEED = 42L;
+
+    private static final Category[] CATEGORIES = Category.values();
+    // one transaction in ten is income, the rest are expenses
+    private static final int INCOME_EVERY = 10;
+
+    private SyntheticData() {
+    }
+
+    static User user() {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .username("benchmark")
+                .firstName("Bench")
+                .lastName("Mark")
+                .email("benchmark@example.com")
+                .password("n/a")
+                .isActive(true)
+                .role(Role.USER)
+                .country(Country.BULGARIA)
+                .userVersion(UserVersion.PRO)
+                .build();
+    }
+
+    static Wallet wallet(User user, YearMonth month, int transactionCount) {
+        Wallet wallet = Wallet.builder()
+                .id(UUID.randomUUID())
+                .name("Default")
+                .user(user)
+                .currency(Currency.getInstance("BGN"))
+                .income(BigDecimal.ZERO)
+                .expense(BigDecimal.ZERO)
+                .balance(new BigDecimal("100.00"))
+                .build();
+        wallet.setTransactions(transactions(wallet, month, transactionCount));
+        user.setWallet(wallet);
+        return wallet;
+    }
+
+    static List<Transaction> transactions(Wallet wallet, YearMonth month, int count) {
+        Random random = new Random(SEED);
+        int days = month.lengthOfMonth();
+
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            transactions.add(Transaction.builder()
+                    .id(new UUID(SEED, i))
+                    .wallet(wallet)
+                    .type(i % INCOME_EVERY == 0 ? Type.INCOME : Type.EXPENSE)
+                    .category(CATEGORIES[random.nextInt(CATEGORIES.length)])
+                    .amount(BigDecimal.valueOf(1 + random.nextInt(50_000), 2))
+                    .date(month.atDay(1 + random.nextInt(days)).atTime(random.nextInt(24), random.nextInt(60)))
+                    .description("Synthetic #" + i)
+                    .build());
+        }
+        return transactions;
+    }
+
+    /**
+     * What {@code TransactionRepository.topCategories} would return for the wallet: expense sums per
+     * category, largest first.
+     */
+    static List<TopCategories> topCategories(Wallet wallet) {
+        return expenseTotals(wallet).entrySet().stream()
+                .map(entry -> new TopCategories(entry.getKey(), entry.getValue(), 0))
+                .sorted(Comparator.comparing(TopCategories::getTotalAmount).reversed())
+                .toList();
+    }
+
+    /**
+     * What {@code TransactionRepository.sumExpensesByMonthAndCategory} would return for the wallet.
+     */
+    static List<MonthlyCategoryTotal> monthlyTotals(Wallet wallet, YearMonth month) {
+        return expenseTotals(wallet).entrySet().stream()
+                .map(entry -> new MonthlyCategoryTotal(month.getYear(), month.getMonthValue(),
+                        wallet.getCurrency(), entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    static List<Budget> budgets(User user, YearMonth month) {
+        Random random = new Random(SEED);
+
+        List<Budget> budgets = new ArrayList<>(CATEGORIES.length);
+        for (Category category : CATEGORIES) {
+            budgets.add(Budget.builder()
+                    .id(UUID.randomUUID())
+                    .user(user)
+                    .category(category)
+                    .amount(BigDecimal.valueOf(10_000 + random.nextInt(1_000_000), 2))
+                    .year(month.getYear())
+                    .month(month.getMonthValue())
+                    .build());
+        }
+        return budgets;
+    }
+
+    private static Map<Category, BigDecimal> expenseTotals(Wallet wallet) {
+        Map<Category, BigDecimal> totals = new EnumMap<>(Category.class);
+        for (Transaction t : wallet.getTransactions()) {
+            if (t.getType() == Type.EXPENSE) {
+                totals.merge(t.getCategory(), t.getAmount(), BigDecimal::add);
+            }
+        }
+        return totals;
+    }
+}
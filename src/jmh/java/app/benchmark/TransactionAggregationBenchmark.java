@@ -0,0 +1,65 @@
+package app.benchmark;
+
+import app.transactions.model.CategoryVector;
+import app.transactions.service.TransactionService;
+import app.user.model.User;
+import app.wallet.model.Wallet;
+import app.web.dto.TopCategories;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-wallet aggregations behind the dashboard and the monthly report, run over one month of
+ * synthetic transactions. Each call re-reads and re-filters the wallet's transaction list, as it does in
+ * production, so the numbers include that scan.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class TransactionAggregationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int transactionCount;
+
+    private TransactionService transactionService;
+    private UUID walletId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        YearMonth month = YearMonth.now();
+        User user = SyntheticData.user();
+        Wallet wallet = SyntheticData.wallet(user, month, transactionCount);
+
+        walletId = wallet.getId();
+        transactionService = ServiceFixtures.transactionService(wallet, month);
+    }
+
+    @Benchmark
+    public CategoryVector categoryTotals() {
+        return transactionService.getCategoryBreakdownForCurrentMonth(walletId);
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> dailyHistory() {
+        return transactionService.getExpenseHistoryByDay(walletId);
+    }
+
+    @Benchmark
+    public List<TopCategories> topCategories() {
+        return transactionService.getTopCategories(walletId);
+    }
+
+    @Benchmark
+    public BigDecimal totalExpenses() {
+        return transactionService.getTotalExpensesForCurrentMonth(walletId);
+    }
+}
@@ -4,6 +4,7 @@ import app.transactions.model.Category;
 import app.user.model.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.YearMonth;
@@ -42,6 +43,17 @@ public class Budget {
     @Column(nullable = false)
     private int year;
 
+    // Running expense total for the budget-month, maintained incrementally as transactions are posted
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private BigDecimal spent = BigDecimal.ZERO;
+
+    // Highest threshold (0, 80 or 100 percent) already alerted for this budget-month
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int alertLevel;
+
     public YearMonth getYearMonth() {
         return YearMonth.of(year, month);
     }
@@ -0,0 +1,106 @@
+package app.budget.repository;
+
+import app.budget.model.Budget;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Batched insert-or-update of budgets keyed by the (user_id, category, month, year) unique
+ * constraint. On conflict the amount changes and the alert level is recomputed against the running
+ * spent, which stays as it is. Each row costs one batched statement instead of a find followed by a save.
+ */
+@Slf4j
+@Repository
+public class BudgetBulkRepository {
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final String POSTGRES_UPSERT = """
+            INSERT INTO budgets (id, user_id, category, amount, month, year, spent, alert_level)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (user_id, category, month, year) DO UPDATE SET amount = EXCLUDED.amount,
+                alert_level = %s
+            """.formatted(alertLevel("budgets.spent", "EXCLUDED.amount"));
+
+    private static final String MYSQL_UPSERT = """
+            INSERT INTO budgets (id, user_id, category, amount, month, year, spent, alert_level)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?) AS incoming
+            ON DUPLICATE KEY UPDATE amount = incoming.amount, alert_level = %s
+            """.formatted(alertLevel("budgets.spent", "incoming.amount"));
+
+    // Tests run H2 with globally quoted identifiers, so the table and columns are lower case
+    private static final String H2_UPSERT = """
+            MERGE INTO "budgets" b
+            USING (VALUES (CAST(? AS UUID), CAST(? AS UUID), CAST(? AS VARCHAR), CAST(? AS NUMERIC(38, 2)),
+                           CAST(? AS INT), CAST(? AS INT), CAST(? AS NUMERIC(38, 2)), CAST(? AS INT)))
+                  AS s("id", "user_id", "category", "amount", "month", "year", "spent", "alert_level")
+            ON b."user_id" = s."user_id" AND b."category" = s."category" AND b."month" = s."month" AND b."year" = s."year"
+            WHEN MATCHED THEN UPDATE SET "amount" = s."amount", "alert_level" = %s
+            WHEN NOT MATCHED THEN INSERT ("id", "user_id", "category", "amount", "month", "year", "spent", "alert_level")
+                VALUES (s."id", s."user_id", s."category", s."amount", s."month", s."year", s."spent", s."alert_level")
+            """.formatted(alertLevel("b.\"spent\"", "s.\"amount\""));
+
+    /**
+     * Threshold the kept spent reaches under the new amount, rounded like BudgetService does it
+     * (percentage to two decimals, half up), so an updated row tracks alerts like a freshly planned one.
+     */
+    private static String alertLevel(String spent, String amount) {
+        String percentage = "ROUND(%s * 100 / %s, 2)".formatted(spent, amount);
+        return "CASE WHEN %2$s <= 0 THEN 0 WHEN %1$s >= 100 THEN 100 WHEN %1$s >= 80 THEN 80 ELSE 0 END"
+                .formatted(percentage, amount);
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String databaseProduct;
+
+    public BudgetBulkRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void upsertAll(List<Budget> budgets) {
+        if (budgets.isEmpty()) {
+            return;
+        }
+        String product = databaseProduct();
+        boolean binaryUuid = product.contains("mysql");
+        String sql = binaryUuid ? MYSQL_UPSERT : product.contains("h2") ? H2_UPSERT : POSTGRES_UPSERT;
+
+        jdbcTemplate.batchUpdate(sql, budgets, BATCH_SIZE, (ps, budget) -> bind(ps, budget, binaryUuid));
+        log.debug("Upserted [%d] budgets".formatted(budgets.size()));
+    }
+
+    private void bind(PreparedStatement ps, Budget budget, boolean binaryUuid) throws SQLException {
+        UUID id = budget.getId() != null ? budget.getId() : UUID.randomUUID();
+        ps.setObject(1, binaryUuid ? toBytes(id) : id);
+        ps.setObject(2, binaryUuid ? toBytes(budget.getUser().getId()) : budget.getUser().getId());
+        ps.setString(3, budget.getCategory().name());
+        ps.setBigDecimal(4, budget.getAmount());
+        ps.setInt(5, budget.getMonth());
+        ps.setInt(6, budget.getYear());
+        ps.setBigDecimal(7, budget.getSpent());
+        ps.setInt(8, budget.getAlertLevel());
+    }
+
+    private String databaseProduct() {
+        if (databaseProduct == null) {
+            databaseProduct = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName().toLowerCase());
+        }
+        return databaseProduct;
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
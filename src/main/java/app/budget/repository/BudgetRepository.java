@@ -3,9 +3,14 @@ package app.budget.repository;
 import app.budget.model.Budget;
 import app.transactions.model.Category;
 import app.user.model.User;
+import app.web.dto.MonthlyCategoryTotal;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,5 +22,37 @@ public interface BudgetRepository extends JpaRepository<Budget, UUID> {
 
     Optional<Budget> findByUserAndCategoryAndYearAndMonth(User user, Category category, int year, int month);
 
+    Optional<Budget> findByUser_IdAndCategoryAndYearAndMonth(UUID userId, Category category, int year, int month);
+
+    // Months are compared as year * 12 + month so a range can span year boundaries
+    @Query("""
+                SELECT new app.web.dto.MonthlyCategoryTotal(b.year, b.month, b.category, SUM(b.amount))
+                FROM Budget b
+                WHERE b.user.id = :userId
+                  AND b.year * 12 + b.month BETWEEN :fromIndex AND :toIndex
+                GROUP BY b.year, b.month, b.category
+            """)
+    List<MonthlyCategoryTotal> sumAmountsByMonthAndCategory(@Param("userId") UUID userId,
+                                                            @Param("fromIndex") int fromIndex,
+                                                            @Param("toIndex") int toIndex);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+                UPDATE Budget b SET b.spent = b.spent + :delta
+                WHERE b.user.id = :userId AND b.category = :category AND b.year = :year AND b.month = :month
+            """)
+    int addToSpent(@Param("userId") UUID userId,
+                   @Param("category") Category category,
+                   @Param("year") int year,
+                   @Param("month") int month,
+                   @Param("delta") BigDecimal delta);
+
+    /**
+     * Compare-and-set on the alert level: only the caller that moves the level up gets 1 back.
+     */
+    @Modifying
+    @Query("UPDATE Budget b SET b.alertLevel = :level WHERE b.id = :budgetId AND b.alertLevel < :level")
+    int raiseAlertLevel(@Param("budgetId") UUID budgetId, @Param("level") int level);
+
 }
 
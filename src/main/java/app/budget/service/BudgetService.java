@@ -1,24 +1,36 @@
 package app.budget.service;
 
 import app.budget.model.Budget;
+import app.budget.repository.BudgetBulkRepository;
 import app.budget.repository.BudgetRepository;
+import app.currency.model.Money;
+import app.currency.service.FxRateService;
+import app.exception.CustomException;
 import app.exception.UserNotFoundException;
+import app.notification.service.NotificationOutboxService;
 import app.transactions.model.Category;
+import app.transactions.model.CategoryVector;
 import app.transactions.service.TransactionService;
 import app.user.model.User;
 import app.user.repository.UserRepository;
 import app.wallet.model.Wallet;
+import app.wallet.repository.WalletRepository;
 import app.web.dto.BudgetDto;
 import app.web.dto.BudgetInfo;
 import app.web.dto.BudgetPageData;
+import app.web.dto.BudgetPlanDto;
+import app.web.dto.BudgetTrendResponse;
+import app.web.dto.MonthlyCategoryTotal;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -26,16 +38,33 @@ import java.util.stream.Collectors;
 @Slf4j
 public class BudgetService {
 
+    private static final int WARNING_THRESHOLD = 80;
+    private static final int EXCEEDED_THRESHOLD = 100;
+    private static final int MAX_TREND_MONTHS = 36;
+    private static final int MAX_PLAN_MONTHS = 24;
+
     private final BudgetRepository budgetRepository;
+    private final BudgetBulkRepository budgetBulkRepository;
     private final UserRepository userRepository;
+    private final WalletRepository walletRepository;
     private final TransactionService transactionService;
+    private final FxRateService fxRateService;
+    private final NotificationOutboxService notificationOutboxService;
 
     public BudgetService(BudgetRepository budgetRepository,
+                         BudgetBulkRepository budgetBulkRepository,
                          UserRepository userRepository,
-                         TransactionService transactionService) {
+                         WalletRepository walletRepository,
+                         TransactionService transactionService,
+                         FxRateService fxRateService,
+                         NotificationOutboxService notificationOutboxService) {
         this.budgetRepository = budgetRepository;
+        this.budgetBulkRepository = budgetBulkRepository;
         this.userRepository = userRepository;
+        this.walletRepository = walletRepository;
         this.transactionService = transactionService;
+        this.fxRateService = fxRateService;
+        this.notificationOutboxService = notificationOutboxService;
     }
 
     @Transactional
@@ -51,28 +80,215 @@ public class BudgetService {
         if (existingBudget.isPresent()) {
             Budget budget = existingBudget.get();
             budget.setAmount(budgetDto.getAmount());
+            // as for a new budget, a level the edit itself lands on is not alerted; raising the amount
+            // re-arms the alerts it falls back below
+            budget.setAlertLevel(thresholdReached(budget.getSpent(), budgetDto.getAmount()));
             return budgetRepository.save(budget);
         }
 
+        BigDecimal spent = user.getWallet() != null
+                ? transactionService.getCategoryTotalsForMonth(user.getId(), user.getWallet().getCurrency(),
+                        YearMonth.of(budgetDto.getYear(), budgetDto.getMonth()))
+                .amount(budgetDto.getCategory())
+                : BigDecimal.ZERO;
+
         Budget budget = Budget.builder()
                 .user(user)
                 .category(budgetDto.getCategory())
                 .amount(budgetDto.getAmount())
                 .year(budgetDto.getYear())
                 .month(budgetDto.getMonth())
+                .spent(spent)
+                .alertLevel(thresholdReached(spent, budgetDto.getAmount()))
                 .build();
 
         return budgetRepository.save(budget);
     }
 
-    private List<Budget> getBudgetsForMonth(UUID userId, YearMonth yearMonth) {
+    /**
+     * Budget against actual spend per category for every month in {@code [from, to]}. Uses one
+     * grouped query over budgets and one over expense transactions, whatever the range length.
+     */
+    @Transactional(readOnly = true)
+    public BudgetTrendResponse getBudgetTrend(UUID userId, YearMonth from, YearMonth to) {
+
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Trend range start must not be after its end");
+        }
+        if (ChronoUnit.MONTHS.between(from, to) >= MAX_TREND_MONTHS) {
+            throw new IllegalArgumentException("Trend range cannot exceed " + MAX_TREND_MONTHS + " months");
+        }
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            months.add(month);
+        }
 
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
-        return budgetRepository.findByUserAndYearAndMonth(
-                user, yearMonth.getYear(), yearMonth.getMonthValue()
-        );
+        Map<YearMonth, CategoryVector> budgetByMonth = new HashMap<>();
+        for (MonthlyCategoryTotal row : budgetRepository.sumAmountsByMonthAndCategory(
+                userId, monthIndex(from), monthIndex(to))) {
+            budgetByMonth.computeIfAbsent(row.getYearMonth(), month -> new CategoryVector())
+                    .add(row.getCategory(), row.getTotalAmount());
+        }
+        Map<YearMonth, CategoryVector> actualByMonth = user.getWallet() != null
+                ? transactionService.getCategoryTotalsByMonth(user.getId(), user.getWallet().getCurrency(), from, to)
+                : Collections.emptyMap();
+
+        Set<Category> categories = EnumSet.noneOf(Category.class);
+        budgetByMonth.values().forEach(totals -> categories.addAll(totals.categories()));
+        actualByMonth.values().forEach(totals -> categories.addAll(totals.categories()));
+
+        Map<Category, List<BigDecimal>> budgetColumns = new EnumMap<>(Category.class);
+        Map<Category, List<BigDecimal>> actualColumns = new EnumMap<>(Category.class);
+        for (Category category : categories) {
+            budgetColumns.put(category, column(months, budgetByMonth, category));
+            actualColumns.put(category, column(months, actualByMonth, category));
+        }
+
+        return BudgetTrendResponse.builder()
+                .months(months.stream().map(YearMonth::toString).toList())
+                .categories(new ArrayList<>(categories))
+                .budget(budgetColumns)
+                .actual(actualColumns)
+                .totalBudget(totals(months, budgetByMonth))
+                .totalActual(totals(months, actualByMonth))
+                .build();
+    }
+
+    private List<BigDecimal> column(List<YearMonth> months, Map<YearMonth, CategoryVector> byMonth, Category category) {
+
+        List<BigDecimal> column = new ArrayList<>(months.size());
+        for (YearMonth month : months) {
+            CategoryVector totals = byMonth.get(month);
+            column.add(totals != null ? totals.amount(category) : BigDecimal.ZERO);
+        }
+        return column;
+    }
+
+    private List<BigDecimal> totals(List<YearMonth> months, Map<YearMonth, CategoryVector> byMonth) {
+
+        List<BigDecimal> totals = new ArrayList<>(months.size());
+        for (YearMonth month : months) {
+            CategoryVector monthTotals = byMonth.get(month);
+            totals.add(monthTotals != null ? monthTotals.totalAmount() : BigDecimal.ZERO);
+        }
+        return totals;
+    }
+
+    private static int monthIndex(YearMonth month) {
+        return month.getYear() * 12 + month.getMonthValue();
+    }
+
+    /**
+     * Copies the budgets of {@code source} into each of the next {@code months} months. With
+     * {@code carryOverUnused}, whatever was left of a category's budget in the source month
+     * (from one grouped spend query) is added on top of the first target month only.
+     *
+     * @return number of budgets written
+     */
+    @Transactional
+    public int rolloverBudgets(UUID userId, YearMonth source, int months, boolean carryOverUnused) {
+
+        if (months < 1 || months > MAX_PLAN_MONTHS) {
+            throw new IllegalArgumentException("Rollover must cover 1 to " + MAX_PLAN_MONTHS + " months");
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(userId));
+
+        List<Budget> sourceBudgets = budgetRepository.findByUserAndYearAndMonth(
+                user, source.getYear(), source.getMonthValue());
+        if (sourceBudgets.isEmpty()) {
+            return 0;
+        }
+
+        CategoryVector sourceSpend = carryOverUnused && user.getWallet() != null
+                ? transactionService.getCategoryTotalsForMonth(user.getId(), user.getWallet().getCurrency(), source)
+                : new CategoryVector();
+
+        Map<YearMonth, Map<Category, BigDecimal>> plan = new LinkedHashMap<>();
+        for (int i = 1; i <= months; i++) {
+            YearMonth target = source.plusMonths(i);
+            Map<Category, BigDecimal> amounts = new EnumMap<>(Category.class);
+            for (Budget budget : sourceBudgets) {
+                BigDecimal amount = budget.getAmount();
+                if (carryOverUnused && i == 1) {
+                    BigDecimal unused = budget.getAmount().subtract(sourceSpend.amount(budget.getCategory()));
+                    amount = amount.add(unused.max(BigDecimal.ZERO));
+                }
+                amounts.put(budget.getCategory(), amount);
+            }
+            plan.put(target, amounts);
+        }
+
+        return upsertPlan(user, plan);
+    }
+
+    /**
+     * Sets the given per-category amounts for {@code months} consecutive months starting at the
+     * plan's month, inserting or updating every (category, month) pair in one batch.
+     *
+     * @return number of budgets written
+     */
+    @Transactional
+    public int applyBudgetPlan(UUID userId, BudgetPlanDto planDto) {
+
+        if (planDto.getMonth() < 1 || planDto.getMonth() > 12) {
+            throw new IllegalArgumentException("Month must be between 1 and 12");
+        }
+        if (planDto.getMonths() < 1 || planDto.getMonths() > MAX_PLAN_MONTHS) {
+            throw new IllegalArgumentException("Plan must cover 1 to " + MAX_PLAN_MONTHS + " months");
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(userId));
+
+        YearMonth start = YearMonth.of(planDto.getYear(), planDto.getMonth());
+        Map<Category, BigDecimal> amounts = new EnumMap<>(Category.class);
+        planDto.getAmounts().forEach((category, amount) -> {
+            if (category != null && amount != null && amount.signum() > 0) {
+                amounts.put(category, amount);
+            }
+        });
+
+        Map<YearMonth, Map<Category, BigDecimal>> plan = new LinkedHashMap<>();
+        for (int i = 0; i < planDto.getMonths(); i++) {
+            plan.put(start.plusMonths(i), amounts);
+        }
+
+        return upsertPlan(user, plan);
+    }
+
+    private int upsertPlan(User user, Map<YearMonth, Map<Category, BigDecimal>> plan) {
+
+        if (plan.isEmpty()) {
+            return 0;
+        }
+        List<YearMonth> targetMonths = new ArrayList<>(plan.keySet());
+        YearMonth first = targetMonths.get(0);
+        YearMonth last = targetMonths.get(targetMonths.size() - 1);
+        Map<YearMonth, CategoryVector> spendByMonth = user.getWallet() != null
+                ? transactionService.getCategoryTotalsByMonth(user.getId(), user.getWallet().getCurrency(), first, last)
+                : Collections.emptyMap();
+
+        List<Budget> rows = new ArrayList<>();
+        plan.forEach((month, amounts) -> amounts.forEach((category, amount) -> {
+            CategoryVector monthSpend = spendByMonth.get(month);
+            BigDecimal spent = monthSpend != null ? monthSpend.amount(category) : BigDecimal.ZERO;
+            rows.add(Budget.builder()
+                    .user(user)
+                    .category(category)
+                    .amount(amount)
+                    .year(month.getYear())
+                    .month(month.getMonthValue())
+                    .spent(spent)
+                    .alertLevel(thresholdReached(spent, amount))
+                    .build());
+        }));
+
+        budgetBulkRepository.upsertAll(rows);
+        log.info("Planned [%d] budgets for user [%s] across [%d] months".formatted(rows.size(), user.getId(), plan.size()));
+        return rows.size();
     }
 
     @Transactional
@@ -88,17 +304,35 @@ public class BudgetService {
         budgetRepository.delete(budget);
     }
 
+    /**
+     * Builds the budget page from one user load, one budget query and one grouped
+     * expense-per-category query for the month; totals are derived in memory from those rows.
+     */
+    @Timed(value = "budget.page.data", description = "Building the budget page model", histogram = true)
+    @Transactional(readOnly = true)
     public BudgetPageData getBudgetPageData(UUID userId, Integer month, Integer year) {
 
         YearMonth currentMonth = determineYearMonth(month, year);
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
-        List<Budget> budgets = getBudgetsForMonth(userId, currentMonth);
-        Map<Category, BudgetInfo> budgetInfo = getBudgetInfoForMonth(userId, currentMonth);
-        BigDecimal totalBudget = getTotalBudgetForMonth(userId, currentMonth);
-        BigDecimal totalSpent = getTotalSpentForMonth(userId, currentMonth);
-        BigDecimal totalRemaining = totalBudget.subtract(totalSpent);
+        List<Budget> budgets = budgetRepository.findByUserAndYearAndMonth(
+                user, currentMonth.getYear(), currentMonth.getMonthValue()
+        );
+
+        Wallet wallet = user.getWallet();
+        CategoryVector categoryExpenses = wallet != null
+                ? transactionService.getCategoryTotalsForMonth(user.getId(), wallet.getCurrency(), currentMonth)
+                : new CategoryVector();
+
+        Map<Category, BudgetInfo> budgetInfo = wallet != null
+                ? buildBudgetInfo(budgets, categoryExpenses)
+                : new HashMap<>();
+        long totalBudget = 0;
+        for (Budget budget : budgets) {
+            totalBudget += Money.minorUnitsOf(budget.getAmount());
+        }
+        long totalSpent = categoryExpenses.total();
 
         List<Category> allCategories = Arrays.asList(Category.values());
         Set<Category> categoriesWithBudgets = budgets.stream()
@@ -111,9 +345,9 @@ public class BudgetService {
                 .budgetInfo(budgetInfo)
                 .allCategories(allCategories)
                 .categoriesWithBudgets(categoriesWithBudgets)
-                .totalBudget(totalBudget)
-                .totalSpent(totalSpent)
-                .totalRemaining(totalRemaining)
+                .totalBudget(Money.toBigDecimal(totalBudget))
+                .totalSpent(Money.toBigDecimal(totalSpent))
+                .totalRemaining(Money.toBigDecimal(totalBudget - totalSpent))
                 .currentMonth(currentMonth)
                 .currentMonthName(currentMonth.format(DateTimeFormatter.ofPattern("MMMM yyyy")))
                 .previousMonth(currentMonth.minusMonths(1))
@@ -121,29 +355,19 @@ public class BudgetService {
                 .build();
     }
 
-    private Map<Category, BudgetInfo> getBudgetInfoForMonth(UUID userId, YearMonth yearMonth) {
-
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException(userId));
-
-        Wallet wallet = user.getWallet();
-        if (wallet == null) {
-            return new HashMap<>();
-        }
-
-        List<Budget> budgets = getBudgetsForMonth(userId, yearMonth);
-        Map<Category, BigDecimal> categoryExpenses = transactionService.getCategoryTotalsForMonth(
-                wallet.getId(), yearMonth
-        );
+    private Map<Category, BudgetInfo> buildBudgetInfo(List<Budget> budgets, CategoryVector categoryExpenses) {
 
         Map<Category, BudgetInfo> budgetInfoMap = new HashMap<>();
 
         for (Budget budget : budgets) {
 
-            BigDecimal spent = categoryExpenses.getOrDefault(budget.getCategory(), BigDecimal.ZERO);
-            BigDecimal remaining = budget.getAmount().subtract(spent);
-            BigDecimal percentage = calculatePercentage(spent, budget.getAmount());
-            boolean isOverBudget = spent.compareTo(budget.getAmount()) > 0;
+            BigDecimal spent = categoryExpenses.amount(budget.getCategory());
+            long spentMinor = categoryExpenses.get(budget.getCategory());
+            long amountMinor = Money.minorUnitsOf(budget.getAmount());
+
+            BigDecimal remaining = Money.toBigDecimal(amountMinor - spentMinor);
+            BigDecimal percentage = calculatePercentage(spentMinor, amountMinor);
+            boolean isOverBudget = spentMinor > amountMinor;
 
             budgetInfoMap.put(budget.getCategory(), BudgetInfo.builder()
                     .budget(budget)
@@ -157,25 +381,79 @@ public class BudgetService {
         return budgetInfoMap;
     }
 
-    private BigDecimal getTotalBudgetForMonth(UUID userId, YearMonth yearMonth) {
+    /**
+     * Adds an expense to the matching budget's running total with a single UPDATE, so concurrent
+     * postings never lose an increment. The threshold alert is raised through a compare-and-set
+     * on {@code alertLevel}, which lets exactly one transaction per budget-month send each alert.
+     */
+    @Transactional
+    public void recordExpense(UUID userId, UUID walletId, Category category, LocalDateTime date, BigDecimal amount) {
+
+        BigDecimal spent = inBudgetCurrency(userId, walletId, amount);
+        int updated = budgetRepository.addToSpent(userId, category, date.getYear(), date.getMonthValue(), spent);
+        if (updated == 0) {
+            return;
+        }
 
-        List<Budget> budgets = getBudgetsForMonth(userId, yearMonth);
-        return budgets.stream()
-                .map(Budget::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        budgetRepository.findByUser_IdAndCategoryAndYearAndMonth(userId, category, date.getYear(), date.getMonthValue())
+                .ifPresent(this::alertIfThresholdCrossed);
     }
 
-    private BigDecimal getTotalSpentForMonth(UUID userId, YearMonth yearMonth) {
+    @Transactional
+    public void reverseExpense(UUID userId, UUID walletId, Category category, LocalDateTime date, BigDecimal amount) {
+
+        BigDecimal spent = inBudgetCurrency(userId, walletId, amount);
+        budgetRepository.addToSpent(userId, category, date.getYear(), date.getMonthValue(), spent.negate());
+    }
+
+    /**
+     * Budgets are kept in the primary wallet's currency, the same one a new budget's spend is seeded in.
+     * Postings from other wallets are converted at the current rate before they touch the running total.
+     */
+    private BigDecimal inBudgetCurrency(UUID userId, UUID walletId, BigDecimal amount) {
 
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
+        Wallet primaryWallet = user.getWallet();
+        if (primaryWallet == null || primaryWallet.getId().equals(walletId)) {
+            return amount;
+        }
 
-        Wallet wallet = user.getWallet();
-        if (wallet == null) {
-            return BigDecimal.ZERO;
+        Wallet sourceWallet = walletRepository.findById(walletId)
+                .orElseThrow(() -> new CustomException("Wallet not found"));
+        return fxRateService.convert(amount, sourceWallet.getCurrency(), primaryWallet.getCurrency());
+    }
+
+    private void alertIfThresholdCrossed(Budget budget) {
+
+        int level = thresholdReached(budget.getSpent(), budget.getAmount());
+        if (level <= budget.getAlertLevel() || budgetRepository.raiseAlertLevel(budget.getId(), level) == 0) {
+            return;
         }
 
-        return transactionService.getTotalExpensesForMonth(wallet.getId(), yearMonth);
+        UUID userId = budget.getUser().getId();
+        String period = budget.getYearMonth().format(DateTimeFormatter.ofPattern("MMMM yyyy"));
+        String subject = level >= EXCEEDED_THRESHOLD
+                ? "Budget exceeded: %s".formatted(budget.getCategory().getName())
+                : "Budget at %d%%: %s".formatted(level, budget.getCategory().getName());
+        String body = "You have spent %.2f of your %.2f %s budget for %s."
+                .formatted(budget.getSpent(), budget.getAmount(), budget.getCategory().getName(), period);
+
+        notificationOutboxService.enqueueNotification(userId, subject, body,
+                "budget-alert:%s:%d".formatted(budget.getId(), level));
+        log.info("Budget [%s] of user [%s] reached [%d%%]".formatted(budget.getId(), userId, level));
+    }
+
+    private int thresholdReached(BigDecimal spent, BigDecimal budgetAmount) {
+
+        long hundredths = percentageHundredths(Money.minorUnitsOf(spent), Money.minorUnitsOf(budgetAmount));
+        if (hundredths >= EXCEEDED_THRESHOLD * 100L) {
+            return EXCEEDED_THRESHOLD;
+        }
+        if (hundredths >= WARNING_THRESHOLD * 100L) {
+            return WARNING_THRESHOLD;
+        }
+        return 0;
     }
 
     private YearMonth determineYearMonth(Integer month, Integer year) {
@@ -186,13 +464,25 @@ public class BudgetService {
         return YearMonth.now();
     }
 
-    private BigDecimal calculatePercentage(BigDecimal spent, BigDecimal budgetAmount) {
+    private BigDecimal calculatePercentage(long spent, long budgetAmount) {
 
-        if (budgetAmount.compareTo(BigDecimal.ZERO) > 0) {
-            return spent.multiply(BigDecimal.valueOf(100))
-                    .divide(budgetAmount, 2, RoundingMode.HALF_UP);
+        if (budgetAmount > 0) {
+            return BigDecimal.valueOf(percentageHundredths(spent, budgetAmount), 2);
         }
         return BigDecimal.ZERO;
     }
+
+    /**
+     * {@code spent / budgetAmount} in hundredths of a percent, rounded half up (away from zero) in integer
+     * arithmetic; both arguments are minor units.
+     */
+    private static long percentageHundredths(long spent, long budgetAmount) {
+
+        if (budgetAmount <= 0) {
+            return 0;
+        }
+        long magnitude = (Math.abs(spent) * 20_000 + budgetAmount) / (2 * budgetAmount);
+        return spent < 0 ? -magnitude : magnitude;
+    }
 }
 
@@ -0,0 +1,21 @@
+package app.confg;
+
+import org.springframework.boot.task.ThreadPoolTaskExecutorCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfiguration {
+
+    /**
+     * Pool and queue sizes for the shared executor come from {@code spring.task.execution.*}.
+     * When the queue is full the publishing thread runs the listener itself, which slows the
+     * producer down instead of dropping events.
+     */
+    @Bean
+    public ThreadPoolTaskExecutorCustomizer callerRunsTaskExecutorCustomizer() {
+        return executor -> executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
@@ -3,13 +3,23 @@ package app.confg;
 import app.security.OAuth2AuthenticationSuccessHandler;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
@@ -24,6 +34,42 @@ public class SecurityConfig {
         this.oAuth2AuthenticationSuccessHandler = oAuth2AuthenticationSuccessHandler;
     }
 
+    /**
+     * Actuator endpoints. Health stays public for load balancers; the Prometheus scrape and every other
+     * endpoint need HTTP Basic credentials of the scrape account from {@code app.metrics.scrape.*}. The
+     * account lives in its own authentication manager so it can never sign in to the application itself,
+     * and while it is unset those endpoints cannot be reached at all.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http,
+                                                           @Value("${app.metrics.scrape.username:}") String scrapeUsername,
+                                                           @Value("${app.metrics.scrape.password:}") String scrapePassword) throws Exception {
+
+        InMemoryUserDetailsManager scrapeAccounts = new InMemoryUserDetailsManager();
+        if (!scrapeUsername.isBlank() && !scrapePassword.isBlank()) {
+            // A plain password from the environment is taken as-is; "{bcrypt}..." style values are honoured too.
+            String password = scrapePassword.startsWith("{") ? scrapePassword : "{noop}" + scrapePassword;
+            scrapeAccounts.createUser(User.withUsername(scrapeUsername).password(password).roles("METRICS").build());
+        }
+        DaoAuthenticationProvider scrapeAuthentication =
+                new DaoAuthenticationProvider(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+        scrapeAuthentication.setUserDetailsService(scrapeAccounts);
+
+        http
+                .securityMatcher("/actuator/**")
+                .authorizeHttpRequests(matchers -> matchers
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .anyRequest().hasRole("METRICS")
+                )
+                .authenticationManager(new ProviderManager(scrapeAuthentication))
+                .httpBasic(Customizer.withDefaults())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .csrf(AbstractHttpConfigurer::disable);
+
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
 
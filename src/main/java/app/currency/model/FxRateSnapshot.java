@@ -0,0 +1,72 @@
+package app.currency.model;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * Immutable view of the FX table: units of each currency per one unit of {@code base}.
+ * A new instance is built on every reload and published as a whole, so readers never see a half-loaded table.
+ */
+@Getter
+public final class FxRateSnapshot {
+
+    private final Currency base;
+    private final Map<Currency, BigDecimal> rates;
+    private final Instant loadedAt;
+
+    public FxRateSnapshot(Currency base, Map<Currency, BigDecimal> rates, Instant loadedAt) {
+        if (!rates.containsKey(base)) {
+            throw new IllegalArgumentException("FX table has no rate for its base currency [%s]".formatted(base));
+        }
+        this.base = base;
+        this.rates = Map.copyOf(rates);
+        this.loadedAt = loadedAt;
+    }
+
+    public Set<Currency> getSupportedCurrencies() {
+        return rates.keySet();
+    }
+
+    /**
+     * Units of {@code to} for one unit of {@code from}.
+     */
+    public BigDecimal rate(Currency from, Currency to) {
+        if (from.equals(to)) {
+            return BigDecimal.ONE;
+        }
+        return rateOf(to).divide(rateOf(from), MathContext.DECIMAL64);
+    }
+
+    public BigDecimal convert(BigDecimal amount, Currency from, Currency to) {
+        return converter(from, to).apply(amount);
+    }
+
+    /**
+     * Resolves the cross rate once and returns a function that applies it, rounding to the target
+     * currency's minor unit. Same-currency conversion is the identity and leaves amounts untouched.
+     */
+    public UnaryOperator<BigDecimal> converter(Currency from, Currency to) {
+        if (from.equals(to)) {
+            return UnaryOperator.identity();
+        }
+        BigDecimal factor = rate(from, to);
+        int scale = Math.max(to.getDefaultFractionDigits(), 0);
+        return amount -> amount.multiply(factor).setScale(scale, RoundingMode.HALF_EVEN);
+    }
+
+    private BigDecimal rateOf(Currency currency) {
+        BigDecimal rate = rates.get(currency);
+        if (rate == null) {
+            throw new IllegalArgumentException("No FX rate for currency [%s]".formatted(currency.getCurrencyCode()));
+        }
+        return rate;
+    }
+}
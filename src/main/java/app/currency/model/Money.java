@@ -0,0 +1,92 @@
+package app.currency.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Amount held as a {@code long} count of hundredths, the scale every money column in the schema uses.
+ * Aggregations add the primitive {@link #minorUnitsOf(BigDecimal) minor units} directly and only turn
+ * the result back into a {@link BigDecimal} when it is handed to a view.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0L);
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0L ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * @throws ArithmeticException if {@code amount} has more than {@value #SCALE} fraction digits or does not fit a long
+     */
+    public static Money of(BigDecimal amount) {
+        return ofMinor(minorUnitsOf(amount));
+    }
+
+    /**
+     * Exact minor-unit value of {@code amount}; anything that would need rounding is rejected.
+     */
+    public static long minorUnitsOf(BigDecimal amount) {
+        return amount.movePointRight(SCALE).longValueExact();
+    }
+
+    /**
+     * Zero comes back as {@link BigDecimal#ZERO} so empty sums look the same as they did before.
+     */
+    public static BigDecimal toBigDecimal(long minorUnits) {
+        return minorUnits == 0L ? BigDecimal.ZERO : BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    /**
+     * {@code part} as a whole percentage of {@code total}, rounded half up.
+     */
+    public static int percentOf(long part, long total) {
+        return total > 0 ? (int) ((200 * part + total) / (2 * total)) : 0;
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return toBigDecimal(minorUnits);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && other.minorUnits == minorUnits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return BigDecimal.valueOf(minorUnits, SCALE).toPlainString();
+    }
+}
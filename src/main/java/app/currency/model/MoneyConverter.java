@@ -0,0 +1,24 @@
+package app.currency.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Maps {@link Money} onto a DECIMAL(p, 2) column. Reading a value with more fraction digits than the
+ * column scale fails instead of silently rounding.
+ */
+@Converter
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money money) {
+        return money == null ? null : BigDecimal.valueOf(money.getMinorUnits(), Money.SCALE);
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal column) {
+        return column == null ? null : Money.of(column);
+    }
+}
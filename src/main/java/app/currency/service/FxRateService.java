@@ -0,0 +1,108 @@
+package app.currency.service;
+
+import app.currency.model.FxRateSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+@Slf4j
+public class FxRateService {
+
+    private final ResourceLoader resourceLoader;
+    private final String ratesLocation;
+    private final Currency baseCurrency;
+    private final AtomicReference<FxRateSnapshot> current = new AtomicReference<>();
+
+    @Autowired
+    public FxRateService(ResourceLoader resourceLoader,
+                         @Value("${fx.rates.location:classpath:fx/rates.csv}") String ratesLocation,
+                         @Value("${fx.base-currency:EUR}") String baseCurrency) {
+        this.resourceLoader = resourceLoader;
+        this.ratesLocation = ratesLocation;
+        this.baseCurrency = Currency.getInstance(baseCurrency);
+        this.current.set(load());
+    }
+
+    public FxRateSnapshot snapshot() {
+        return current.get();
+    }
+
+    public BigDecimal convert(BigDecimal amount, Currency from, Currency to) {
+        return current.get().convert(amount, from, to);
+    }
+
+    /**
+     * Re-reads the rate table and swaps it in. A broken file keeps the previous snapshot in place, and a
+     * currency the new file no longer lists keeps its previous rate: wallets may still hold it, and every
+     * conversion touching them would fail otherwise.
+     */
+    public void reload() {
+        try {
+            FxRateSnapshot snapshot = keepDroppedRates(load(), current.get());
+            current.set(snapshot);
+            log.info("Loaded [%d] FX rates from [%s]".formatted(snapshot.getRates().size(), ratesLocation));
+        } catch (RuntimeException e) {
+            log.error("Keeping previous FX rates, reload from [%s] failed".formatted(ratesLocation), e);
+        }
+    }
+
+    private FxRateSnapshot keepDroppedRates(FxRateSnapshot loaded, FxRateSnapshot previous) {
+        Map<Currency, BigDecimal> rates = new HashMap<>(loaded.getRates());
+        previous.getRates().forEach((currency, rate) -> {
+            if (rates.putIfAbsent(currency, rate) == null) {
+                log.warn("FX rates at [%s] have no rate for [%s], keeping the previous one"
+                        .formatted(ratesLocation, currency.getCurrencyCode()));
+            }
+        });
+        return rates.size() == loaded.getRates().size()
+                ? loaded
+                : new FxRateSnapshot(loaded.getBase(), rates, loaded.getLoadedAt());
+    }
+
+    private FxRateSnapshot load() {
+        Resource resource = resourceLoader.getResource(ratesLocation);
+        Map<Currency, BigDecimal> rates = new HashMap<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#") || line.startsWith("currency,")) {
+                    continue;
+                }
+
+                String[] columns = line.split(",");
+                if (columns.length != 2) {
+                    throw new IllegalStateException("Malformed FX rate at %s:%d".formatted(ratesLocation, lineNumber));
+                }
+
+                BigDecimal rate = new BigDecimal(columns[1].strip());
+                if (rate.signum() <= 0) {
+                    throw new IllegalStateException("Non-positive FX rate at %s:%d".formatted(ratesLocation, lineNumber));
+                }
+                rates.put(Currency.getInstance(columns[0].strip()), rate);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read FX rates from [%s]".formatted(ratesLocation), e);
+        }
+
+        return new FxRateSnapshot(baseCurrency, rates, Instant.now());
+    }
+}
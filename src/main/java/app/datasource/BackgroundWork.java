@@ -0,0 +1,38 @@
+package app.datasource;
+
+/**
+ * Marks the current thread as running background work (a scheduled job or an async listener) so
+ * {@link BackgroundConnectionLimiter} can cap how many pool connections such work holds at once.
+ * Set by {@link BackgroundWorkAspect}; scopes nest.
+ */
+public final class BackgroundWork {
+
+    private static final ThreadLocal<Integer> DEPTH = new ThreadLocal<>();
+
+    private BackgroundWork() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static Scope begin() {
+        Integer previous = DEPTH.get();
+        DEPTH.set(previous == null ? 1 : previous + 1);
+        return () -> {
+            if (previous == null) {
+                DEPTH.remove();
+            } else {
+                DEPTH.set(previous);
+            }
+        };
+    }
+
+    public static boolean isActive() {
+        return DEPTH.get() != null;
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
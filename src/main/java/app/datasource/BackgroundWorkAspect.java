@@ -0,0 +1,33 @@
+package app.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs {@code @Scheduled} jobs and {@code @Async} listeners inside a {@link BackgroundWork} scope.
+ * For {@code @Async} methods the async interceptor hands off first, so the scope opens on the
+ * executor thread that does the work.
+ * <p>
+ * Background work also reads from the primary ({@link ReplicaRouting#forcePrimary()}). Jobs such as the
+ * outbox relay read rows and then update them, often through bare repository calls whose implicit
+ * read-only transaction would otherwise go to the replica; a lagging replica would hand them rows that
+ * were already processed.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class BackgroundWorkAspect {
+
+    @Around("@annotation(org.springframework.scheduling.annotation.Scheduled) "
+            + "|| @annotation(org.springframework.scheduling.annotation.Async)")
+    public Object runAsBackgroundWork(ProceedingJoinPoint joinPoint) throws Throwable {
+        try (BackgroundWork.Scope ignored = BackgroundWork.begin();
+             ReplicaRouting.Scope primary = ReplicaRouting.forcePrimary()) {
+            return joinPoint.proceed();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package app.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Keeps a user on the primary for a short window after they write. Without it, the redirect after
+ * {@code POST /transactions/add} could render the dashboard from a replica that has not replayed
+ * the new transaction yet. The window is tracked in the HTTP session, so it only affects the user
+ * who wrote.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String PRIMARY_UNTIL_ATTRIBUTE = ReadYourWritesFilter.class.getName() + ".PRIMARY_UNTIL";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final Duration window;
+    private final Clock clock;
+
+    public ReadYourWritesFilter(Duration window, Clock clock) {
+        this.window = window;
+        this.clock = clock;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (withinWriteWindow(request)) {
+            try (ReplicaRouting.Scope ignored = ReplicaRouting.forcePrimary()) {
+                filterChain.doFilter(request, response);
+            }
+        } else {
+            filterChain.doFilter(request, response);
+        }
+
+        // the response is usually committed by now, so only an existing session can take the marker
+        HttpSession session = request.getSession(false);
+        if (session != null && !SAFE_METHODS.contains(request.getMethod()) && response.getStatus() < 400) {
+            session.setAttribute(PRIMARY_UNTIL_ATTRIBUTE, clock.millis() + window.toMillis());
+        }
+    }
+
+    private boolean withinWriteWindow(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        if (session == null) {
+            return false;
+        }
+        return session.getAttribute(PRIMARY_UNTIL_ATTRIBUTE) instanceof Long until && clock.millis() < until;
+    }
+}
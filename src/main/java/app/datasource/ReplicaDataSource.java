@@ -0,0 +1,32 @@
+package app.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Read-only side of the routing pair: hands out replica connections unless
+ * {@link ReplicaRouting#forcePrimary()} is in effect on the calling thread, in which case the read
+ * goes to the primary pool.
+ */
+public class ReplicaDataSource extends DelegatingDataSource {
+
+    private final DataSource primary;
+
+    public ReplicaDataSource(DataSource replica, DataSource primary) {
+        super(replica);
+        this.primary = primary;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return ReplicaRouting.isPrimaryForced() ? primary.getConnection() : super.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return ReplicaRouting.isPrimaryForced() ? primary.getConnection(username, password) : super.getConnection(username, password);
+    }
+}
@@ -0,0 +1,45 @@
+package app.datasource;
+
+/**
+ * Per-thread override that sends read-only transactions to the primary instead of the replica.
+ * Used by {@link ReadYourWritesFilter} after a user's own write, by {@link BackgroundWorkAspect} for
+ * scheduled and async work, and available to any caller that must not see replication lag:
+ * <pre>{@code
+ * try (ReplicaRouting.Scope ignored = ReplicaRouting.forcePrimary()) {
+ *     ...
+ * }
+ * }</pre>
+ * The decision is taken when a transaction first touches the database, so open the scope before the
+ * transaction starts.
+ */
+public final class ReplicaRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static Scope forcePrimary() {
+        Boolean previous = PRIMARY_FORCED.get();
+        PRIMARY_FORCED.set(Boolean.TRUE);
+        return () -> {
+            if (previous == null) {
+                PRIMARY_FORCED.remove();
+            } else {
+                PRIMARY_FORCED.set(previous);
+            }
+        };
+    }
+
+    public static boolean isPrimaryForced() {
+        return PRIMARY_FORCED.get() != null;
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
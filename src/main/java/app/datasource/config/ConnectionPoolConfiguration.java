@@ -0,0 +1,55 @@
+package app.datasource.config;
+
+import app.datasource.BackgroundConnectionLimiter;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Puts the {@link BackgroundConnectionLimiter} in front of the application DataSource (the single pool,
+ * or the replica routing proxy when one is configured). Pool sizes themselves are plain
+ * {@code spring.datasource.hikari.*} settings.
+ */
+@Configuration
+public class ConnectionPoolConfiguration {
+
+    @Bean
+    public static BeanPostProcessor backgroundConnectionLimiterPostProcessor() {
+        return new BackgroundConnectionLimiterPostProcessor();
+    }
+
+    /**
+     * Runs after the query-counting post-processor, so the limiter sits outside the counting wrapper
+     * and the counting one still sees the pool itself.
+     */
+    private static final class BackgroundConnectionLimiterPostProcessor implements BeanPostProcessor, Ordered, EnvironmentAware {
+
+        private int maxConnections;
+        private Duration acquireTimeout;
+
+        @Override
+        public void setEnvironment(Environment environment) {
+            this.maxConnections = environment.getProperty("app.datasource.background.max-connections", Integer.class, 3);
+            this.acquireTimeout = environment.getProperty("app.datasource.background.acquire-timeout", Duration.class, Duration.ofSeconds(30));
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                return new BackgroundConnectionLimiter(dataSource, maxConnections, acquireTimeout);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
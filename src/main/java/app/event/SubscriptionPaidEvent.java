@@ -0,0 +1,34 @@
+package app.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.UUID;
+
+@Getter
+public class SubscriptionPaidEvent extends ApplicationEvent {
+    private final UUID subscriptionId;
+    private final String subscriptionName;
+    private final UUID userId;
+    private final UUID walletId;
+    private final BigDecimal amount;
+    private final Currency currency;
+    private final LocalDate paidDate;
+    private final LocalDate nextDueOn;
+
+    public SubscriptionPaidEvent(Object source, UUID subscriptionId, String subscriptionName, UUID userId, UUID walletId,
+                                 BigDecimal amount, Currency currency, LocalDate paidDate, LocalDate nextDueOn) {
+        super(source);
+        this.subscriptionId = subscriptionId;
+        this.subscriptionName = subscriptionName;
+        this.userId = userId;
+        this.walletId = walletId;
+        this.amount = amount;
+        this.currency = currency;
+        this.paidDate = paidDate;
+        this.nextDueOn = nextDueOn;
+    }
+}
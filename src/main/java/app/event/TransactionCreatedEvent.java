@@ -0,0 +1,33 @@
+package app.event;
+
+import app.transactions.model.Category;
+import app.transactions.model.Type;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+public class TransactionCreatedEvent extends ApplicationEvent {
+    private final UUID transactionId;
+    private final UUID walletId;
+    private final UUID userId;
+    private final Type type;
+    private final Category category;
+    private final BigDecimal amount;
+    private final LocalDateTime date;
+
+    public TransactionCreatedEvent(Object source, UUID transactionId, UUID walletId, UUID userId,
+                                   Type type, Category category, BigDecimal amount, LocalDateTime date) {
+        super(source);
+        this.transactionId = transactionId;
+        this.walletId = walletId;
+        this.userId = userId;
+        this.type = type;
+        this.category = category;
+        this.amount = amount;
+        this.date = date;
+    }
+}
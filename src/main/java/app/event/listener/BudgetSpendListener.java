@@ -0,0 +1,37 @@
+package app.event.listener;
+
+import app.budget.service.BudgetService;
+import app.event.TransactionCreatedEvent;
+import app.event.TransactionDeletedEvent;
+import app.transactions.model.Type;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps {@code Budget.spent} in step with expense postings. Runs before commit, inside the
+ * posting transaction, so the running total and the transaction are committed together.
+ */
+@Component
+public class BudgetSpendListener {
+
+    private final BudgetService budgetService;
+
+    public BudgetSpendListener(BudgetService budgetService) {
+        this.budgetService = budgetService;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void handleTransactionCreated(TransactionCreatedEvent event) {
+        if (event.getType() == Type.EXPENSE) {
+            budgetService.recordExpense(event.getUserId(), event.getWalletId(), event.getCategory(), event.getDate(), event.getAmount());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void handleTransactionDeleted(TransactionDeletedEvent event) {
+        if (event.getType() == Type.EXPENSE) {
+            budgetService.reverseExpense(event.getUserId(), event.getWalletId(), event.getCategory(), event.getDate(), event.getAmount());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package app.event.listener;
+
+import app.event.SubscriptionPaidEvent;
+import app.notification.service.NotificationOutboxService;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Sends a receipt for every committed subscription charge, manual or renewal. Runs after commit on the
+ * async executor, so neither the payment request nor the renewal batch waits for it. The dedup key
+ * names the period that was settled, so a receipt is queued once per charge.
+ */
+@Component
+public class SubscriptionPaidListener {
+
+    private final NotificationOutboxService notificationOutboxService;
+
+    public SubscriptionPaidListener(NotificationOutboxService notificationOutboxService) {
+        this.notificationOutboxService = notificationOutboxService;
+    }
+
+    @Async
+    @TransactionalEventListener
+    public void handleSubscriptionPaid(SubscriptionPaidEvent event) {
+        String currency = event.getCurrency() != null ? event.getCurrency().getCurrencyCode() : "";
+        String subject = "Subscription paid: %s".formatted(event.getSubscriptionName());
+        String body = "%.2f %s was charged for %s on %s. The next payment is due on %s."
+                .formatted(event.getAmount(), currency, event.getSubscriptionName(), event.getPaidDate(), event.getNextDueOn());
+
+        notificationOutboxService.enqueueNotification(event.getUserId(), subject, body,
+                "subscription-paid:%s:%s".formatted(event.getSubscriptionId(), event.getNextDueOn()));
+    }
+}
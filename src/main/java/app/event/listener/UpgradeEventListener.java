@@ -1,19 +1,37 @@
 package app.event.listener;
 
 import app.event.UserUpgradedEvent;
+import app.notification.service.NotificationOutboxService;
+import app.user.model.User;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+/**
+ * Confirms a PRO upgrade to the user once it has committed. Runs on the async executor, so the
+ * payment redirect does not wait for the outbox write.
+ */
 @Component
 @Slf4j
 public class UpgradeEventListener {
 
-    @EventListener
+    private final NotificationOutboxService notificationOutboxService;
+
+    public UpgradeEventListener(NotificationOutboxService notificationOutboxService) {
+        this.notificationOutboxService = notificationOutboxService;
+    }
+
+    @Async
+    @TransactionalEventListener
     public void handleUserUpgraded(UserUpgradedEvent event) {
+        User user = event.getUser();
+        notificationOutboxService.enqueueNotification(user.getId(), "Welcome to PRO",
+                "Hi %s, your account has been upgraded to PRO. Budgets and the monthly report are now available."
+                        .formatted(user.getUsername()),
+                "pro-upgrade:%s".formatted(user.getId()));
         log.info("User {} upgraded from {} to PRO",
-                event.getUser().getUsername(),
+                user.getUsername(),
                 event.getPreviousVersion());
     }
 }
-
@@ -0,0 +1,157 @@
+package app.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps a connection pool so every connection checkout, statement execution and fetched row is reported
+ * to the {@link QueryStats} scope open on the calling thread. Connections, statements and result sets are
+ * JDK proxies around the pool's objects; {@code unwrap} still reaches the pool, so Hikari metrics and
+ * vendor-specific calls keep working.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    public QueryCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        QueryStats stats = QueryStats.current();
+        long start = System.nanoTime();
+        Connection connection = super.getConnection();
+        if (stats != null) {
+            stats.connectionAcquired(System.nanoTime() - start);
+        }
+        return proxy(Connection.class, new ConnectionHandler(connection));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        QueryStats stats = QueryStats.current();
+        long start = System.nanoTime();
+        Connection connection = super.getConnection(username, password);
+        if (stats != null) {
+            stats.connectionAcquired(System.nanoTime() - start);
+        }
+        return proxy(Connection.class, new ConnectionHandler(connection));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    /**
+     * Base for the JDBC proxies. Identity-based {@code equals}/{@code hashCode} matter here: Hibernate
+     * keeps open statements and result sets in hash maps keyed by the objects it was handed.
+     */
+    private abstract static class JdbcHandler implements InvocationHandler {
+
+        final Object target;
+
+        JdbcHandler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> handle(method, args);
+            };
+        }
+
+        abstract Object handle(Method method, Object[] args) throws Throwable;
+
+        Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static final class ConnectionHandler extends JdbcHandler {
+
+        ConnectionHandler(Connection target) {
+            super(target);
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(method, args);
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                // prepareStatement / prepareCall carry their SQL; a plain Statement gets it on execute
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                return proxy(method.getReturnType(), new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler extends JdbcHandler {
+
+        private final String preparedSql;
+
+        StatementHandler(Statement target, String preparedSql) {
+            super(target);
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            QueryStats stats = QueryStats.current();
+            if (stats == null) {
+                return invokeTarget(method, args);
+            }
+
+            Object result;
+            if (method.getName().startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                long start = System.nanoTime();
+                try {
+                    result = invokeTarget(method, args);
+                } finally {
+                    stats.statementExecuted(sql, System.nanoTime() - start);
+                }
+            } else {
+                result = invokeTarget(method, args);
+            }
+
+            if (result instanceof ResultSet resultSet && method.getReturnType() == ResultSet.class) {
+                return proxy(ResultSet.class, new ResultSetHandler(resultSet, stats));
+            }
+            return result;
+        }
+    }
+
+    private static final class ResultSetHandler extends JdbcHandler {
+
+        private final QueryStats stats;
+
+        ResultSetHandler(ResultSet target, QueryStats stats) {
+            super(target);
+            this.stats = stats;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(method, args);
+            if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                stats.rowFetched();
+            }
+            return result;
+        }
+    }
+}
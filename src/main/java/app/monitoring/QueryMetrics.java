@@ -0,0 +1,73 @@
+package app.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes finished {@link QueryStats} scopes to Micrometer, tagged by {@code scope} ({@code http} or
+ * {@code job}) and {@code name} (the handler's URI pattern or the job's {@code Class.method}):
+ * <ul>
+ *     <li>{@code db.query.statements} - statements executed per request/run</li>
+ *     <li>{@code db.query.rows} - rows read from result sets</li>
+ *     <li>{@code db.query.time} - time spent inside JDBC execute calls</li>
+ *     <li>{@code db.query.connection.wait} - time spent waiting for pool connections, which shows
+ *     which endpoint or job suffers (or causes) pool exhaustion</li>
+ * </ul>
+ * It also logs a warning when a scope goes over the statement budget or runs one SQL string often
+ * enough to look like an N+1.
+ */
+@Slf4j
+@Component
+public class QueryMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final int statementWarnThreshold;
+    private final int repeatWarnThreshold;
+
+    public QueryMetrics(MeterRegistry meterRegistry,
+                        @Value("${app.query-metrics.warn-statements:50}") int statementWarnThreshold,
+                        @Value("${app.query-metrics.warn-repeats:10}") int repeatWarnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.statementWarnThreshold = statementWarnThreshold;
+        this.repeatWarnThreshold = repeatWarnThreshold;
+    }
+
+    public void record(String scope, String name, QueryStats stats) {
+        DistributionSummary.builder("db.query.statements")
+                .description("JDBC statements executed per unit of work")
+                .tags("scope", scope, "name", name)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("db.query.rows")
+                .description("Result set rows read per unit of work")
+                .tags("scope", scope, "name", name)
+                .register(meterRegistry)
+                .record(stats.getRows());
+        Timer.builder("db.query.time")
+                .description("Time spent executing JDBC statements per unit of work")
+                .tags("scope", scope, "name", name)
+                .register(meterRegistry)
+                .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+        if (stats.getConnections() > 0) {
+            Timer.builder("db.query.connection.wait")
+                    .description("Time spent waiting for a pooled connection per unit of work")
+                    .tags("scope", scope, "name", name)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(stats.getConnectionWaitNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        if (stats.getMaxRepeats() >= repeatWarnThreshold) {
+            log.warn("Possible N+1 in {} [{}]: the same statement ran {} times: {}",
+                    scope, name, stats.getMaxRepeats(), stats.getMostRepeatedSql());
+        } else if (stats.getStatements() >= statementWarnThreshold) {
+            log.warn("{} [{}] executed {} statements", scope, name, stats.getStatements());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package app.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Opens a {@link QueryStats} scope around each request, records it under the matched URI pattern and
+ * leaves it on the request as {@link QueryStats#REQUEST_ATTRIBUTE} for tests. With the response header
+ * switched on (dev only) the body is buffered so {@code X-Query-Count}, {@code X-Query-Rows} and
+ * {@code X-Query-Time-Ms} can still be set after the view has rendered.
+ */
+public class QueryMetricsFilter extends OncePerRequestFilter {
+
+    private final QueryMetrics queryMetrics;
+    private final boolean responseHeader;
+
+    public QueryMetricsFilter(QueryMetrics queryMetrics, boolean responseHeader) {
+        this.queryMetrics = queryMetrics;
+        this.responseHeader = responseHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper buffered = responseHeader ? new ContentCachingResponseWrapper(response) : null;
+        QueryStats stats = QueryStats.start();
+        try {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            stats.close();
+            request.setAttribute(QueryStats.REQUEST_ATTRIBUTE, stats);
+            queryMetrics.record("http", uriPattern(request), stats);
+            if (buffered != null) {
+                buffered.setHeader("X-Query-Count", Long.toString(stats.getStatements()));
+                buffered.setHeader("X-Query-Rows", Long.toString(stats.getRows()));
+                buffered.setHeader("X-Query-Time-Ms", Long.toString(stats.getNanos() / 1_000_000));
+                buffered.copyBodyToResponse();
+            }
+        }
+    }
+
+    // the pattern rather than the raw path keeps /wallets/{id} from becoming one tag per wallet
+    private static String uriPattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,121 @@
+package app.monitoring;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JDBC activity for one unit of work (an HTTP request or a scheduled job run) on the current thread.
+ * {@link QueryCountingDataSource} only counts while a scope is open, so code outside a request or job
+ * pays nothing beyond the proxy call.
+ * <pre>{@code
+ * try (QueryStats stats = QueryStats.start()) {
+ *     ...
+ * }
+ * }</pre>
+ * Scopes nest: closing an inner scope restores the outer one, and the inner one's statements are not
+ * added to it. Not thread-safe, a scope belongs to the thread that opened it.
+ */
+public final class QueryStats implements AutoCloseable {
+
+    /** Request attribute under which {@code QueryMetricsFilter} leaves the finished stats. */
+    public static final String REQUEST_ATTRIBUTE = QueryStats.class.getName();
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private final QueryStats outer;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+    private long statements;
+    private long rows;
+    private long nanos;
+    private long connections;
+    private long connectionWaitNanos;
+    private int maxRepeats;
+    private String mostRepeatedSql;
+
+    private QueryStats(QueryStats outer) {
+        this.outer = outer;
+    }
+
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public void close() {
+        if (CURRENT.get() != this) {
+            return;
+        }
+        if (outer == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(outer);
+        }
+    }
+
+    void statementExecuted(String sql, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        if (sql == null) {
+            return;
+        }
+        int executions = executionsBySql.merge(sql, 1, Integer::sum);
+        if (executions > maxRepeats) {
+            maxRepeats = executions;
+            mostRepeatedSql = sql;
+        }
+    }
+
+    void rowFetched() {
+        rows++;
+    }
+
+    void connectionAcquired(long waitNanos) {
+        connections++;
+        connectionWaitNanos += waitNanos;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public long getConnections() {
+        return connections;
+    }
+
+    /** Time spent waiting for the pool to hand out a connection, summed over all acquisitions. */
+    public long getConnectionWaitNanos() {
+        return connectionWaitNanos;
+    }
+
+    /**
+     * Highest number of times a single SQL string ran in this scope. A value that grows with the data
+     * (one select per wallet, per transaction, ...) is the signature of an N+1 query.
+     */
+    public int getMaxRepeats() {
+        return maxRepeats;
+    }
+
+    public String getMostRepeatedSql() {
+        return mostRepeatedSql;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryStats{statements=%d, rows=%d, timeMs=%.1f, connections=%d, connectionWaitMs=%.1f, maxRepeats=%d}"
+                .formatted(statements, rows, nanos / 1e6, connections, connectionWaitNanos / 1e6, maxRepeats);
+    }
+}
@@ -0,0 +1,36 @@
+package app.monitoring;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the JDBC work of every {@code @Scheduled} run. Ordered first so the scope also covers the
+ * commit of a {@code @Transactional} job.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ScheduledJobQueryMetrics {
+
+    private final QueryMetrics queryMetrics;
+
+    public ScheduledJobQueryMetrics(QueryMetrics queryMetrics) {
+        this.queryMetrics = queryMetrics;
+    }
+
+    @Around("@annotation(org.springframework.scheduling.annotation.Scheduled)")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        QueryStats stats = QueryStats.start();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            stats.close();
+            queryMetrics.record("job", joinPoint.getSignature().getDeclaringType().getSimpleName()
+                    + "." + joinPoint.getSignature().getName(), stats);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package app.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Run-level metrics for the scheduled jobs. The jobs catch their own exceptions so the scheduler keeps
+ * firing, which means a failed run looks like a successful one from the outside; each job therefore
+ * reports its outcome and item counts explicitly:
+ * <pre>{@code
+ * SchedulerMetrics.Run run = schedulerMetrics.start("monthly-report");
+ * try {
+ *     for (User user : users) { ... run.processed(); }
+ *     run.succeeded();
+ * } catch (Exception e) {
+ *     run.failed();
+ * }
+ * }</pre>
+ * Meters: {@code scheduler.run} (timer, tags {@code job}, {@code outcome}) and {@code scheduler.items}
+ * (counter, tags {@code job}, {@code result} = processed / skipped / failed).
+ */
+@Component
+public class SchedulerMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public SchedulerMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Run start(String job) {
+        return new Run(job, Timer.start(meterRegistry));
+    }
+
+    public final class Run {
+
+        private final String job;
+        private final Timer.Sample sample;
+        private boolean finished;
+
+        private Run(String job, Timer.Sample sample) {
+            this.job = job;
+            this.sample = sample;
+        }
+
+        public void processed() {
+            processed(1);
+        }
+
+        public void processed(int count) {
+            items("processed").increment(count);
+        }
+
+        public void skipped() {
+            items("skipped").increment();
+        }
+
+        public void itemFailed() {
+            items("failed").increment();
+        }
+
+        public void succeeded() {
+            finish("success");
+        }
+
+        public void failed() {
+            finish("failure");
+        }
+
+        private void finish(String outcome) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            sample.stop(Timer.builder("scheduler.run")
+                    .description("Duration of a scheduled job run")
+                    .tags("job", job, "outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+
+        private Counter items(String result) {
+            return Counter.builder("scheduler.items")
+                    .description("Items handled by scheduled job runs")
+                    .tags("job", job, "result", result)
+                    .register(meterRegistry);
+        }
+    }
+}
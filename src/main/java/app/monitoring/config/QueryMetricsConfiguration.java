@@ -0,0 +1,61 @@
+package app.monitoring.config;
+
+import app.monitoring.QueryCountingDataSource;
+import app.monitoring.QueryMetrics;
+import app.monitoring.QueryMetricsFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Wires per-request and per-job SQL counting. Kept out of {@code BeanConfiguration} so {@code @WebMvcTest}
+ * slices, which have neither a DataSource nor a MeterRegistry, do not pick it up.
+ * The {@code X-Query-*} response headers are off unless {@code app.query-metrics.response-header=true}
+ * (set by the {@code dev} profile).
+ */
+@Configuration
+public class QueryMetricsConfiguration {
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new QueryCountingDataSourcePostProcessor();
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryMetricsFilter> queryMetricsFilter(
+            QueryMetrics queryMetrics,
+            @Value("${app.query-metrics.response-header:false}") boolean responseHeader) {
+        FilterRegistrationBean<QueryMetricsFilter> registration =
+                new FilterRegistrationBean<>(new QueryMetricsFilter(queryMetrics, responseHeader));
+        // ahead of Spring Security, so loading the user for the session is counted too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Wraps each connection pool. Delegating DataSources (the replica routing proxy, or this wrapper
+     * itself) are skipped, otherwise a statement would be counted once per layer. Ordered ahead of
+     * the other DataSource post-processors so it sees the bare pools.
+     */
+    private static final class QueryCountingDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)) {
+                return new QueryCountingDataSource(dataSource);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+    }
+}
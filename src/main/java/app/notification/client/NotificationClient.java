@@ -1,5 +1,6 @@
 package app.notification.client;
 
+import app.notification.client.config.NotificationClientConfiguration;
 import app.notification.client.dto.NotificationRequest;
 import app.notification.client.dto.NotificationsResponse;
 import app.notification.client.dto.PreferenceResponse;
@@ -14,7 +15,10 @@ import org.springframework.web.bind.annotation.RequestParam;
 import java.util.List;
 import java.util.UUID;
 
-@FeignClient(name = "notification-svc", url = "localhost:9091/api/v1")
+@FeignClient(name = "notification-svc",
+        url = "${notification-svc.url:localhost:9091/api/v1}",
+        configuration = NotificationClientConfiguration.class,
+        fallbackFactory = NotificationClientFallbackFactory.class)
 public interface NotificationClient {
 
     @PostMapping("/preferences")
@@ -24,10 +28,9 @@ public interface NotificationClient {
     ResponseEntity<PreferenceResponse> getPreferences(@RequestParam("userId") UUID userId);
 
     @GetMapping("/notifications")
-    ResponseEntity<List<NotificationsResponse>> getNotifications(@RequestParam("userId") UUID userId);
+    ResponseEntity<List<NotificationsResponse>> getNotifications(@RequestParam("userId") UUID userId, @RequestParam("limit") int limit);
 
     @PostMapping("/notifications")
     ResponseEntity<Void> sendNotification(@RequestBody NotificationRequest requestBody);
 }
 
-
@@ -0,0 +1,76 @@
+package app.notification.client;
+
+import app.notification.client.dto.NotificationRequest;
+import app.notification.client.dto.NotificationsResponse;
+import app.notification.client.dto.PreferenceResponse;
+import app.notification.client.dto.UpsertPreferenceRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Used when the notification-svc circuit is open or a call fails after its retries.
+ * Reads degrade to "no data", writes report 503 so callers can decide how to fail.
+ * Every fallback is counted as {@code notification.client.fallback} by endpoint and cause; call latency
+ * itself is recorded by feign-micrometer under {@code http.client.requests}.
+ */
+@Component
+@Slf4j
+public class NotificationClientFallbackFactory implements FallbackFactory<NotificationClient> {
+
+    private final MeterRegistry meterRegistry;
+
+    public NotificationClientFallbackFactory(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public NotificationClient create(Throwable cause) {
+        return new NotificationClient() {
+
+            @Override
+            public ResponseEntity<Void> upsertPreference(UpsertPreferenceRequest requestBody) {
+                log.warn("[S2S Fallback] upsertPreference for user [{}] due to [{}]", requestBody.getUserId(), cause.toString());
+                countFallback("upsertPreference", cause);
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+            }
+
+            @Override
+            public ResponseEntity<PreferenceResponse> getPreferences(UUID userId) {
+                log.warn("[S2S Fallback] getPreferences for user [{}] due to [{}]", userId, cause.toString());
+                countFallback("getPreferences", cause);
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+            }
+
+            @Override
+            public ResponseEntity<List<NotificationsResponse>> getNotifications(UUID userId, int limit) {
+                log.warn("[S2S Fallback] getNotifications for user [{}] due to [{}]", userId, cause.toString());
+                countFallback("getNotifications", cause);
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Collections.emptyList());
+            }
+
+            @Override
+            public ResponseEntity<Void> sendNotification(NotificationRequest requestBody) {
+                log.warn("[S2S Fallback] sendNotification for user [{}] due to [{}]", requestBody.getUserId(), cause.toString());
+                countFallback("sendNotification", cause);
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+            }
+        };
+    }
+
+    private void countFallback(String endpoint, Throwable cause) {
+        Counter.builder("notification.client.fallback")
+                .description("notification-svc calls answered by the fallback")
+                .tags("endpoint", endpoint, "cause", cause.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+    }
+}
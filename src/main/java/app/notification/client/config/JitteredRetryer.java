@@ -0,0 +1,63 @@
+package app.notification.client.config;
+
+import feign.Request;
+import feign.RetryableException;
+import feign.Retryer;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with full jitter. Only idempotent HTTP methods are retried,
+ * everything else is propagated on the first failure.
+ */
+public class JitteredRetryer implements Retryer {
+
+    private static final Set<Request.HttpMethod> IDEMPOTENT_METHODS = EnumSet.of(
+            Request.HttpMethod.GET, Request.HttpMethod.HEAD, Request.HttpMethod.OPTIONS,
+            Request.HttpMethod.PUT, Request.HttpMethod.DELETE);
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private int attempt;
+
+    public JitteredRetryer(int maxAttempts, long initialBackoffMillis, long maxBackoffMillis) {
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.attempt = 1;
+    }
+
+    @Override
+    public void continueOrPropagate(RetryableException e) {
+        if (e.method() == null || !IDEMPOTENT_METHODS.contains(e.method()) || attempt++ >= maxAttempts) {
+            throw e;
+        }
+
+        long backoff = nextBackoffMillis(e.retryAfter());
+        try {
+            Thread.sleep(backoff);
+        } catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    long nextBackoffMillis(Long retryAfterEpochMillis) {
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 2, 30));
+        long backoff = ThreadLocalRandom.current().nextLong(ceiling + 1);
+
+        if (retryAfterEpochMillis != null) {
+            long serverHint = retryAfterEpochMillis - System.currentTimeMillis();
+            backoff = Math.max(backoff, Math.min(serverHint, maxBackoffMillis));
+        }
+        return backoff;
+    }
+
+    @Override
+    public Retryer clone() {
+        return new JitteredRetryer(maxAttempts, initialBackoffMillis, maxBackoffMillis);
+    }
+}
@@ -0,0 +1,35 @@
+package app.notification.client.config;
+
+import feign.Request;
+import feign.Retryer;
+import feign.codec.ErrorDecoder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Feign configuration scoped to {@code NotificationClient}. Not annotated with
+ * {@code @Configuration} on purpose, so it does not leak into other Feign clients.
+ */
+@EnableConfigurationProperties(NotificationClientProperties.class)
+public class NotificationClientConfiguration {
+
+    @Bean
+    public Request.Options notificationClientOptions(NotificationClientProperties properties) {
+        Request.Options options = new Request.Options(properties.getConnectTimeout(), properties.getReadTimeout(), false);
+        properties.getMethodReadTimeouts().forEach((method, readTimeout) ->
+                options.setMethodOptions(method, new Request.Options(properties.getConnectTimeout(), readTimeout, false)));
+        return options;
+    }
+
+    @Bean
+    public Retryer notificationClientRetryer(NotificationClientProperties properties) {
+        return new JitteredRetryer(properties.getMaxAttempts(),
+                properties.getRetryInitialBackoff().toMillis(),
+                properties.getRetryMaxBackoff().toMillis());
+    }
+
+    @Bean
+    public ErrorDecoder notificationClientErrorDecoder() {
+        return new RetryableStatusErrorDecoder();
+    }
+}
@@ -0,0 +1,28 @@
+package app.notification.client.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "notification-svc.client")
+public class NotificationClientProperties {
+
+    private Duration connectTimeout = Duration.ofSeconds(1);
+
+    private Duration readTimeout = Duration.ofSeconds(3);
+
+    /**
+     * Read timeout overrides keyed by {@code NotificationClient} method name.
+     */
+    private Map<String, Duration> methodReadTimeouts = new HashMap<>();
+
+    private int maxAttempts = 3;
+
+    private Duration retryInitialBackoff = Duration.ofMillis(100);
+
+    private Duration retryMaxBackoff = Duration.ofSeconds(1);
+}
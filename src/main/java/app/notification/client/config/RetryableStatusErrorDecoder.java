@@ -0,0 +1,30 @@
+package app.notification.client.config;
+
+import feign.Response;
+import feign.RetryableException;
+import feign.codec.ErrorDecoder;
+
+import java.util.Set;
+
+/**
+ * Marks transient upstream statuses as retryable; whether they are actually retried
+ * is decided by {@link JitteredRetryer} based on the HTTP method.
+ */
+public class RetryableStatusErrorDecoder implements ErrorDecoder {
+
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(429, 502, 503, 504);
+
+    private final ErrorDecoder delegate = new ErrorDecoder.Default();
+
+    @Override
+    public Exception decode(String methodKey, Response response) {
+        Exception exception = delegate.decode(methodKey, response);
+
+        if (exception instanceof RetryableException || !RETRYABLE_STATUSES.contains(response.status())) {
+            return exception;
+        }
+
+        return new RetryableException(response.status(), exception.getMessage(),
+                response.request().httpMethod(), exception, (Long) null, response.request());
+    }
+}
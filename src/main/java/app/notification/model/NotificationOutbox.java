@@ -0,0 +1,71 @@
+package app.notification.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Pending call to notification-svc, written in the same transaction as the change that caused it
+ * and delivered later by {@link app.notification.service.NotificationOutboxService#relayPendingBatch()}.
+ */
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "notification_outbox", indexes = {
+        @Index(name = "idx_outbox_status_created", columnList = "status, created_on"),
+        @Index(name = "idx_outbox_pending_dedup_key", columnList = "pending_dedup_key", unique = true)
+})
+public class NotificationOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxMessageType type;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    private boolean notificationEnabled;
+
+    private String contactInfo;
+
+    private String subject;
+
+    @Column(length = 4000)
+    private String body;
+
+    @Column(name = "dedup_key")
+    private String dedupKey;
+
+    /**
+     * The {@link #dedupKey} while the message is pending, cleared once it is sent or failed. Its unique
+     * index is what keeps two concurrent callers from queueing the same pending message.
+     */
+    @Column(name = "pending_dedup_key")
+    private String pendingDedupKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxStatus status;
+
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "created_on", nullable = false)
+    private LocalDateTime createdOn;
+
+    private LocalDateTime sentOn;
+
+    @Column(length = 1000)
+    private String lastError;
+}
@@ -0,0 +1,7 @@
+package app.notification.model;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,52 @@
+package app.notification.repository;
+
+import app.notification.model.NotificationOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, UUID> {
+
+    /**
+     * Pending messages that are due, oldest first. A message is left out while an older pending message
+     * of the same user is still backing off, so users in backoff neither fill the page nor get their
+     * later messages delivered ahead of the held one.
+     */
+    @Query("""
+                SELECT m FROM NotificationOutbox m
+                WHERE m.status = app.notification.model.OutboxStatus.PENDING AND m.nextAttemptAt <= :now
+                  AND NOT EXISTS (
+                      SELECT 1 FROM NotificationOutbox held
+                      WHERE held.userId = m.userId
+                        AND held.status = app.notification.model.OutboxStatus.PENDING
+                        AND held.nextAttemptAt > :now
+                        AND held.createdOn < m.createdOn)
+                ORDER BY m.createdOn
+            """)
+    List<NotificationOutbox> findDuePending(@Param("now") LocalDateTime now, Pageable pageable);
+
+    boolean existsByPendingDedupKey(String pendingDedupKey);
+
+    /**
+     * Claims a fetched message for one relay by moving its next attempt to {@code leaseUntil}, provided
+     * it is still pending and due at {@code now}. Returns 0 when another relay claimed it first; a relay
+     * that dies mid-delivery leaves the message to be picked up again once the lease runs out.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+                UPDATE NotificationOutbox m SET m.nextAttemptAt = :leaseUntil
+                WHERE m.id = :id AND m.status = app.notification.model.OutboxStatus.PENDING
+                  AND m.nextAttemptAt <= :now
+            """)
+    int claim(@Param("id") UUID id, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+}
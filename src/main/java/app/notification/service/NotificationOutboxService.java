@@ -0,0 +1,159 @@
+package app.notification.service;
+
+import app.exception.NotificationRetryFailedException;
+import app.notification.model.NotificationOutbox;
+import app.notification.model.OutboxMessageType;
+import app.notification.model.OutboxStatus;
+import app.notification.repository.NotificationOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+@Slf4j
+public class NotificationOutboxService {
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationService notificationService;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long initialBackoffSeconds;
+    private final long claimSeconds;
+
+    @Autowired
+    public NotificationOutboxService(NotificationOutboxRepository outboxRepository,
+                                     NotificationService notificationService,
+                                     @Value("${notification.outbox.batch-size:50}") int batchSize,
+                                     @Value("${notification.outbox.max-attempts:8}") int maxAttempts,
+                                     @Value("${notification.outbox.initial-backoff-seconds:5}") long initialBackoffSeconds,
+                                     @Value("${notification.outbox.claim-seconds:300}") long claimSeconds) {
+        this.outboxRepository = outboxRepository;
+        this.notificationService = notificationService;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffSeconds = initialBackoffSeconds;
+        this.claimSeconds = claimSeconds;
+    }
+
+    @Transactional
+    public void enqueuePreferenceUpsert(UUID userId, boolean notificationEnabled, String contactInfo) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxRepository.save(NotificationOutbox.builder()
+                .type(OutboxMessageType.PREFERENCE_UPSERT)
+                .userId(userId)
+                .notificationEnabled(notificationEnabled)
+                .contactInfo(contactInfo)
+                .status(OutboxStatus.PENDING)
+                .nextAttemptAt(now)
+                .createdOn(now)
+                .build());
+    }
+
+    /**
+     * Queues a notification unless one with the same {@code dedupKey} is still pending. The lookup only
+     * saves the insert in the common case; a concurrent caller that gets past it with the same key is
+     * rejected by the unique index on the pending key when its transaction flushes.
+     */
+    @Transactional
+    public void enqueueNotification(UUID userId, String subject, String body, String dedupKey) {
+        if (dedupKey != null && outboxRepository.existsByPendingDedupKey(dedupKey)) {
+            log.info("Notification [%s] is already queued, skipping".formatted(dedupKey));
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        outboxRepository.save(NotificationOutbox.builder()
+                .type(OutboxMessageType.NOTIFICATION)
+                .userId(userId)
+                .subject(subject)
+                .body(body)
+                .dedupKey(dedupKey)
+                .pendingDedupKey(dedupKey)
+                .status(OutboxStatus.PENDING)
+                .nextAttemptAt(now)
+                .createdOn(now)
+                .build());
+    }
+
+    /**
+     * Delivers the oldest due messages. Each row is claimed and saved on its own, so no database
+     * transaction is held open while notification-svc is being called, and a message another instance
+     * claimed first is left to that instance. Messages queued behind a user's message that is still
+     * backing off or claimed are not fetched, and once a user's message fails or is lost to another
+     * instance in this run the rest of that user's batch waits too, which keeps delivery in creation
+     * order per user.
+     *
+     * @return number of messages delivered in this run
+     */
+    public int relayPendingBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationOutbox> batch = outboxRepository.findDuePending(now, PageRequest.of(0, batchSize));
+        Set<UUID> blockedUsers = new HashSet<>();
+        int delivered = 0;
+
+        for (NotificationOutbox message : batch) {
+            if (blockedUsers.contains(message.getUserId())) {
+                continue;
+            }
+            if (outboxRepository.claim(message.getId(), now, LocalDateTime.now().plusSeconds(claimSeconds)) == 0) {
+                blockedUsers.add(message.getUserId());
+                continue;
+            }
+            try {
+                deliver(message);
+                message.setStatus(OutboxStatus.SENT);
+                message.setPendingDedupKey(null);
+                message.setAttempts(message.getAttempts() + 1);
+                message.setSentOn(LocalDateTime.now());
+                message.setLastError(null);
+                delivered++;
+            } catch (RuntimeException e) {
+                // anything thrown counts as an attempt, so a message that can never be delivered ends FAILED
+                markFailedAttempt(message, e);
+                blockedUsers.add(message.getUserId());
+            }
+            outboxRepository.save(message);
+        }
+        return delivered;
+    }
+
+    private void deliver(NotificationOutbox message) {
+        switch (message.getType()) {
+            case PREFERENCE_UPSERT -> notificationService.upsertPreference(
+                    message.getUserId(), message.isNotificationEnabled(), message.getContactInfo());
+            case NOTIFICATION -> notificationService.send(
+                    message.getUserId(), message.getSubject(), message.getBody());
+        }
+    }
+
+    private void markFailedAttempt(NotificationOutbox message, RuntimeException e) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(abbreviate(e instanceof NotificationRetryFailedException
+                ? e.getMessage() : e.getClass().getSimpleName() + ": " + e.getMessage()));
+        if (attempts >= maxAttempts) {
+            message.setStatus(OutboxStatus.FAILED);
+            message.setPendingDedupKey(null);
+            log.error("Outbox message [%s] for user [%s] failed after [%d] attempts".formatted(message.getId(), message.getUserId(), attempts));
+            return;
+        }
+        long backoffSeconds = initialBackoffSeconds << Math.min(attempts - 1, 16);
+        message.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoffSeconds));
+        log.warn("Outbox message [%s] for user [%s] will be retried in [%d]s".formatted(message.getId(), message.getUserId(), backoffSeconds));
+    }
+
+    private String abbreviate(String error) {
+        if (error == null || error.length() <= 1000) {
+            return error;
+        }
+        return error.substring(0, 1000);
+    }
+}
@@ -9,6 +9,8 @@ import app.notification.client.dto.UpsertPreferenceRequest;
 import feign.FeignException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
@@ -20,6 +22,9 @@ import java.util.UUID;
 @Slf4j
 public class NotificationService {
 
+    public static final String PREFERENCES_CACHE = "notificationPreferences";
+    private static final int LAST_NOTIFICATIONS_LIMIT = 5;
+
     private final NotificationClient client;
 
     @Autowired
@@ -27,6 +32,7 @@ public class NotificationService {
         this.client = client;
     }
 
+    @CacheEvict(cacheNames = PREFERENCES_CACHE, key = "#userId")
     public void upsertPreference(UUID userId, boolean notificationEnabled, String contactInfo) {
 
         UpsertPreferenceRequest dto = UpsertPreferenceRequest.builder()
@@ -34,23 +40,33 @@ public class NotificationService {
                 .notificationEnabled(notificationEnabled)
                 .contactInfo(contactInfo)
                 .build();
+        ResponseEntity<Void> response;
         try {
-            client.upsertPreference(dto);
+            response = client.upsertPreference(dto);
         } catch (FeignException e) {
             log.error("[S2S Call] Failed due to [%s]".formatted(e.getMessage()));
             throw new NotificationRetryFailedException("Failed to upsert notification preference for user: " + userId, e);
         }
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            log.error("[S2S Call] Upsert preference for user [%s] returned [%s]".formatted(userId, response.getStatusCode()));
+            throw new NotificationRetryFailedException("Failed to upsert notification preference for user: " + userId, null);
+        }
 
     }
 
+    /**
+     * Cached per user for the TTL set by {@code spring.cache.caffeine.spec}. Missing or
+     * unavailable preferences are not cached, so a fallback response is never pinned.
+     */
+    @Cacheable(cacheNames = PREFERENCES_CACHE, key = "#userId", unless = "#result == null")
     public PreferenceResponse getPreferenceByUserId(UUID userId) {
         return client.getPreferences(userId).getBody();
     }
 
     public List<NotificationsResponse> getUserLastNotifications(UUID userId) {
 
-        ResponseEntity<List<NotificationsResponse>> response = client.getNotifications(userId);
-        return response.getBody() != null ? response.getBody().stream().limit(5).toList()
+        ResponseEntity<List<NotificationsResponse>> response = client.getNotifications(userId, LAST_NOTIFICATIONS_LIMIT);
+        return response.getBody() != null ? response.getBody().stream().limit(LAST_NOTIFICATIONS_LIMIT).toList()
                 : Collections.emptyList();
     }
 
@@ -61,11 +77,16 @@ public class NotificationService {
                 .subject(subject)
                 .body(body)
                 .build();
+        ResponseEntity<Void> response;
         try {
-            client.sendNotification(dto);
+            response = client.sendNotification(dto);
         } catch (FeignException e) {
             log.error("[S2S Call] Failed to send notification for user [%s] due to [%s]".formatted(userId, e.getMessage()));
             throw new NotificationRetryFailedException("Failed to send notification for user: " + userId, e);
         }
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            log.error("[S2S Call] Send notification for user [%s] returned [%s]".formatted(userId, response.getStatusCode()));
+            throw new NotificationRetryFailedException("Failed to send notification for user: " + userId, null);
+        }
     }
 }
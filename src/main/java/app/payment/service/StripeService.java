@@ -10,6 +10,9 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Locale;
 
 @Service
 @Slf4j
@@ -35,8 +38,10 @@ public class StripeService {
         return webhookSecret;
     }
 
-    public Session createCheckoutSession(User user, BigDecimal amount) throws StripeException {
-        long amountInCents = amount.multiply(BigDecimal.valueOf(100)).longValue();
+    public Session createCheckoutSession(User user, BigDecimal amount, Currency currency) throws StripeException {
+        long amountInMinorUnits = amount.movePointRight(currency.getDefaultFractionDigits())
+                .setScale(0, RoundingMode.HALF_EVEN)
+                .longValueExact();
 
         SessionCreateParams params = SessionCreateParams.builder()
                 .setMode(SessionCreateParams.Mode.PAYMENT)
@@ -47,8 +52,8 @@ public class StripeService {
                                 .setQuantity(1L)
                                 .setPriceData(
                                         SessionCreateParams.LineItem.PriceData.builder()
-                                                .setCurrency("bgn")
-                                                .setUnitAmount(amountInCents)
+                                                .setCurrency(currency.getCurrencyCode().toLowerCase(Locale.ROOT))
+                                                .setUnitAmount(amountInMinorUnits)
                                                 .setProductData(
                                                         SessionCreateParams.LineItem.PriceData.ProductData.builder()
                                                                 .setName("SmartExpense Pro Version")
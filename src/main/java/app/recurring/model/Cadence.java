@@ -0,0 +1,25 @@
+package app.recurring.model;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+public enum Cadence {
+    DAILY(Period.ofDays(1)),
+    WEEKLY(Period.ofWeeks(1)),
+    MONTHLY(Period.ofMonths(1)),
+    YEARLY(Period.ofYears(1));
+
+    private final Period length;
+
+    Cadence(Period length) {
+        this.length = length;
+    }
+
+    /**
+     * The {@code index}-th occurrence counted from {@code start}. Always computed from the anchor date,
+     * so a schedule starting on the 31st lands on the last day of shorter months without drifting.
+     */
+    public LocalDate occurrence(LocalDate start, int index) {
+        return start.plus(length.multipliedBy(index));
+    }
+}
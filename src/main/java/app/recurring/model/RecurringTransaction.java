@@ -0,0 +1,62 @@
+package app.recurring.model;
+
+import app.transactions.model.Category;
+import app.transactions.model.Type;
+import app.wallet.model.Wallet;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "recurring_transactions", indexes = {
+        @Index(name = "idx_recurring_active_next", columnList = "active, next_occurrence"),
+        @Index(name = "idx_recurring_wallet", columnList = "wallet_id")
+})
+public class RecurringTransaction {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+    @Column(nullable = false)
+    private BigDecimal amount;
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Type type;
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Category category;
+    @Column(nullable = false)
+    private String description;
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Cadence cadence;
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    // position of nextOccurrence in the schedule; occurrences are derived from startDate + cadence * index
+    @Column(nullable = false)
+    private int nextIndex;
+    @Column(nullable = false)
+    private LocalDate nextOccurrence;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private boolean active = true;
+
+    @Column(nullable = false)
+    private LocalDateTime createdOn;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    private Wallet wallet;
+
+}
@@ -0,0 +1,29 @@
+package app.recurring.repository;
+
+import app.recurring.model.RecurringTransaction;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RecurringTransactionRepository extends JpaRepository<RecurringTransaction, UUID> {
+
+    List<RecurringTransaction> findAllByWallet_User_IdAndActiveTrueOrderByNextOccurrenceAsc(UUID userId);
+
+    @Query("""
+                SELECT r FROM RecurringTransaction r
+                JOIN FETCH r.wallet w
+                JOIN FETCH w.user
+                WHERE r.active = true AND r.nextOccurrence <= :today AND r.id > :afterId
+                ORDER BY r.id
+            """)
+    List<RecurringTransaction> findDueForMaterialisation(@Param("today") LocalDate today,
+                                                         @Param("afterId") UUID afterId,
+                                                         Pageable pageable);
+}
@@ -0,0 +1,195 @@
+package app.recurring.service;
+
+import app.exception.CustomException;
+import app.recurring.model.RecurringTransaction;
+import app.recurring.repository.RecurringTransactionRepository;
+import app.transactions.model.Transaction;
+import app.transactions.service.TransactionService;
+import app.wallet.model.Wallet;
+import app.wallet.repository.WalletRepository;
+import app.web.dto.RecurringTransactionDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+@Slf4j
+public class RecurringTransactionService {
+
+    public static final UUID SCAN_START = new UUID(0L, 0L);
+    private static final int SCAN_BATCH_SIZE = 500;
+    private static final int MAX_OCCURRENCES_PER_RUN = 400;
+    private static final int MAX_OCCURRENCES_PER_PAGE = 5_000;
+
+    private final RecurringTransactionRepository recurringTransactionRepository;
+    private final WalletRepository walletRepository;
+    private final TransactionService transactionService;
+
+    @Autowired
+    public RecurringTransactionService(RecurringTransactionRepository recurringTransactionRepository,
+                                       WalletRepository walletRepository,
+                                       TransactionService transactionService) {
+        this.recurringTransactionRepository = recurringTransactionRepository;
+        this.walletRepository = walletRepository;
+        this.transactionService = transactionService;
+    }
+
+    @Transactional
+    public RecurringTransaction create(UUID userId, RecurringTransactionDto dto) {
+        if (dto.getEndDate() != null && dto.getEndDate().isBefore(dto.getStartDate())) {
+            throw new IllegalArgumentException("End date must not be before the start date.");
+        }
+
+        Wallet wallet = walletRepository.findPrimaryByUserId(userId)
+                .orElseThrow(() -> new CustomException("Wallet not found"));
+
+        RecurringTransaction template = RecurringTransaction.builder()
+                .amount(dto.getAmount())
+                .type(dto.getType())
+                .category(dto.getCategory())
+                .description(dto.getDescription() != null ? dto.getDescription() : "")
+                .cadence(dto.getCadence())
+                .startDate(dto.getStartDate())
+                .endDate(dto.getEndDate())
+                .nextIndex(0)
+                .nextOccurrence(dto.getStartDate())
+                .createdOn(LocalDateTime.now())
+                .wallet(wallet)
+                .build();
+
+        template = recurringTransactionRepository.save(template);
+
+        // a schedule that starts in the past books its missed occurrences right away
+        LocalDate today = LocalDate.now();
+        if (!template.getStartDate().isAfter(today)) {
+            materialise(List.of(template), occurrencesOf(template, today, MAX_OCCURRENCES_PER_RUN), today);
+        }
+
+        return template;
+    }
+
+    public List<RecurringTransaction> getActiveForUser(UUID userId) {
+        return recurringTransactionRepository.findAllByWallet_User_IdAndActiveTrueOrderByNextOccurrenceAsc(userId);
+    }
+
+    @Transactional
+    public void deactivate(UUID recurringTransactionId, UUID userId) {
+        RecurringTransaction template = recurringTransactionRepository.findById(recurringTransactionId)
+                .orElseThrow(() -> new IllegalArgumentException("Recurring transaction not found"));
+
+        Wallet wallet = template.getWallet();
+        if (wallet == null || wallet.getUser() == null || !wallet.getUser().getId().equals(userId)) {
+            throw new SecurityException("You are not authorized to stop this recurring transaction");
+        }
+
+        template.setActive(false);
+        recurringTransactionRepository.save(template);
+    }
+
+    /**
+     * Materialises one keyset page of due templates. All missed occurrences of the page are booked in a
+     * single {@link TransactionService#bookOccurrences} call, grouped by wallet so the JDBC batch stays
+     * contiguous. Occurrence keys make a repeated run a no-op.
+     * <p>
+     * A page books at most {@value #MAX_OCCURRENCES_PER_PAGE} occurrences in its transaction. Once that is
+     * reached the page ends early and the cursor points at the last template it reached; a template cut
+     * short there books the rest of its backlog on the next run, like one over its own per-run cap.
+     *
+     * @return the id to continue after, or {@code null} once the scan is complete
+     */
+    @Transactional
+    public UUID materialiseDue(LocalDate today, UUID afterId) {
+        List<RecurringTransaction> due = recurringTransactionRepository.findDueForMaterialisation(today, afterId,
+                PageRequest.of(0, SCAN_BATCH_SIZE));
+        if (due.isEmpty()) {
+            return null;
+        }
+
+        List<RecurringTransaction> page = new ArrayList<>();
+        List<Transaction> occurrences = new ArrayList<>();
+        for (RecurringTransaction template : due) {
+            if (occurrences.size() >= MAX_OCCURRENCES_PER_PAGE) {
+                break;
+            }
+            page.add(template);
+            occurrences.addAll(occurrencesOf(template, today,
+                    Math.min(MAX_OCCURRENCES_PER_RUN, MAX_OCCURRENCES_PER_PAGE - occurrences.size())));
+        }
+
+        int booked = materialise(page, occurrences, today);
+        log.info("Materialised [%d] recurring occurrences for [%d] templates".formatted(booked, page.size()));
+
+        UUID last = page.get(page.size() - 1).getId();
+        if (page.size() < due.size()) {
+            return last;
+        }
+        return due.size() < SCAN_BATCH_SIZE ? null : last;
+    }
+
+    private static List<Transaction> occurrencesOf(RecurringTransaction template, LocalDate today, int limit) {
+        List<Transaction> occurrences = new ArrayList<>();
+        int index = template.getNextIndex();
+        for (int i = 0; i < limit; i++, index++) {
+            LocalDate on = template.getCadence().occurrence(template.getStartDate(), index);
+            if (!isBookable(template, on, today)) {
+                break;
+            }
+            occurrences.add(buildOccurrence(template, on));
+        }
+        return occurrences;
+    }
+
+    private int materialise(List<RecurringTransaction> templates, List<Transaction> occurrences, LocalDate today) {
+        occurrences.sort(Comparator.comparing(t -> t.getWallet().getId()));
+
+        Set<String> settled = transactionService.bookOccurrences(occurrences);
+
+        int advanced = 0;
+        for (RecurringTransaction template : templates) {
+            LocalDate next = template.getNextOccurrence();
+            while (isBookable(template, next, today) && settled.contains(occurrenceKey(template, next))) {
+                template.setNextIndex(template.getNextIndex() + 1);
+                next = template.getCadence().occurrence(template.getStartDate(), template.getNextIndex());
+                advanced++;
+            }
+
+            template.setNextOccurrence(next);
+            if (template.getEndDate() != null && next.isAfter(template.getEndDate())) {
+                template.setActive(false);
+            }
+        }
+        recurringTransactionRepository.saveAll(templates);
+
+        return advanced;
+    }
+
+    private static boolean isBookable(RecurringTransaction template, LocalDate on, LocalDate today) {
+        return !on.isAfter(today) && (template.getEndDate() == null || !on.isAfter(template.getEndDate()));
+    }
+
+    private static Transaction buildOccurrence(RecurringTransaction template, LocalDate on) {
+        return Transaction.builder()
+                .amount(template.getAmount())
+                .date(on.atStartOfDay())
+                .type(template.getType())
+                .category(template.getCategory())
+                .description(template.getDescription())
+                .occurrenceKey(occurrenceKey(template, on))
+                .wallet(template.getWallet())
+                .build();
+    }
+
+    private static String occurrenceKey(RecurringTransaction template, LocalDate on) {
+        return "recurring:%s:%s".formatted(template.getId(), on);
+    }
+}
@@ -2,11 +2,15 @@ package app.report.service;
 
 import app.subscription.model.Subscription;
 import app.subscription.service.SubscriptionsService;
+import app.transactions.model.CategoryVector;
 import app.transactions.model.Transaction;
 import app.transactions.service.TransactionService;
 import app.user.model.User;
 import app.wallet.model.Wallet;
 import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
@@ -25,29 +29,37 @@ public class PdfReportService {
     private final TransactionService transactionService;
     private final SubscriptionsService subscriptionsService;
     private final TemplateEngine templateEngine;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary pdfSize;
 
     public PdfReportService(TransactionService transactionService,
                             SubscriptionsService subscriptionsService,
-                            TemplateEngine templateEngine) {
+                            TemplateEngine templateEngine,
+                            MeterRegistry meterRegistry) {
         this.transactionService = transactionService;
         this.subscriptionsService = subscriptionsService;
         this.templateEngine = templateEngine;
+        this.meterRegistry = meterRegistry;
+        this.pdfSize = DistributionSummary.builder("report.pdf.size")
+                .description("Size of generated monthly report PDFs")
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
+    /**
+     * Records {@code report.render} per stage ({@code data}, {@code html}, {@code pdf}) and outcome, and
+     * {@code report.pdf.size} for every PDF produced.
+     */
     public byte[] generateMonthlyReportPdf(User user, Wallet wallet, YearMonth month) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String stage = "data";
         try {
             List<Transaction> allTransactions = transactionService.getCurrentMonthTransactions(wallet.getId());
-            List<String> categoryNames = transactionService.getCategoryNamesForCurrentMonth(wallet.getId());
-            List<Integer> categoryPercents = transactionService.getCategoryPercentsForCurrentMonth(wallet.getId());
-            List<BigDecimal> categoryAmounts = transactionService.getCategoryAmountsForCurrentMonth(wallet.getId());
-            BigDecimal transactionExpenses = transactionService.getTotalExpensesForCurrentMonth(wallet.getId());
+            CategoryVector breakdown = transactionService.getCategoryBreakdownForCurrentMonth(wallet.getId());
+            BigDecimal currentMonthExpenses = transactionService.getTotalExpensesForCurrentMonth(wallet.getId());
             List<Subscription> paidSubscriptions = subscriptionsService.getPaidSubscriptionsForCurrentMonth(user.getId());
 
-            BigDecimal subscriptionExpenses = paidSubscriptions.stream()
-                    .map(Subscription::getPrice)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            BigDecimal currentMonthExpenses = transactionExpenses.add(subscriptionExpenses);
-
             BigDecimal currentMonthIncome = transactionService.getTotalIncomeForCurrentMonth(wallet.getId());
             Transaction biggestExpense = transactionService.getBiggestExpenseForCurrentMonth(wallet.getId());
             String biggestExpenseName = transactionService.getBiggestExpenseCategoryName(wallet.getId());
@@ -57,9 +69,9 @@ public class PdfReportService {
             context.setVariable("user", user);
             context.setVariable("wallet", wallet);
             context.setVariable("allTransactions", allTransactions);
-            context.setVariable("categoryNames", categoryNames);
-            context.setVariable("categoryPercents", categoryPercents);
-            context.setVariable("categoryAmounts", categoryAmounts);
+            context.setVariable("categoryNames", breakdown.rankedNames());
+            context.setVariable("categoryPercents", breakdown.rankedPercents());
+            context.setVariable("categoryAmounts", breakdown.rankedAmounts());
             context.setVariable("currentMonthExpenses", currentMonthExpenses);
             context.setVariable("currentMonthIncome", currentMonthIncome);
             context.setVariable("biggestExpense", biggestExpense);
@@ -69,11 +81,15 @@ public class PdfReportService {
             context.setVariable("month", month.format(DateTimeFormatter.ofPattern("MMMM yyyy")));
             context.setVariable("currentDate", java.time.LocalDate.now());
 
+            sample = nextStage(sample, stage);
+            stage = "html";
             String html = templateEngine.process("report-pdf", context);
 
             html = html.replaceAll("<meta([^>]*[^/])>", "<meta$1 />");
             html = html.replaceAll("<link([^>]*[^/])>", "<link$1 />");
 
+            sample = nextStage(sample, stage);
+            stage = "pdf";
             // OpenHTMLToPDF - безплатна алтернатива на iText7 html2pdf
             ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
             PdfRendererBuilder builder = new PdfRendererBuilder();
@@ -81,8 +97,12 @@ public class PdfReportService {
             builder.toStream(outputStream);
             builder.run();
 
-            return outputStream.toByteArray();
+            byte[] pdf = outputStream.toByteArray();
+            sample.stop(renderTimer(stage, "success"));
+            pdfSize.record(pdf.length);
+            return pdf;
         } catch (Exception e) {
+            sample.stop(renderTimer(stage, "failure"));
             String errorMessage = "Failed to generate PDF report: " + e.getMessage();
             if (e.getCause() != null) {
                 errorMessage += " - Cause: " + e.getCause().getMessage();
@@ -90,5 +110,17 @@ public class PdfReportService {
             throw new RuntimeException(errorMessage, e);
         }
     }
-}
 
+    private Timer.Sample nextStage(Timer.Sample finished, String stage) {
+        finished.stop(renderTimer(stage, "success"));
+        return Timer.start(meterRegistry);
+    }
+
+    private Timer renderTimer(String stage, String outcome) {
+        return Timer.builder("report.render")
+                .description("Monthly report generation time per stage")
+                .tags("stage", stage, "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
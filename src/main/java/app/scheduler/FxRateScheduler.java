@@ -0,0 +1,22 @@
+package app.scheduler;
+
+import app.currency.service.FxRateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+public class FxRateScheduler {
+
+    private final FxRateService fxRateService;
+
+    @Autowired
+    public FxRateScheduler(FxRateService fxRateService) {
+        this.fxRateService = fxRateService;
+    }
+
+    @Scheduled(fixedDelayString = "${fx.rates.refresh-interval:3600000}", initialDelayString = "${fx.rates.refresh-interval:3600000}")
+    public void reloadRates() {
+        fxRateService.reload();
+    }
+}
@@ -0,0 +1,39 @@
+package app.scheduler;
+
+import app.monitoring.SchedulerMetrics;
+import app.notification.service.NotificationOutboxService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+public class NotificationOutboxScheduler {
+
+    private final NotificationOutboxService notificationOutboxService;
+    private final SchedulerMetrics schedulerMetrics;
+
+    @Autowired
+    public NotificationOutboxScheduler(NotificationOutboxService notificationOutboxService,
+                                       SchedulerMetrics schedulerMetrics) {
+        this.notificationOutboxService = notificationOutboxService;
+        this.schedulerMetrics = schedulerMetrics;
+    }
+
+    @Scheduled(fixedDelayString = "${notification.outbox.relay-interval:5000}")
+    public void relayOutbox() {
+        SchedulerMetrics.Run run = schedulerMetrics.start("notification-outbox");
+        try {
+            int delivered = notificationOutboxService.relayPendingBatch();
+            if (delivered > 0) {
+                log.info("Relayed [%d] outbox notifications".formatted(delivered));
+            }
+            run.processed(delivered);
+            run.succeeded();
+        } catch (Exception e) {
+            log.error("Error in relayOutbox", e);
+            run.failed();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package app.scheduler;
+
+import app.monitoring.SchedulerMetrics;
+import app.recurring.service.RecurringTransactionService;
+import app.scheduler.config.CronExpressions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Service
+@Slf4j
+public class RecurringTransactionScheduler {
+
+    private final RecurringTransactionService recurringTransactionService;
+    private final SchedulerMetrics schedulerMetrics;
+
+    @Autowired
+    public RecurringTransactionScheduler(RecurringTransactionService recurringTransactionService,
+                                         SchedulerMetrics schedulerMetrics) {
+        this.recurringTransactionService = recurringTransactionService;
+        this.schedulerMetrics = schedulerMetrics;
+    }
+
+    @Scheduled(cron = CronExpressions.DAILY_AFTER_MIDNIGHT)
+    public void materialiseRecurringTransactions() {
+        log.info("Starting recurring transaction materialisation...");
+        SchedulerMetrics.Run run = schedulerMetrics.start("recurring-transactions");
+
+        try {
+            LocalDate today = LocalDate.now();
+            UUID cursor = RecurringTransactionService.SCAN_START;
+            int batches = 0;
+
+            while (cursor != null) {
+                cursor = recurringTransactionService.materialiseDue(today, cursor);
+                batches++;
+            }
+
+            log.info("Completed recurring transaction materialisation in [%d] batches".formatted(batches));
+            run.succeeded();
+        } catch (Exception e) {
+            log.error("Error in materialiseRecurringTransactions", e);
+            run.failed();
+        }
+    }
+}
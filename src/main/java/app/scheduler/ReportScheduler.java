@@ -3,7 +3,8 @@ package app.scheduler;
 import app.notification.client.NotificationClient;
 import app.notification.client.dto.NotificationRequest;
 import app.notification.client.dto.PreferenceResponse;
-import app.notification.client.dto.UpsertPreferenceRequest;
+import app.notification.service.NotificationService;
+import app.monitoring.SchedulerMetrics;
 import app.report.service.PdfReportService;
 import app.scheduler.config.CronExpressions;
 import app.user.model.User;
@@ -14,11 +15,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.YearMonth;
 import java.util.Base64;
 import java.util.List;
+import java.util.UUID;
 
 @Service
 @Slf4j
@@ -27,63 +28,56 @@ public class ReportScheduler {
     private final UserRepository userRepository;
     private final PdfReportService pdfReportService;
     private final NotificationClient notificationClient;
+    private final NotificationService notificationService;
+    private final SchedulerMetrics schedulerMetrics;
 
     @Autowired
-    public ReportScheduler(UserRepository userRepository, PdfReportService pdfReportService, NotificationClient notificationClient) {
+    public ReportScheduler(UserRepository userRepository, PdfReportService pdfReportService,
+                           NotificationClient notificationClient, NotificationService notificationService,
+                           SchedulerMetrics schedulerMetrics) {
         this.userRepository = userRepository;
         this.pdfReportService = pdfReportService;
         this.notificationClient = notificationClient;
+        this.notificationService = notificationService;
+        this.schedulerMetrics = schedulerMetrics;
     }
 
+    // Deliberately not @Transactional: a job-wide transaction would pin one pool connection for as long as
+    // every PDF render and S2S call takes. Each repository call below borrows a connection and hands it back.
     @Scheduled(cron = CronExpressions.MONTHLY_FIRST_DAY_9AM)
-    @Transactional
     public void sendMonthlyReports() {
         log.info("Starting monthly report generation and email sending...");
+        SchedulerMetrics.Run run = schedulerMetrics.start("monthly-report");
 
         YearMonth previousMonth = YearMonth.now().minusMonths(1);
-        List<User> proUsers = userRepository.findAll().stream()
-                .filter(user -> user.getUserVersion() == UserVersion.PRO)
-                .filter(User::isMonthlyReportEmailEnabled)
-                .filter(user -> user.getEmail() != null && !user.getEmail().isBlank())
-                .toList();
+        List<UUID> recipientIds = userRepository.findMonthlyReportRecipientIds(UserVersion.PRO);
 
-        log.info("Found {} PRO users with monthly report email enabled", proUsers.size());
+        log.info("Found {} PRO users with monthly report email enabled", recipientIds.size());
 
-        for (User user : proUsers) {
+        for (UUID userId : recipientIds) {
+            User user = userRepository.findById(userId).orElse(null);
+            if (user == null) {
+                run.skipped();
+                continue;
+            }
             try {
                 Wallet wallet = user.getWallet();
                 if (wallet == null) {
                     log.warn("User {} has no wallet, skipping report", user.getId());
+                    run.skipped();
                     continue;
                 }
 
                 try {
-                    PreferenceResponse preference = notificationClient.getPreferences(user.getId()).getBody();
+                    PreferenceResponse preference = notificationService.getPreferenceByUserId(user.getId());
                     if (preference == null || !preference.isNotificationEnabled()) {
                         log.warn("User {} has notifications disabled or no preference, creating/updating preference", user.getId());
-
-                        UpsertPreferenceRequest prefRequest =
-                                UpsertPreferenceRequest.builder()
-                                        .userId(user.getId())
-                                        .notificationEnabled(true)
-                                        .contactInfo(user.getEmail())
-                                        .build();
-                        notificationClient.upsertPreference(prefRequest);
+                        notificationService.upsertPreference(user.getId(), true, user.getEmail());
                     }
                 } catch (Exception e) {
-                    log.warn("Failed to check/update notification preference for user {}, trying to create one", user.getId());
-                    try {
-                        UpsertPreferenceRequest prefRequest =
-                                UpsertPreferenceRequest.builder()
-                                        .userId(user.getId())
-                                        .notificationEnabled(true)
-                                        .contactInfo(user.getEmail())
-                                        .build();
-                        notificationClient.upsertPreference(prefRequest);
-                    } catch (Exception ex) {
-                        log.error("Failed to create notification preference for user {}, skipping report", user.getId(), ex);
-                        continue;
-                    }
+                    log.error("Failed to check/update notification preference for user {}, skipping report", user.getId(), e);
+                    run.itemFailed();
+                    continue;
                 }
 
                 byte[] pdfBytes = pdfReportService.generateMonthlyReportPdf(user, wallet, previousMonth);
@@ -140,10 +134,13 @@ public class ReportScheduler {
                 notificationClient.sendNotification(notificationRequest);
 
                 log.info("Successfully sent monthly report to user {}", user.getId());
+                run.processed();
             } catch (Exception e) {
                 log.error("Failed to send monthly report to user {}", user.getId(), e);
+                run.itemFailed();
             }
         }
+        run.succeeded();
 
         log.info("Completed monthly report generation and email sending");
     }
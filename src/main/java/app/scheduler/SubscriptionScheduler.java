@@ -1,9 +1,11 @@
 package app.scheduler;
 
+import app.monitoring.SchedulerMetrics;
 import app.notification.service.NotificationService;
 import app.scheduler.config.CronExpressions;
 import app.subscription.model.Subscription;
 import app.subscription.repository.SubscriptionsRepository;
+import app.subscription.service.SubscriptionsService;
 import app.user.model.User;
 import app.user.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.UUID;
 
 @Service
 @Slf4j
@@ -24,19 +27,55 @@ public class SubscriptionScheduler {
     private final SubscriptionsRepository subscriptionsRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final SubscriptionsService subscriptionsService;
+    private final SchedulerMetrics schedulerMetrics;
 
     @Autowired
     public SubscriptionScheduler(SubscriptionsRepository subscriptionsRepository, UserRepository userRepository,
-                                 NotificationService notificationService) {
+                                 NotificationService notificationService, SubscriptionsService subscriptionsService,
+                                 SchedulerMetrics schedulerMetrics) {
         this.subscriptionsRepository = subscriptionsRepository;
         this.userRepository = userRepository;
         this.notificationService = notificationService;
+        this.subscriptionsService = subscriptionsService;
+        this.schedulerMetrics = schedulerMetrics;
+    }
+
+    @Scheduled(cron = CronExpressions.DAILY_AT_6AM)
+    public void renewDueSubscriptions() {
+        log.info("Starting subscription renewal...");
+        SchedulerMetrics.Run run = schedulerMetrics.start("subscription-renewal");
+
+        try {
+            LocalDate today = LocalDate.now();
+            UUID cursor = SubscriptionsService.RENEWAL_START;
+            int batches = 0;
+
+            // each batch commits on its own, so a failed batch rolls back alone and the scan moves on past it
+            while (cursor != null) {
+                try {
+                    cursor = subscriptionsService.renewDueSubscriptions(today, cursor);
+                } catch (Exception e) {
+                    log.error("Subscription renewal batch after [%s] failed, continuing with the next one".formatted(cursor), e);
+                    run.itemFailed();
+                    cursor = subscriptionsService.skipRenewalPage(today, cursor);
+                }
+                batches++;
+            }
+
+            log.info("Completed subscription renewal in [%d] batches".formatted(batches));
+            run.succeeded();
+        } catch (Exception e) {
+            log.error("Error in renewDueSubscriptions", e);
+            run.failed();
+        }
     }
 
     @Scheduled(cron = CronExpressions.DAILY_AT_9AM)
     @Transactional
     public void notifyExpiringSubscriptions() {
         log.info("Starting expiring subscriptions notification...");
+        SchedulerMetrics.Run run = schedulerMetrics.start("subscription-expiry-notification");
 
         try {
             LocalDate today = LocalDate.now();
@@ -49,6 +88,7 @@ public class SubscriptionScheduler {
                         .findByUser_IdAndExpiryOnBeforeOrderByExpiryOn(user.getId(), limit);
 
                 if (expiring.isEmpty()) {
+                    run.skipped();
                     continue;
                 }
 
@@ -58,19 +98,25 @@ public class SubscriptionScheduler {
                 bodyBuilder.append("Здравей, ").append(user.getUsername()).append("!\n\n");
                 bodyBuilder.append("Следните абонаменти ти изтичат тази седмица:\n");
 
+                String currencyCode = user.getWallet() != null && user.getWallet().getCurrency() != null
+                        ? user.getWallet().getCurrency().getCurrencyCode()
+                        : "BGN";
                 for (Subscription s : expiring) {
-                    bodyBuilder.append(String.format("- %s: %.2f BGN (изтича на %s)\n",
-                            s.getName(), s.getPrice(), s.getExpiryOn()));
+                    bodyBuilder.append(String.format("- %s: %.2f %s (изтича на %s)\n",
+                            s.getName(), s.getPrice(), currencyCode, s.getExpiryOn()));
                 }
 
                 bodyBuilder.append("\nАко не желаете да получавате отново известие, моля влезте в профила си и деактивирайте услугата!");
 
                 notificationService.send(user.getId(), subject, bodyBuilder.toString());
+                run.processed();
             }
 
             log.info("Completed expiring subscriptions notification");
+            run.succeeded();
         } catch (Exception e) {
             log.error("Error in notifyExpiringSubscriptions", e);
+            run.failed();
         }
     }
 }
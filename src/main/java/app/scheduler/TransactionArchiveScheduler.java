@@ -0,0 +1,55 @@
+package app.scheduler;
+
+import app.monitoring.SchedulerMetrics;
+import app.scheduler.config.CronExpressions;
+import app.transactions.service.TransactionArchiveService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+
+@Service
+@Slf4j
+public class TransactionArchiveScheduler {
+
+    private final TransactionArchiveService transactionArchiveService;
+    private final SchedulerMetrics schedulerMetrics;
+
+    @Autowired
+    public TransactionArchiveScheduler(TransactionArchiveService transactionArchiveService,
+                                       SchedulerMetrics schedulerMetrics) {
+        this.transactionArchiveService = transactionArchiveService;
+        this.schedulerMetrics = schedulerMetrics;
+    }
+
+    // batches commit one by one, so a failure part-way keeps what was archived and the next night resumes
+    @Scheduled(cron = CronExpressions.DAILY_AT_3AM)
+    public void archiveOldTransactions() {
+        if (!transactionArchiveService.isEnabled()) {
+            return;
+        }
+
+        SchedulerMetrics.Run run = schedulerMetrics.start("transaction-archive");
+
+        try {
+            YearMonth horizon = transactionArchiveService.horizon();
+            int total = 0;
+            int archived;
+            do {
+                archived = transactionArchiveService.archiveBatch(horizon);
+                run.processed(archived);
+                total += archived;
+            } while (archived == transactionArchiveService.getBatchSize());
+
+            if (total > 0) {
+                log.info("Archived [%d] transactions older than %s".formatted(total, horizon));
+            }
+            run.succeeded();
+        } catch (Exception e) {
+            log.error("Error in archiveOldTransactions", e);
+            run.failed();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package app.scheduler;
+
+import app.monitoring.SchedulerMetrics;
+import app.scheduler.config.CronExpressions;
+import app.transactions.service.TransactionPartitionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+
+@Service
+@Slf4j
+public class TransactionPartitionScheduler {
+
+    private final TransactionPartitionService transactionPartitionService;
+    private final SchedulerMetrics schedulerMetrics;
+
+    @Autowired
+    public TransactionPartitionScheduler(TransactionPartitionService transactionPartitionService,
+                                         SchedulerMetrics schedulerMetrics) {
+        this.transactionPartitionService = transactionPartitionService;
+        this.schedulerMetrics = schedulerMetrics;
+    }
+
+    // daily rather than monthly, so a missed run is caught up long before the next month starts
+    @Scheduled(cron = CronExpressions.DAILY_AT_6AM)
+    public void maintainPartitions() {
+        SchedulerMetrics.Run run = schedulerMetrics.start("transaction-partitions");
+
+        try {
+            TransactionPartitionService.Maintenance result = transactionPartitionService.maintain(YearMonth.now());
+            run.processed(result.created() + result.detached());
+            for (int i = 0; i < result.failed(); i++) {
+                run.itemFailed();
+            }
+            if (result.created() > 0 || result.detached() > 0) {
+                log.info("Transaction partitions: [%d] created, [%d] detached".formatted(result.created(), result.detached()));
+            }
+            run.succeeded();
+        } catch (Exception e) {
+            log.error("Error in maintainPartitions", e);
+            run.failed();
+        }
+    }
+}
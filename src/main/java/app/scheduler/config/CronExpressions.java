@@ -3,6 +3,9 @@ package app.scheduler.config;
 public final class CronExpressions {
 
     public static final String EVERY_MINUTE = "0 * * * * *";
+    public static final String DAILY_AFTER_MIDNIGHT = "0 5 0 * * ?";
+    public static final String DAILY_AT_3AM = "0 0 3 * * ?";
+    public static final String DAILY_AT_6AM = "0 0 6 * * ?";
     public static final String DAILY_AT_9AM = "0 0 9 * * ?";
     public static final String MONTHLY_FIRST_DAY_9AM = "0 0 9 1 * ?";
 
@@ -1,6 +1,6 @@
 package app.security;
 
-import app.notification.service.NotificationService;
+import app.notification.service.NotificationOutboxService;
 import app.subscription.service.SubscriptionsService;
 import app.user.model.Country;
 import app.user.model.Role;
@@ -32,18 +32,18 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
     private final UserRepository userRepository;
     private final WalletService walletService;
     private final SubscriptionsService subscriptionsService;
-    private final NotificationService notificationService;
+    private final NotificationOutboxService notificationOutboxService;
     private final PasswordEncoder passwordEncoder;
 
     public CustomOAuth2UserService(UserRepository userRepository,
                                    WalletService walletService,
                                    SubscriptionsService subscriptionsService,
-                                   NotificationService notificationService,
+                                   NotificationOutboxService notificationOutboxService,
                                    PasswordEncoder passwordEncoder) {
         this.userRepository = userRepository;
         this.walletService = walletService;
         this.subscriptionsService = subscriptionsService;
-        this.notificationService = notificationService;
+        this.notificationOutboxService = notificationOutboxService;
         this.passwordEncoder = passwordEncoder;
     }
 
@@ -92,7 +92,7 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
                     newUser = userRepository.save(newUser);
                     walletService.createDefaultWallet(newUser);
                     subscriptionsService.createDefaultSubscription(newUser);
-                    notificationService.upsertPreference(newUser.getId(), false, newUser.getEmail());
+                    notificationOutboxService.enqueuePreferenceUpsert(newUser.getId(), false, newUser.getEmail());
 
                     log.info("New OAuth2 user created: {} via {}", email, provider);
                     return newUser;
@@ -14,6 +14,12 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_subscription_user_paid_expiry", columnList = "user_id, paid_date, expiry_on"),
+        @Index(name = "idx_subscription_expiry", columnList = "expiry_on"),
+        @Index(name = "idx_subscription_user_expiry", columnList = "user_id, expiry_on"),
+        @Index(name = "idx_subscription_paid_date", columnList = "paid_date")
+})
 public class Subscription {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -34,7 +40,7 @@ public class Subscription {
     @Column(nullable = true)
     private LocalDate paidDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User user;
 
 }
@@ -1,6 +1,19 @@
 package app.subscription.model;
 
+import java.time.LocalDate;
+import java.time.Period;
+
 public enum SubscriptionPeriod {
-    MONTHLY,
-    YEARLY;
+    MONTHLY(Period.ofMonths(1)),
+    YEARLY(Period.ofYears(1));
+
+    private final Period length;
+
+    SubscriptionPeriod(Period length) {
+        this.length = length;
+    }
+
+    public LocalDate next(LocalDate expiryOn) {
+        return expiryOn.plus(length);
+    }
 }
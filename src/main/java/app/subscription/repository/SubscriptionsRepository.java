@@ -1,7 +1,10 @@
 package app.subscription.repository;
 
 import app.subscription.model.Subscription;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -10,5 +13,22 @@ import java.util.UUID;
 public interface SubscriptionsRepository extends JpaRepository<Subscription, UUID> {
     List<Subscription> findAllByUser_UsernameOrderByExpiryOnAsc(String username);
 
+    List<Subscription> findAllByUser_UsernameAndPaidDateIsNullOrderByExpiryOnAsc(String username);
+
+    List<Subscription> findAllByUser_IdAndPaidDateBetweenOrderByPaidDateDesc(UUID userId, LocalDate from, LocalDate to);
+
+    List<Subscription> findTop3ByUser_IdAndPaidDateIsNullOrderByExpiryOnDesc(UUID userId);
+
     List<Subscription> findByUser_IdAndExpiryOnBeforeOrderByExpiryOn(UUID userId, LocalDate limit);
+
+    @Query("""
+                SELECT s FROM Subscription s
+                JOIN FETCH s.user u
+                JOIN FETCH u.wallet
+                WHERE s.expiryOn <= :today AND s.id > :afterId
+                ORDER BY s.id
+            """)
+    List<Subscription> findDueForRenewal(@Param("today") LocalDate today,
+                                         @Param("afterId") UUID afterId,
+                                         Pageable pageable);
 }
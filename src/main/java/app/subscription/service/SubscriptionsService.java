@@ -1,41 +1,56 @@
 package app.subscription.service;
 
+import app.event.SubscriptionPaidEvent;
 import app.exception.CustomException;
 import app.exception.UserNotFoundException;
 import app.subscription.model.Subscription;
 import app.subscription.model.SubscriptionPeriod;
 import app.subscription.model.SubscriptionType;
 import app.subscription.repository.SubscriptionsRepository;
+import app.transactions.model.Category;
+import app.transactions.model.Transaction;
+import app.transactions.model.Type;
+import app.transactions.service.TransactionService;
 import app.user.model.User;
 import app.user.repository.UserRepository;
 import app.wallet.model.Wallet;
-import app.wallet.repository.WalletRepository;
 import app.web.dto.SubscriptionDto;
 import app.web.dto.mapper.DtoMapper;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 public class SubscriptionsService {
 
+    public static final UUID RENEWAL_START = new UUID(0L, 0L);
+    private static final int RENEWAL_BATCH_SIZE = 200;
+    private static final int MAX_PERIODS_PER_RUN = 24;
+
     private final SubscriptionsRepository subscriptionsRepository;
     private final UserRepository userRepository;
-    private final WalletRepository walletRepository;
+    private final TransactionService transactionService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public SubscriptionsService(SubscriptionsRepository subscriptionsRepository, UserRepository userRepository, WalletRepository walletRepository) {
+    public SubscriptionsService(SubscriptionsRepository subscriptionsRepository, UserRepository userRepository,
+                                TransactionService transactionService, ApplicationEventPublisher eventPublisher) {
         this.subscriptionsRepository = subscriptionsRepository;
         this.userRepository = userRepository;
-        this.walletRepository = walletRepository;
+        this.transactionService = transactionService;
+        this.eventPublisher = eventPublisher;
     }
 
     public void createDefaultSubscription(User user) {
@@ -53,25 +68,25 @@ public class SubscriptionsService {
     }
 
     public List<Subscription> getByUsername(String username) {
-        return subscriptionsRepository.findAllByUser_UsernameOrderByExpiryOnAsc(username).stream()
-                .filter(s -> s.getPaidDate() == null)
-                .collect(Collectors.toList());
+        return subscriptionsRepository.findAllByUser_UsernameAndPaidDateIsNullOrderByExpiryOnAsc(username);
     }
 
     public List<Subscription> getPaidSubscriptionsForCurrentMonth(UUID userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException(userId));
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException(userId);
+        }
 
         YearMonth currentMonth = YearMonth.now();
 
-        return user.getSubscriptions().stream()
-                .filter(s -> s.getPaidDate() != null)
-                .filter(s -> {
-                    YearMonth paidMonth = YearMonth.from(s.getPaidDate());
-                    return paidMonth.equals(currentMonth);
-                })
-                .sorted((s1, s2) -> s2.getPaidDate().compareTo(s1.getPaidDate()))
-                .collect(Collectors.toList());
+        return subscriptionsRepository.findAllByUser_IdAndPaidDateBetweenOrderByPaidDateDesc(userId,
+                currentMonth.atDay(1), currentMonth.atEndOfMonth());
+    }
+
+    /**
+     * The three unpaid subscriptions with the latest expiry, as shown on the dashboard.
+     */
+    public List<Subscription> getDashboardSubscriptions(UUID userId) {
+        return subscriptionsRepository.findTop3ByUser_IdAndPaidDateIsNullOrderByExpiryOnDesc(userId);
     }
 
     public void saveSubscription(@Valid SubscriptionDto dto, String name) {
@@ -110,17 +125,96 @@ public class SubscriptionsService {
             throw new CustomException("You are not authorized to pay this subscription");
         }
 
-        BigDecimal amount = subscription.getPrice();
-        if (wallet.getBalance().compareTo(amount) < 0) {
+        // paying ahead settles the coming period, but the money leaves the wallet today
+        Transaction charge = buildCharge(subscription, wallet, subscription.getExpiryOn(), LocalDateTime.now());
+        if (!transactionService.bookOccurrences(List.of(charge)).contains(charge.getOccurrenceKey())) {
             throw new CustomException("Insufficient balance for this subscription.");
         }
 
-        wallet.setBalance(wallet.getBalance().subtract(amount));
-        wallet.setExpense(wallet.getExpense().add(amount));
-
+        subscription.setExpiryOn(subscription.getPeriod().next(subscription.getExpiryOn()));
         subscription.setPaidDate(LocalDate.now());
         subscriptionsRepository.save(subscription);
-        walletRepository.save(wallet);
+
+        eventPublisher.publishEvent(new SubscriptionPaidEvent(this, subscription.getId(), subscription.getName(), userId,
+                wallet.getId(), subscription.getPrice(), wallet.getCurrency(), subscription.getPaidDate(),
+                subscription.getExpiryOn()));
+    }
+
+    /**
+     * Renews one keyset page of subscriptions whose {@code expiryOn} is on or before {@code today}.
+     * Every elapsed period is booked as a SUBSCRIPTIONS expense keyed by subscription and period, so a
+     * re-run (or a manual payment racing the scheduler) never charges the same period twice. Periods the
+     * wallet cannot cover stay due and the subscription is flagged unpaid.
+     *
+     * @return the id to continue after, or {@code null} once no due subscriptions are left
+     */
+    @Transactional
+    public UUID renewDueSubscriptions(LocalDate today, UUID afterId) {
+        List<Subscription> due = subscriptionsRepository.findDueForRenewal(today, afterId, PageRequest.of(0, RENEWAL_BATCH_SIZE));
+        if (due.isEmpty()) {
+            return null;
+        }
+
+        List<Transaction> charges = new ArrayList<>();
+        for (Subscription subscription : due) {
+            Wallet wallet = subscription.getUser().getWallet();
+            LocalDate period = subscription.getExpiryOn();
+            for (int i = 0; i < MAX_PERIODS_PER_RUN && !period.isAfter(today); i++) {
+                charges.add(buildCharge(subscription, wallet, period, period.atStartOfDay()));
+                period = subscription.getPeriod().next(period);
+            }
+        }
+
+        Set<String> settled = transactionService.bookOccurrences(charges);
+
+        for (Subscription subscription : due) {
+            BigDecimal paid = BigDecimal.ZERO;
+            while (!subscription.getExpiryOn().isAfter(today) && settled.contains(occurrenceKey(subscription, subscription.getExpiryOn()))) {
+                subscription.setExpiryOn(subscription.getPeriod().next(subscription.getExpiryOn()));
+                paid = paid.add(subscription.getPrice());
+            }
+
+            if (paid.signum() == 0) {
+                subscription.setPaidDate(null);
+                continue;
+            }
+
+            subscription.setPaidDate(today);
+            Wallet wallet = subscription.getUser().getWallet();
+            eventPublisher.publishEvent(new SubscriptionPaidEvent(this, subscription.getId(), subscription.getName(),
+                    subscription.getUser().getId(), wallet.getId(), paid, wallet.getCurrency(), today, subscription.getExpiryOn()));
+        }
+
+        subscriptionsRepository.saveAll(due);
+
+        return due.size() < RENEWAL_BATCH_SIZE ? null : due.get(due.size() - 1).getId();
+    }
+
+    /**
+     * The cursor {@link #renewDueSubscriptions} would have returned for the same page, so the scan can
+     * continue after a page that failed. Its subscriptions stay due and are retried on the next run.
+     */
+    public UUID skipRenewalPage(LocalDate today, UUID afterId) {
+        List<Subscription> due = subscriptionsRepository.findDueForRenewal(today, afterId, PageRequest.of(0, RENEWAL_BATCH_SIZE));
+        return due.size() < RENEWAL_BATCH_SIZE ? null : due.get(due.size() - 1).getId();
+    }
+
+    // the occurrence key names the period; bookOccurrences keeps it from being charged twice whatever
+    // date each charge carries
+    private Transaction buildCharge(Subscription subscription, Wallet wallet, LocalDate period, LocalDateTime bookedAt) {
+        return Transaction.builder()
+                .amount(subscription.getPrice())
+                .date(bookedAt)
+                .type(Type.EXPENSE)
+                .category(Category.SUBSCRIPTIONS)
+                .description("%s (%s)".formatted(subscription.getName(), subscription.getPeriod().name().toLowerCase()))
+                .occurrenceKey(occurrenceKey(subscription, period))
+                .wallet(wallet)
+                .build();
+    }
+
+    private static String occurrenceKey(Subscription subscription, LocalDate period) {
+        return "subscription:%s:%s".formatted(subscription.getId(), period);
     }
 
 }
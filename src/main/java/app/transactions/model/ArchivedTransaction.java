@@ -0,0 +1,79 @@
+package app.transactions.model;
+
+import app.wallet.model.Wallet;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A transaction moved out of the hot {@code transaction} table by the archive job. Keeps the original id
+ * and columns so a month's detail can still be shown on demand; totals are read from
+ * {@link TransactionMonthlyRollup} instead.
+ */
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "transaction_archive", indexes = {
+        @Index(name = "idx_transaction_archive_wallet_date", columnList = "wallet_id, date"),
+        @Index(name = "idx_transaction_archive_occurrence_key", columnList = "occurrence_key")
+})
+public class ArchivedTransaction implements Persistable<UUID> {
+    @Id
+    private UUID id;
+    @Column(nullable = false)
+    private BigDecimal amount;
+    @Column(nullable = false)
+    private LocalDateTime date;
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Type type;
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Category category;
+    @Column(nullable = false)
+    private String description;
+    @Column(name = "occurrence_key")
+    private String occurrenceKey;
+    @Column(nullable = false)
+    private LocalDateTime archivedOn;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Wallet wallet;
+    // the id is carried over from the live row, so save() must not mistake a new row for a detached one
+    @Transient
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
+    public static ArchivedTransaction of(Transaction transaction, LocalDateTime archivedOn) {
+        return ArchivedTransaction.builder()
+                .id(transaction.getId())
+                .amount(transaction.getAmount())
+                .date(transaction.getDate())
+                .type(transaction.getType())
+                .category(transaction.getCategory())
+                .description(transaction.getDescription())
+                .occurrenceKey(transaction.getOccurrenceKey())
+                .archivedOn(archivedOn)
+                .wallet(transaction.getWallet())
+                .build();
+    }
+}
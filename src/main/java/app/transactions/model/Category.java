@@ -15,6 +15,7 @@ public enum Category {
     FAMILY,
     GIFTS,
     HOME,
+    SUBSCRIPTIONS,
     OTHER;
 
     public String getName() {
@@ -0,0 +1,190 @@
+package app.transactions.model;
+
+import app.currency.model.Money;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Money amount per {@link Category}, stored as minor units in a fixed array indexed by ordinal. The
+ * ranking (non-zero categories, largest first) is built in place on first use after a write and reused
+ * by every ranked view, so names, percentages and amounts always come out in the same order.
+ * <p>
+ * Instances are mutable and meant to be filled and read within a single request.
+ */
+public final class CategoryVector {
+
+    private static final Category[] CATEGORIES = Category.values();
+
+    private final long[] amounts = new long[CATEGORIES.length];
+    private final int[] ranking = new int[CATEGORIES.length];
+    private int rankedSize = -1;
+
+    public CategoryVector add(Category category, long minorUnits) {
+        amounts[category.ordinal()] += minorUnits;
+        rankedSize = -1;
+        return this;
+    }
+
+    public CategoryVector add(Category category, BigDecimal amount) {
+        return add(category, Money.minorUnitsOf(amount));
+    }
+
+    public CategoryVector merge(CategoryVector other) {
+        for (int ordinal = 0; ordinal < amounts.length; ordinal++) {
+            amounts[ordinal] += other.amounts[ordinal];
+        }
+        rankedSize = -1;
+        return this;
+    }
+
+    public long get(Category category) {
+        return amounts[category.ordinal()];
+    }
+
+    public BigDecimal amount(Category category) {
+        return Money.toBigDecimal(amounts[category.ordinal()]);
+    }
+
+    public long total() {
+        long total = 0;
+        for (long amount : amounts) {
+            total += amount;
+        }
+        return total;
+    }
+
+    public BigDecimal totalAmount() {
+        return Money.toBigDecimal(total());
+    }
+
+    public boolean isEmpty() {
+        for (long amount : amounts) {
+            if (amount != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Categories with a non-zero amount, in declaration order.
+     */
+    public List<Category> categories() {
+        List<Category> categories = new ArrayList<>();
+        for (int ordinal = 0; ordinal < amounts.length; ordinal++) {
+            if (amounts[ordinal] != 0) {
+                categories.add(CATEGORIES[ordinal]);
+            }
+        }
+        return categories;
+    }
+
+    /**
+     * Share of {@link #total()} taken by {@code category}, as a whole percentage rounded half up.
+     */
+    public int percentOf(Category category) {
+        return Money.percentOf(amounts[category.ordinal()], total());
+    }
+
+    /**
+     * Up to {@code n} categories with the largest amounts; ties keep declaration order.
+     */
+    public List<Category> top(int n) {
+        int size = Math.min(n, rank());
+        List<Category> top = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            top.add(CATEGORIES[ranking[i]]);
+        }
+        return top;
+    }
+
+    public List<Category> ranked() {
+        return top(CATEGORIES.length);
+    }
+
+    public List<String> rankedNames() {
+        int size = rank();
+        List<String> names = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            names.add(CATEGORIES[ranking[i]].getName());
+        }
+        return names;
+    }
+
+    public List<Integer> rankedPercents() {
+        int size = rank();
+        long total = total();
+        List<Integer> percents = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            percents.add(Money.percentOf(amounts[ranking[i]], total));
+        }
+        return percents;
+    }
+
+    public List<BigDecimal> rankedAmounts() {
+        int size = rank();
+        List<BigDecimal> ranked = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ranked.add(Money.toBigDecimal(amounts[ranking[i]]));
+        }
+        return ranked;
+    }
+
+    public Map<Category, BigDecimal> toMap() {
+        if (isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Category, BigDecimal> map = new EnumMap<>(Category.class);
+        for (int ordinal = 0; ordinal < amounts.length; ordinal++) {
+            if (amounts[ordinal] != 0) {
+                map.put(CATEGORIES[ordinal], Money.toBigDecimal(amounts[ordinal]));
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Insertion sort of the non-zero ordinals into {@link #ranking}; with at most one slot per category
+     * it beats sorting boxed entries and needs no extra storage.
+     */
+    private int rank() {
+        if (rankedSize >= 0) {
+            return rankedSize;
+        }
+        int size = 0;
+        for (int ordinal = 0; ordinal < amounts.length; ordinal++) {
+            if (amounts[ordinal] == 0) {
+                continue;
+            }
+            int i = size++;
+            while (i > 0 && amounts[ranking[i - 1]] < amounts[ordinal]) {
+                ranking[i] = ranking[i - 1];
+                i--;
+            }
+            ranking[i] = ordinal;
+        }
+        rankedSize = size;
+        return size;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CategoryVector other && Arrays.equals(amounts, other.amounts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(amounts);
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+}
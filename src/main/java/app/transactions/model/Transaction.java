@@ -14,6 +14,11 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_transaction_wallet_date", columnList = "wallet_id, date"),
+        @Index(name = "idx_transaction_wallet_type_category", columnList = "wallet_id, type, category"),
+        @Index(name = "idx_transaction_wallet_recent", columnList = "wallet_id, date, id, amount, type, category, description")
+})
 public class Transaction {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -31,7 +36,11 @@ public class Transaction {
     @Column(nullable = false)
     private String description;
 
-    @ManyToOne
+    @Column(unique = true)
+    private String occurrenceKey;
+
+    // lazy, so month queries read only transaction rows instead of the wallet and its whole ledger
+    @ManyToOne(fetch = FetchType.LAZY)
     private Wallet wallet;
 
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package app.transactions.model;
+
+import app.wallet.model.Wallet;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.UUID;
+
+/**
+ * Per-wallet, per-month total of archived transactions for one type and category. Written by the
+ * archive job in the same transaction that moves the rows, so a month is counted either here or in
+ * {@code transaction}, never in both.
+ */
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "transaction_monthly_rollup", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_rollup_wallet_month_type_category",
+                columnNames = {"wallet_id", "year", "month", "type", "category"})
+})
+public class TransactionMonthlyRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Wallet wallet;
+    @Column(nullable = false)
+    private int year;
+    @Column(nullable = false)
+    private int month;
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Type type;
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Category category;
+    @Column(nullable = false)
+    private BigDecimal totalAmount;
+    @Column(nullable = false)
+    private long transactionCount;
+
+    public YearMonth getYearMonth() {
+        return YearMonth.of(year, month);
+    }
+}
@@ -0,0 +1,29 @@
+package app.transactions.repository;
+
+import app.transactions.model.ArchivedTransaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Repository
+public interface ArchivedTransactionRepository extends JpaRepository<ArchivedTransaction, UUID> {
+
+    @Query("""
+                SELECT a FROM ArchivedTransaction a
+                WHERE a.wallet.id = :walletId AND a.date >= :from AND a.date < :to
+                ORDER BY a.date DESC
+            """)
+    List<ArchivedTransaction> findByWalletIdAndDateRange(@Param("walletId") UUID walletId,
+                                                         @Param("from") LocalDateTime from,
+                                                         @Param("to") LocalDateTime to);
+
+    @Query("SELECT a.occurrenceKey FROM ArchivedTransaction a WHERE a.occurrenceKey IN :keys")
+    Set<String> findExistingOccurrenceKeys(@Param("keys") Collection<String> keys);
+}
@@ -0,0 +1,58 @@
+package app.transactions.repository;
+
+import app.transactions.model.Type;
+import app.transactions.model.TransactionMonthlyRollup;
+import app.web.dto.MonthlyCategoryTotal;
+import app.web.dto.TopCategories;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads over the archived months. Each query mirrors one in {@link TransactionRepository}, so callers
+ * can add the two results together. Months are compared as {@code year * 12 + month}.
+ */
+@Repository
+public interface TransactionMonthlyRollupRepository extends JpaRepository<TransactionMonthlyRollup, UUID> {
+
+    @Query("""
+                SELECT r FROM TransactionMonthlyRollup r
+                WHERE r.wallet.id IN :walletIds AND r.year * 12 + r.month BETWEEN :fromIndex AND :toIndex
+            """)
+    List<TransactionMonthlyRollup> findForWallets(@Param("walletIds") Collection<UUID> walletIds,
+                                                  @Param("fromIndex") int fromIndex,
+                                                  @Param("toIndex") int toIndex);
+
+    @Query("""
+                SELECT new app.web.dto.TopCategories(r.category, SUM(r.totalAmount), 0)
+                FROM TransactionMonthlyRollup r
+                WHERE r.wallet.id = :walletId AND r.type = app.transactions.model.Type.EXPENSE
+                GROUP BY r.category
+            """)
+    List<TopCategories> topCategories(@Param("walletId") UUID walletId);
+
+    @Query("""
+                SELECT new app.web.dto.MonthlyCategoryTotal(r.year, r.month, w.currency, r.category, SUM(r.totalAmount))
+                FROM TransactionMonthlyRollup r
+                JOIN r.wallet w
+                WHERE w.user.id = :userId AND r.type = app.transactions.model.Type.EXPENSE
+                  AND r.year * 12 + r.month BETWEEN :fromIndex AND :toIndex
+                GROUP BY r.year, r.month, w.currency, r.category
+            """)
+    List<MonthlyCategoryTotal> sumExpensesByMonthAndCategory(@Param("userId") UUID userId,
+                                                             @Param("fromIndex") int fromIndex,
+                                                             @Param("toIndex") int toIndex);
+
+    @Query("""
+                SELECT COALESCE(SUM(r.totalAmount), 0) FROM TransactionMonthlyRollup r
+                WHERE r.wallet.id = :walletId AND r.type = :type AND r.year = :year AND r.month = :month
+            """)
+    BigDecimal sumForMonth(@Param("walletId") UUID walletId, @Param("type") Type type,
+                           @Param("year") int year, @Param("month") int month);
+}
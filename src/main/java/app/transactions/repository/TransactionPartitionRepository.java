@@ -0,0 +1,88 @@
+package app.transactions.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DDL for the monthly partitions of the {@code transaction} table. Partitioning only exists on
+ * PostgreSQL (migration V3); on MySQL and H2 {@link #isPartitioned()} is false and nothing else is
+ * called. Partitions are named {@code transaction_pYYYY_MM} and cover {@code [first day, first day of
+ * next month)}.
+ */
+@Repository
+public class TransactionPartitionRepository {
+
+    private static final String PREFIX = "transaction_p";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final String IS_PARTITIONED = """
+            SELECT COUNT(*) FROM pg_partitioned_table pt
+            JOIN pg_class c ON c.oid = pt.partrelid
+            WHERE c.relname = 'transaction' AND pg_table_is_visible(c.oid)
+            """;
+
+    private static final String PARTITION_NAMES = """
+            SELECT child.relname FROM pg_inherits i
+            JOIN pg_class parent ON parent.oid = i.inhparent
+            JOIN pg_class child ON child.oid = i.inhrelid
+            WHERE parent.relname = 'transaction' AND pg_table_is_visible(parent.oid)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean partitioned;
+
+    public TransactionPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isPartitioned() {
+        if (partitioned == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName().toLowerCase());
+            partitioned = product.contains("postgresql")
+                    && jdbcTemplate.queryForObject(IS_PARTITIONED, Integer.class) > 0;
+        }
+        return partitioned;
+    }
+
+    /** Months that currently have their own attached partition, oldest first. */
+    public List<YearMonth> findMonthPartitions() {
+        List<YearMonth> months = new ArrayList<>();
+        for (String name : jdbcTemplate.queryForList(PARTITION_NAMES, String.class)) {
+            if (!name.startsWith(PREFIX)) {
+                continue;
+            }
+            try {
+                months.add(YearMonth.parse(name.substring(PREFIX.length()), SUFFIX));
+            } catch (DateTimeParseException ignored) {
+                // not one of ours, e.g. an operator-created partition
+            }
+        }
+        months.sort(null);
+        return months;
+    }
+
+    public void createMonthPartition(YearMonth month) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS %s PARTITION OF transaction FOR VALUES FROM ('%s') TO ('%s')"
+                .formatted(partitionName(month), month.atDay(1), month.plusMonths(1).atDay(1)));
+    }
+
+    /**
+     * Detaches the month's partition. The rows leave the ledger but stay in a standalone table of the
+     * same name, ready to be dumped or moved to cheaper storage.
+     */
+    public void detachMonthPartition(YearMonth month) {
+        jdbcTemplate.execute("ALTER TABLE transaction DETACH PARTITION " + partitionName(month));
+    }
+
+    public static String partitionName(YearMonth month) {
+        return PREFIX + month.format(SUFFIX);
+    }
+}
@@ -1,13 +1,19 @@
 package app.transactions.repository;
 
 import app.transactions.model.Transaction;
+import app.web.dto.MonthlyCategoryTotal;
+import app.web.dto.RecentTransaction;
 import app.web.dto.TopCategories;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
@@ -22,5 +28,45 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
             """)
     List<TopCategories> topCategories(@Param("walletId") UUID walletId);
 
-}
+    @Query("""
+                SELECT new app.web.dto.MonthlyCategoryTotal(YEAR(t.date), MONTH(t.date), w.currency, t.category, SUM(t.amount))
+                FROM Transaction t
+                JOIN t.wallet w
+                WHERE w.user.id = :userId AND t.type = app.transactions.model.Type.EXPENSE
+                  AND t.date >= :from AND t.date < :to
+                GROUP BY YEAR(t.date), MONTH(t.date), w.currency, t.category
+            """)
+    List<MonthlyCategoryTotal> sumExpensesByMonthAndCategory(@Param("userId") UUID userId,
+                                                             @Param("from") LocalDateTime from,
+                                                             @Param("to") LocalDateTime to);
+
+    /**
+     * A wallet's transactions in {@code [from, to)}, newest first. The half-open range on {@code date}
+     * lets PostgreSQL prune to the month's partition and walks idx_transaction_wallet_date elsewhere.
+     */
+    @Query("""
+                SELECT t FROM Transaction t
+                WHERE t.wallet.id = :walletId AND t.date >= :from AND t.date < :to
+                ORDER BY t.date DESC
+            """)
+    List<Transaction> findByWalletIdAndDateRange(@Param("walletId") UUID walletId,
+                                                 @Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to);
 
+    // newest first with id as tie-breaker; reads the head of idx_transaction_wallet_recent and stops at the page size
+    @Query("""
+                SELECT new app.web.dto.RecentTransaction(t.id, t.date, t.amount, t.type, t.category, t.description)
+                FROM Transaction t
+                WHERE t.wallet.id = :walletId
+                ORDER BY t.date DESC, t.id DESC
+            """)
+    List<RecentTransaction> findRecentByWalletId(@Param("walletId") UUID walletId, Pageable pageable);
+
+    // oldest first; every archived batch is deleted, so the archive job always reads the first page
+    @Query("SELECT t FROM Transaction t WHERE t.date < :before ORDER BY t.date, t.id")
+    List<Transaction> findOlderThan(@Param("before") LocalDateTime before, Pageable pageable);
+
+    @Query("SELECT t.occurrenceKey FROM Transaction t WHERE t.occurrenceKey IN :keys")
+    Set<String> findExistingOccurrenceKeys(@Param("keys") Collection<String> keys);
+
+}
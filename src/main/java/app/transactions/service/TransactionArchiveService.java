@@ -0,0 +1,182 @@
+package app.transactions.service;
+
+import app.transactions.model.ArchivedTransaction;
+import app.transactions.model.Category;
+import app.transactions.model.Transaction;
+import app.transactions.model.TransactionMonthlyRollup;
+import app.transactions.model.Type;
+import app.transactions.repository.ArchivedTransactionRepository;
+import app.transactions.repository.TransactionMonthlyRollupRepository;
+import app.transactions.repository.TransactionRepository;
+import app.web.dto.MonthlyCategoryTotal;
+import app.web.dto.TopCategories;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * Moves transactions older than {@code app.transactions.archive.after-months} out of the hot
+ * {@code transaction} table into {@code transaction_archive}, folding them into per-month
+ * {@link TransactionMonthlyRollup} rows on the way. Historical totals are then read from the rollup
+ * and a month's detail from the archive only when asked for.
+ * <p>
+ * Months before {@link #horizon()} may be archived, later ones never are. Readers use that to decide
+ * whether the rollup needs querying at all, so with archiving off (the default) no extra query runs.
+ * Once data has been archived the property must stay on, and the horizon may only move forward.
+ */
+@Slf4j
+@Service
+public class TransactionArchiveService {
+
+    private final TransactionRepository transactionRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final TransactionMonthlyRollupRepository rollupRepository;
+    private final boolean enabled;
+    private final int afterMonths;
+    private final int batchSize;
+
+    public TransactionArchiveService(TransactionRepository transactionRepository,
+                                     ArchivedTransactionRepository archivedTransactionRepository,
+                                     TransactionMonthlyRollupRepository rollupRepository,
+                                     @Value("${app.transactions.archive.enabled:false}") boolean enabled,
+                                     @Value("${app.transactions.archive.after-months:24}") int afterMonths,
+                                     @Value("${app.transactions.archive.batch-size:500}") int batchSize) {
+        this.transactionRepository = transactionRepository;
+        this.archivedTransactionRepository = archivedTransactionRepository;
+        this.rollupRepository = rollupRepository;
+        this.enabled = enabled;
+        this.afterMonths = afterMonths;
+        this.batchSize = batchSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /** First month that is never archived; everything before it may live in the archive. */
+    public YearMonth horizon() {
+        return horizon(YearMonth.now());
+    }
+
+    public YearMonth horizon(YearMonth currentMonth) {
+        return currentMonth.minusMonths(afterMonths);
+    }
+
+    /** Whether any month in {@code [from, ...]} may have been archived. */
+    public boolean mayBeArchived(YearMonth from) {
+        return enabled && from.isBefore(horizon());
+    }
+
+    /**
+     * Archives one batch of the oldest transactions before {@code horizon}. Rows, rollup totals and
+     * the delete commit together.
+     *
+     * @return number of transactions archived; less than the batch size once nothing is left
+     */
+    @Transactional
+    public int archiveBatch(YearMonth horizon) {
+        List<Transaction> batch = transactionRepository.findOlderThan(horizon.atDay(1).atStartOfDay(),
+                PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        addToRollup(batch);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ArchivedTransaction> archived = new ArrayList<>(batch.size());
+        List<UUID> ids = new ArrayList<>(batch.size());
+        for (Transaction transaction : batch) {
+            archived.add(ArchivedTransaction.of(transaction, now));
+            ids.add(transaction.getId());
+        }
+        archivedTransactionRepository.saveAll(archived);
+        archivedTransactionRepository.flush();
+        transactionRepository.deleteAllByIdInBatch(ids);
+
+        log.debug("Archived [%d] transactions older than %s".formatted(batch.size(), horizon));
+        return batch.size();
+    }
+
+    private void addToRollup(List<Transaction> batch) {
+        Set<UUID> walletIds = new HashSet<>();
+        YearMonth first = null;
+        YearMonth last = null;
+        for (Transaction transaction : batch) {
+            walletIds.add(transaction.getWallet().getId());
+            YearMonth month = YearMonth.from(transaction.getDate());
+            first = first == null || month.isBefore(first) ? month : first;
+            last = last == null || month.isAfter(last) ? month : last;
+        }
+
+        Map<RollupKey, TransactionMonthlyRollup> rollups = new HashMap<>();
+        for (TransactionMonthlyRollup rollup : rollupRepository.findForWallets(walletIds, monthIndex(first), monthIndex(last))) {
+            rollups.put(new RollupKey(rollup.getWallet().getId(), rollup.getYearMonth(), rollup.getType(), rollup.getCategory()), rollup);
+        }
+
+        for (Transaction transaction : batch) {
+            RollupKey key = new RollupKey(transaction.getWallet().getId(), YearMonth.from(transaction.getDate()),
+                    transaction.getType(), transaction.getCategory());
+            TransactionMonthlyRollup rollup = rollups.computeIfAbsent(key, k -> TransactionMonthlyRollup.builder()
+                    .wallet(transaction.getWallet())
+                    .year(k.month().getYear())
+                    .month(k.month().getMonthValue())
+                    .type(k.type())
+                    .category(k.category())
+                    .totalAmount(BigDecimal.ZERO)
+                    .build());
+            rollup.setTotalAmount(rollup.getTotalAmount().add(transaction.getAmount()));
+            rollup.setTransactionCount(rollup.getTransactionCount() + 1);
+        }
+        rollupRepository.saveAll(rollups.values());
+    }
+
+    /** A wallet's archived transactions for one month, newest first; the on-demand detail behind the rollup. */
+    @Transactional(readOnly = true)
+    public List<ArchivedTransaction> getArchivedTransactions(UUID walletId, YearMonth month) {
+        if (!mayBeArchived(month)) {
+            return List.of();
+        }
+        return archivedTransactionRepository.findByWalletIdAndDateRange(walletId,
+                month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay());
+    }
+
+    List<MonthlyCategoryTotal> archivedExpensesByMonthAndCategory(UUID userId, YearMonth from, YearMonth to) {
+        if (!mayBeArchived(from)) {
+            return List.of();
+        }
+        return rollupRepository.sumExpensesByMonthAndCategory(userId, monthIndex(from), monthIndex(to));
+    }
+
+    List<TopCategories> archivedTopCategories(UUID walletId) {
+        return enabled ? rollupRepository.topCategories(walletId) : List.of();
+    }
+
+    BigDecimal archivedTotal(UUID walletId, Type type, YearMonth month) {
+        return mayBeArchived(month)
+                ? rollupRepository.sumForMonth(walletId, type, month.getYear(), month.getMonthValue())
+                : BigDecimal.ZERO;
+    }
+
+    Set<String> archivedOccurrenceKeys(Collection<String> keys) {
+        return enabled && !keys.isEmpty() ? archivedTransactionRepository.findExistingOccurrenceKeys(keys) : Set.of();
+    }
+
+    private static int monthIndex(YearMonth month) {
+        return month.getYear() * 12 + month.getMonthValue();
+    }
+
+    private record RollupKey(UUID walletId, YearMonth month, Type type, Category category) {
+    }
+}
@@ -0,0 +1,91 @@
+package app.transactions.service;
+
+import app.transactions.repository.TransactionPartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the monthly partitions of the transaction table ahead of the calendar and, when
+ * {@code app.transactions.partitions.detach-after-months} is set, detaches months older than that so
+ * current-month traffic never shares indexes or vacuum work with years-old history. Does nothing unless
+ * the table is partitioned (PostgreSQL).
+ * <p>
+ * Reports only read the archive rollup for months before the archive horizon, so a detached month must
+ * already be there: detaching requires archiving to be on and never goes past its horizon.
+ */
+@Slf4j
+@Service
+public class TransactionPartitionService {
+
+    private final TransactionPartitionRepository partitionRepository;
+    private final TransactionArchiveService archiveService;
+    private final int monthsAhead;
+    private final int detachAfterMonths;
+
+    public TransactionPartitionService(TransactionPartitionRepository partitionRepository,
+                                       TransactionArchiveService archiveService,
+                                       @Value("${app.transactions.partitions.months-ahead:3}") int monthsAhead,
+                                       @Value("${app.transactions.partitions.detach-after-months:0}") int detachAfterMonths) {
+        if (detachAfterMonths > 0 && !archiveService.isEnabled()) {
+            throw new IllegalStateException(
+                    "app.transactions.partitions.detach-after-months requires app.transactions.archive.enabled");
+        }
+        this.partitionRepository = partitionRepository;
+        this.archiveService = archiveService;
+        this.monthsAhead = monthsAhead;
+        this.detachAfterMonths = detachAfterMonths;
+    }
+
+    public Maintenance maintain(YearMonth currentMonth) {
+        if (!partitionRepository.isPartitioned()) {
+            return new Maintenance(0, 0, 0);
+        }
+
+        List<YearMonth> existing = partitionRepository.findMonthPartitions();
+        Set<YearMonth> attached = new HashSet<>(existing);
+        int created = 0;
+        int failed = 0;
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = currentMonth.plusMonths(i);
+            if (attached.contains(month)) {
+                continue;
+            }
+            try {
+                partitionRepository.createMonthPartition(month);
+                created++;
+            } catch (DataAccessException e) {
+                // typically rows for that month already sit in transaction_default and need moving by hand
+                log.error("Could not create transaction partition for {}", month, e);
+                failed++;
+            }
+        }
+
+        int detached = 0;
+        if (detachAfterMonths > 0) {
+            YearMonth oldestKept = currentMonth.minusMonths(detachAfterMonths);
+            YearMonth horizon = archiveService.horizon(currentMonth);
+            if (horizon.isBefore(oldestKept)) {
+                oldestKept = horizon;
+            }
+            for (YearMonth month : existing) {
+                if (month.isBefore(oldestKept)) {
+                    partitionRepository.detachMonthPartition(month);
+                    log.info("Detached transaction partition {}", TransactionPartitionRepository.partitionName(month));
+                    detached++;
+                }
+            }
+        }
+
+        return new Maintenance(created, detached, failed);
+    }
+
+    public record Maintenance(int created, int detached, int failed) {
+    }
+}
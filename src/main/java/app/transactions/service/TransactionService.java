@@ -1,40 +1,62 @@
 package app.transactions.service;
 
+import app.currency.model.FxRateSnapshot;
+import app.currency.model.Money;
+import app.currency.service.FxRateService;
+import app.event.TransactionCreatedEvent;
+import app.event.TransactionDeletedEvent;
 import app.exception.CustomException;
 import app.transactions.model.Category;
+import app.transactions.model.CategoryVector;
 import app.transactions.model.Transaction;
 import app.transactions.model.Type;
 import app.transactions.repository.TransactionRepository;
 import app.wallet.model.Wallet;
 import app.wallet.repository.WalletRepository;
+import app.web.dto.MonthlyCategoryTotal;
+import app.web.dto.RecentTransaction;
 import app.web.dto.TopCategories;
 import app.web.dto.TransactionDto;
 import app.web.dto.mapper.DtoMapper;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 @Service
 
 public class TransactionService {
 
+    private static final DateTimeFormatter DAY_LABEL = DateTimeFormatter.ofPattern("dd MMM", Locale.ENGLISH);
+    private static final int OCCURRENCE_KEY_CHUNK_SIZE = 1_000;
+
     private final TransactionRepository transactionRepository;
     private final WalletRepository walletRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FxRateService fxRateService;
+    private final TransactionArchiveService archiveService;
 
     @Autowired
-    public TransactionService(TransactionRepository transactionRepository, WalletRepository walletRepository) {
+    public TransactionService(TransactionRepository transactionRepository, WalletRepository walletRepository,
+                              ApplicationEventPublisher eventPublisher, FxRateService fxRateService,
+                              TransactionArchiveService archiveService) {
         this.transactionRepository = transactionRepository;
         this.walletRepository = walletRepository;
+        this.eventPublisher = eventPublisher;
+        this.fxRateService = fxRateService;
+        this.archiveService = archiveService;
     }
 
     public Transaction saveTransaction(Transaction transaction) {
@@ -45,59 +67,175 @@ public class TransactionService {
         return transactionRepository.findAll(Sort.by(Sort.Direction.DESC, "date"));
     }
 
+    @Timed(value = "transactions.process", description = "Booking a transaction and updating its wallet", histogram = true)
+    @Transactional
     public void processTransaction(TransactionDto dto, UUID userId) {
-        Wallet wallet = walletRepository.findByUserId(userId)
+        UUID walletId = dto.getWalletId() != null
+                ? dto.getWalletId()
+                : walletRepository.findPrimaryWalletId(userId).orElseThrow(() -> new CustomException("Wallet not found"));
+
+        // locked so a concurrent transfer cannot overwrite the balance computed here
+        Wallet wallet = walletRepository.findByIdForUpdate(walletId)
                 .orElseThrow(() -> new CustomException("Wallet not found"));
+        if (wallet.getUser() == null || !wallet.getUser().getId().equals(userId)) {
+            throw new SecurityException("You are not authorized to use this wallet");
+        }
+
+        if (!applyToWallet(wallet, dto.getType(), dto.getAmount())) {
+            throw new IllegalArgumentException("Insufficient balance for this expense.");
+        }
+
+        Transaction transaction = DtoMapper.mapTransactionDtoToEntity(dto, wallet);
+
+        transaction = transactionRepository.save(transaction);
+        walletRepository.save(wallet);
+
+        publishCreated(transaction, wallet.getId(), userId);
+    }
+
+    /**
+     * Books generated ledger entries (e.g. subscription renewals) that carry an {@code occurrenceKey}.
+     * Keys already on the ledger count as settled and are not booked twice; expenses the wallet cannot
+     * cover are skipped so the caller can retry them on a later run.
+     * <p>
+     * The keys are looked up only once the wallets are locked. Every booking of an occurrence locks its
+     * wallet first, so a concurrent booking of the same key has either committed by then or not started.
+     * The database cannot catch that on its own: on PostgreSQL the key is only unique per date.
+     *
+     * @return the occurrence keys that are on the ledger once this call returns
+     */
+    @Transactional
+    public Set<String> bookOccurrences(List<Transaction> entries) {
+        if (entries.isEmpty()) {
+            return Set.of();
+        }
+
+        // callers load wallets without a lock; re-read them locked, in the order transfers use, so a
+        // concurrent transfer's balance is neither overwritten nor deadlocked against
+        Map<UUID, Wallet> lockedWallets = walletRepository.lockAllForUpdate(entries.stream()
+                .map(entry -> entry.getWallet().getId())
+                .distinct()
+                .toList());
+
+        List<String> keys = entries.stream().map(Transaction::getOccurrenceKey).toList();
+        Set<String> settled = new HashSet<>();
+        // one IN list per chunk keeps a large catch-up below the driver's bind-parameter limit
+        for (int from = 0; from < keys.size(); from += OCCURRENCE_KEY_CHUNK_SIZE) {
+            List<String> chunk = keys.subList(from, Math.min(from + OCCURRENCE_KEY_CHUNK_SIZE, keys.size()));
+            settled.addAll(transactionRepository.findExistingOccurrenceKeys(chunk));
+            // an occurrence booked long ago may already have moved to the archive
+            settled.addAll(archiveService.archivedOccurrenceKeys(chunk));
+        }
+
+        List<Transaction> toBook = new ArrayList<>();
+        Map<UUID, Wallet> touchedWallets = new LinkedHashMap<>();
+        for (Transaction entry : entries) {
+            if (settled.contains(entry.getOccurrenceKey())) {
+                continue;
+            }
+
+            Wallet wallet = lockedWallets.get(entry.getWallet().getId());
+            entry.setWallet(wallet);
+            if (!applyToWallet(wallet, entry.getType(), entry.getAmount())) {
+                continue;
+            }
+
+            toBook.add(entry);
+            settled.add(entry.getOccurrenceKey());
+            touchedWallets.put(wallet.getId(), wallet);
+        }
+
+        List<Transaction> booked = transactionRepository.saveAll(toBook);
+        walletRepository.saveAll(touchedWallets.values());
+
+        for (Transaction transaction : booked) {
+            Wallet wallet = transaction.getWallet();
+            publishCreated(transaction, wallet.getId(), wallet.getUser().getId());
+        }
 
-        BigDecimal amount = dto.getAmount();
+        return settled;
+    }
 
-        if (dto.getType() == Type.EXPENSE) {
+    private boolean applyToWallet(Wallet wallet, Type type, BigDecimal amount) {
+        if (type == Type.EXPENSE) {
             if (wallet.getBalance().compareTo(amount) < 0) {
-                throw new IllegalArgumentException("Insufficient balance for this expense.");
+                return false;
             }
             wallet.setExpense(wallet.getExpense().add(amount));
             wallet.setBalance(wallet.getBalance().subtract(amount));
-        } else if (dto.getType() == Type.INCOME) {
+        } else if (type == Type.INCOME) {
             wallet.setIncome(wallet.getIncome().add(amount));
             wallet.setBalance(wallet.getBalance().add(amount));
         }
+        return true;
+    }
 
-        Transaction transaction = DtoMapper.mapTransactionDtoToEntity(dto, wallet);
-
-        transactionRepository.save(transaction);
-        walletRepository.save(wallet);
+    private void publishCreated(Transaction transaction, UUID walletId, UUID userId) {
+        eventPublisher.publishEvent(new TransactionCreatedEvent(this, transaction.getId(), walletId, userId,
+                transaction.getType(), transaction.getCategory(), transaction.getAmount(), transaction.getDate()));
     }
 
     public List<TopCategories> getTopCategories(UUID walletId) {
-        List<TopCategories> rawTop = transactionRepository.topCategories(walletId);
+        List<TopCategories> rawTop = getAllExpenseCategories(walletId);
 
         List<TopCategories> top3 = rawTop.stream()
                 .limit(3)
                 .collect(Collectors.toList());
 
-        BigDecimal total = calculateTotalAmount(top3);
-
-        calculatePercents(top3, total);
+        long total = 0;
+        for (TopCategories category : top3) {
+            total += Money.minorUnitsOf(category.getTotalAmount());
+        }
+        for (TopCategories category : top3) {
+            category.setPercent(Money.percentOf(Money.minorUnitsOf(category.getTotalAmount()), total));
+        }
 
         return top3;
     }
 
+    /** All-time expenses of the wallet by category, largest first, archived months included. */
     public List<TopCategories> getAllExpenseCategories(UUID walletId) {
-        return transactionRepository.topCategories(walletId);
+        List<TopCategories> live = transactionRepository.topCategories(walletId);
+        if (!archiveService.isEnabled()) {
+            return live;
+        }
+
+        Map<Category, BigDecimal> merged = new EnumMap<>(Category.class);
+        for (TopCategories row : live) {
+            merged.merge(row.getCategory(), row.getTotalAmount(), BigDecimal::add);
+        }
+        for (TopCategories row : archiveService.archivedTopCategories(walletId)) {
+            merged.merge(row.getCategory(), row.getTotalAmount(), BigDecimal::add);
+        }
+        return merged.entrySet().stream()
+                .map(e -> new TopCategories(e.getKey(), e.getValue(), 0))
+                .sorted(Comparator.comparing(TopCategories::getTotalAmount).reversed())
+                .collect(Collectors.toList());
     }
 
-    public List<Transaction> getCurrentMonthTransactions(UUID walletId) {
-        Wallet wallet = walletRepository.findById(walletId)
-                .orElseThrow(() -> new CustomException("Wallet not found"));
+    /**
+     * The wallet's {@code limit} newest transactions. Cost and result size stay the same however long the
+     * wallet's history grows, unlike rendering {@code wallet.getTransactions()}.
+     */
+    public List<RecentTransaction> getRecentTransactions(UUID walletId, int limit) {
+        return transactionRepository.findRecentByWalletId(walletId, PageRequest.of(0, limit));
+    }
 
-        YearMonth currentMonth = YearMonth.now();
-        LocalDateTime monthStart = currentMonth.atDay(1).atStartOfDay();
-        LocalDateTime monthEnd = currentMonth.plusMonths(1).atDay(1).atStartOfDay();
+    public List<Transaction> getCurrentMonthTransactions(UUID walletId) {
+        return getTransactionsForMonth(walletId, YearMonth.now());
+    }
 
-        return wallet.getTransactions().stream()
-                .filter(t -> !t.getDate().isBefore(monthStart) && t.getDate().isBefore(monthEnd))
-                .sorted((t1, t2) -> t2.getDate().compareTo(t1.getDate()))
-                .collect(Collectors.toList());
+    /**
+     * The wallet's transactions in one calendar month, newest first. Bounded by the month in SQL rather
+     * than filtered from {@code wallet.getTransactions()}, so only that month's rows (and, on PostgreSQL,
+     * only that month's partition) are read.
+     */
+    private List<Transaction> getTransactionsForMonth(UUID walletId, YearMonth yearMonth) {
+        if (!walletRepository.existsById(walletId)) {
+            throw new CustomException("Wallet not found");
+        }
+        return transactionRepository.findByWalletIdAndDateRange(walletId,
+                yearMonth.atDay(1).atStartOfDay(), yearMonth.plusMonths(1).atDay(1).atStartOfDay());
     }
 
     private List<Transaction> getCurrentMonthExpenseTransactions(UUID walletId) {
@@ -106,59 +244,86 @@ public class TransactionService {
                 .collect(Collectors.toList());
     }
 
-    private Map<Category, BigDecimal> getCategoryTotals(UUID walletId) {
-        List<Transaction> expenseTransactions = getCurrentMonthExpenseTransactions(walletId);
-        Map<Category, BigDecimal> categoryTotals = new HashMap<>();
-
-        for (Transaction t : expenseTransactions) {
-            categoryTotals.merge(t.getCategory(), t.getAmount(), BigDecimal::add);
+    /**
+     * Current-month expenses of the wallet by category. Names, percentages and amounts for the report
+     * views are all read from this one vector, so the month is only scanned once.
+     */
+    public CategoryVector getCategoryBreakdownForCurrentMonth(UUID walletId) {
+        CategoryVector breakdown = new CategoryVector();
+        for (Transaction t : getCurrentMonthExpenseTransactions(walletId)) {
+            breakdown.add(t.getCategory(), t.getAmount());
         }
+        return breakdown;
+    }
 
-        return categoryTotals;
+    private static long sumMinorUnits(List<Transaction> transactions) {
+        long total = 0;
+        for (Transaction t : transactions) {
+            total += Money.minorUnitsOf(t.getAmount());
+        }
+        return total;
     }
 
-    public Map<Category, BigDecimal> getCategoryTotalsForMonth(UUID walletId, YearMonth yearMonth) {
-        List<Transaction> expenseTransactions = getExpenseTransactionsForMonth(walletId, yearMonth);
-        Map<Category, BigDecimal> categoryTotals = new HashMap<>();
+    public CategoryVector getCategoryTotalsForMonth(UUID userId, Currency reportingCurrency, YearMonth yearMonth) {
+        return getCategoryTotalsByMonth(userId, reportingCurrency, yearMonth, yearMonth)
+                .getOrDefault(yearMonth, new CategoryVector());
+    }
 
-        for (Transaction t : expenseTransactions) {
-            categoryTotals.merge(t.getCategory(), t.getAmount(), BigDecimal::add);
+    /**
+     * Expense totals per category for every month in {@code [from, to]} across the user's wallets, in
+     * {@code reportingCurrency}. One grouped query returns a row per wallet currency; each currency's rate
+     * is resolved once from the FX snapshot and applied while folding the rows. Months old enough to
+     * have been archived also fold in their rollup rows.
+     */
+    public Map<YearMonth, CategoryVector> getCategoryTotalsByMonth(UUID userId, Currency reportingCurrency,
+                                                                  YearMonth from, YearMonth to) {
+        LocalDateTime rangeStart = from.atDay(1).atStartOfDay();
+        LocalDateTime rangeEnd = to.plusMonths(1).atDay(1).atStartOfDay();
+
+        FxRateSnapshot rates = fxRateService.snapshot();
+        Map<Currency, UnaryOperator<BigDecimal>> converters = new HashMap<>();
+
+        List<MonthlyCategoryTotal> rows = new ArrayList<>(
+                transactionRepository.sumExpensesByMonthAndCategory(userId, rangeStart, rangeEnd));
+        rows.addAll(archiveService.archivedExpensesByMonthAndCategory(userId, from, to));
+
+        Map<YearMonth, CategoryVector> totals = new TreeMap<>();
+        for (MonthlyCategoryTotal row : rows) {
+            UnaryOperator<BigDecimal> toReporting = converters.computeIfAbsent(row.getCurrency(),
+                    currency -> rates.converter(currency, reportingCurrency));
+            totals.computeIfAbsent(row.getYearMonth(), month -> new CategoryVector())
+                    .add(row.getCategory(), toReporting.apply(row.getTotalAmount()));
         }
 
-        return categoryTotals;
+        return totals;
     }
 
     private List<Transaction> getExpenseTransactionsForMonth(UUID walletId, YearMonth yearMonth) {
-        Wallet wallet = walletRepository.findById(walletId)
-                .orElseThrow(() -> new CustomException("Wallet not found"));
-
-        LocalDateTime monthStart = yearMonth.atDay(1).atStartOfDay();
-        LocalDateTime monthEnd = yearMonth.plusMonths(1).atDay(1).atStartOfDay();
-
-        return wallet.getTransactions().stream()
-                .filter(t -> !t.getDate().isBefore(monthStart) && t.getDate().isBefore(monthEnd))
+        return getTransactionsForMonth(walletId, yearMonth).stream()
                 .filter(t -> t.getType() == Type.EXPENSE)
-                .sorted((t1, t2) -> t2.getDate().compareTo(t1.getDate()))
                 .collect(Collectors.toList());
     }
 
     public BigDecimal getTotalExpensesForCurrentMonth(UUID walletId) {
-        return getCurrentMonthExpenseTransactions(walletId).stream()
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return Money.toBigDecimal(sumMinorUnits(getCurrentMonthExpenseTransactions(walletId)));
     }
 
     public BigDecimal getTotalExpensesForMonth(UUID walletId, YearMonth yearMonth) {
-        return getExpenseTransactionsForMonth(walletId, yearMonth).stream()
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal live = Money.toBigDecimal(sumMinorUnits(getExpenseTransactionsForMonth(walletId, yearMonth)));
+        if (!archiveService.mayBeArchived(yearMonth)) {
+            return live;
+        }
+        return live.add(archiveService.archivedTotal(walletId, Type.EXPENSE, yearMonth));
     }
 
     public BigDecimal getTotalIncomeForCurrentMonth(UUID walletId) {
-        return getCurrentMonthTransactions(walletId).stream()
-                .filter(t -> t.getType() == Type.INCOME)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long income = 0;
+        for (Transaction t : getCurrentMonthTransactions(walletId)) {
+            if (t.getType() == Type.INCOME) {
+                income += Money.minorUnitsOf(t.getAmount());
+            }
+        }
+        return Money.toBigDecimal(income);
     }
 
     public Transaction getBiggestExpenseForCurrentMonth(UUID walletId) {
@@ -180,99 +345,21 @@ public class TransactionService {
 
     public Map<String, BigDecimal> getExpenseHistoryByDay(UUID walletId) {
         YearMonth currentMonth = YearMonth.now();
-        LocalDateTime monthStart = currentMonth.atDay(1).atStartOfDay();
-        LocalDateTime monthEnd = currentMonth.plusMonths(1).atDay(1).atStartOfDay();
-
-        List<Transaction> expenseTransactions = getCurrentMonthExpenseTransactions(walletId);
-        Map<String, BigDecimal> expenseHistory = new LinkedHashMap<>();
-
-        LocalDate startDate = monthStart.toLocalDate();
-        LocalDate endDate = monthEnd.toLocalDate().minusDays(1);
-
-        LocalDate currentDate = startDate;
-        while (!currentDate.isAfter(endDate)) {
-            LocalDateTime dayStart = currentDate.atStartOfDay();
-            LocalDateTime dayEnd = currentDate.plusDays(1).atStartOfDay();
-
-            BigDecimal dayExpenses = expenseTransactions.stream()
-                    .filter(t -> !t.getDate().isBefore(dayStart) && t.getDate().isBefore(dayEnd))
-                    .map(Transaction::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd MMM", Locale.ENGLISH);
-            expenseHistory.put(currentDate.format(formatter), dayExpenses);
-            currentDate = currentDate.plusDays(1);
-        }
 
-        return expenseHistory;
-    }
-
-    public List<String> getCategoryNamesForCurrentMonth(UUID walletId) {
-        Map<Category, BigDecimal> categoryTotals = getCategoryTotals(walletId);
-        BigDecimal totalExpenses = getTotalExpensesForCurrentMonth(walletId);
-
-        List<String> categoryNames = new ArrayList<>();
-
-        if (totalExpenses.compareTo(BigDecimal.ZERO) > 0) {
-            categoryTotals.entrySet().stream()
-                    .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue()))
-                    .forEach(entry -> categoryNames.add(entry.getKey().getName()));
+        long[] dailyExpenses = new long[currentMonth.lengthOfMonth()];
+        for (Transaction t : getCurrentMonthExpenseTransactions(walletId)) {
+            dailyExpenses[t.getDate().getDayOfMonth() - 1] += Money.minorUnitsOf(t.getAmount());
         }
 
-        return categoryNames;
-    }
-
-    public List<Integer> getCategoryPercentsForCurrentMonth(UUID walletId) {
-        Map<Category, BigDecimal> categoryTotals = getCategoryTotals(walletId);
-        BigDecimal totalExpenses = getTotalExpensesForCurrentMonth(walletId);
-
-        List<Integer> categoryPercents = new ArrayList<>();
-
-        if (totalExpenses.compareTo(BigDecimal.ZERO) > 0) {
-            categoryTotals.entrySet().stream()
-                    .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue()))
-                    .forEach(entry -> {
-                        int percent = entry.getValue()
-                                .multiply(BigDecimal.valueOf(100))
-                                .divide(totalExpenses, 0, RoundingMode.HALF_UP)
-                                .intValue();
-                        categoryPercents.add(percent);
-                    });
-        }
-
-        return categoryPercents;
-    }
-
-    public List<BigDecimal> getCategoryAmountsForCurrentMonth(UUID walletId) {
-        Map<Category, BigDecimal> categoryTotals = getCategoryTotals(walletId);
-        List<BigDecimal> categoryAmounts = new ArrayList<>();
-
-        categoryTotals.entrySet().stream()
-                .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue()))
-                .forEach(entry -> categoryAmounts.add(entry.getValue()));
-
-        return categoryAmounts;
-    }
-
-    private BigDecimal calculateTotalAmount(List<TopCategories> categories) {
-        return categories.stream()
-                .map(TopCategories::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-
-    private void calculatePercents(List<TopCategories> categories, BigDecimal total) {
-        for (TopCategories dto : categories) {
-            int percent = total.compareTo(BigDecimal.ZERO) > 0
-                    ? dto.getTotalAmount()
-                    .multiply(BigDecimal.valueOf(100))
-                    .divide(total, 0, RoundingMode.HALF_UP)
-                    .intValue()
-                    : 0;
-            dto.setPercent(percent);
+        Map<String, BigDecimal> expenseHistory = new LinkedHashMap<>();
+        for (int day = 1; day <= dailyExpenses.length; day++) {
+            expenseHistory.put(currentMonth.atDay(day).format(DAY_LABEL), Money.toBigDecimal(dailyExpenses[day - 1]));
         }
 
+        return expenseHistory;
     }
 
+    @Timed(value = "transactions.delete", description = "Deleting a transaction and releasing its budget spend", histogram = true)
     @Transactional
     public void deleteTransaction(UUID transactionId, UUID userId) {
         Transaction transaction = transactionRepository.findById(transactionId)
@@ -283,8 +370,15 @@ public class TransactionService {
             throw new SecurityException("You are not authorized to delete this transaction");
         }
 
-        wallet.getTransactions().remove(transaction);
-        walletRepository.save(wallet);
+        // deleted on its own, so the wallet's lazy history is not loaded just to drop one entry; a history
+        // this session already loaded gives the entry up too, or the PERSIST cascade would bring it back
+        if (Hibernate.isInitialized(wallet.getTransactions())) {
+            wallet.getTransactions().remove(transaction);
+        }
+        transactionRepository.delete(transaction);
+
+        eventPublisher.publishEvent(new TransactionDeletedEvent(this, transaction.getId(), wallet.getId(), userId,
+                transaction.getType(), transaction.getCategory(), transaction.getAmount(), transaction.getDate()));
     }
 
 }
@@ -1,6 +1,6 @@
 package app.user.init;
 
-import app.notification.service.NotificationService;
+import app.notification.service.NotificationOutboxService;
 import app.subscription.model.SubscriptionPeriod;
 import app.subscription.model.SubscriptionType;
 import app.subscription.service.SubscriptionsService;
@@ -37,20 +37,20 @@ public class AdminUserInitializer {
     private final PasswordEncoder passwordEncoder;
     private final WalletService walletService;
     private final SubscriptionsService subscriptionsService;
-    private final NotificationService notificationService;
+    private final NotificationOutboxService notificationOutboxService;
     private final TransactionService transactionService;
 
     public AdminUserInitializer(UserRepository userRepository,
                                 PasswordEncoder passwordEncoder,
                                 WalletService walletService,
                                 SubscriptionsService subscriptionsService,
-                                NotificationService notificationService,
+                                NotificationOutboxService notificationOutboxService,
                                 TransactionService transactionService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.walletService = walletService;
         this.subscriptionsService = subscriptionsService;
-        this.notificationService = notificationService;
+        this.notificationOutboxService = notificationOutboxService;
         this.transactionService = transactionService;
     }
 
@@ -81,7 +81,7 @@ public class AdminUserInitializer {
             adminUser = userRepository.save(adminUser);
             walletService.createDefaultWallet(adminUser);
             subscriptionsService.createDefaultSubscription(adminUser);
-            notificationService.upsertPreference(adminUser.getId(), false, adminUser.getEmail());
+            notificationOutboxService.enqueuePreferenceUpsert(adminUser.getId(), false, adminUser.getEmail());
 
             createDefaultSubscriptions(adminUser);
             createDefaultTransactions(adminUser);
@@ -15,7 +15,9 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_version_report", columnList = "user_version, monthly_report_email_enabled")
+})
 public class User {
 
     @Id
@@ -63,10 +65,16 @@ public class User {
     @Column(nullable = false)
     private boolean monthlyReportEmailEnabled = false;
 
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    // the wallet new transactions and reports default to; the user may own further wallets
+    @OneToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "primary_wallet_id")
     private Wallet wallet;
 
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.EAGER, orphanRemoval = true)
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
+    @OrderBy("name ASC")
+    private List<Wallet> wallets;
+
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     private List<Subscription> subscriptions;
 
     public void addSubscription(Subscription subscription) {
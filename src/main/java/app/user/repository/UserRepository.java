@@ -1,9 +1,14 @@
 package app.user.repository;
 
 import app.user.model.User;
+import app.user.model.UserVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -12,4 +17,13 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByUsername(String username);
 
     Optional<User> findByEmail(String email);
+
+    @Query("SELECT u.id FROM User u WHERE u.userVersion = :version AND u.monthlyReportEmailEnabled = true " +
+            "AND u.email IS NOT NULL AND TRIM(u.email) <> ''")
+    List<UUID> findMonthlyReportRecipientIds(@Param("version") UserVersion version);
+
+    // users.primary_wallet_id points back into the wallet table, so it is cleared before the wallets cascade away
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.wallet = null WHERE u.id = :userId")
+    void clearPrimaryWallet(@Param("userId") UUID userId);
 }
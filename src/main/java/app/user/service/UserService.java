@@ -1,13 +1,15 @@
 package app.user.service;
 
 import app.confg.BeanConfiguration;
+import app.event.UserUpgradedEvent;
 import app.exception.UserNotFoundException;
 import app.exception.UsernameAlreadyExistException;
-import app.notification.service.NotificationService;
+import app.notification.service.NotificationOutboxService;
 import app.security.UserData;
 import app.subscription.service.SubscriptionsService;
 import app.user.model.Role;
 import app.user.model.User;
+import app.user.model.UserVersion;
 import app.user.repository.UserRepository;
 import app.wallet.service.WalletService;
 import app.web.dto.RegisterRequest;
@@ -16,6 +18,7 @@ import app.web.dto.mapper.DtoMapper;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -35,15 +38,18 @@ public class UserService implements UserDetailsService {
     private final WalletService walletService;
     private final SubscriptionsService subscriptionsService;
     private final BeanConfiguration beanConfiguration;
-    private final NotificationService notificationService;
+    private final NotificationOutboxService notificationOutboxService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public UserService(UserRepository userRepository, BeanConfiguration beanConfiguration, WalletService walletService, SubscriptionsService subscriptionsService, NotificationService notificationService) {
+    public UserService(UserRepository userRepository, BeanConfiguration beanConfiguration, WalletService walletService, SubscriptionsService subscriptionsService, NotificationOutboxService notificationOutboxService,
+                       ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.walletService = walletService;
         this.subscriptionsService = subscriptionsService;
         this.beanConfiguration = beanConfiguration;
-        this.notificationService = notificationService;
+        this.notificationOutboxService = notificationOutboxService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -61,13 +67,13 @@ public class UserService implements UserDetailsService {
                 .updatedOn(LocalDateTime.now())
                 .country(registerRequest.getCountry())
                 .role(Role.USER)
-                .userVersion(app.user.model.UserVersion.BASIC)
+                .userVersion(UserVersion.BASIC)
                 .build();
         user = userRepository.save(user);
         walletService.createDefaultWallet(user);
         subscriptionsService.createDefaultSubscription(user);
         log.info("User [%s] registered successfully".formatted(user.getUsername()));
-        notificationService.upsertPreference(user.getId(), false, user.getEmail());
+        notificationOutboxService.enqueuePreferenceUpsert(user.getId(), false, user.getEmail());
     }
 
     @Override
@@ -104,7 +110,9 @@ public class UserService implements UserDetailsService {
         userRepository.save(user);
     }
 
+    @Transactional
     public void delete(UUID id) {
+        userRepository.clearPrimaryWallet(id);
         userRepository.deleteById(id);
     }
 
@@ -114,13 +122,28 @@ public class UserService implements UserDetailsService {
         userRepository.save(user);
     }
 
+    @Transactional
+    public void upgradeToPro(UUID userId) {
+        User user = getById(userId);
+        if (user.getUserVersion() == UserVersion.PRO) {
+            return;
+        }
+        String previousVersion = user.getUserVersion().name();
+        user.setUserVersion(UserVersion.PRO);
+        user = userRepository.save(user);
+        log.info("Upgraded user [%s] to PRO version".formatted(userId));
+
+        eventPublisher.publishEvent(new UserUpgradedEvent(this, user, previousVersion));
+    }
+
+    @Transactional
     public void editUserDetails(UUID id, UserEditRequest dto) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException(id));
         if (dto.getEmail() != null && !dto.getEmail().isBlank()) {
-            notificationService.upsertPreference(user.getId(), true, dto.getEmail());
+            notificationOutboxService.enqueuePreferenceUpsert(user.getId(), true, dto.getEmail());
         } else {
-            notificationService.upsertPreference(user.getId(), false, null);
+            notificationOutboxService.enqueuePreferenceUpsert(user.getId(), false, null);
         }
         DtoMapper.mapUserEditRequestToUser(dto, user);
         user.setUpdatedOn(LocalDateTime.now());
@@ -16,6 +16,9 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_wallet_user", columnList = "user_id")
+})
 public class Wallet {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -31,9 +34,12 @@ public class Wallet {
     @Column(nullable = false)
     private Currency currency;
 
-    @OneToOne
+    @ManyToOne
     private User user;
 
-    @OneToMany(mappedBy = "wallet", orphanRemoval = true, cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    // lazy: pages list recent rows through TransactionService.getRecentTransactions instead of the whole ledger;
+    // no REFRESH cascade, so re-reading a wallet under lock does not load every transaction with it
+    @OneToMany(mappedBy = "wallet", orphanRemoval = true, fetch = FetchType.LAZY,
+            cascade = {CascadeType.PERSIST, CascadeType.MERGE, CascadeType.REMOVE, CascadeType.DETACH})
     private List<Transaction> transactions;
 }
@@ -0,0 +1,45 @@
+package app.wallet.model;
+
+import app.currency.model.Money;
+import app.currency.model.MoneyConverter;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "wallet_transfers", indexes = {
+        @Index(name = "idx_transfer_from_wallet", columnList = "from_wallet_id"),
+        @Index(name = "idx_transfer_to_wallet", columnList = "to_wallet_id")
+})
+public class WalletTransfer {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+    // debited from the source wallet, in its currency
+    @Convert(converter = MoneyConverter.class)
+    @Column(nullable = false, precision = 19, scale = 2)
+    private Money amount;
+    // credited to the target wallet, in its currency
+    @Convert(converter = MoneyConverter.class)
+    @Column(nullable = false, precision = 19, scale = 2)
+    private Money creditedAmount;
+    @Column(nullable = false)
+    private LocalDateTime createdOn;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Wallet fromWallet;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Wallet toWallet;
+}
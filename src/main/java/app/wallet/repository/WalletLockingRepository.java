@@ -0,0 +1,18 @@
+package app.wallet.repository;
+
+import app.wallet.model.Wallet;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+public interface WalletLockingRepository {
+
+    /**
+     * Locks the wallets with {@code SELECT ... FOR UPDATE} in ascending id order, the order transfers use,
+     * and returns them with their committed state. Unlike {@link WalletRepository#findByIdForUpdate}, a
+     * wallet this persistence context already holds is re-read under the lock, so balances loaded earlier
+     * in the transaction without one are not written back stale.
+     */
+    Map<UUID, Wallet> lockAllForUpdate(Collection<UUID> walletIds);
+}
@@ -0,0 +1,30 @@
+package app.wallet.repository;
+
+import app.wallet.model.Wallet;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+
+class WalletLockingRepositoryImpl implements WalletLockingRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Map<UUID, Wallet> lockAllForUpdate(Collection<UUID> walletIds) {
+        Map<UUID, Wallet> locked = new LinkedHashMap<>();
+        for (UUID walletId : new TreeSet<>(walletIds)) {
+            // the managed instance (or a proxy), refreshed with one locking select either way
+            Wallet wallet = entityManager.getReference(Wallet.class, walletId);
+            entityManager.refresh(wallet, LockModeType.PESSIMISTIC_WRITE);
+            locked.put(walletId, wallet);
+        }
+        return locked;
+    }
+}
@@ -1,11 +1,49 @@
 package app.wallet.repository;
 
 import app.wallet.model.Wallet;
+import app.web.dto.WalletCurrencyTotal;
+import app.web.dto.WalletSummary;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface WalletRepository extends JpaRepository<Wallet, UUID> {
-    Optional<Wallet> findByUserId(UUID userId);
+public interface WalletRepository extends JpaRepository<Wallet, UUID>, WalletLockingRepository {
+
+    @Query("SELECT u.wallet FROM User u WHERE u.id = :userId")
+    Optional<Wallet> findPrimaryByUserId(@Param("userId") UUID userId);
+
+    @Query("SELECT u.wallet.id FROM User u WHERE u.id = :userId")
+    Optional<UUID> findPrimaryWalletId(@Param("userId") UUID userId);
+
+    /**
+     * Loads the wallet with a {@code SELECT ... FOR UPDATE}. Callers that lock more than one wallet must
+     * acquire them in ascending id order so two concurrent transfers cannot wait on each other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM Wallet w WHERE w.id = :walletId")
+    Optional<Wallet> findByIdForUpdate(@Param("walletId") UUID walletId);
+
+    @Query("""
+                SELECT new app.web.dto.WalletSummary(w.id, w.name, w.currency, w.balance,
+                       CASE WHEN u.wallet.id = w.id THEN true ELSE false END)
+                FROM Wallet w
+                JOIN w.user u
+                WHERE u.id = :userId
+                ORDER BY w.name
+            """)
+    List<WalletSummary> findSummariesByUserId(@Param("userId") UUID userId);
+
+    @Query("""
+                SELECT new app.web.dto.WalletCurrencyTotal(w.currency, COUNT(w), SUM(w.balance), SUM(w.income), SUM(w.expense))
+                FROM Wallet w
+                WHERE w.user.id = :userId
+                GROUP BY w.currency
+            """)
+    List<WalletCurrencyTotal> sumTotalsByCurrency(@Param("userId") UUID userId);
 }
@@ -0,0 +1,9 @@
+package app.wallet.repository;
+
+import app.wallet.model.WalletTransfer;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface WalletTransferRepository extends JpaRepository<WalletTransfer, UUID> {
+}
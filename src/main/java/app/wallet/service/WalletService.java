@@ -1,27 +1,54 @@
 package app.wallet.service;
 
+import app.currency.model.FxRateSnapshot;
+import app.currency.model.Money;
+import app.currency.service.FxRateService;
+import app.exception.UserNotFoundException;
 import app.transactions.service.TransactionService;
 import app.user.model.User;
+import app.user.repository.UserRepository;
 import app.wallet.model.Wallet;
+import app.wallet.model.WalletTransfer;
 import app.wallet.repository.WalletRepository;
+import app.wallet.repository.WalletTransferRepository;
+import app.web.dto.WalletCurrencyTotal;
+import app.web.dto.WalletDto;
+import app.web.dto.WalletOverview;
+import app.web.dto.WalletSummary;
+import app.web.dto.WalletTransferDto;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Currency;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.UnaryOperator;
 
 @Service
+@Slf4j
 public class WalletService {
     private final WalletRepository walletRepository;
     private final TransactionService transactionService;
+    private final UserRepository userRepository;
+    private final WalletTransferRepository walletTransferRepository;
+    private final FxRateService fxRateService;
 
     @Autowired
-    public WalletService(WalletRepository walletRepository, TransactionService transactionService) {
+    public WalletService(WalletRepository walletRepository, TransactionService transactionService,
+                         UserRepository userRepository, WalletTransferRepository walletTransferRepository,
+                         FxRateService fxRateService) {
         this.walletRepository = walletRepository;
         this.transactionService = transactionService;
+        this.userRepository = userRepository;
+        this.walletTransferRepository = walletTransferRepository;
+        this.fxRateService = fxRateService;
     }
 
+    @Transactional
     public void createDefaultWallet(User user) {
         Wallet wallet = Wallet.builder()
                 .user(user)
@@ -31,11 +58,126 @@ public class WalletService {
                 .balance(new BigDecimal("100"))
                 .currency(Currency.getInstance("BGN"))
                 .build();
-        walletRepository.save(wallet);
+        wallet = walletRepository.save(wallet);
+
+        user.setWallet(wallet);
+        userRepository.save(user);
+    }
+
+    @Transactional
+    public Wallet createWallet(UUID userId, WalletDto dto) {
+        if (!fxRateService.snapshot().getSupportedCurrencies().contains(dto.getCurrency())) {
+            throw new IllegalArgumentException("Currency [%s] is not supported".formatted(dto.getCurrency().getCurrencyCode()));
+        }
+
+        User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
+
+        Wallet wallet = walletRepository.save(Wallet.builder()
+                .user(user)
+                .name(dto.getName().strip())
+                .income(BigDecimal.ZERO)
+                .expense(BigDecimal.ZERO)
+                .balance(BigDecimal.ZERO)
+                .currency(dto.getCurrency())
+                .build());
+
+        if (user.getWallet() == null) {
+            user.setWallet(wallet);
+            userRepository.save(user);
+        }
+
+        return wallet;
     }
 
     public Wallet getById(UUID walletId) {
         return walletRepository.findById(walletId)
                 .orElseThrow(() -> new RuntimeException("Wallet by id [%s] was not found".formatted(walletId)));
     }
+
+    public List<WalletSummary> getWallets(UUID userId) {
+        return walletRepository.findSummariesByUserId(userId);
+    }
+
+    /**
+     * Balance, income and expense across every wallet of the user. The database sums per currency, so
+     * only one row per distinct currency comes back; each row is converted once and added up here.
+     */
+    public WalletOverview getOverview(UUID userId, Currency reportingCurrency) {
+        FxRateSnapshot rates = fxRateService.snapshot();
+
+        long walletCount = 0;
+        BigDecimal balance = BigDecimal.ZERO;
+        BigDecimal income = BigDecimal.ZERO;
+        BigDecimal expense = BigDecimal.ZERO;
+        for (WalletCurrencyTotal row : walletRepository.sumTotalsByCurrency(userId)) {
+            UnaryOperator<BigDecimal> toReporting = rates.converter(row.getCurrency(), reportingCurrency);
+            walletCount += row.getWalletCount();
+            balance = balance.add(toReporting.apply(row.getBalance()));
+            income = income.add(toReporting.apply(row.getIncome()));
+            expense = expense.add(toReporting.apply(row.getExpense()));
+        }
+
+        return WalletOverview.builder()
+                .currency(reportingCurrency)
+                .walletCount(walletCount)
+                .totalBalance(balance)
+                .totalIncome(income)
+                .totalExpense(expense)
+                .build();
+    }
+
+    /**
+     * Moves money between two wallets of the same user, converting when their currencies differ. Both
+     * rows are locked before either balance is read, always lower id first, so opposite transfers
+     * between the same pair serialise instead of deadlocking.
+     */
+    @Transactional
+    public WalletTransfer transfer(UUID userId, WalletTransferDto dto) {
+        UUID fromId = dto.getFromWalletId();
+        UUID toId = dto.getToWalletId();
+        if (fromId.equals(toId)) {
+            throw new IllegalArgumentException("Source and target wallet must differ.");
+        }
+
+        boolean fromLocksFirst = fromId.compareTo(toId) < 0;
+        Wallet first = lockWallet(fromLocksFirst ? fromId : toId);
+        Wallet second = lockWallet(fromLocksFirst ? toId : fromId);
+        Wallet from = fromLocksFirst ? first : second;
+        Wallet to = fromLocksFirst ? second : first;
+
+        if (!isOwnedBy(from, userId) || !isOwnedBy(to, userId)) {
+            throw new SecurityException("You are not authorized to transfer between these wallets");
+        }
+
+        BigDecimal amount = dto.getAmount();
+        if (from.getBalance().compareTo(amount) < 0) {
+            throw new IllegalArgumentException("Insufficient balance for this transfer.");
+        }
+
+        BigDecimal credited = fxRateService.convert(amount, from.getCurrency(), to.getCurrency());
+        from.setBalance(from.getBalance().subtract(amount));
+        to.setBalance(to.getBalance().add(credited));
+        walletRepository.saveAll(List.of(from, to));
+
+        WalletTransfer transfer = walletTransferRepository.save(WalletTransfer.builder()
+                .fromWallet(from)
+                .toWallet(to)
+                .amount(Money.of(amount))
+                .creditedAmount(Money.of(credited))
+                .createdOn(LocalDateTime.now())
+                .build());
+
+        log.info("Transferred [%s %s] from wallet [%s] to wallet [%s]"
+                .formatted(amount, from.getCurrency().getCurrencyCode(), fromId, toId));
+        return transfer;
+    }
+
+    private Wallet lockWallet(UUID walletId) {
+        return walletRepository.findByIdForUpdate(walletId)
+                .orElseThrow(() -> new IllegalArgumentException("Wallet not found"));
+    }
+
+    private static boolean isOwnedBy(Wallet wallet, UUID userId) {
+        return wallet.getUser() != null && wallet.getUser().getId().equals(userId);
+    }
 }
@@ -2,19 +2,23 @@ package app.web;
 
 import app.budget.service.BudgetService;
 import app.security.UserData;
-import app.user.model.User;
 import app.user.model.UserVersion;
 import app.user.service.UserService;
 import app.web.dto.BudgetDto;
 import app.web.dto.BudgetPageData;
+import app.web.dto.BudgetPlanDto;
+import app.web.dto.BudgetRolloverDto;
+import app.web.dto.BudgetTrendResponse;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.ModelAndView;
 
+import java.time.YearMonth;
 import java.util.UUID;
 
 @Controller
@@ -34,13 +38,11 @@ public class BudgetController {
     public ModelAndView showBudgetPage(@AuthenticationPrincipal UserData userData,
                                        @RequestParam(value = "month", required = false) Integer month,
                                        @RequestParam(value = "year", required = false) Integer year) {
-        User user = userService.getById(userData.getUserId());
-
-        if (user.getUserVersion() != UserVersion.PRO) {
+        if (!isPro(userData)) {
             return new ModelAndView("redirect:/upgrade");
         }
 
-        BudgetPageData pageData = budgetService.getBudgetPageData(user.getId(), month, year);
+        BudgetPageData pageData = budgetService.getBudgetPageData(userData.getUserId(), month, year);
 
         ModelAndView modelAndView = new ModelAndView("budget");
         modelAndView.addObject("pageData", pageData);
@@ -61,6 +63,21 @@ public class BudgetController {
         return modelAndView;
     }
 
+    @GetMapping("/trend")
+    @ResponseBody
+    public BudgetTrendResponse getBudgetTrend(@AuthenticationPrincipal UserData userData,
+                                              @RequestParam(value = "from", required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+                                              @RequestParam(value = "to", required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        if (!isPro(userData)) {
+            throw new SecurityException("Budget trends are available to PRO users");
+        }
+
+        YearMonth end = to != null ? to : YearMonth.now();
+        YearMonth start = from != null ? from : end.minusMonths(11);
+
+        return budgetService.getBudgetTrend(userData.getUserId(), start, end);
+    }
+
     @PostMapping("/add")
     public ModelAndView addBudget(@Valid @ModelAttribute BudgetDto budgetDto,
                                   BindingResult bindingResult,
@@ -74,6 +91,41 @@ public class BudgetController {
         return new ModelAndView("redirect:/budget?month=" + budgetDto.getMonth() + "&year=" + budgetDto.getYear());
     }
 
+    @PostMapping("/rollover")
+    public ModelAndView rolloverBudgets(@Valid @ModelAttribute BudgetRolloverDto budgetRolloverDto,
+                                        BindingResult bindingResult,
+                                        @AuthenticationPrincipal UserData userData) {
+        if (!isPro(userData)) {
+            return new ModelAndView("redirect:/upgrade");
+        }
+        if (bindingResult.hasErrors()) {
+            return new ModelAndView("redirect:/budget?error=validation_failed");
+        }
+
+        YearMonth source = YearMonth.of(budgetRolloverDto.getYear(), budgetRolloverDto.getMonth());
+        budgetService.rolloverBudgets(userData.getUserId(), source, budgetRolloverDto.getMonths(),
+                budgetRolloverDto.isCarryOver());
+
+        YearMonth next = source.plusMonths(1);
+        return new ModelAndView("redirect:/budget?month=" + next.getMonthValue() + "&year=" + next.getYear());
+    }
+
+    @PostMapping("/plan")
+    public ModelAndView applyBudgetPlan(@Valid @ModelAttribute BudgetPlanDto budgetPlanDto,
+                                        BindingResult bindingResult,
+                                        @AuthenticationPrincipal UserData userData) {
+        if (!isPro(userData)) {
+            return new ModelAndView("redirect:/upgrade");
+        }
+        if (bindingResult.hasErrors()) {
+            return new ModelAndView("redirect:/budget?error=validation_failed");
+        }
+
+        budgetService.applyBudgetPlan(userData.getUserId(), budgetPlanDto);
+
+        return new ModelAndView("redirect:/budget?month=" + budgetPlanDto.getMonth() + "&year=" + budgetPlanDto.getYear());
+    }
+
     @PostMapping("/delete/{id}")
     public ModelAndView deleteBudget(@PathVariable UUID id,
                                      @AuthenticationPrincipal UserData userData,
@@ -88,5 +140,13 @@ public class BudgetController {
 
         return new ModelAndView("redirect:" + redirect);
     }
+
+    /**
+     * Budgets are a PRO feature; every endpoint that reads or plans them checks the current version,
+     * so a downgraded user loses access to the JSON and form endpoints together with the page.
+     */
+    private boolean isPro(UserData userData) {
+        return userService.getById(userData.getUserId()).getUserVersion() == UserVersion.PRO;
+    }
 }
 
@@ -1,34 +1,44 @@
 package app.web;
 
+import app.currency.service.FxRateService;
 import app.security.UserData;
 import app.subscription.model.Subscription;
-import app.transactions.model.Transaction;
+import app.subscription.service.SubscriptionsService;
 import app.transactions.service.TransactionService;
 import app.user.model.User;
 import app.user.service.UserService;
 import app.wallet.model.Wallet;
 import app.wallet.service.WalletService;
+import app.web.dto.RecentTransaction;
 import app.web.dto.TopCategories;
+import app.web.dto.WalletDto;
+import app.web.dto.WalletTransferDto;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.servlet.ModelAndView;
 
-import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Controller
 public class DashboardController {
 
+    // rows shown by the recent-transactions widget
+    private static final int RECENT_TRANSACTIONS = 3;
+
     private final UserService userService;
     private final WalletService walletService;
     private final TransactionService transactionService;
+    private final SubscriptionsService subscriptionsService;
+    private final FxRateService fxRateService;
 
-    public DashboardController(UserService userService, WalletService walletService, TransactionService transactionService) {
+    public DashboardController(UserService userService, WalletService walletService, TransactionService transactionService,
+                               SubscriptionsService subscriptionsService, FxRateService fxRateService) {
         this.userService = userService;
         this.walletService = walletService;
         this.transactionService = transactionService;
+        this.subscriptionsService = subscriptionsService;
+        this.fxRateService = fxRateService;
     }
 
     @GetMapping("/dashboard")
@@ -45,23 +55,23 @@ public class DashboardController {
                 .map(TopCategories::getPercent)
                 .toList();
 
-        List<Subscription> subscriptions = user.getSubscriptions() != null ? user.getSubscriptions() : Collections.<Subscription>emptyList();
-        List<Subscription> subscription = subscriptions.stream()
-                .filter(s -> s.getPaidDate() == null)
-                .sorted((s1, s2) -> s2.getExpiryOn().compareTo(s1.getExpiryOn()))
-                .limit(3)
-                .collect(Collectors.toList());
+        List<Subscription> subscription = subscriptionsService.getDashboardSubscriptions(user.getId());
 
-        List<Transaction> allTransaction = wallet.getTransactions();
+        List<RecentTransaction> recentTransactions = transactionService.getRecentTransactions(wallet.getId(), RECENT_TRANSACTIONS);
         ModelAndView modelAndView = new ModelAndView();
         modelAndView.setViewName("dashboard");
         modelAndView.addObject("user", user);
         modelAndView.addObject("wallet", wallet);
         modelAndView.addObject("subscription", subscription);
-        modelAndView.addObject("transactions", allTransaction);
+        modelAndView.addObject("transactions", recentTransactions);
         modelAndView.addObject("topCategories", transactionService.getTopCategories(wallet.getId()));
         modelAndView.addObject("categoryNames", categoryNames);
         modelAndView.addObject("categoryPercents", categoryPercents);
+        modelAndView.addObject("wallets", walletService.getWallets(user.getId()));
+        modelAndView.addObject("walletOverview", walletService.getOverview(user.getId(), wallet.getCurrency()));
+        modelAndView.addObject("currencies", fxRateService.snapshot().getSupportedCurrencies());
+        modelAndView.addObject("newWallet", new WalletDto());
+        modelAndView.addObject("transfer", new WalletTransferDto());
 
         return modelAndView;
     }
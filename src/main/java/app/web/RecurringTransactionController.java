@@ -0,0 +1,44 @@
+package app.web;
+
+import app.recurring.service.RecurringTransactionService;
+import app.security.UserData;
+import app.web.dto.RecurringTransactionDto;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.UUID;
+
+@Controller
+@RequestMapping("/transactions/recurring")
+@Slf4j
+public class RecurringTransactionController {
+
+    private final RecurringTransactionService recurringTransactionService;
+
+    public RecurringTransactionController(RecurringTransactionService recurringTransactionService) {
+        this.recurringTransactionService = recurringTransactionService;
+    }
+
+    @PostMapping("/add")
+    public ModelAndView addRecurringTransaction(@Valid @ModelAttribute("recurringTransaction") RecurringTransactionDto dto,
+                                                BindingResult bindingResult,
+                                                @AuthenticationPrincipal UserData userData) {
+        if (bindingResult.hasErrors()) {
+            return new ModelAndView("redirect:/transactions?error=validation_failed");
+        }
+
+        recurringTransactionService.create(userData.getUserId(), dto);
+        return new ModelAndView("redirect:/transactions");
+    }
+
+    @PostMapping("/delete/{id}")
+    public ModelAndView stopRecurringTransaction(@PathVariable UUID id, @AuthenticationPrincipal UserData userData) {
+        recurringTransactionService.deactivate(id, userData.getUserId());
+        return new ModelAndView("redirect:/transactions");
+    }
+}
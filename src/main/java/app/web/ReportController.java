@@ -3,6 +3,7 @@ package app.web;
 import app.security.UserData;
 import app.subscription.model.Subscription;
 import app.subscription.service.SubscriptionsService;
+import app.transactions.model.CategoryVector;
 import app.transactions.service.TransactionService;
 import app.user.model.User;
 import app.user.model.UserVersion;
@@ -14,7 +15,6 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.servlet.ModelAndView;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 @Controller
@@ -44,21 +44,18 @@ public class ReportController {
         ModelAndView modelAndView = new ModelAndView("report");
         modelAndView.addObject("user", user);
         modelAndView.addObject("wallet", wallet);
-        modelAndView.addObject("categoryNames", transactionService.getCategoryNamesForCurrentMonth(wallet.getId()));
-        modelAndView.addObject("categoryPercents", transactionService.getCategoryPercentsForCurrentMonth(wallet.getId()));
-        modelAndView.addObject("categoryAmounts", transactionService.getCategoryAmountsForCurrentMonth(wallet.getId()));
+        CategoryVector breakdown = transactionService.getCategoryBreakdownForCurrentMonth(wallet.getId());
+        modelAndView.addObject("categoryNames", breakdown.rankedNames());
+        modelAndView.addObject("categoryPercents", breakdown.rankedPercents());
+        modelAndView.addObject("categoryAmounts", breakdown.rankedAmounts());
         modelAndView.addObject("allTransactions", transactionService.getCurrentMonthTransactions(wallet.getId()));
         modelAndView.addObject("biggestExpense", transactionService.getBiggestExpenseForCurrentMonth(wallet.getId()));
         modelAndView.addObject("biggestExpenseName", transactionService.getBiggestExpenseCategoryName(wallet.getId()));
 
-        BigDecimal transactionExpenses = transactionService.getTotalExpensesForCurrentMonth(wallet.getId());
+        // subscription renewals are booked on the ledger, so the transaction total already includes them
         List<Subscription> paidSubscriptions = subscriptionsService.getPaidSubscriptionsForCurrentMonth(user.getId());
-        BigDecimal subscriptionExpenses = paidSubscriptions.stream()
-                .map(Subscription::getPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal currentMonthExpenses = transactionExpenses.add(subscriptionExpenses);
 
-        modelAndView.addObject("currentMonthExpenses", currentMonthExpenses);
+        modelAndView.addObject("currentMonthExpenses", transactionService.getTotalExpensesForCurrentMonth(wallet.getId()));
         modelAndView.addObject("currentMonthIncome", transactionService.getTotalIncomeForCurrentMonth(wallet.getId()));
         modelAndView.addObject("expenseHistory", transactionService.getExpenseHistoryByDay(wallet.getId()));
         modelAndView.addObject("paidSubscriptions", paidSubscriptions);
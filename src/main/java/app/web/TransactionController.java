@@ -1,12 +1,16 @@
 package app.web;
 
+import app.recurring.model.Cadence;
+import app.recurring.service.RecurringTransactionService;
 import app.security.UserData;
 import app.transactions.model.Category;
-import app.transactions.model.Transaction;
 import app.transactions.model.Type;
 import app.transactions.service.TransactionService;
 import app.user.model.User;
 import app.user.service.UserService;
+import app.wallet.service.WalletService;
+import app.web.dto.RecentTransaction;
+import app.web.dto.RecurringTransactionDto;
 import app.web.dto.TransactionDto;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
@@ -26,25 +30,35 @@ import java.util.UUID;
 @Controller
 @Slf4j
 public class TransactionController {
+
+    // newest rows listed on /transactions; older ones stay out of the page so it renders in constant time
+    private static final int RECENT_TRANSACTIONS = 50;
+
     @Autowired
     private final TransactionService transactionService;
     private final UserService userService;
+    private final RecurringTransactionService recurringTransactionService;
+    private final WalletService walletService;
 
-    public TransactionController(TransactionService transactionService, UserService userService) {
+    public TransactionController(TransactionService transactionService, UserService userService,
+                                 RecurringTransactionService recurringTransactionService, WalletService walletService) {
         this.transactionService = transactionService;
         this.userService = userService;
+        this.recurringTransactionService = recurringTransactionService;
+        this.walletService = walletService;
     }
 
     @GetMapping("/transactions")
     public ModelAndView showTransaction(@AuthenticationPrincipal UserData userData) {
         User currentUser = userService.getById(userData.getUserId());
-        List<Transaction> allTransaction = currentUser.getWallet().getTransactions();
+        List<RecentTransaction> allTransaction = recentTransactions(currentUser);
         ModelAndView modelAndView = new ModelAndView("transactions");
         modelAndView.addObject("user", currentUser);
         modelAndView.addObject("transaction", new TransactionDto());
         modelAndView.addObject("types", Type.values());
         modelAndView.addObject("categories", Category.values());
         modelAndView.addObject("allTransactions", allTransaction);
+        addFormAttributes(modelAndView, currentUser.getId());
 
         return modelAndView;
     }
@@ -55,13 +69,14 @@ public class TransactionController {
         if (bindingResult.hasErrors()) {
             ModelAndView modelAndView = new ModelAndView("transactions");
             User currentUser = userService.getById(userData.getUserId());
-            List<Transaction> allTransaction = currentUser.getWallet().getTransactions();
+            List<RecentTransaction> allTransaction = recentTransactions(currentUser);
             modelAndView.addObject("user", currentUser);
             modelAndView.addObject("types", Type.values());
             modelAndView.addObject("categories", Category.values());
             modelAndView.addObject("error", "Please correct the form errors.");
             modelAndView.addObject("transaction", dto);
             modelAndView.addObject("allTransactions", allTransaction);
+            addFormAttributes(modelAndView, currentUser.getId());
             return modelAndView;
         }
 
@@ -81,16 +96,28 @@ public class TransactionController {
         ModelAndView modelAndView = new ModelAndView("transactions");
         try {
             User currentUser = userService.getById(userData.getUserId());
-            List<Transaction> allTransaction = currentUser.getWallet().getTransactions();
+            List<RecentTransaction> allTransaction = recentTransactions(currentUser);
             modelAndView.addObject("user", currentUser);
             modelAndView.addObject("types", Type.values());
             modelAndView.addObject("categories", Category.values());
             modelAndView.addObject("error", ex.getMessage());
             modelAndView.addObject("transaction", new TransactionDto());
             modelAndView.addObject("allTransactions", allTransaction);
+            addFormAttributes(modelAndView, currentUser.getId());
         } catch (Exception e) {
             log.error("Error loading transaction page after exception", e);
         }
         return modelAndView;
     }
+
+    private List<RecentTransaction> recentTransactions(User user) {
+        return transactionService.getRecentTransactions(user.getWallet().getId(), RECENT_TRANSACTIONS);
+    }
+
+    private void addFormAttributes(ModelAndView modelAndView, UUID userId) {
+        modelAndView.addObject("wallets", walletService.getWallets(userId));
+        modelAndView.addObject("recurringTransaction", new RecurringTransactionDto());
+        modelAndView.addObject("recurringTransactions", recurringTransactionService.getActiveForUser(userId));
+        modelAndView.addObject("cadences", Cadence.values());
+    }
 }
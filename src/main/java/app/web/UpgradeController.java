@@ -1,11 +1,10 @@
 package app.web;
 
-import app.event.UserUpgradedEvent;
+import app.currency.service.FxRateService;
 import app.payment.service.StripeService;
 import app.security.UserData;
 import app.user.model.User;
 import app.user.model.UserVersion;
-import app.user.repository.UserRepository;
 import app.user.service.UserService;
 import app.wallet.model.Wallet;
 import com.stripe.exception.StripeException;
@@ -13,13 +12,13 @@ import com.stripe.model.checkout.Session;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.ModelAndView;
 
 import java.math.BigDecimal;
+import java.util.Currency;
 import java.util.UUID;
 
 @Controller
@@ -28,19 +27,18 @@ import java.util.UUID;
 public class UpgradeController {
 
     private static final BigDecimal PRO_VERSION_PRICE = new BigDecimal("29.99");
+    private static final Currency PRO_VERSION_CURRENCY = Currency.getInstance("BGN");
     private final UserService userService;
-    private final UserRepository userRepository;
     private final StripeService stripeService;
-    private final ApplicationEventPublisher eventPublisher;
+    private final FxRateService fxRateService;
     @Value("${stripe.public.key}")
     private String stripePublicKey;
 
     @Autowired
-    public UpgradeController(UserService userService, UserRepository userRepository, StripeService stripeService, ApplicationEventPublisher eventPublisher) {
+    public UpgradeController(UserService userService, StripeService stripeService, FxRateService fxRateService) {
         this.userService = userService;
-        this.userRepository = userRepository;
         this.stripeService = stripeService;
-        this.eventPublisher = eventPublisher;
+        this.fxRateService = fxRateService;
     }
 
     @GetMapping
@@ -53,7 +51,8 @@ public class UpgradeController {
         ModelAndView modelAndView = new ModelAndView("upgrade");
         modelAndView.addObject("user", user);
         modelAndView.addObject("wallet", wallet);
-        modelAndView.addObject("proPrice", PRO_VERSION_PRICE);
+        modelAndView.addObject("proPrice", proPriceIn(checkoutCurrency(wallet)));
+        modelAndView.addObject("proCurrency", checkoutCurrency(wallet).getCurrencyCode());
         modelAndView.addObject("isPro", user.getUserVersion() == UserVersion.PRO);
         modelAndView.addObject("stripePublicKey", stripePublicKey);
 
@@ -85,7 +84,8 @@ public class UpgradeController {
                 return "{\"error\": \"User is already Pro\"}";
             }
 
-            Session session = stripeService.createCheckoutSession(user, PRO_VERSION_PRICE);
+            Currency currency = checkoutCurrency(user.getWallet());
+            Session session = stripeService.createCheckoutSession(user, proPriceIn(currency), currency);
             return "{\"sessionId\": \"" + session.getId() + "\"}";
         } catch (StripeException e) {
             log.error("Error creating Stripe checkout session", e);
@@ -108,15 +108,7 @@ public class UpgradeController {
                     return new ModelAndView("redirect:/upgrade?error=unauthorized");
                 }
 
-                User user = userService.getById(userId);
-                if (user.getUserVersion() != UserVersion.PRO) {
-                    String previousVersion = user.getUserVersion().name();
-                    user.setUserVersion(UserVersion.PRO);
-                    user = userRepository.save(user);
-                    log.info("Upgraded user {} to PRO version", userId);
-
-                    eventPublisher.publishEvent(new UserUpgradedEvent(this, user, previousVersion));
-                }
+                userService.upgradeToPro(userId);
 
                 return new ModelAndView("redirect:/report");
             } else {
@@ -128,6 +120,16 @@ public class UpgradeController {
         }
     }
 
+    private static Currency checkoutCurrency(Wallet wallet) {
+        return wallet != null && wallet.getCurrency() != null ? wallet.getCurrency() : PRO_VERSION_CURRENCY;
+    }
+
+    private BigDecimal proPriceIn(Currency currency) {
+        return currency.equals(PRO_VERSION_CURRENCY)
+                ? PRO_VERSION_PRICE
+                : fxRateService.convert(PRO_VERSION_PRICE, PRO_VERSION_CURRENCY, currency);
+    }
+
     @GetMapping("/cancel")
     public ModelAndView handleCancel() {
         return new ModelAndView("redirect:/upgrade?error=payment_cancelled");
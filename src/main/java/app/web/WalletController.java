@@ -0,0 +1,51 @@
+package app.web;
+
+import app.security.UserData;
+import app.wallet.service.WalletService;
+import app.web.dto.WalletDto;
+import app.web.dto.WalletTransferDto;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.servlet.ModelAndView;
+
+@Controller
+@RequestMapping("/wallets")
+@Slf4j
+public class WalletController {
+
+    private final WalletService walletService;
+
+    public WalletController(WalletService walletService) {
+        this.walletService = walletService;
+    }
+
+    @PostMapping("/add")
+    public ModelAndView addWallet(@Valid @ModelAttribute("newWallet") WalletDto dto,
+                                  BindingResult bindingResult,
+                                  @AuthenticationPrincipal UserData userData) {
+        if (bindingResult.hasErrors()) {
+            return new ModelAndView("redirect:/dashboard?error=validation_failed");
+        }
+
+        walletService.createWallet(userData.getUserId(), dto);
+        return new ModelAndView("redirect:/dashboard");
+    }
+
+    @PostMapping("/transfer")
+    public ModelAndView transfer(@Valid @ModelAttribute("transfer") WalletTransferDto dto,
+                                 BindingResult bindingResult,
+                                 @AuthenticationPrincipal UserData userData) {
+        if (bindingResult.hasErrors()) {
+            return new ModelAndView("redirect:/dashboard?error=validation_failed");
+        }
+
+        walletService.transfer(userData.getUserId(), dto);
+        return new ModelAndView("redirect:/dashboard");
+    }
+}
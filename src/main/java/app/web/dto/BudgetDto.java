@@ -2,6 +2,7 @@ package app.web.dto;
 
 import app.transactions.model.Category;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -23,6 +24,7 @@ public class BudgetDto {
 
     @NotNull(message = "Amount is required")
     @DecimalMin(value = "0.01", message = "Amount must be greater than zero")
+    @Digits(integer = 15, fraction = 2, message = "Amount can have at most two decimal places")
     private BigDecimal amount;
 
     @NotNull(message = "Month is required")
@@ -0,0 +1,37 @@
+package app.web.dto;
+
+import app.transactions.model.Category;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BudgetPlanDto {
+
+    @Min(value = 1, message = "Month must be between 1 and 12")
+    @Max(value = 12, message = "Month must be between 1 and 12")
+    private int month;
+
+    @Min(value = 2020, message = "Year is out of range")
+    private int year;
+
+    @Min(value = 1, message = "Plan must cover at least one month")
+    @Max(value = 24, message = "Plan can cover at most 24 months")
+    @Builder.Default
+    private int months = 1;
+
+    @NotEmpty(message = "At least one category amount is required")
+    @Builder.Default
+    private Map<Category, BigDecimal> amounts = new EnumMap<>(Category.class);
+}
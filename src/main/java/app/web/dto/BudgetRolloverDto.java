@@ -0,0 +1,29 @@
+package app.web.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BudgetRolloverDto {
+
+    @Min(value = 1, message = "Month must be between 1 and 12")
+    @Max(value = 12, message = "Month must be between 1 and 12")
+    private int month;
+
+    @Min(value = 2020, message = "Year is out of range")
+    private int year;
+
+    @Min(value = 1, message = "Rollover must cover at least one month")
+    @Max(value = 24, message = "Rollover can cover at most 24 months")
+    @Builder.Default
+    private int months = 1;
+
+    private boolean carryOver;
+}
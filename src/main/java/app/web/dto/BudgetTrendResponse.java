@@ -0,0 +1,28 @@
+package app.web.dto;
+
+import app.transactions.model.Category;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-oriented trend payload: every list in {@code budget}, {@code actual} and the totals is
+ * aligned index-by-index with {@code months} ("yyyy-MM"), so charts can plot it directly.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BudgetTrendResponse {
+    private List<String> months;
+    private List<Category> categories;
+    private Map<Category, List<BigDecimal>> budget;
+    private Map<Category, List<BigDecimal>> actual;
+    private List<BigDecimal> totalBudget;
+    private List<BigDecimal> totalActual;
+}
@@ -0,0 +1,34 @@
+package app.web.dto;
+
+import app.transactions.model.Category;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Currency;
+
+@Data
+public class MonthlyCategoryTotal {
+
+    private int year;
+    private int month;
+    private Currency currency;
+    private Category category;
+    private BigDecimal totalAmount;
+
+    public MonthlyCategoryTotal(Integer year, Integer month, Category category, BigDecimal totalAmount) {
+        this(year, month, null, category, totalAmount);
+    }
+
+    public MonthlyCategoryTotal(Integer year, Integer month, Currency currency, Category category, BigDecimal totalAmount) {
+        this.year = year;
+        this.month = month;
+        this.currency = currency;
+        this.category = category;
+        this.totalAmount = totalAmount;
+    }
+
+    public YearMonth getYearMonth() {
+        return YearMonth.of(year, month);
+    }
+}
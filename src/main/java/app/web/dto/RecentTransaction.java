@@ -0,0 +1,34 @@
+package app.web.dto;
+
+import app.transactions.model.Category;
+import app.transactions.model.Type;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Row of the recent-transactions lists. Every column is in {@code idx_transaction_wallet_recent}, so the
+ * query behind it is answered from the index alone.
+ */
+@Data
+public class RecentTransaction {
+
+    private UUID id;
+    private LocalDateTime date;
+    private BigDecimal amount;
+    private Type type;
+    private Category category;
+    private String description;
+
+    public RecentTransaction(UUID id, LocalDateTime date, BigDecimal amount, Type type, Category category,
+                             String description) {
+        this.id = id;
+        this.date = date;
+        this.amount = amount;
+        this.type = type;
+        this.category = category;
+        this.description = description;
+    }
+}
@@ -0,0 +1,47 @@
+package app.web.dto;
+
+import app.recurring.model.Cadence;
+import app.transactions.model.Category;
+import app.transactions.model.Type;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class RecurringTransactionDto {
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than zero")
+    private BigDecimal amount;
+
+    @NotNull(message = "Type is required")
+    private Type type;
+
+    @NotNull(message = "Category is required")
+    private Category category;
+
+    @NotNull(message = "Cadence is required")
+    private Cadence cadence;
+
+    @NotNull(message = "Start date is required")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDate;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endDate;
+
+    @Size(max = 255, message = "Description must be under 255 characters")
+    private String description;
+
+}
@@ -3,6 +3,7 @@ package app.web.dto;
 import app.transactions.model.Category;
 import app.transactions.model.Type;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -12,6 +13,7 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Builder
 @NoArgsConstructor
@@ -21,6 +23,7 @@ public class TransactionDto {
 
     @NotNull(message = "Amount is required")
     @DecimalMin(value = "0.01", message = "Amount must be greater than zero")
+    @Digits(integer = 15, fraction = 2, message = "Amount can have at most two decimal places")
     private BigDecimal amount;
 
     @NotNull(message = "Date is required")
@@ -35,4 +38,7 @@ public class TransactionDto {
     @Size(max = 255, message = "Description must be under 255 characters")
     private String description;
 
+    // empty means the user's primary wallet
+    private UUID walletId;
+
 }
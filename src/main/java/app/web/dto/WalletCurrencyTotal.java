@@ -0,0 +1,24 @@
+package app.web.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+@Data
+public class WalletCurrencyTotal {
+
+    private Currency currency;
+    private long walletCount;
+    private BigDecimal balance;
+    private BigDecimal income;
+    private BigDecimal expense;
+
+    public WalletCurrencyTotal(Currency currency, Long walletCount, BigDecimal balance, BigDecimal income, BigDecimal expense) {
+        this.currency = currency;
+        this.walletCount = walletCount;
+        this.balance = balance;
+        this.income = income;
+        this.expense = expense;
+    }
+}
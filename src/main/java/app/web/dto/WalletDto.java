@@ -0,0 +1,25 @@
+package app.web.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Currency;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class WalletDto {
+
+    @NotBlank(message = "Name is required")
+    @Size(max = 50, message = "Name must be under 50 characters")
+    private String name;
+
+    @NotNull(message = "Currency is required")
+    private Currency currency;
+}
@@ -0,0 +1,24 @@
+package app.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+/**
+ * Totals across all of a user's wallets, expressed in {@code currency}.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class WalletOverview {
+    private Currency currency;
+    private long walletCount;
+    private BigDecimal totalBalance;
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpense;
+}
@@ -0,0 +1,25 @@
+package app.web.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.UUID;
+
+@Data
+public class WalletSummary {
+
+    private UUID id;
+    private String name;
+    private Currency currency;
+    private BigDecimal balance;
+    private boolean primary;
+
+    public WalletSummary(UUID id, String name, Currency currency, BigDecimal balance, Boolean primary) {
+        this.id = id;
+        this.name = name;
+        this.currency = currency;
+        this.balance = balance;
+        this.primary = Boolean.TRUE.equals(primary);
+    }
+}
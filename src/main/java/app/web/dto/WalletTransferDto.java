@@ -0,0 +1,30 @@
+package app.web.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class WalletTransferDto {
+
+    @NotNull(message = "Source wallet is required")
+    private UUID fromWalletId;
+
+    @NotNull(message = "Target wallet is required")
+    private UUID toWalletId;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than zero")
+    @Digits(integer = 15, fraction = 2, message = "Amount can have at most two decimal places")
+    private BigDecimal amount;
+}
@@ -0,0 +1,99 @@
+-- Baseline: the schema Hibernate's ddl-auto=update produced before migrations were introduced.
+-- Databases that already have these tables are baselined at version 1 and skip this script
+-- (spring.flyway.baseline-on-migrate); constraint names are Hibernate's so both kinds of database match.
+
+create table budgets (
+    amount decimal(38,2) not null,
+    month integer not null,
+    year integer not null,
+    id binary(16) not null,
+    user_id binary(16) not null,
+    category enum ('CLOTHING','EDUCATION','ENTERTAINMENT','FAMILY','FOOD','GIFTS','HEALTH','HOME','HOUSING','LOANS','OTHER','SAVINGS','TRANSPORT','TRAVEL','UTILITIES') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table subscription (
+    expiry_on date not null,
+    paid_date date,
+    price decimal(38,2) not null,
+    id binary(16) not null,
+    user_id binary(16),
+    name varchar(255) not null,
+    period enum ('MONTHLY','YEARLY') not null,
+    type enum ('DEFAULT','PREMIUM','ULTIMATE') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table transaction (
+    amount decimal(38,2) not null,
+    date datetime(6) not null,
+    id binary(16) not null,
+    wallet_id binary(16),
+    description varchar(255) not null,
+    category enum ('CLOTHING','EDUCATION','ENTERTAINMENT','FAMILY','FOOD','GIFTS','HEALTH','HOME','HOUSING','LOANS','OTHER','SAVINGS','TRANSPORT','TRAVEL','UTILITIES') not null,
+    type enum ('EXPENSE','INCOME') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table users (
+    is_active bit not null,
+    monthly_report_email_enabled bit not null,
+    created_on datetime(6) not null,
+    updated_on datetime(6) not null,
+    id binary(16) not null,
+    email varchar(255) not null,
+    first_name varchar(255),
+    last_name varchar(255),
+    password varchar(255),
+    profile_picture varchar(255),
+    provider varchar(255),
+    provider_id varchar(255),
+    username varchar(255) not null,
+    country enum ('AFGHANISTAN','ALBANIA','ALGERIA','ANDORRA','ANGOLA','ANTIGUA_DEPS','ARGENTINA','ARMENIA','AUSTRALIA','AUSTRIA','AZERBAIJAN','BAHAMAS','BAHRAIN','BANGLADESH','BARBADOS','BELARUS','BELGIUM','BELIZE','BENIN','BHUTAN','BOLIVIA','BOSNIA_HERZEGOVINA','BOTSWANA','BRAZIL','BRUNEI','BULGARIA','BURKINA','BURMA','BURUNDI','CAMBODIA','CAMEROON','CANADA','CAPE_VERDE','CENTRAL_AFRICAN_REP','CHAD','CHILE','CHINA','COLOMBIA','COMOROS','COSTA_RICA','CROATIA','CUBA','CYPRUS','CZECH_REPUBLIC','DANZIG','DEMOCRATIC_REPUBLIC_OF_THE_CONGO','DENMARK','DJIBOUTI','DOMINICA','DOMINICAN_REPUBLIC','EAST_TIMOR','ECUADOR','EGYPT','EL_SALVADOR','EQUATORIAL_GUINEA','ERITREA','ESTONIA','ETHIOPIA','FIJI','FINLAND','FRANCE','GABON','GAZA_STRIP','GEORGIA','GERMANY','GHANA','GREECE','GRENADA','GRENADINES','GUATEMALA','GUINEA','GUINEA_BISSAU','GUYANA','HAITI','HOLY_ROMAN_EMPIRE','HONDURAS','HUNGARY','ICELAND','INDIA','INDONESIA','IRAN','IRAQ','ISRAEL','ITALY','IVORY_COAST','JAMAICA','JAPAN','JONATHANLAND','JORDAN','KAZAKHSTAN','KENYA','KIRIBATI','KOSOVO','KUWAIT','KYRGYZSTAN','LAOS','LATVIA','LEBANON','LESOTHO','LIBERIA','LIBYA','LIECHTENSTEIN','LITHUANIA','LUXEMBOURG','MACEDONIA','MADAGASCAR','MALAWI','MALAYSIA','MALDIVES','MALI','MALTA','MARSHALL_ISLANDS','MAURITANIA','MAURITIUS','MEXICO','MICRONESIA','MOLDOVA','MONACO','MONGOLIA','MONTENEGRO','MOROCCO','MOUNT_ATHOS','MOZAMBIQUE','NAMIBIA','NAURU','NEPAL','NETHERLANDS','NEWFOUNDLAND','NEW_ZEALAND','NICARAGUA','NIGER','NIGERIA','NORTH_KOREA','NORWAY','OMAN','OTTOMAN_EMPIRE','PAKISTAN','PALAU','PANAMA','PAPUA_NEW_GUINEA','PARAGUAY','PERU','PHILIPPINES','POLAND','PORTUGAL','PRUSSIA','QATAR','REPUBLIC_OF_CHINA','REPUBLIC_OF_IRELAND','REPUBLIC_OF_THE_CONGO','ROMANIA','ROME','RUSSIAN_FEDERATION','RWANDA','SAMOA','SAN_MARINO','SAO_TOME_PRINCIPE','SAUDI_ARABIA','SENEGAL','SERBIA','SEYCHELLES','SIERRA_LEONE','SINGAPORE','SLOVAKIA','SLOVENIA','SOLOMON_ISLANDS','SOMALIA','SOUTH_AFRICA','SOUTH_KOREA','SPAIN','SRI_LANKA','SUDAN','SURINAME','SWAZILAND','SWEDEN','SWITZERLAND','SYRIA','TAJIKISTAN','TANZANIA','THAILAND','THE_GAMBIA','TOGO','TONGA','TRINIDAD_TOBAGO','TUNISIA','TURKEY','TURKMENISTAN','TUVALU','UGANDA','UKRAINE','UNITED_ARAB_EMIRATES','UNITED_KINGDOM','URUGUAY','USA','UZBEKISTAN','VANUATU','VATICAN_CITY','VENEZUELA','VIETNAM','YEMEN','ZAMBIA','ZIMBABWE') not null,
+    role enum ('ADMIN','USER') not null,
+    user_version enum ('BASIC','PRO') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table wallet (
+    balance decimal(38,2) not null,
+    currency varchar(3) not null,
+    expense decimal(38,2) not null,
+    income decimal(38,2) not null,
+    id binary(16) not null,
+    user_id binary(16),
+    name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table budgets
+   add constraint UK73l9of4fdvm5j2niud6ip50dw unique (user_id, category, month, year);
+
+alter table users
+   add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table users
+   add constraint UKr43af9ap4edm43mmtq01oddj6 unique (username);
+
+alter table wallet
+   add constraint UKhgee4p1hiwadqinr0avxlq4eb unique (user_id);
+
+alter table budgets
+   add constraint FKln0tm5tgf3f9q3sp9sa5m8m7b
+   foreign key (user_id)
+   references users (id);
+
+alter table subscription
+   add constraint FKqwd9pkhbsmapx9poug5wnnpkc
+   foreign key (user_id)
+   references users (id);
+
+alter table transaction
+   add constraint FKtfwlfspv2h4wcgc9rjd1658a6
+   foreign key (wallet_id)
+   references wallet (id);
+
+alter table wallet
+   add constraint FKgbusavqq0bdaodex4ee6v0811
+   foreign key (user_id)
+   references users (id);
@@ -0,0 +1,21 @@
+-- Indexes for the hot read paths. InnoDB builds them online, so existing tables stay writable.
+
+-- dashboard / transactions page / report: a wallet's transactions in a date range, newest first
+create index idx_transaction_wallet_date
+   on transaction (wallet_id, date);
+
+-- per-category totals and the biggest-expense lookups filter on wallet and type, then group by category
+create index idx_transaction_wallet_type_category
+   on transaction (wallet_id, type, category);
+
+-- a user's subscriptions ordered or bounded by expiry (subscriptions page, upcoming renewals)
+create index idx_subscription_user_expiry
+   on subscription (user_id, expiry_on);
+
+-- paid-date range lookups ("paid this month" in the report and dashboard)
+create index idx_subscription_paid_date
+   on subscription (paid_date);
+
+-- monthly report recipients: PRO users who opted in
+create index idx_users_version_report
+   on users (user_version, monthly_report_email_enabled);
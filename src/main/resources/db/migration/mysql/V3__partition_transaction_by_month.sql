@@ -0,0 +1,3 @@
+-- Monthly partitioning of the transaction table is PostgreSQL-only (see the postgresql folder).
+-- MySQL cannot partition a table that has foreign keys, so it keeps the plain table and the
+-- (wallet_id, date) index from V2. This script only keeps the version numbers of both vendors aligned.
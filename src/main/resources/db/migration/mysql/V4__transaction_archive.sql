@@ -0,0 +1,52 @@
+-- Cold storage for transactions older than app.transactions.archive.after-months, plus the per-month
+-- totals they are folded into. Filled by TransactionArchiveScheduler; both stay empty while archiving
+-- is disabled.
+
+create table transaction_archive (
+    amount decimal(38,2) not null,
+    archived_on datetime(6) not null,
+    date datetime(6) not null,
+    id binary(16) not null,
+    wallet_id binary(16) not null,
+    description varchar(255) not null,
+    occurrence_key varchar(255),
+    category enum ('CLOTHING','EDUCATION','ENTERTAINMENT','FAMILY','FOOD','GIFTS','HEALTH','HOME','HOUSING','LOANS','OTHER','SAVINGS','SUBSCRIPTIONS','TRANSPORT','TRAVEL','UTILITIES') not null,
+    type enum ('EXPENSE','INCOME') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table transaction_monthly_rollup (
+    month integer not null,
+    total_amount decimal(38,2) not null,
+    year integer not null,
+    transaction_count bigint not null,
+    id binary(16) not null,
+    wallet_id binary(16) not null,
+    category enum ('CLOTHING','EDUCATION','ENTERTAINMENT','FAMILY','FOOD','GIFTS','HEALTH','HOME','HOUSING','LOANS','OTHER','SAVINGS','SUBSCRIPTIONS','TRANSPORT','TRAVEL','UTILITIES') not null,
+    type enum ('EXPENSE','INCOME') not null,
+    primary key (id)
+) engine=InnoDB;
+
+-- one archived month of a wallet, read on demand
+create index idx_transaction_archive_wallet_date
+   on transaction_archive (wallet_id, date);
+
+-- renewals check the archive too, so an old occurrence is never booked twice
+create index idx_transaction_archive_occurrence_key
+   on transaction_archive (occurrence_key);
+
+-- also the lookup index for a wallet's rollup rows
+alter table transaction_monthly_rollup
+   add constraint uk_rollup_wallet_month_type_category unique (wallet_id, year, month, type, category);
+
+alter table transaction_archive
+   add constraint FKb7m51a0s5laycy3off7mqjx4v
+   foreign key (wallet_id)
+   references wallet (id)
+   on delete cascade;
+
+alter table transaction_monthly_rollup
+   add constraint FKaxddu6f29ke7q1737cm783y93
+   foreign key (wallet_id)
+   references wallet (id)
+   on delete cascade;
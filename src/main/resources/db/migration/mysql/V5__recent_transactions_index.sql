@@ -0,0 +1,6 @@
+-- Covering index for the recent-transactions lists (dashboard widget, transactions page):
+--   WHERE wallet_id = ? ORDER BY date DESC, id DESC LIMIT n
+-- InnoDB scans it backwards from the wallet's newest entry and reads every selected column from the
+-- index itself, so the query touches n index entries and no table rows. Built online.
+create index idx_transaction_wallet_recent
+   on transaction (wallet_id, date, id, amount, type, category, description);
@@ -0,0 +1,31 @@
+-- Databases created before multiple wallets per user were mapped with a one-to-one wallet.user_id.
+-- Those users have no users.primary_wallet_id yet, and wallet.user_id still carries the unique key
+-- Hibernate generated for the old mapping, which rejects a second wallet.
+
+-- every legacy user owns exactly one wallet; it becomes the primary one
+update users
+set primary_wallet_id = (select w.id from wallet w where w.user_id = users.id order by w.id limit 1)
+where primary_wallet_id is null;
+
+-- a user's wallets (wallet switcher, overview); also keeps an index under the wallet.user_id foreign key
+-- once the legacy unique key is gone
+create index idx_wallet_user
+   on wallet (user_id);
+
+-- The legacy key's name depends on the Hibernate version that created it, and MySQL has no
+-- DROP INDEX IF EXISTS, so it is looked up and dropped through a prepared statement. V1 creates the
+-- same key, so new databases drop it too. The statements are MySQL executable comments, which other
+-- engines reading this script skip.
+/*!80000 set @legacy_wallet_user_key = (
+    select s.index_name
+    from information_schema.statistics s
+    where s.table_schema = database() and s.table_name = 'wallet'
+      and s.non_unique = 0 and s.index_name <> 'PRIMARY'
+    group by s.index_name
+    having count(*) = 1 and max(s.column_name) = 'user_id'
+    limit 1) */;
+/*!80000 set @drop_legacy_wallet_user_key = if(@legacy_wallet_user_key is null, 'do 0',
+    concat('alter table wallet drop index `', @legacy_wallet_user_key, '`')) */;
+/*!80000 prepare drop_legacy_wallet_user_key from @drop_legacy_wallet_user_key */;
+/*!80000 execute drop_legacy_wallet_user_key */;
+/*!80000 deallocate prepare drop_legacy_wallet_user_key */;
@@ -0,0 +1,10 @@
+-- SUBSCRIPTIONS was added to Category after the first databases were created. ddl-auto=update never
+-- widens an existing enum column, so renewals and subscription payments were rejected there; V1 keeps
+-- that older value list. Restating the full value list is a no-op where it is already current.
+-- recurring_transactions was created after the value existed and needs no change.
+
+alter table transaction
+   modify column category enum ('CLOTHING','EDUCATION','ENTERTAINMENT','FAMILY','FOOD','GIFTS','HEALTH','HOME','HOUSING','LOANS','OTHER','SAVINGS','SUBSCRIPTIONS','TRANSPORT','TRAVEL','UTILITIES') not null;
+
+alter table budgets
+   modify column category enum ('CLOTHING','EDUCATION','ENTERTAINMENT','FAMILY','FOOD','GIFTS','HEALTH','HOME','HOUSING','LOANS','OTHER','SAVINGS','SUBSCRIPTIONS','TRANSPORT','TRAVEL','UTILITIES') not null;
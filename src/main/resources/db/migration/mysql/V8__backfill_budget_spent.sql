@@ -0,0 +1,20 @@
+-- Budget.spent is a running total kept up to date on every expense posting. Budgets created before
+-- it was introduced still hold the column default of 0, even for months that already had expenses,
+-- so seed them once from the transactions. SQL cannot convert currencies, so only wallets in the
+-- primary wallet's currency are summed; databases that old hold a single wallet per user anyway.
+-- alert_level stays 0, so the next expense in a month already past a threshold sends its alert.
+update budgets
+set spent = coalesce((
+        select sum(t.amount)
+        from transaction t
+        join wallet w on w.id = t.wallet_id
+        join users u on u.id = w.user_id
+        join wallet pw on pw.id = u.primary_wallet_id
+        where w.user_id = budgets.user_id
+          and w.currency = pw.currency
+          and t.type = 'EXPENSE'
+          and t.category = budgets.category
+          and extract(year from t.date) = budgets.year
+          and extract(month from t.date) = budgets.month
+    ), 0)
+where spent = 0;
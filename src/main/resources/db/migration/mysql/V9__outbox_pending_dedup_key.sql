@@ -0,0 +1,26 @@
+-- The dedup key of a pending notification was only checked before inserting, so two callers racing
+-- on the same key could both queue it. pending_dedup_key holds the key while the message is pending
+-- and is cleared once it is sent or failed, so a unique index on it rejects the second one.
+
+alter table notification_outbox
+   add column pending_dedup_key varchar(255);
+
+-- rows queued twice before this script keep the key on one of them only; MySQL cannot read the
+-- table an UPDATE writes in a subquery, so the chosen ids go through a temporary table
+create temporary table first_pending_outbox as
+    select min(id) as id
+    from notification_outbox
+    where status = 'PENDING' and dedup_key is not null
+    group by dedup_key;
+
+update notification_outbox
+set pending_dedup_key = dedup_key
+where id in (select id from first_pending_outbox);
+
+drop table first_pending_outbox;
+
+-- lookups by key go through the pending key now
+drop index idx_outbox_dedup_key on notification_outbox;
+
+create unique index idx_outbox_pending_dedup_key
+   on notification_outbox (pending_dedup_key);
@@ -0,0 +1,106 @@
+-- Tables and columns the entities gained after the V1 baseline. Baselined databases and new ones both
+-- run this script, so V3 and later can rely on the full schema; constraint names are Hibernate's.
+-- The legacy data these columns start out without is filled in by V6 (primary wallet) and V8 (spent).
+
+alter table users
+   add column primary_wallet_id uuid unique;
+
+alter table budgets
+   add column alert_level integer default 0 not null;
+
+alter table budgets
+   add column spent numeric(38,2) default 0 not null;
+
+alter table transaction
+   add column occurrence_key varchar(255) unique;
+
+create table notification_outbox (
+    attempts integer not null,
+    notification_enabled boolean not null,
+    created_on timestamp(6) not null,
+    next_attempt_at timestamp(6) not null,
+    sent_on timestamp(6),
+    id uuid not null,
+    user_id uuid not null,
+    last_error varchar(1000),
+    body varchar(4000),
+    contact_info varchar(255),
+    dedup_key varchar(255),
+    status varchar(255) not null check (status in ('PENDING','SENT','FAILED')),
+    subject varchar(255),
+    type varchar(255) not null check (type in ('PREFERENCE_UPSERT','NOTIFICATION')),
+    primary key (id)
+);
+
+create table recurring_transactions (
+    active boolean not null,
+    amount numeric(38,2) not null,
+    end_date date,
+    next_index integer not null,
+    next_occurrence date not null,
+    start_date date not null,
+    created_on timestamp(6) not null,
+    id uuid not null,
+    wallet_id uuid not null,
+    cadence varchar(255) not null check (cadence in ('DAILY','WEEKLY','MONTHLY','YEARLY')),
+    category varchar(255) not null check (category in ('HOUSING','FOOD','TRANSPORT','UTILITIES','CLOTHING','ENTERTAINMENT','TRAVEL','EDUCATION','LOANS','SAVINGS','HEALTH','FAMILY','GIFTS','HOME','SUBSCRIPTIONS','OTHER')),
+    description varchar(255) not null,
+    type varchar(255) not null check (type in ('INCOME','EXPENSE')),
+    primary key (id)
+);
+
+create table wallet_transfers (
+    amount numeric(19,2) not null,
+    credited_amount numeric(19,2) not null,
+    created_on timestamp(6) not null,
+    from_wallet_id uuid not null,
+    id uuid not null,
+    to_wallet_id uuid not null,
+    primary key (id)
+);
+
+create index idx_outbox_status_created
+   on notification_outbox (status, created_on);
+
+create index idx_outbox_dedup_key
+   on notification_outbox (dedup_key);
+
+create index idx_recurring_active_next
+   on recurring_transactions (active, next_occurrence);
+
+create index idx_recurring_wallet
+   on recurring_transactions (wallet_id);
+
+create index idx_subscription_user_paid_expiry
+   on subscription (user_id, paid_date, expiry_on);
+
+create index idx_subscription_expiry
+   on subscription (expiry_on);
+
+create index idx_transfer_from_wallet
+   on wallet_transfers (from_wallet_id);
+
+create index idx_transfer_to_wallet
+   on wallet_transfers (to_wallet_id);
+
+alter table recurring_transactions
+   add constraint FKf7yu3aavmiwoi3ecd48x4cj80
+   foreign key (wallet_id)
+   references wallet;
+
+alter table users
+   add constraint FKe2x3jywwtr868ypvp4u70qjh2
+   foreign key (primary_wallet_id)
+   references wallet;
+
+alter table wallet_transfers
+   add constraint FKg94527klih4rhaxf40x64day0
+   foreign key (from_wallet_id)
+   references wallet
+   on delete cascade;
+
+alter table wallet_transfers
+   add constraint FK9uilcbhjogg49xolugumn2jle
+   foreign key (to_wallet_id)
+   references wallet
+   on delete cascade;
@@ -0,0 +1,88 @@
+-- Baseline: the schema Hibernate's ddl-auto=update produced before migrations were introduced.
+-- Databases that already have these tables are baselined at version 1 and skip this script
+-- (spring.flyway.baseline-on-migrate); constraint names are Hibernate's so both kinds of database match.
+
+create table budgets (
+    amount numeric(38,2) not null,
+    month integer not null,
+    year integer not null,
+    id uuid not null,
+    user_id uuid not null,
+    category varchar(255) not null check (category in ('HOUSING','FOOD','TRANSPORT','UTILITIES','CLOTHING','ENTERTAINMENT','TRAVEL','EDUCATION','LOANS','SAVINGS','HEALTH','FAMILY','GIFTS','HOME','OTHER')),
+    primary key (id),
+    unique (user_id, category, month, year)
+);
+
+create table subscription (
+    expiry_on date not null,
+    paid_date date,
+    price numeric(38,2) not null,
+    id uuid not null,
+    user_id uuid,
+    name varchar(255) not null,
+    period varchar(255) not null check (period in ('MONTHLY','YEARLY')),
+    type varchar(255) not null check (type in ('DEFAULT','PREMIUM','ULTIMATE')),
+    primary key (id)
+);
+
+create table transaction (
+    amount numeric(38,2) not null,
+    date timestamp(6) not null,
+    id uuid not null,
+    wallet_id uuid,
+    category varchar(255) not null check (category in ('HOUSING','FOOD','TRANSPORT','UTILITIES','CLOTHING','ENTERTAINMENT','TRAVEL','EDUCATION','LOANS','SAVINGS','HEALTH','FAMILY','GIFTS','HOME','OTHER')),
+    description varchar(255) not null,
+    type varchar(255) not null check (type in ('INCOME','EXPENSE')),
+    primary key (id)
+);
+
+create table users (
+    is_active boolean not null,
+    monthly_report_email_enabled boolean not null,
+    created_on timestamp(6) not null,
+    updated_on timestamp(6) not null,
+    id uuid not null,
+    country varchar(255) not null check (country in ('USA','AFGHANISTAN','ALBANIA','ALGERIA','ANDORRA','ANGOLA','ANTIGUA_DEPS','ARGENTINA','ARMENIA','AUSTRALIA','AUSTRIA','AZERBAIJAN','BAHAMAS','BAHRAIN','BANGLADESH','BARBADOS','BELARUS','BELGIUM','BELIZE','BENIN','BHUTAN','BOLIVIA','BOSNIA_HERZEGOVINA','BOTSWANA','BRAZIL','BRUNEI','BULGARIA','BURKINA','BURMA','BURUNDI','CAMBODIA','CAMEROON','CANADA','CAPE_VERDE','CENTRAL_AFRICAN_REP','CHAD','CHILE','CHINA','REPUBLIC_OF_CHINA','COLOMBIA','COMOROS','DEMOCRATIC_REPUBLIC_OF_THE_CONGO','REPUBLIC_OF_THE_CONGO','COSTA_RICA','CROATIA','CUBA','CYPRUS','CZECH_REPUBLIC','DANZIG','DENMARK','DJIBOUTI','DOMINICA','DOMINICAN_REPUBLIC','EAST_TIMOR','ECUADOR','EGYPT','EL_SALVADOR','EQUATORIAL_GUINEA','ERITREA','ESTONIA','ETHIOPIA','FIJI','FINLAND','FRANCE','GABON','GAZA_STRIP','THE_GAMBIA','GEORGIA','GERMANY','GHANA','GREECE','GRENADA','GUATEMALA','GUINEA','GUINEA_BISSAU','GUYANA','HAITI','HOLY_ROMAN_EMPIRE','HONDURAS','HUNGARY','ICELAND','INDIA','INDONESIA','IRAN','IRAQ','REPUBLIC_OF_IRELAND','ISRAEL','ITALY','IVORY_COAST','JAMAICA','JAPAN','JONATHANLAND','JORDAN','KAZAKHSTAN','KENYA','KIRIBATI','NORTH_KOREA','SOUTH_KOREA','KOSOVO','KUWAIT','KYRGYZSTAN','LAOS','LATVIA','LEBANON','LESOTHO','LIBERIA','LIBYA','LIECHTENSTEIN','LITHUANIA','LUXEMBOURG','MACEDONIA','MADAGASCAR','MALAWI','MALAYSIA','MALDIVES','MALI','MALTA','MARSHALL_ISLANDS','MAURITANIA','MAURITIUS','MEXICO','MICRONESIA','MOLDOVA','MONACO','MONGOLIA','MONTENEGRO','MOROCCO','MOUNT_ATHOS','MOZAMBIQUE','NAMIBIA','NAURU','NEPAL','NEWFOUNDLAND','NETHERLANDS','NEW_ZEALAND','NICARAGUA','NIGER','NIGERIA','NORWAY','OMAN','OTTOMAN_EMPIRE','PAKISTAN','PALAU','PANAMA','PAPUA_NEW_GUINEA','PARAGUAY','PERU','PHILIPPINES','POLAND','PORTUGAL','PRUSSIA','QATAR','ROMANIA','ROME','RUSSIAN_FEDERATION','RWANDA','GRENADINES','SAMOA','SAN_MARINO','SAO_TOME_PRINCIPE','SAUDI_ARABIA','SENEGAL','SERBIA','SEYCHELLES','SIERRA_LEONE','SINGAPORE','SLOVAKIA','SLOVENIA','SOLOMON_ISLANDS','SOMALIA','SOUTH_AFRICA','SPAIN','SRI_LANKA','SUDAN','SURINAME','SWAZILAND','SWEDEN','SWITZERLAND','SYRIA','TAJIKISTAN','TANZANIA','THAILAND','TOGO','TONGA','TRINIDAD_TOBAGO','TUNISIA','TURKEY','TURKMENISTAN','TUVALU','UGANDA','UKRAINE','UNITED_ARAB_EMIRATES','UNITED_KINGDOM','URUGUAY','UZBEKISTAN','VANUATU','VATICAN_CITY','VENEZUELA','VIETNAM','YEMEN','ZAMBIA','ZIMBABWE')),
+    email varchar(255) not null unique,
+    first_name varchar(255),
+    last_name varchar(255),
+    password varchar(255),
+    profile_picture varchar(255),
+    provider varchar(255),
+    provider_id varchar(255),
+    role varchar(255) not null check (role in ('USER','ADMIN')),
+    user_version varchar(255) not null check (user_version in ('BASIC','PRO')),
+    username varchar(255) not null unique,
+    primary key (id)
+);
+
+create table wallet (
+    balance numeric(38,2) not null,
+    currency varchar(3) not null,
+    expense numeric(38,2) not null,
+    income numeric(38,2) not null,
+    id uuid not null,
+    user_id uuid unique,
+    name varchar(255) not null,
+    primary key (id)
+);
+
+alter table budgets
+   add constraint FKln0tm5tgf3f9q3sp9sa5m8m7b
+   foreign key (user_id)
+   references users;
+
+alter table subscription
+   add constraint FKqwd9pkhbsmapx9poug5wnnpkc
+   foreign key (user_id)
+   references users;
+
+alter table transaction
+   add constraint FKtfwlfspv2h4wcgc9rjd1658a6
+   foreign key (wallet_id)
+   references wallet;
+
+alter table wallet
+   add constraint FKgbusavqq0bdaodex4ee6v0811
+   foreign key (user_id)
+   references users;
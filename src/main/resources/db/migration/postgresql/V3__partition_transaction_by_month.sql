@@ -0,0 +1,65 @@
+-- Turns the transaction table into one partitioned by month on "date". Monthly reads (dashboard,
+-- report, budget totals) then touch a single partition, and vacuum / index depth of the current month
+-- no longer grow with the size of the whole ledger.
+--
+-- Runs in one transaction: the ledger is copied once, so expect it to take roughly as long as a full
+-- table rewrite on large databases. Later months are created ahead of time by
+-- TransactionPartitionScheduler; anything outside the monthly partitions lands in transaction_default.
+--
+-- A unique constraint on a partitioned table has to include the partition key, so the recurring /
+-- subscription occurrence key is unique per (occurrence_key, date). Booking still checks the key
+-- first (TransactionService.bookOccurrences).
+
+alter table transaction rename to transaction_unpartitioned;
+
+create table transaction (like transaction_unpartitioned including defaults including constraints)
+    partition by range (date);
+
+create table transaction_default partition of transaction default;
+
+-- one partition per month from the oldest transaction (at most ten years back) to three months ahead
+do $$
+declare
+    current_month date := date_trunc('month', current_date)::date;
+    first_month   date;
+    cursor_month  date;
+begin
+    select greatest(coalesce(date_trunc('month', min(date))::date, current_month),
+                    (current_month - interval '10 years')::date)
+      into first_month
+      from transaction_unpartitioned;
+
+    cursor_month := first_month;
+    while cursor_month <= current_month + interval '3 months' loop
+        execute format('create table %I partition of transaction for values from (%L) to (%L)',
+                       'transaction_p' || to_char(cursor_month, 'YYYY_MM'),
+                       cursor_month,
+                       (cursor_month + interval '1 month')::date);
+        cursor_month := (cursor_month + interval '1 month')::date;
+    end loop;
+end
+$$;
+
+insert into transaction (amount, date, id, wallet_id, category, description, occurrence_key, type)
+select amount, date, id, wallet_id, category, description, occurrence_key, type
+  from transaction_unpartitioned;
+
+drop table transaction_unpartitioned;
+
+alter table transaction
+   add constraint transaction_pkey primary key (id, date);
+
+alter table transaction
+   add constraint uk_transaction_occurrence_key unique (occurrence_key, date);
+
+alter table transaction
+   add constraint FKtfwlfspv2h4wcgc9rjd1658a6
+   foreign key (wallet_id)
+   references wallet;
+
+-- created on the parent, so every existing and future partition gets its own copy
+create index idx_transaction_wallet_date
+   on transaction (wallet_id, date);
+
+create index idx_transaction_wallet_type_category
+   on transaction (wallet_id, type, category);
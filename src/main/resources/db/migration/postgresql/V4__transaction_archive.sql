@@ -0,0 +1,51 @@
+-- Cold storage for transactions older than app.transactions.archive.after-months, plus the per-month
+-- totals they are folded into. Filled by TransactionArchiveScheduler; both stay empty while archiving
+-- is disabled. Unlike transaction, neither table is partitioned: the archive is append-only and read
+-- one wallet-month at a time.
+
+create table transaction_archive (
+    amount numeric(38,2) not null,
+    archived_on timestamp(6) not null,
+    date timestamp(6) not null,
+    id uuid not null,
+    wallet_id uuid not null,
+    category varchar(255) not null check (category in ('HOUSING','FOOD','TRANSPORT','UTILITIES','CLOTHING','ENTERTAINMENT','TRAVEL','EDUCATION','LOANS','SAVINGS','HEALTH','FAMILY','GIFTS','HOME','SUBSCRIPTIONS','OTHER')),
+    description varchar(255) not null,
+    occurrence_key varchar(255),
+    type varchar(255) not null check (type in ('INCOME','EXPENSE')),
+    primary key (id)
+);
+
+create table transaction_monthly_rollup (
+    month integer not null,
+    total_amount numeric(38,2) not null,
+    year integer not null,
+    transaction_count bigint not null,
+    id uuid not null,
+    wallet_id uuid not null,
+    category varchar(255) not null check (category in ('HOUSING','FOOD','TRANSPORT','UTILITIES','CLOTHING','ENTERTAINMENT','TRAVEL','EDUCATION','LOANS','SAVINGS','HEALTH','FAMILY','GIFTS','HOME','SUBSCRIPTIONS','OTHER')),
+    type varchar(255) not null check (type in ('INCOME','EXPENSE')),
+    primary key (id),
+    -- also the lookup index for a wallet's rollup rows
+    constraint uk_rollup_wallet_month_type_category unique (wallet_id, year, month, type, category)
+);
+
+-- one archived month of a wallet, read on demand
+create index idx_transaction_archive_wallet_date
+   on transaction_archive (wallet_id, date);
+
+-- renewals check the archive too, so an old occurrence is never booked twice
+create index idx_transaction_archive_occurrence_key
+   on transaction_archive (occurrence_key);
+
+alter table transaction_archive
+   add constraint FKb7m51a0s5laycy3off7mqjx4v
+   foreign key (wallet_id)
+   references wallet
+   on delete cascade;
+
+alter table transaction_monthly_rollup
+   add constraint FKaxddu6f29ke7q1737cm783y93
+   foreign key (wallet_id)
+   references wallet
+   on delete cascade;
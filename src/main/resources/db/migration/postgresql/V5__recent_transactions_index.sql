@@ -0,0 +1,8 @@
+-- Covering index for the recent-transactions lists (dashboard widget, transactions page):
+--   WHERE wallet_id = ? ORDER BY date DESC, id DESC LIMIT n
+-- The key matches the sort order and the remaining columns ride along in INCLUDE, so the planner can use
+-- an index-only scan that stops after n entries. Since V3 the table is partitioned and CONCURRENTLY is not
+-- available on a partitioned parent; the index is created on every partition inside this migration, and
+-- TransactionPartitionScheduler's new partitions inherit it.
+create index if not exists idx_transaction_wallet_recent
+   on transaction (wallet_id, date desc, id desc) include (amount, type, category, description);
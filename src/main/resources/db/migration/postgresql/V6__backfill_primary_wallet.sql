@@ -0,0 +1,30 @@
+-- Databases created before multiple wallets per user were mapped with a one-to-one wallet.user_id.
+-- Those users have no users.primary_wallet_id yet, and wallet.user_id still carries the unique
+-- constraint Hibernate generated for the old mapping, which rejects a second wallet.
+
+-- every legacy user owns exactly one wallet; it becomes the primary one
+update users
+set primary_wallet_id = (select w.id from wallet w where w.user_id = users.id order by w.id limit 1)
+where primary_wallet_id is null;
+
+-- a user's wallets (wallet switcher, overview)
+create index if not exists idx_wallet_user
+   on wallet (user_id);
+
+-- the legacy constraint's name depends on the Hibernate version that created it; V1 creates the same
+-- one, so new databases drop it too
+do $$
+declare
+    legacy record;
+begin
+    for legacy in
+        select con.conname
+        from pg_constraint con
+        join pg_class t on t.oid = con.conrelid
+        join pg_attribute a on a.attrelid = t.oid and a.attnum = con.conkey[1]
+        where t.relname = 'wallet' and pg_table_is_visible(t.oid)
+          and con.contype = 'u' and cardinality(con.conkey) = 1 and a.attname = 'user_id'
+    loop
+        execute format('alter table wallet drop constraint %I', legacy.conname);
+    end loop;
+end $$;
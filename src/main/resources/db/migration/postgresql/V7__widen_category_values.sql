@@ -0,0 +1,33 @@
+-- SUBSCRIPTIONS was added to Category after the first databases were created. ddl-auto=update never
+-- rewrites an existing check constraint, so renewals and subscription payments were rejected there;
+-- V1 keeps that older value list. Whatever check the column carries (Hibernate's inline one, or the
+-- copy V3 made for the partitioned table) is replaced by one listing every value.
+-- recurring_transactions was created after the value existed and needs no change.
+
+do $$
+declare
+    target text;
+    legacy record;
+begin
+    foreach target in array array['transaction', 'budgets']
+    loop
+        for legacy in
+            select con.conname
+            from pg_constraint con
+            join pg_class t on t.oid = con.conrelid
+            join pg_attribute a on a.attrelid = t.oid and a.attnum = con.conkey[1]
+            where t.relname = target and pg_table_is_visible(t.oid)
+              and con.contype = 'c' and cardinality(con.conkey) = 1 and a.attname = 'category'
+        loop
+            execute format('alter table %I drop constraint %I', target, legacy.conname);
+        end loop;
+    end loop;
+end $$;
+
+alter table transaction
+   add constraint transaction_category_check
+   check (category in ('HOUSING','FOOD','TRANSPORT','UTILITIES','CLOTHING','ENTERTAINMENT','TRAVEL','EDUCATION','LOANS','SAVINGS','HEALTH','FAMILY','GIFTS','HOME','SUBSCRIPTIONS','OTHER'));
+
+alter table budgets
+   add constraint budgets_category_check
+   check (category in ('HOUSING','FOOD','TRANSPORT','UTILITIES','CLOTHING','ENTERTAINMENT','TRAVEL','EDUCATION','LOANS','SAVINGS','HEALTH','FAMILY','GIFTS','HOME','SUBSCRIPTIONS','OTHER'));
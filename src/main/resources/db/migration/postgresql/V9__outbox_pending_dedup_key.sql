@@ -0,0 +1,22 @@
+-- The dedup key of a pending notification was only checked before inserting, so two callers racing
+-- on the same key could both queue it. pending_dedup_key holds the key while the message is pending
+-- and is cleared once it is sent or failed, so a unique index on it rejects the second one.
+
+alter table notification_outbox
+   add column pending_dedup_key varchar(255);
+
+-- rows queued twice before this script keep the key on the oldest one only
+update notification_outbox
+set pending_dedup_key = dedup_key
+where status = 'PENDING' and dedup_key is not null
+  and not exists (
+      select 1
+      from notification_outbox older
+      where older.status = 'PENDING' and older.dedup_key = notification_outbox.dedup_key
+        and (older.created_on, older.id) < (notification_outbox.created_on, notification_outbox.id));
+
+-- lookups by key go through the pending key now
+drop index idx_outbox_dedup_key;
+
+create unique index idx_outbox_pending_dedup_key
+   on notification_outbox (pending_dedup_key);
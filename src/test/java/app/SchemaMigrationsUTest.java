@@ -0,0 +1,232 @@
+package app;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.h2.tools.RunScript;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The integration tests build their H2 schema from the entities, so these checks keep the entity
+ * mappings and the Flyway scripts from drifting apart.
+ */
+class SchemaMigrationsUTest {
+
+    private static final Pattern CREATE_INDEX = Pattern.compile(
+            "create (?:unique )?index (?:concurrently )?(?:if not exists )?(\\w+)", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern DROP_INDEX = Pattern.compile(
+            "drop index (?:concurrently )?(?:if exists )?(\\w+)", Pattern.CASE_INSENSITIVE);
+
+    private static final List<String> VENDORS = List.of("mysql", "postgresql");
+
+    private static final String LEGACY_USER = "X'00000000000000000000000000000001'";
+
+    private static final String LEGACY_WALLET = "X'00000000000000000000000000000002'";
+
+    @Test
+    void should_DefineSameVersions_When_ComparingVendors() throws IOException {
+        assertEquals(migrationNames("mysql"), migrationNames("postgresql"));
+    }
+
+    @Test
+    void should_CreateEveryEntityIndex_When_MigrationsApplied() throws IOException {
+        Set<String> entityIndexes = entityIndexNames();
+        assertTrue(entityIndexes.contains("idx_transaction_wallet_date"));
+
+        for (String vendor : VENDORS) {
+            Set<String> migrated = new TreeSet<>();
+            for (Resource migration : migrations(vendor)) {
+                String script = migration.getContentAsString(StandardCharsets.UTF_8);
+                Matcher created = CREATE_INDEX.matcher(script);
+                while (created.find()) {
+                    migrated.add(created.group(1));
+                }
+                Matcher dropped = DROP_INDEX.matcher(script);
+                while (dropped.find()) {
+                    migrated.remove(dropped.group(1));
+                }
+            }
+            assertEquals(entityIndexes, migrated, vendor);
+        }
+    }
+
+    @Test
+    void should_ApplyMysqlMigrationsInOrder_When_DatabaseIsEmpty() throws Exception {
+        try (Connection connection = DriverManager.getConnection(
+                "jdbc:h2:mem:migrations;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=MONTH,YEAR", "sa", "")) {
+            for (Resource migration : migrations("mysql")) {
+                run(connection, migration);
+            }
+
+            Set<String> indexes = new TreeSet<>();
+            for (String table : List.of("transaction", "subscription", "users")) {
+                try (ResultSet rs = connection.getMetaData().getIndexInfo(null, null, table, false, false)) {
+                    while (rs.next()) {
+                        indexes.add(rs.getString("INDEX_NAME"));
+                    }
+                }
+            }
+            assertTrue(indexes.containsAll(Set.of(
+                    "idx_transaction_wallet_date",
+                    "idx_transaction_wallet_type_category",
+                    "idx_transaction_wallet_recent",
+                    "idx_subscription_user_expiry",
+                    "idx_subscription_paid_date",
+                    "idx_users_version_report")), indexes.toString());
+        }
+    }
+
+    @Test
+    void should_UpgradeLegacyData_When_DatabaseIsBaselined() throws Exception {
+        List<Resource> migrations = migrations("mysql");
+        assertEquals("V1__baseline.sql", migrations.get(0).getFilename());
+
+        try (Connection connection = DriverManager.getConnection(
+                "jdbc:h2:mem:baselined;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=MONTH,YEAR", "sa", "")) {
+            // the schema ddl-auto=update left behind, with data in it; Flyway baselines it at version 1
+            run(connection, migrations.get(0));
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("insert into users (id, username, email, country, role, user_version, is_active,"
+                        + " monthly_report_email_enabled, created_on, updated_on) values (" + LEGACY_USER
+                        + ", 'legacy', 'legacy@example.com', 'USA', 'USER', 'PRO', true, true, now(), now())");
+                statement.execute("insert into wallet (id, user_id, name, balance, currency, income, expense)"
+                        + " values (" + LEGACY_WALLET + ", " + LEGACY_USER + ", 'Main', 70, 'EUR', 100, 30)");
+                statement.execute("insert into budgets (id, user_id, category, amount, month, year)"
+                        + " values (X'00000000000000000000000000000003', " + LEGACY_USER + ", 'FOOD', 50, 3, 2024)");
+                statement.execute("insert into transaction (id, wallet_id, amount, date, description, category, type) values"
+                        + " (X'00000000000000000000000000000004', " + LEGACY_WALLET + ", 20, '2024-03-05 10:00:00', 'Groceries', 'FOOD', 'EXPENSE'),"
+                        + " (X'00000000000000000000000000000005', " + LEGACY_WALLET + ", 10, '2024-03-20 10:00:00', 'Bakery', 'FOOD', 'EXPENSE'),"
+                        + " (X'00000000000000000000000000000006', " + LEGACY_WALLET + ", 100, '2024-03-01 09:00:00', 'Salary', 'OTHER', 'INCOME')");
+            }
+
+            for (Resource migration : migrations.subList(1, migrations.size())) {
+                run(connection, migration);
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                try (ResultSet rs = statement.executeQuery("select primary_wallet_id = " + LEGACY_WALLET + " from users")) {
+                    assertTrue(rs.next());
+                    assertTrue(rs.getBoolean(1));
+                }
+                try (ResultSet rs = statement.executeQuery("select spent, alert_level from budgets")) {
+                    assertTrue(rs.next());
+                    assertEquals(0, new BigDecimal("30").compareTo(rs.getBigDecimal("spent")));
+                    assertEquals(0, rs.getInt("alert_level"));
+                }
+                // the tables and columns added after the baseline accept rows
+                statement.execute("insert into transaction (id, wallet_id, amount, date, description, category, type, occurrence_key)"
+                        + " values (X'00000000000000000000000000000007', " + LEGACY_WALLET
+                        + ", 5, '2024-04-01 00:00:00', 'Music', 'SUBSCRIPTIONS', 'EXPENSE', 'subscription:1:2024-04-01')");
+                for (String table : List.of("notification_outbox", "recurring_transactions", "wallet_transfers",
+                        "transaction_archive", "transaction_monthly_rollup")) {
+                    try (ResultSet rs = statement.executeQuery("select count(*) from " + table)) {
+                        assertTrue(rs.next(), table);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void should_KeepPendingDedupKeyOnOneRow_When_KeyWasQueuedTwice() throws Exception {
+        List<Resource> migrations = migrations("mysql");
+        int pendingKeyMigration = migrationNames("mysql").indexOf("V9__outbox_pending_dedup_key.sql");
+        assertTrue(pendingKeyMigration > 0);
+
+        try (Connection connection = DriverManager.getConnection(
+                "jdbc:h2:mem:outbox;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=MONTH,YEAR", "sa", "")) {
+            for (Resource migration : migrations.subList(0, pendingKeyMigration)) {
+                run(connection, migration);
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("insert into notification_outbox (id, type, user_id, notification_enabled, dedup_key,"
+                        + " status, attempts, next_attempt_at, created_on) values"
+                        + " (X'00000000000000000000000000000011', 'NOTIFICATION', " + LEGACY_USER + ", false, 'report:1', 'PENDING', 0, now(), now()),"
+                        + " (X'00000000000000000000000000000012', 'NOTIFICATION', " + LEGACY_USER + ", false, 'report:1', 'PENDING', 0, now(), now()),"
+                        + " (X'00000000000000000000000000000013', 'NOTIFICATION', " + LEGACY_USER + ", false, 'report:2', 'SENT', 1, now(), now())");
+            }
+
+            run(connection, migrations.get(pendingKeyMigration));
+
+            try (Statement statement = connection.createStatement()) {
+                try (ResultSet rs = statement.executeQuery(
+                        "select count(*) from notification_outbox where pending_dedup_key is not null")) {
+                    assertTrue(rs.next());
+                    assertEquals(1, rs.getInt(1));
+                }
+                assertThrows(SQLException.class, () -> statement.execute(
+                        "update notification_outbox set pending_dedup_key = 'report:1' where pending_dedup_key is null"));
+            }
+        }
+    }
+
+    private static void run(Connection connection, Resource migration) throws Exception {
+        try (Reader script = new InputStreamReader(migration.getInputStream(), StandardCharsets.UTF_8)) {
+            RunScript.execute(connection, script);
+        }
+    }
+
+    private static List<Resource> migrations(String vendor) throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver()
+                .getResources("classpath:db/migration/" + vendor + "/V*__*.sql");
+        return Arrays.stream(resources)
+                .sorted((left, right) -> Arrays.compare(version(left), version(right)))
+                .toList();
+    }
+
+    private static List<String> migrationNames(String vendor) throws IOException {
+        List<String> names = migrations(vendor).stream().map(Resource::getFilename).toList();
+        assertFalse(names.isEmpty(), vendor);
+        return names;
+    }
+
+    /** "V1_1__x.sql" is version 1.1, which Flyway runs after 1 and before 2. */
+    private static int[] version(Resource migration) {
+        String name = migration.getFilename();
+        return Arrays.stream(name.substring(1, name.indexOf("__")).split("_")).mapToInt(Integer::parseInt).toArray();
+    }
+
+    private static Set<String> entityIndexNames() {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+
+        Set<String> names = new TreeSet<>();
+        for (BeanDefinition definition : scanner.findCandidateComponents("app")) {
+            Table table;
+            try {
+                table = Class.forName(definition.getBeanClassName()).getAnnotation(Table.class);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+            if (table != null) {
+                Arrays.stream(table.indexes()).map(Index::name).forEach(names::add);
+            }
+        }
+        return names;
+    }
+}
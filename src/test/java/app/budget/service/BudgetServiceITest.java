@@ -3,7 +3,11 @@ package app.budget.service;
 import app.budget.model.Budget;
 import app.budget.repository.BudgetRepository;
 import app.exception.UserNotFoundException;
+import app.notification.repository.NotificationOutboxRepository;
 import app.transactions.model.Category;
+import app.transactions.model.Transaction;
+import app.transactions.model.Type;
+import app.transactions.repository.TransactionRepository;
 import app.user.model.Country;
 import app.user.model.Role;
 import app.user.model.User;
@@ -13,6 +17,11 @@ import app.wallet.model.Wallet;
 import app.wallet.repository.WalletRepository;
 import app.web.dto.BudgetDto;
 import app.web.dto.BudgetPageData;
+import app.web.dto.BudgetPlanDto;
+import app.web.dto.BudgetTrendResponse;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +30,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Currency;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -41,6 +55,15 @@ class BudgetServiceITest {
     @Autowired
     private WalletRepository walletRepository;
 
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private NotificationOutboxRepository notificationOutboxRepository;
+
     private User testUser;
     private Wallet testWallet;
 
@@ -72,6 +95,7 @@ class BudgetServiceITest {
                 .income(new BigDecimal("0"))
                 .expense(new BigDecimal("0"))
                 .balance(new BigDecimal("1000"))
+                .currency(Currency.getInstance("EUR"))
                 .build();
         testWallet = walletRepository.save(testWallet);
         testUser.setWallet(testWallet);
@@ -162,5 +186,242 @@ class BudgetServiceITest {
             budgetService.deleteBudget(created.getId(), otherUserId);
         });
     }
-}
 
+    @Test
+    void should_BuildBudgetPageWithFixedNumberOfQueries_When_MonthHasBudgetsAndTransactions() {
+        // Given
+        YearMonth month = YearMonth.of(2024, 6);
+        for (Category category : new Category[]{Category.FOOD, Category.TRANSPORT, Category.HEALTH}) {
+            budgetRepository.save(Budget.builder()
+                    .user(testUser)
+                    .category(category)
+                    .amount(new BigDecimal("100"))
+                    .year(month.getYear())
+                    .month(month.getMonthValue())
+                    .build());
+        }
+        saveExpense(Category.FOOD, "40", month.atDay(3).atTime(10, 0));
+        saveExpense(Category.FOOD, "80", month.atDay(20).atTime(10, 0));
+        saveExpense(Category.TRANSPORT, "30", month.atEndOfMonth().atTime(23, 59));
+        saveExpense(Category.FOOD, "999", month.plusMonths(1).atDay(1).atStartOfDay());
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        BudgetPageData pageData = budgetService.getBudgetPageData(testUser.getId(), month.getMonthValue(), month.getYear());
+
+        // Then
+        assertEquals(3, pageData.getBudgets().size());
+        assertEquals(0, new BigDecimal("300").compareTo(pageData.getTotalBudget()));
+        assertEquals(0, new BigDecimal("150").compareTo(pageData.getTotalSpent()));
+        assertEquals(0, new BigDecimal("120").compareTo(pageData.getBudgetInfo().get(Category.FOOD).getSpent()));
+        assertTrue(pageData.getBudgetInfo().get(Category.FOOD).isOverBudget());
+        assertEquals(0, BigDecimal.ZERO.compareTo(pageData.getBudgetInfo().get(Category.HEALTH).getSpent()));
+        // user, budgets for the month, expense sums per category
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void should_TrackSpentAndAlertOncePerThreshold_When_ExpensesAreRecorded() {
+        // Given
+        YearMonth month = YearMonth.of(2024, 6);
+        Budget budget = budgetRepository.save(Budget.builder()
+                .user(testUser)
+                .category(Category.FOOD)
+                .amount(new BigDecimal("100"))
+                .year(month.getYear())
+                .month(month.getMonthValue())
+                .build());
+        LocalDateTime date = month.atDay(10).atTime(12, 0);
+
+        // When
+        budgetService.recordExpense(testUser.getId(), testWallet.getId(), Category.FOOD, date, new BigDecimal("85"));
+        budgetService.recordExpense(testUser.getId(), testWallet.getId(), Category.FOOD, date, new BigDecimal("5"));
+        budgetService.reverseExpense(testUser.getId(), testWallet.getId(), Category.FOOD, date, new BigDecimal("10"));
+        budgetService.recordExpense(testUser.getId(), testWallet.getId(), Category.FOOD, date, new BigDecimal("10"));
+
+        // Then
+        entityManager.flush();
+        entityManager.clear();
+        Budget reloaded = budgetRepository.findById(budget.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("90").compareTo(reloaded.getSpent()));
+        assertEquals(80, reloaded.getAlertLevel());
+        assertEquals(1, notificationOutboxRepository.count());
+        assertTrue(notificationOutboxRepository.existsByPendingDedupKey(
+                "budget-alert:" + budget.getId() + ":80"));
+    }
+
+    @Test
+    void should_RollOverBudgetsWithCarryOver_When_TargetMonthsPartiallyExist() {
+        // Given
+        YearMonth source = YearMonth.of(2024, 6);
+        saveBudget(Category.FOOD, "100", source);
+        saveBudget(Category.TRANSPORT, "50", source);
+        saveBudget(Category.FOOD, "10", source.plusMonths(1));
+        saveExpense(Category.FOOD, "70", source.atDay(5).atTime(9, 0));
+        saveExpense(Category.FOOD, "15", source.plusMonths(2).atDay(5).atTime(9, 0));
+        entityManager.flush();
+
+        // When
+        int written = budgetService.rolloverBudgets(testUser.getId(), source, 2, true);
+        entityManager.clear();
+
+        // Then
+        assertEquals(4, written);
+        User user = userRepository.findById(testUser.getId()).orElseThrow();
+        Map<Category, Budget> july = byCategory(budgetRepository.findByUserAndYearAndMonth(user, 2024, 7));
+        Map<Category, Budget> august = byCategory(budgetRepository.findByUserAndYearAndMonth(user, 2024, 8));
+        assertEquals(0, new BigDecimal("130").compareTo(july.get(Category.FOOD).getAmount()));
+        assertEquals(0, new BigDecimal("100").compareTo(july.get(Category.TRANSPORT).getAmount()));
+        assertEquals(0, new BigDecimal("100").compareTo(august.get(Category.FOOD).getAmount()));
+        assertEquals(0, new BigDecimal("15").compareTo(august.get(Category.FOOD).getSpent()));
+        assertEquals(0, new BigDecimal("50").compareTo(august.get(Category.TRANSPORT).getAmount()));
+    }
+
+    @Test
+    void should_ApplyPlanAcrossMonths_When_PlanSubmitted() {
+        // Given
+        BudgetPlanDto plan = BudgetPlanDto.builder()
+                .month(11)
+                .year(2024)
+                .months(3)
+                .amounts(new EnumMap<>(Map.of(
+                        Category.FOOD, new BigDecimal("300"),
+                        Category.HEALTH, new BigDecimal("40"))))
+                .build();
+        entityManager.flush();
+
+        // When
+        int written = budgetService.applyBudgetPlan(testUser.getId(), plan);
+        plan.getAmounts().put(Category.FOOD, new BigDecimal("350"));
+        int rewritten = budgetService.applyBudgetPlan(testUser.getId(), plan);
+        entityManager.clear();
+
+        // Then
+        assertEquals(6, written);
+        assertEquals(6, rewritten);
+        assertEquals(6, budgetRepository.count());
+        User user = userRepository.findById(testUser.getId()).orElseThrow();
+        Budget january = byCategory(budgetRepository.findByUserAndYearAndMonth(user, 2025, 1)).get(Category.FOOD);
+        assertEquals(0, new BigDecimal("350").compareTo(january.getAmount()));
+    }
+
+    @Test
+    void should_RecomputeAlertLevel_When_PlanUpdatesExistingBudget() {
+        // Given
+        YearMonth month = YearMonth.of(2024, 11);
+        Budget existing = budgetRepository.save(Budget.builder()
+                .user(testUser)
+                .category(Category.FOOD)
+                .amount(new BigDecimal("100"))
+                .year(month.getYear())
+                .month(month.getMonthValue())
+                .spent(new BigDecimal("90"))
+                .alertLevel(80)
+                .build());
+        BudgetPlanDto plan = BudgetPlanDto.builder()
+                .month(month.getMonthValue())
+                .year(month.getYear())
+                .months(1)
+                .amounts(new EnumMap<>(Map.of(Category.FOOD, new BigDecimal("300"))))
+                .build();
+        entityManager.flush();
+
+        // When
+        budgetService.applyBudgetPlan(testUser.getId(), plan);
+        entityManager.clear();
+
+        // Then
+        Budget reloaded = budgetRepository.findById(existing.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("300").compareTo(reloaded.getAmount()));
+        assertEquals(0, new BigDecimal("90").compareTo(reloaded.getSpent()));
+        assertEquals(0, reloaded.getAlertLevel());
+    }
+
+    @Test
+    void should_RejectPlan_When_MonthIsInvalid() {
+        BudgetPlanDto plan = BudgetPlanDto.builder()
+                .month(13)
+                .year(2024)
+                .amounts(new EnumMap<>(Map.of(Category.FOOD, new BigDecimal("300"))))
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> budgetService.applyBudgetPlan(testUser.getId(), plan));
+    }
+
+    @Test
+    void should_ReturnColumnarTrend_When_RangeSpansYearBoundary() {
+        // Given
+        YearMonth november = YearMonth.of(2024, 11);
+        YearMonth january = YearMonth.of(2025, 1);
+        saveBudget(Category.FOOD, "200", november);
+        saveBudget(Category.FOOD, "250", january);
+        saveBudget(Category.TRANSPORT, "80", january);
+        saveBudget(Category.FOOD, "999", YearMonth.of(2025, 2));
+        saveExpense(Category.FOOD, "150", november.atDay(2).atTime(8, 0));
+        saveExpense(Category.HEALTH, "30", YearMonth.of(2024, 12).atDay(2).atTime(8, 0));
+        saveExpense(Category.FOOD, "60", january.atDay(2).atTime(8, 0));
+        saveExpense(Category.FOOD, "40", january.atEndOfMonth().atTime(20, 0));
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        BudgetTrendResponse trend = budgetService.getBudgetTrend(testUser.getId(), november, january);
+
+        // Then
+        assertEquals(List.of("2024-11", "2024-12", "2025-01"), trend.getMonths());
+        assertEquals(List.of(Category.FOOD, Category.TRANSPORT, Category.HEALTH), trend.getCategories());
+        assertAmounts(List.of("200", "0", "250"), trend.getBudget().get(Category.FOOD));
+        assertAmounts(List.of("150", "0", "100"), trend.getActual().get(Category.FOOD));
+        assertAmounts(List.of("0", "30", "0"), trend.getActual().get(Category.HEALTH));
+        assertAmounts(List.of("200", "0", "330"), trend.getTotalBudget());
+        assertAmounts(List.of("150", "30", "100"), trend.getTotalActual());
+        // user, one grouped budget query, one grouped transaction query
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void should_RejectTrend_When_RangeIsReversed() {
+        assertThrows(IllegalArgumentException.class,
+                () -> budgetService.getBudgetTrend(testUser.getId(), YearMonth.of(2025, 1), YearMonth.of(2024, 1)));
+    }
+
+    private void assertAmounts(List<String> expected, List<BigDecimal> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(0, new BigDecimal(expected.get(i)).compareTo(actual.get(i)), "index " + i);
+        }
+    }
+
+    private void saveBudget(Category category, String amount, YearMonth month) {
+        budgetRepository.save(Budget.builder()
+                .user(testUser)
+                .category(category)
+                .amount(new BigDecimal(amount))
+                .year(month.getYear())
+                .month(month.getMonthValue())
+                .build());
+    }
+
+    private Map<Category, Budget> byCategory(List<Budget> budgets) {
+        Map<Category, Budget> result = new EnumMap<>(Category.class);
+        budgets.forEach(budget -> result.put(budget.getCategory(), budget));
+        return result;
+    }
+
+    private void saveExpense(Category category, String amount, LocalDateTime date) {
+        transactionRepository.save(Transaction.builder()
+                .wallet(testWallet)
+                .type(Type.EXPENSE)
+                .category(category)
+                .amount(new BigDecimal(amount))
+                .description("Test expense")
+                .date(date)
+                .build());
+    }
+}
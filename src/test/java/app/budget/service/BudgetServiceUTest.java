@@ -1,13 +1,18 @@
 package app.budget.service;
 
 import app.budget.model.Budget;
+import app.budget.repository.BudgetBulkRepository;
 import app.budget.repository.BudgetRepository;
+import app.currency.service.FxRateService;
 import app.exception.UserNotFoundException;
+import app.notification.service.NotificationOutboxService;
 import app.transactions.model.Category;
+import app.transactions.model.CategoryVector;
 import app.transactions.service.TransactionService;
 import app.user.model.User;
 import app.user.repository.UserRepository;
 import app.wallet.model.Wallet;
+import app.wallet.repository.WalletRepository;
 import app.web.dto.BudgetDto;
 import app.web.dto.BudgetPageData;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +23,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.*;
 
@@ -30,12 +36,24 @@ class BudgetServiceUTest {
     @Mock
     private BudgetRepository budgetRepository;
 
+    @Mock
+    private BudgetBulkRepository budgetBulkRepository;
+
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private WalletRepository walletRepository;
+
     @Mock
     private TransactionService transactionService;
 
+    @Mock
+    private FxRateService fxRateService;
+
+    @Mock
+    private NotificationOutboxService notificationOutboxService;
+
     @InjectMocks
     private BudgetService budgetService;
 
@@ -90,6 +108,8 @@ class BudgetServiceUTest {
         when(budgetRepository.findByUserAndCategoryAndYearAndMonth(
                 testUser, budgetDto.getCategory(), budgetDto.getYear(), budgetDto.getMonth()))
                 .thenReturn(Optional.empty());
+        when(transactionService.getCategoryTotalsForMonth(eq(userId), eq(testWallet.getCurrency()), any()))
+                .thenReturn(new CategoryVector());
         when(budgetRepository.save(any(Budget.class))).thenReturn(testBudget);
 
         Budget result = budgetService.createOrUpdateBudget(userId, budgetDto);
@@ -123,6 +143,40 @@ class BudgetServiceUTest {
         verify(budgetRepository).save(testBudget);
     }
 
+    @Test
+    void should_RearmAlerts_When_BudgetAmountIsRaisedAboveSpent() {
+        testBudget.setSpent(new BigDecimal("450.00"));
+        testBudget.setAlertLevel(80);
+        budgetDto.setAmount(new BigDecimal("1000.00"));
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(budgetRepository.findByUserAndCategoryAndYearAndMonth(
+                testUser, budgetDto.getCategory(), budgetDto.getYear(), budgetDto.getMonth()))
+                .thenReturn(Optional.of(testBudget));
+        when(budgetRepository.save(testBudget)).thenReturn(testBudget);
+
+        budgetService.createOrUpdateBudget(userId, budgetDto);
+
+        assertEquals(0, testBudget.getAlertLevel());
+    }
+
+    @Test
+    void should_MarkReachedLevel_When_BudgetAmountIsLoweredBelowSpent() {
+        testBudget.setSpent(new BigDecimal("450.00"));
+        budgetDto.setAmount(new BigDecimal("400.00"));
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(budgetRepository.findByUserAndCategoryAndYearAndMonth(
+                testUser, budgetDto.getCategory(), budgetDto.getYear(), budgetDto.getMonth()))
+                .thenReturn(Optional.of(testBudget));
+        when(budgetRepository.save(testBudget)).thenReturn(testBudget);
+
+        budgetService.createOrUpdateBudget(userId, budgetDto);
+
+        assertEquals(100, testBudget.getAlertLevel());
+        verifyNoInteractions(notificationOutboxService);
+    }
+
     @Test
     void should_ThrowUserNotFoundException_When_UserDoesNotExist() {
         when(userRepository.findById(userId)).thenReturn(Optional.empty());
@@ -178,16 +232,14 @@ class BudgetServiceUTest {
         YearMonth yearMonth = YearMonth.of(year, month);
 
         List<Budget> budgets = List.of(testBudget);
-        Map<Category, BigDecimal> categoryExpenses = new HashMap<>();
-        categoryExpenses.put(Category.FOOD, new BigDecimal("200.00"));
+        CategoryVector categoryExpenses = new CategoryVector();
+        categoryExpenses.add(Category.FOOD, new BigDecimal("200.00"));
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
         when(budgetRepository.findByUserAndYearAndMonth(testUser, year, month))
                 .thenReturn(budgets);
-        when(transactionService.getCategoryTotalsForMonth(walletId, yearMonth))
+        when(transactionService.getCategoryTotalsForMonth(userId, testWallet.getCurrency(), yearMonth))
                 .thenReturn(categoryExpenses);
-        when(transactionService.getTotalExpensesForMonth(walletId, yearMonth))
-                .thenReturn(new BigDecimal("200.00"));
 
         BudgetPageData result = budgetService.getBudgetPageData(userId, month, year);
 
@@ -201,24 +253,22 @@ class BudgetServiceUTest {
         assertNotNull(result.getCurrentMonthName());
         assertNotNull(result.getPreviousMonth());
         assertNotNull(result.getNextMonth());
-        verify(userRepository, atLeastOnce()).findById(userId);
+        verify(userRepository).findById(userId);
     }
 
     @Test
     void should_ReturnBudgetPageDataForCurrentMonth_When_MonthAndYearNotProvided() {
         YearMonth currentMonth = YearMonth.now();
         List<Budget> budgets = List.of(testBudget);
-        Map<Category, BigDecimal> categoryExpenses = new HashMap<>();
-        categoryExpenses.put(Category.FOOD, new BigDecimal("100.00"));
+        CategoryVector categoryExpenses = new CategoryVector();
+        categoryExpenses.add(Category.FOOD, new BigDecimal("100.00"));
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
         when(budgetRepository.findByUserAndYearAndMonth(
                 testUser, currentMonth.getYear(), currentMonth.getMonthValue()))
                 .thenReturn(budgets);
-        when(transactionService.getCategoryTotalsForMonth(walletId, currentMonth))
+        when(transactionService.getCategoryTotalsForMonth(userId, testWallet.getCurrency(), currentMonth))
                 .thenReturn(categoryExpenses);
-        when(transactionService.getTotalExpensesForMonth(walletId, currentMonth))
-                .thenReturn(new BigDecimal("100.00"));
 
         BudgetPageData result = budgetService.getBudgetPageData(userId, null, null);
 
@@ -226,23 +276,21 @@ class BudgetServiceUTest {
         assertEquals(currentMonth, result.getCurrentMonth());
         assertEquals(new BigDecimal("500.00"), result.getTotalBudget());
         assertEquals(new BigDecimal("100.00"), result.getTotalSpent());
-        verify(userRepository, atLeastOnce()).findById(userId);
+        verify(userRepository).findById(userId);
     }
 
     @Test
     void should_ReturnEmptyBudgetPageData_When_NoBudgetsExist() {
         YearMonth currentMonth = YearMonth.now();
         List<Budget> emptyBudgets = new ArrayList<>();
-        Map<Category, BigDecimal> emptyExpenses = new HashMap<>();
+        CategoryVector emptyExpenses = new CategoryVector();
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
         when(budgetRepository.findByUserAndYearAndMonth(
                 testUser, currentMonth.getYear(), currentMonth.getMonthValue()))
                 .thenReturn(emptyBudgets);
-        when(transactionService.getCategoryTotalsForMonth(walletId, currentMonth))
+        when(transactionService.getCategoryTotalsForMonth(userId, testWallet.getCurrency(), currentMonth))
                 .thenReturn(emptyExpenses);
-        when(transactionService.getTotalExpensesForMonth(walletId, currentMonth))
-                .thenReturn(BigDecimal.ZERO);
 
         BudgetPageData result = budgetService.getBudgetPageData(userId, null, null);
 
@@ -251,7 +299,7 @@ class BudgetServiceUTest {
         assertEquals(BigDecimal.ZERO, result.getTotalBudget());
         assertEquals(BigDecimal.ZERO, result.getTotalSpent());
         assertEquals(BigDecimal.ZERO, result.getTotalRemaining());
-        verify(userRepository, atLeastOnce()).findById(userId);
+        verify(userRepository).findById(userId);
     }
 
     @Test
@@ -279,25 +327,23 @@ class BudgetServiceUTest {
 
         assertNotNull(result);
         assertEquals(BigDecimal.ZERO, result.getTotalSpent());
-        verify(userRepository, atLeastOnce()).findById(userId);
-        verify(transactionService, never()).getTotalExpensesForMonth(any(), any());
+        verify(userRepository).findById(userId);
+        verify(transactionService, never()).getCategoryTotalsForMonth(any(), any(), any());
     }
 
     @Test
     void should_MarkBudgetAsOverBudget_When_ExpensesExceedBudget() {
         YearMonth currentMonth = YearMonth.now();
         List<Budget> budgets = List.of(testBudget);
-        Map<Category, BigDecimal> categoryExpenses = new HashMap<>();
-        categoryExpenses.put(Category.FOOD, new BigDecimal("600.00")); // Over budget
+        CategoryVector categoryExpenses = new CategoryVector();
+        categoryExpenses.add(Category.FOOD, new BigDecimal("600.00")); // Over budget
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
         when(budgetRepository.findByUserAndYearAndMonth(
                 testUser, currentMonth.getYear(), currentMonth.getMonthValue()))
                 .thenReturn(budgets);
-        when(transactionService.getCategoryTotalsForMonth(walletId, currentMonth))
+        when(transactionService.getCategoryTotalsForMonth(userId, testWallet.getCurrency(), currentMonth))
                 .thenReturn(categoryExpenses);
-        when(transactionService.getTotalExpensesForMonth(walletId, currentMonth))
-                .thenReturn(new BigDecimal("600.00"));
 
         BudgetPageData result = budgetService.getBudgetPageData(userId, null, null);
 
@@ -306,7 +352,7 @@ class BudgetServiceUTest {
         assertEquals(new BigDecimal("600.00"), result.getTotalSpent());
         assertEquals(new BigDecimal("-100.00"), result.getTotalRemaining());
         assertTrue(result.getBudgetInfo().get(Category.FOOD).isOverBudget());
-        verify(userRepository, atLeastOnce()).findById(userId);
+        verify(userRepository).findById(userId);
     }
 
     @Test
@@ -331,18 +377,16 @@ class BudgetServiceUTest {
                 .build();
 
         List<Budget> budgets = List.of(budget1, budget2);
-        Map<Category, BigDecimal> categoryExpenses = new HashMap<>();
-        categoryExpenses.put(Category.FOOD, new BigDecimal("200.00"));
-        categoryExpenses.put(Category.TRANSPORT, new BigDecimal("150.00"));
+        CategoryVector categoryExpenses = new CategoryVector();
+        categoryExpenses.add(Category.FOOD, new BigDecimal("200.00"));
+        categoryExpenses.add(Category.TRANSPORT, new BigDecimal("150.00"));
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
         when(budgetRepository.findByUserAndYearAndMonth(
                 testUser, currentMonth.getYear(), currentMonth.getMonthValue()))
                 .thenReturn(budgets);
-        when(transactionService.getCategoryTotalsForMonth(walletId, currentMonth))
+        when(transactionService.getCategoryTotalsForMonth(userId, testWallet.getCurrency(), currentMonth))
                 .thenReturn(categoryExpenses);
-        when(transactionService.getTotalExpensesForMonth(walletId, currentMonth))
-                .thenReturn(new BigDecimal("350.00"));
 
         BudgetPageData result = budgetService.getBudgetPageData(userId, null, null);
 
@@ -352,23 +396,21 @@ class BudgetServiceUTest {
         assertEquals(new BigDecimal("350.00"), result.getTotalSpent());
         assertEquals(new BigDecimal("450.00"), result.getTotalRemaining());
         assertEquals(2, result.getBudgetInfo().size());
-        verify(userRepository, atLeastOnce()).findById(userId);
+        verify(userRepository).findById(userId);
     }
 
     @Test
     void should_ReturnZeroSpentForCategory_When_NoExpensesForCategory() {
         YearMonth currentMonth = YearMonth.now();
         List<Budget> budgets = List.of(testBudget);
-        Map<Category, BigDecimal> categoryExpenses = new HashMap<>();
+        CategoryVector categoryExpenses = new CategoryVector();
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
         when(budgetRepository.findByUserAndYearAndMonth(
                 testUser, currentMonth.getYear(), currentMonth.getMonthValue()))
                 .thenReturn(budgets);
-        when(transactionService.getCategoryTotalsForMonth(walletId, currentMonth))
+        when(transactionService.getCategoryTotalsForMonth(userId, testWallet.getCurrency(), currentMonth))
                 .thenReturn(categoryExpenses);
-        when(transactionService.getTotalExpensesForMonth(walletId, currentMonth))
-                .thenReturn(BigDecimal.ZERO);
 
         BudgetPageData result = budgetService.getBudgetPageData(userId, null, null);
 
@@ -379,6 +421,100 @@ class BudgetServiceUTest {
         assertNotNull(result.getBudgetInfo().get(Category.FOOD));
         assertEquals(BigDecimal.ZERO, result.getBudgetInfo().get(Category.FOOD).getSpent());
         assertFalse(result.getBudgetInfo().get(Category.FOOD).isOverBudget());
-        verify(userRepository, atLeastOnce()).findById(userId);
+        verify(userRepository).findById(userId);
+    }
+
+    @Test
+    void should_RejectTrend_When_RangeExceedsThirtySixMonths() {
+        YearMonth from = YearMonth.of(2022, 1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> budgetService.getBudgetTrend(userId, from, from.plusMonths(36)));
+        assertThrows(IllegalArgumentException.class,
+                () -> budgetService.getBudgetTrend(userId, YearMonth.of(-999_999_999, 1), YearMonth.of(999_999_999, 12)));
+        verifyNoInteractions(budgetRepository, transactionService);
+    }
+
+    @Test
+    void should_EnqueueWarningAlert_When_ExpensePushesBudgetPastEightyPercent() {
+        LocalDateTime date = LocalDateTime.now();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        testBudget.setSpent(new BigDecimal("420.00"));
+        when(budgetRepository.addToSpent(userId, Category.FOOD, date.getYear(), date.getMonthValue(), new BigDecimal("20.00")))
+                .thenReturn(1);
+        when(budgetRepository.findByUser_IdAndCategoryAndYearAndMonth(userId, Category.FOOD, date.getYear(), date.getMonthValue()))
+                .thenReturn(Optional.of(testBudget));
+        when(budgetRepository.raiseAlertLevel(testBudget.getId(), 80)).thenReturn(1);
+
+        budgetService.recordExpense(userId, walletId, Category.FOOD, date, new BigDecimal("20.00"));
+
+        verify(notificationOutboxService).enqueueNotification(eq(userId), anyString(), anyString(),
+                eq("budget-alert:" + testBudget.getId() + ":80"));
+    }
+
+    @Test
+    void should_NotEnqueueAlert_When_AnotherTransactionAlreadyRaisedTheLevel() {
+        LocalDateTime date = LocalDateTime.now();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        testBudget.setSpent(new BigDecimal("510.00"));
+        when(budgetRepository.addToSpent(userId, Category.FOOD, date.getYear(), date.getMonthValue(), new BigDecimal("10.00")))
+                .thenReturn(1);
+        when(budgetRepository.findByUser_IdAndCategoryAndYearAndMonth(userId, Category.FOOD, date.getYear(), date.getMonthValue()))
+                .thenReturn(Optional.of(testBudget));
+        when(budgetRepository.raiseAlertLevel(testBudget.getId(), 100)).thenReturn(0);
+
+        budgetService.recordExpense(userId, walletId, Category.FOOD, date, new BigDecimal("10.00"));
+
+        verifyNoInteractions(notificationOutboxService);
+    }
+
+    @Test
+    void should_NotEnqueueAlert_When_LevelWasAlreadyAlerted() {
+        LocalDateTime date = LocalDateTime.now();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        testBudget.setSpent(new BigDecimal("450.00"));
+        testBudget.setAlertLevel(80);
+        when(budgetRepository.addToSpent(userId, Category.FOOD, date.getYear(), date.getMonthValue(), new BigDecimal("5.00")))
+                .thenReturn(1);
+        when(budgetRepository.findByUser_IdAndCategoryAndYearAndMonth(userId, Category.FOOD, date.getYear(), date.getMonthValue()))
+                .thenReturn(Optional.of(testBudget));
+
+        budgetService.recordExpense(userId, walletId, Category.FOOD, date, new BigDecimal("5.00"));
+
+        verify(budgetRepository, never()).raiseAlertLevel(any(), anyInt());
+        verifyNoInteractions(notificationOutboxService);
+    }
+
+    @Test
+    void should_SkipEvaluation_When_NoBudgetExistsForCategoryAndMonth() {
+        LocalDateTime date = LocalDateTime.now();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(budgetRepository.addToSpent(userId, Category.TRAVEL, date.getYear(), date.getMonthValue(), BigDecimal.TEN))
+                .thenReturn(0);
+
+        budgetService.recordExpense(userId, walletId, Category.TRAVEL, date, BigDecimal.TEN);
+
+        verify(budgetRepository, never()).findByUser_IdAndCategoryAndYearAndMonth(any(), any(), anyInt(), anyInt());
+        verifyNoInteractions(notificationOutboxService);
+    }
+
+    @Test
+    void should_AddConvertedAmount_When_ExpenseIsPostedFromWalletInAnotherCurrency() {
+        LocalDateTime date = LocalDateTime.now();
+        testWallet.setCurrency(Currency.getInstance("EUR"));
+        Wallet usdWallet = Wallet.builder()
+                .id(UUID.randomUUID())
+                .currency(Currency.getInstance("USD"))
+                .user(testUser)
+                .build();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(walletRepository.findById(usdWallet.getId())).thenReturn(Optional.of(usdWallet));
+        when(fxRateService.convert(new BigDecimal("110.00"), Currency.getInstance("USD"), Currency.getInstance("EUR")))
+                .thenReturn(new BigDecimal("100.00"));
+
+        budgetService.reverseExpense(userId, usdWallet.getId(), Category.FOOD, date, new BigDecimal("110.00"));
+
+        verify(budgetRepository).addToSpent(userId, Category.FOOD, date.getYear(), date.getMonthValue(),
+                new BigDecimal("-100.00"));
     }
 }
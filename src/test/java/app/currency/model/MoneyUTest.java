@@ -0,0 +1,55 @@
+package app.currency.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyUTest {
+
+    private final MoneyConverter converter = new MoneyConverter();
+
+    @Test
+    void should_KeepExactMinorUnits_When_CreatedFromDecimal() {
+        assertEquals(1999L, Money.minorUnitsOf(new BigDecimal("19.99")));
+        assertEquals(15000L, Money.minorUnitsOf(new BigDecimal("150")));
+        assertEquals(-50L, Money.minorUnitsOf(new BigDecimal("-0.5")));
+    }
+
+    @Test
+    void should_Throw_When_AmountHasMoreThanTwoDecimals() {
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("10.005")));
+    }
+
+    @Test
+    void should_RenderScaleTwoDecimal_When_ConvertedBack() {
+        assertEquals(new BigDecimal("80.00"), Money.toBigDecimal(8000L));
+        assertEquals(BigDecimal.ZERO, Money.toBigDecimal(0L));
+        assertEquals(new BigDecimal("25.50"), Money.of(new BigDecimal("20.25")).plus(Money.ofMinor(525)).toBigDecimal());
+    }
+
+    @Test
+    void should_RoundPercentHalfUp_When_ComputedFromMinorUnits() {
+        assertEquals(33, Money.percentOf(1, 3));
+        assertEquals(67, Money.percentOf(2, 3));
+        assertEquals(50, Money.percentOf(1, 2));
+        assertEquals(0, Money.percentOf(100, 0));
+    }
+
+    @Test
+    void should_RoundTripThroughColumn_When_UsingConverter() {
+        Money money = Money.of(new BigDecimal("1234.56"));
+
+        BigDecimal column = converter.convertToDatabaseColumn(money);
+
+        assertEquals(new BigDecimal("1234.56"), column);
+        assertEquals(money, converter.convertToEntityAttribute(column));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+
+    @Test
+    void should_RejectColumnValue_When_ItWouldNeedRounding() {
+        assertThrows(ArithmeticException.class, () -> converter.convertToEntityAttribute(new BigDecimal("1.001")));
+    }
+}
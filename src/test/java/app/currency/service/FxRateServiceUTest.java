@@ -0,0 +1,93 @@
+package app.currency.service;
+
+import app.currency.model.FxRateSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Currency;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FxRateServiceUTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final Currency BGN = Currency.getInstance("BGN");
+    private static final Currency USD = Currency.getInstance("USD");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void should_ConvertThroughBaseCurrency_When_BothCurrenciesAreKnown() throws IOException {
+        FxRateService fxRateService = serviceFor("""
+                currency,rate
+                EUR,1
+                BGN,1.95583
+                USD,1.10
+                """);
+
+        assertEquals(new BigDecimal("51.13"), fxRateService.convert(new BigDecimal("100.00"), BGN, EUR));
+        assertEquals(new BigDecimal("56.24"), fxRateService.convert(new BigDecimal("100.00"), BGN, USD));
+    }
+
+    @Test
+    void should_ReturnAmountUnchanged_When_ConvertingToSameCurrency() throws IOException {
+        FxRateSnapshot snapshot = serviceFor("EUR,1\n").snapshot();
+        BigDecimal amount = new BigDecimal("12.345");
+
+        UnaryOperator<BigDecimal> converter = snapshot.converter(EUR, EUR);
+
+        assertSame(amount, converter.apply(amount));
+    }
+
+    @Test
+    void should_ThrowIllegalArgumentException_When_CurrencyHasNoRate() throws IOException {
+        FxRateService fxRateService = serviceFor("EUR,1\n");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> fxRateService.convert(BigDecimal.TEN, USD, EUR));
+    }
+
+    @Test
+    void should_KeepPreviousSnapshot_When_ReloadReadsMalformedFile() throws IOException {
+        FxRateService fxRateService = serviceFor("EUR,1\nBGN,1.95583\n");
+        FxRateSnapshot before = fxRateService.snapshot();
+
+        Files.writeString(tempDir.resolve("rates.csv"), "EUR,1\nBGN\n");
+        fxRateService.reload();
+
+        assertSame(before, fxRateService.snapshot());
+    }
+
+    @Test
+    void should_SwapInNewRates_When_ReloadSucceeds() throws IOException {
+        FxRateService fxRateService = serviceFor("EUR,1\nBGN,1.95583\n");
+
+        Files.writeString(tempDir.resolve("rates.csv"), "EUR,1\nBGN,2\n");
+        fxRateService.reload();
+
+        assertEquals(new BigDecimal("5.00"), fxRateService.convert(BigDecimal.TEN, BGN, EUR));
+    }
+
+    @Test
+    void should_KeepPreviousRate_When_ReloadedFileDropsCurrency() throws IOException {
+        FxRateService fxRateService = serviceFor("EUR,1\nBGN,1.95583\nUSD,1.10\n");
+
+        Files.writeString(tempDir.resolve("rates.csv"), "EUR,1\nUSD,1.20\n");
+        fxRateService.reload();
+
+        assertEquals(new BigDecimal("51.13"), fxRateService.convert(new BigDecimal("100.00"), BGN, EUR));
+        assertEquals(new BigDecimal("12.00"), fxRateService.convert(BigDecimal.TEN, EUR, USD));
+    }
+
+    private FxRateService serviceFor(String csv) throws IOException {
+        Path rates = Files.writeString(tempDir.resolve("rates.csv"), csv);
+        return new FxRateService(new DefaultResourceLoader(), rates.toUri().toString(), "EUR");
+    }
+}
@@ -0,0 +1,55 @@
+package app.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackgroundConnectionLimiterUTest {
+
+    private final BackgroundConnectionLimiter limiter =
+            new BackgroundConnectionLimiter(h2(), 1, Duration.ofMillis(50));
+
+    @Test
+    void should_ReleasePermit_When_BackgroundConnectionClosed() throws Exception {
+        try (BackgroundWork.Scope ignored = BackgroundWork.begin()) {
+            Connection connection = limiter.getConnection();
+            assertEquals(0, limiter.availablePermits());
+
+            connection.close();
+            connection.close();
+
+            assertEquals(1, limiter.availablePermits());
+        }
+    }
+
+    @Test
+    void should_Throw_When_BackgroundConnectionsExhausted() throws Exception {
+        try (BackgroundWork.Scope ignored = BackgroundWork.begin();
+             Connection held = limiter.getConnection()) {
+            assertFalse(held.isClosed());
+            assertThrows(SQLTransientConnectionException.class, limiter::getConnection);
+        }
+        assertEquals(1, limiter.availablePermits());
+    }
+
+    @Test
+    void should_NotLimitConnections_When_OutsideBackgroundWork() throws Exception {
+        try (Connection first = limiter.getConnection();
+             Connection second = limiter.getConnection()) {
+            assertNotSame(first, second);
+            assertEquals(1, limiter.availablePermits());
+        }
+    }
+
+    private static JdbcDataSource h2() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:limiter;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+}
@@ -0,0 +1,24 @@
+package app.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BackgroundWorkAspectUTest {
+
+    private final BackgroundWorkAspect aspect = new BackgroundWorkAspect();
+
+    @Test
+    void should_RunOnPrimaryAsBackgroundWork_When_JobIsInvoked() throws Throwable {
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.proceed()).thenAnswer(invocation -> BackgroundWork.isActive() && ReplicaRouting.isPrimaryForced());
+
+        assertEquals(Boolean.TRUE, aspect.runAsBackgroundWork(joinPoint));
+
+        assertFalse(BackgroundWork.isActive());
+        assertFalse(ReplicaRouting.isPrimaryForced());
+    }
+}
@@ -0,0 +1,76 @@
+package app.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesFilterUTest {
+
+    private static final Instant NOW = Instant.parse("2025-03-01T10:00:00Z");
+
+    private final MockHttpSession session = new MockHttpSession();
+
+    @Test
+    void should_ForcePrimary_When_ReadFollowsWriteWithinWindow() throws Exception {
+        filter(NOW).doFilter(request("POST", "/transactions/add"), redirect(), new MockFilterChain());
+
+        assertTrue(routedToPrimary(filter(NOW.plusSeconds(2)), request("GET", "/dashboard")));
+    }
+
+    @Test
+    void should_UseReplica_When_WindowHasPassed() throws Exception {
+        filter(NOW).doFilter(request("POST", "/transactions/add"), redirect(), new MockFilterChain());
+
+        assertFalse(routedToPrimary(filter(NOW.plusSeconds(6)), request("GET", "/dashboard")));
+    }
+
+    @Test
+    void should_NotOpenWindow_When_WriteFails() throws Exception {
+        MockHttpServletResponse badRequest = new MockHttpServletResponse();
+        badRequest.setStatus(400);
+        filter(NOW).doFilter(request("POST", "/transactions/add"), badRequest, new MockFilterChain());
+
+        assertFalse(routedToPrimary(filter(NOW.plusSeconds(1)), request("GET", "/dashboard")));
+    }
+
+    @Test
+    void should_UseReplica_When_UserHasOnlyRead() throws Exception {
+        filter(NOW).doFilter(request("GET", "/dashboard"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertFalse(routedToPrimary(filter(NOW.plusSeconds(1)), request("GET", "/dashboard")));
+        assertFalse(ReplicaRouting.isPrimaryForced());
+    }
+
+    private static ReadYourWritesFilter filter(Instant now) {
+        return new ReadYourWritesFilter(Duration.ofSeconds(5), Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setSession(session);
+        return request;
+    }
+
+    private static MockHttpServletResponse redirect() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(302);
+        return response;
+    }
+
+    private static boolean routedToPrimary(ReadYourWritesFilter filter, MockHttpServletRequest request) throws Exception {
+        AtomicBoolean forced = new AtomicBoolean();
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> forced.set(ReplicaRouting.isPrimaryForced()));
+        return forced.get();
+    }
+}
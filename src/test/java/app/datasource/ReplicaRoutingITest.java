@@ -0,0 +1,96 @@
+package app.datasource;
+
+import app.scheduler.NotificationOutboxScheduler;
+import app.user.repository.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Local two-pool setup: primary and replica point at the same in-memory H2 database (there is no
+ * replication to set up), but through separate Hikari pools, so the pool that holds the connection
+ * during a transaction shows where it was routed.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replica-routing;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=LEGACY",
+        "app.datasource.replica.jdbc-url=jdbc:h2:mem:replica-routing;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=LEGACY",
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.password="
+})
+class ReplicaRoutingITest {
+
+    // the relay runs every few seconds on the primary and would show up in the pool counts
+    @MockitoBean
+    private NotificationOutboxScheduler notificationOutboxScheduler;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Test
+    void should_UseReplica_When_TransactionIsReadOnly() {
+        int[] active = inTransaction(true);
+
+        assertEquals(0, active[0]);
+        assertEquals(1, active[1]);
+    }
+
+    @Test
+    void should_UsePrimary_When_TransactionWrites() {
+        int[] active = inTransaction(false);
+
+        assertEquals(1, active[0]);
+        assertEquals(0, active[1]);
+    }
+
+    @Test
+    void should_UsePrimary_When_ReadOnlyTransactionRunsInForcedPrimaryScope() {
+        int[] active;
+        try (ReplicaRouting.Scope ignored = ReplicaRouting.forcePrimary()) {
+            active = inTransaction(true);
+        }
+
+        assertEquals(1, active[0]);
+        assertEquals(0, active[1]);
+    }
+
+    // active connections of {primary, replica} while the transaction holds its connection
+    private int[] inTransaction(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> {
+            userRepository.count();
+            return new int[]{activeConnections(primaryDataSource), activeConnections(replicaDataSource)};
+        });
+    }
+
+    private static int activeConnections(DataSource dataSource) {
+        try {
+            HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getActiveConnections();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
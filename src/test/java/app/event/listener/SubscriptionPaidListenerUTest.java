@@ -0,0 +1,42 @@
+package app.event.listener;
+
+import app.event.SubscriptionPaidEvent;
+import app.notification.service.NotificationOutboxService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SubscriptionPaidListenerUTest {
+
+    @Mock
+    private NotificationOutboxService notificationOutboxService;
+
+    @InjectMocks
+    private SubscriptionPaidListener subscriptionPaidListener;
+
+    @Test
+    void should_QueueReceiptKeyedByPeriod_When_SubscriptionIsPaid() {
+        UUID subscriptionId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+
+        subscriptionPaidListener.handleSubscriptionPaid(new SubscriptionPaidEvent(this, subscriptionId, "Netflix", userId,
+                UUID.randomUUID(), new BigDecimal("15.99"), Currency.getInstance("EUR"),
+                LocalDate.of(2025, 3, 10), LocalDate.of(2025, 4, 15)));
+
+        verify(notificationOutboxService).enqueueNotification(eq(userId), eq("Subscription paid: Netflix"),
+                contains("15.99 EUR was charged for Netflix on 2025-03-10"),
+                eq("subscription-paid:%s:2025-04-15".formatted(subscriptionId)));
+    }
+}
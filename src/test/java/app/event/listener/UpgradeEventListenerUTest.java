@@ -0,0 +1,36 @@
+package app.event.listener;
+
+import app.event.UserUpgradedEvent;
+import app.notification.service.NotificationOutboxService;
+import app.user.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class UpgradeEventListenerUTest {
+
+    @Mock
+    private NotificationOutboxService notificationOutboxService;
+
+    @InjectMocks
+    private UpgradeEventListener upgradeEventListener;
+
+    @Test
+    void should_QueueConfirmationOnce_When_UserUpgraded() {
+        User user = User.builder().id(UUID.randomUUID()).username("testuser").build();
+
+        upgradeEventListener.handleUserUpgraded(new UserUpgradedEvent(this, user, "BASIC"));
+
+        verify(notificationOutboxService).enqueueNotification(eq(user.getId()), eq("Welcome to PRO"), anyString(),
+                eq("pro-upgrade:%s".formatted(user.getId())));
+    }
+}
@@ -0,0 +1,81 @@
+package app.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Collects one sample per request and renders the per-endpoint summary. Latency is measured from the
+ * request's scheduled start, not from when a worker picked it up, so time spent queueing behind slow
+ * requests counts against the percentiles instead of disappearing.
+ */
+class LatencyRecorder {
+
+    record Sample(long latencyNanos, long statements, long allocatedBytes, int status) {
+    }
+
+    private final Map<String, ConcurrentLinkedQueue<Sample>> samples = new ConcurrentHashMap<>();
+
+    void record(String endpoint, Sample sample) {
+        samples.computeIfAbsent(endpoint, key -> new ConcurrentLinkedQueue<>()).add(sample);
+    }
+
+    long serverErrors() {
+        return samples.values().stream()
+                .flatMap(ConcurrentLinkedQueue::stream)
+                .filter(sample -> sample.status() >= 500)
+                .count();
+    }
+
+    String report(long elapsedNanos) {
+        StringBuilder report = new StringBuilder();
+        report.append("%-24s %7s %6s %9s %9s %9s %9s %9s %11s%n".formatted(
+                "endpoint", "count", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms", "sql/req", "alloc KB/req"));
+
+        long totalRequests = 0;
+        long totalAllocated = 0;
+        for (Map.Entry<String, ConcurrentLinkedQueue<Sample>> entry : samples.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey()).toList()) {
+            Sample[] endpointSamples = entry.getValue().toArray(new Sample[0]);
+            long[] latencies = new long[endpointSamples.length];
+            long statements = 0;
+            long allocated = 0;
+            long errors = 0;
+            for (int i = 0; i < endpointSamples.length; i++) {
+                latencies[i] = endpointSamples[i].latencyNanos();
+                statements += endpointSamples[i].statements();
+                allocated += endpointSamples[i].allocatedBytes();
+                if (endpointSamples[i].status() >= 400) {
+                    errors++;
+                }
+            }
+            Arrays.sort(latencies);
+
+            int count = latencies.length;
+            report.append("%-24s %7d %6d %9.1f %9.1f %9.1f %9.1f %9.1f %11.1f%n".formatted(
+                    entry.getKey(), count, errors,
+                    millis(percentile(latencies, 50)), millis(percentile(latencies, 95)),
+                    millis(percentile(latencies, 99)), millis(latencies[count - 1]),
+                    (double) statements / count, allocated / 1024.0 / count));
+
+            totalRequests += count;
+            totalAllocated += allocated;
+        }
+
+        double seconds = elapsedNanos / 1e9;
+        report.append("%d requests in %.1f s (%.1f req/s), allocation rate %.1f MB/s%n".formatted(
+                totalRequests, seconds, totalRequests / seconds, totalAllocated / 1024.0 / 1024.0 / seconds));
+        return report.toString();
+    }
+
+    // nearest-rank percentile over an ascending array
+    private static long percentile(long[] sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
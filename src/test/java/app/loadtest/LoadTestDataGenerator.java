@@ -0,0 +1,239 @@
+package app.loadtest;
+
+import app.budget.model.Budget;
+import app.budget.repository.BudgetRepository;
+import app.subscription.model.Subscription;
+import app.subscription.model.SubscriptionPeriod;
+import app.subscription.model.SubscriptionType;
+import app.subscription.repository.SubscriptionsRepository;
+import app.transactions.model.Category;
+import app.transactions.model.Transaction;
+import app.transactions.model.Type;
+import app.transactions.repository.TransactionRepository;
+import app.user.model.Country;
+import app.user.model.Role;
+import app.user.model.User;
+import app.user.model.UserVersion;
+import app.user.repository.UserRepository;
+import app.wallet.model.Wallet;
+import app.wallet.repository.WalletRepository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Seeds users whose data looks like real usage rather than a handful of fixed rows: a monthly salary,
+ * expenses whose count per user is skewed (a few heavy users, many light ones) and whose amounts follow a
+ * log-normal spread around a per-category median, a few subscriptions and budgets for the current month.
+ * History covers the last {@code months} months, current month included. A fixed seed makes the dataset
+ * identical between runs.
+ */
+class LoadTestDataGenerator {
+
+    private static final Map<Category, Double> MEDIAN_EXPENSE = new EnumMap<>(Map.ofEntries(
+            Map.entry(Category.HOUSING, 650.0),
+            Map.entry(Category.FOOD, 22.0),
+            Map.entry(Category.TRANSPORT, 12.0),
+            Map.entry(Category.UTILITIES, 85.0),
+            Map.entry(Category.CLOTHING, 45.0),
+            Map.entry(Category.ENTERTAINMENT, 30.0),
+            Map.entry(Category.TRAVEL, 180.0),
+            Map.entry(Category.EDUCATION, 60.0),
+            Map.entry(Category.LOANS, 300.0),
+            Map.entry(Category.SAVINGS, 150.0),
+            Map.entry(Category.HEALTH, 40.0),
+            Map.entry(Category.FAMILY, 55.0),
+            Map.entry(Category.GIFTS, 35.0),
+            Map.entry(Category.HOME, 70.0),
+            Map.entry(Category.SUBSCRIPTIONS, 12.0),
+            Map.entry(Category.OTHER, 20.0)));
+
+    // relative frequency of each category among expenses; everyday spending dominates
+    private static final Map<Category, Integer> EXPENSE_WEIGHT = new EnumMap<>(Map.ofEntries(
+            Map.entry(Category.HOUSING, 1),
+            Map.entry(Category.FOOD, 30),
+            Map.entry(Category.TRANSPORT, 18),
+            Map.entry(Category.UTILITIES, 3),
+            Map.entry(Category.CLOTHING, 4),
+            Map.entry(Category.ENTERTAINMENT, 8),
+            Map.entry(Category.TRAVEL, 1),
+            Map.entry(Category.EDUCATION, 2),
+            Map.entry(Category.LOANS, 1),
+            Map.entry(Category.SAVINGS, 1),
+            Map.entry(Category.HEALTH, 4),
+            Map.entry(Category.FAMILY, 5),
+            Map.entry(Category.GIFTS, 3),
+            Map.entry(Category.HOME, 5),
+            Map.entry(Category.SUBSCRIPTIONS, 4),
+            Map.entry(Category.OTHER, 10)));
+
+    private final UserRepository userRepository;
+    private final WalletRepository walletRepository;
+    private final TransactionRepository transactionRepository;
+    private final SubscriptionsRepository subscriptionsRepository;
+    private final BudgetRepository budgetRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Category[] weightedCategories;
+
+    LoadTestDataGenerator(UserRepository userRepository, WalletRepository walletRepository,
+                          TransactionRepository transactionRepository, SubscriptionsRepository subscriptionsRepository,
+                          BudgetRepository budgetRepository, TransactionTemplate transactionTemplate) {
+        this.userRepository = userRepository;
+        this.walletRepository = walletRepository;
+        this.transactionRepository = transactionRepository;
+        this.subscriptionsRepository = subscriptionsRepository;
+        this.budgetRepository = budgetRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.weightedCategories = EXPENSE_WEIGHT.entrySet().stream()
+                .flatMap(entry -> Stream.generate(entry::getKey).limit(entry.getValue()))
+                .toArray(Category[]::new);
+    }
+
+    /**
+     * @param meanTransactions average expense count per user over the whole history
+     * @return the created users, each with a primary wallet
+     */
+    List<User> generate(int users, int meanTransactions, int months, long seed) {
+        Random random = new Random(seed);
+        List<User> created = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            int index = i;
+            long userSeed = random.nextLong();
+            created.add(transactionTemplate.execute(status -> createUser(index, meanTransactions, months, new Random(userSeed))));
+        }
+        return created;
+    }
+
+    private User createUser(int index, int meanTransactions, int months, Random random) {
+        LocalDateTime now = LocalDateTime.now();
+        User user = userRepository.save(User.builder()
+                .username("load-user-" + index)
+                .email("load-user-%d@example.com".formatted(index))
+                .firstName("Load")
+                .lastName("User " + index)
+                .password("n/a")
+                .isActive(true)
+                .role(Role.USER)
+                .country(Country.BULGARIA)
+                .userVersion(UserVersion.PRO)
+                .createdOn(now)
+                .updatedOn(now)
+                .monthlyReportEmailEnabled(false)
+                .build());
+
+        Wallet wallet = walletRepository.save(Wallet.builder()
+                .user(user)
+                .name("Default")
+                .currency(Currency.getInstance("BGN"))
+                .income(BigDecimal.ZERO)
+                .expense(BigDecimal.ZERO)
+                .balance(BigDecimal.ZERO)
+                .build());
+        user.setWallet(wallet);
+        userRepository.save(user);
+
+        YearMonth currentMonth = YearMonth.now();
+        YearMonth firstMonth = currentMonth.minusMonths(months - 1L);
+        List<Transaction> transactions = new ArrayList<>();
+
+        BigDecimal salary = logNormal(random, 2400, 0.35);
+        for (YearMonth month = firstMonth; !month.isAfter(currentMonth); month = month.plusMonths(1)) {
+            transactions.add(transaction(wallet, Type.INCOME, Category.OTHER, salary,
+                    month.atDay(1 + random.nextInt(5)).atTime(9, 0), "Salary"));
+        }
+
+        // log-normal per-user volume: most users are light, a few are several times the mean
+        int expenseCount = (int) Math.max(1, Math.round(meanTransactions * Math.exp(random.nextGaussian() * 0.8 - 0.32)));
+        long historyMinutes = Duration.between(firstMonth.atDay(1).atStartOfDay(), now).toMinutes();
+        for (int i = 0; i < expenseCount; i++) {
+            Category category = weightedCategories[random.nextInt(weightedCategories.length)];
+            LocalDateTime date = now.minusMinutes((long) (random.nextDouble() * historyMinutes));
+            transactions.add(transaction(wallet, Type.EXPENSE, category,
+                    logNormal(random, MEDIAN_EXPENSE.get(category), 0.6), date, category.getName().toLowerCase()));
+        }
+        transactionRepository.saveAll(transactions);
+
+        BigDecimal income = BigDecimal.ZERO;
+        BigDecimal expense = BigDecimal.ZERO;
+        for (Transaction t : transactions) {
+            if (t.getType() == Type.INCOME) {
+                income = income.add(t.getAmount());
+            } else {
+                expense = expense.add(t.getAmount());
+            }
+        }
+        wallet.setIncome(income);
+        wallet.setExpense(expense);
+        wallet.setBalance(income.subtract(expense));
+        walletRepository.save(wallet);
+
+        subscriptionsRepository.saveAll(subscriptions(user, random));
+        budgetRepository.saveAll(budgets(user, currentMonth, random));
+        return user;
+    }
+
+    private List<Subscription> subscriptions(User user, Random random) {
+        int count = random.nextInt(7);
+        List<Subscription> subscriptions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Subscription subscription = new Subscription();
+            subscription.setName("Service " + (i + 1));
+            subscription.setPeriod(random.nextInt(5) == 0 ? SubscriptionPeriod.YEARLY : SubscriptionPeriod.MONTHLY);
+            subscription.setType(SubscriptionType.values()[random.nextInt(SubscriptionType.values().length)]);
+            subscription.setPrice(logNormal(random, 11, 0.5));
+            subscription.setExpiryOn(LocalDate.now().plusDays(1 + random.nextInt(30)));
+            if (random.nextBoolean()) {
+                subscription.setPaidDate(LocalDate.now().withDayOfMonth(1));
+            }
+            subscription.setUser(user);
+            subscriptions.add(subscription);
+        }
+        return subscriptions;
+    }
+
+    private List<Budget> budgets(User user, YearMonth month, Random random) {
+        List<Budget> budgets = new ArrayList<>();
+        for (Category category : Category.values()) {
+            if (random.nextInt(3) != 0) {
+                continue;
+            }
+            budgets.add(Budget.builder()
+                    .user(user)
+                    .category(category)
+                    .amount(logNormal(random, MEDIAN_EXPENSE.get(category) * EXPENSE_WEIGHT.get(category), 0.3))
+                    .year(month.getYear())
+                    .month(month.getMonthValue())
+                    .build());
+        }
+        return budgets;
+    }
+
+    private static Transaction transaction(Wallet wallet, Type type, Category category, BigDecimal amount,
+                                           LocalDateTime date, String description) {
+        return Transaction.builder()
+                .wallet(wallet)
+                .type(type)
+                .category(category)
+                .amount(amount)
+                .date(date)
+                .description(description)
+                .build();
+    }
+
+    private static BigDecimal logNormal(Random random, double median, double sigma) {
+        double value = median * Math.exp(random.nextGaussian() * sigma);
+        return BigDecimal.valueOf(Math.max(0.01, value)).setScale(2, RoundingMode.HALF_UP);
+    }
+}
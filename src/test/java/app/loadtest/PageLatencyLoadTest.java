@@ -0,0 +1,209 @@
+package app.loadtest;
+
+import app.budget.repository.BudgetRepository;
+import app.monitoring.QueryStats;
+import app.security.UserData;
+import app.subscription.repository.SubscriptionsRepository;
+import app.transactions.repository.TransactionRepository;
+import app.user.model.User;
+import app.user.repository.UserRepository;
+import app.wallet.repository.WalletRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Drives the main pages at a fixed arrival rate against a generated dataset and reports p50/p95/p99
+ * latency, SQL statements and allocated bytes per request. Requests go through MockMvc, so the full
+ * filter chain, controllers, services and Thymeleaf rendering run, but no socket is involved.
+ * <p>
+ * Tagged {@code load} and excluded from the normal build; run it with {@code mvn -Ploadtest test}.
+ * Size and pace are set with system properties, for example
+ * {@code mvn -Ploadtest test -Dloadtest.users=200 -Dloadtest.transactions=2000 -Dloadtest.rate=50}.
+ * The summary is logged and written to {@code target/loadtest-report.txt}.
+ */
+@Slf4j
+@Tag("load")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=LEGACY",
+        "spring.jpa.properties.hibernate.generate_statistics=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=100",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "logging.level.org.hibernate.type.descriptor=WARN"
+})
+class PageLatencyLoadTest {
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 50);
+    private static final int TRANSACTIONS_PER_USER = Integer.getInteger("loadtest.transactions", 500);
+    private static final int HISTORY_MONTHS = Integer.getInteger("loadtest.months", 12);
+    private static final int RATE_PER_SECOND = Integer.getInteger("loadtest.rate", 25);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration", 30);
+    private static final int THREADS = Integer.getInteger("loadtest.threads", 8);
+    private static final long SEED = Long.getLong("loadtest.seed", 42L);
+
+    private static final Path REPORT = Path.of("target", "loadtest-report.txt");
+
+    // request mix: share of each page in the generated traffic, in percent
+    private static final List<Endpoint> MIX = List.of(
+            new Endpoint("GET /dashboard", 35),
+            new Endpoint("GET /transactions", 25),
+            new Endpoint("GET /budget", 15),
+            new Endpoint("GET /report", 10),
+            new Endpoint("POST /transactions/add", 15));
+
+    private record Endpoint(String name, int weight) {
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private SubscriptionsRepository subscriptionsRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private List<UserData> principals;
+
+    @BeforeAll
+    void generateDataset() {
+        long start = System.nanoTime();
+        List<User> users = new LoadTestDataGenerator(userRepository, walletRepository, transactionRepository,
+                subscriptionsRepository, budgetRepository, transactionTemplate)
+                .generate(USERS, TRANSACTIONS_PER_USER, HISTORY_MONTHS, SEED);
+
+        principals = users.stream()
+                .map(u -> new UserData(u.getId(), u.getUsername(), u.getPassword(), u.getEmail(), u.getRole(), u.isActive()))
+                .toList();
+        log.info("Generated [%d] users with ~[%d] transactions each in [%d] ms"
+                .formatted(USERS, TRANSACTIONS_PER_USER, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+    }
+
+    @Test
+    void pagesStayResponsive_underSteadyArrivalRate() throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder();
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Random random = new Random(SEED);
+
+        int totalRequests = RATE_PER_SECOND * DURATION_SECONDS;
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / RATE_PER_SECOND;
+        ExecutorService workers = Executors.newFixedThreadPool(THREADS);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < totalRequests; i++) {
+            long scheduledAt = start + i * intervalNanos;
+            Endpoint endpoint = pick(random);
+            UserData principal = principals.get(random.nextInt(principals.size()));
+            MockHttpServletRequestBuilder request = request(endpoint, principal, random);
+
+            LockSupport.parkNanos(scheduledAt - System.nanoTime());
+            workers.execute(() -> {
+                long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+                int status;
+                long statements = 0;
+                try {
+                    MvcResult result = mockMvc.perform(request).andReturn();
+                    status = result.getResponse().getStatus();
+                    if (result.getRequest().getAttribute(QueryStats.REQUEST_ATTRIBUTE) instanceof QueryStats stats) {
+                        statements = stats.getStatements();
+                    }
+                } catch (Exception e) {
+                    log.error("Request [%s] failed".formatted(endpoint.name()), e);
+                    status = 500;
+                }
+                recorder.record(endpoint.name(), new LatencyRecorder.Sample(
+                        System.nanoTime() - scheduledAt,
+                        statements,
+                        threads.getCurrentThreadAllocatedBytes() - allocatedBefore,
+                        status));
+            });
+        }
+        workers.shutdown();
+        assertTrue(workers.awaitTermination(5, TimeUnit.MINUTES), "Load test did not drain within 5 minutes");
+
+        String report = recorder.report(System.nanoTime() - start);
+        log.info("Load test summary (%d users, ~%d transactions each, %d req/s for %d s):%n%s"
+                .formatted(USERS, TRANSACTIONS_PER_USER, RATE_PER_SECOND, DURATION_SECONDS, report));
+        writeReport(report);
+
+        assertEquals(0, recorder.serverErrors(), "Server errors during load test, see the summary above");
+    }
+
+    private static Endpoint pick(Random random) {
+        int roll = random.nextInt(100);
+        for (Endpoint endpoint : MIX) {
+            roll -= endpoint.weight();
+            if (roll < 0) {
+                return endpoint;
+            }
+        }
+        return MIX.get(0);
+    }
+
+    private static MockHttpServletRequestBuilder request(Endpoint endpoint, UserData principal, Random random) {
+        return switch (endpoint.name()) {
+            case "GET /dashboard" -> get("/dashboard").with(user(principal));
+            case "GET /transactions" -> get("/transactions").with(user(principal));
+            case "GET /budget" -> get("/budget").with(user(principal));
+            case "GET /report" -> get("/report").with(user(principal));
+            case "POST /transactions/add" -> post("/transactions/add")
+                    .with(user(principal))
+                    .with(csrf())
+                    .param("amount", "%d.%02d".formatted(1 + random.nextInt(80), random.nextInt(100)))
+                    .param("date", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+                    .param("type", "EXPENSE")
+                    .param("category", "FOOD")
+                    .param("description", "load test");
+            default -> throw new IllegalArgumentException("Unknown endpoint " + endpoint.name());
+        };
+    }
+
+    private static void writeReport(String report) throws IOException {
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, report);
+    }
+}
@@ -0,0 +1,54 @@
+package app.monitoring;
+
+import org.junit.jupiter.api.function.ThrowingSupplier;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Query-count assertions for tests that run against the real DataSource ({@code @SpringBootTest}).
+ * Pinning a ceiling per page turns an accidental eager fetch or an N+1 into a failing build:
+ * <pre>{@code
+ * mockMvc.perform(get("/dashboard").with(user(principal)))
+ *         .andExpect(QueryCount.atMost(6));
+ *
+ * QueryCount.assertAtMost(2, () -> walletService.getOverview(userId, currency));
+ * }</pre>
+ * Flush and clear the persistence context before the measured call, otherwise pending inserts from the
+ * test's own setup are counted and cached entities hide lazy loads.
+ */
+public final class QueryCount {
+
+    private QueryCount() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /** Fails the MockMvc result if the request executed more than {@code maxStatements} statements. */
+    public static ResultMatcher atMost(long maxStatements) {
+        return result -> {
+            QueryStats stats = (QueryStats) result.getRequest().getAttribute(QueryStats.REQUEST_ATTRIBUTE);
+            assertNotNull(stats, "No query stats on the request; is QueryMetricsFilter registered?");
+            assertAtMost(maxStatements, stats);
+        };
+    }
+
+    /** Runs {@code work} in its own scope and fails if it executed more than {@code maxStatements} statements. */
+    public static <T> T assertAtMost(long maxStatements, ThrowingSupplier<T> work) throws Throwable {
+        T result;
+        QueryStats stats = QueryStats.start();
+        try {
+            result = work.get();
+        } finally {
+            stats.close();
+        }
+        assertAtMost(maxStatements, stats);
+        return result;
+    }
+
+    private static void assertAtMost(long maxStatements, QueryStats stats) {
+        assertTrue(stats.getStatements() <= maxStatements,
+                "Expected at most %d statements but %d ran (%s), most repeated: %s"
+                        .formatted(maxStatements, stats.getStatements(), stats, stats.getMostRepeatedSql()));
+    }
+}
@@ -0,0 +1,115 @@
+package app.monitoring;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCountingDataSourceUTest {
+
+    private QueryCountingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:query-counting;DB_CLOSE_DELAY=-1");
+        dataSource = new QueryCountingDataSource(h2);
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists item");
+            statement.execute("create table item (id int primary key)");
+            statement.execute("insert into item values (1), (2), (3)");
+        }
+    }
+
+    @Test
+    void should_CountStatementsAndRows_When_ScopeIsOpen() throws Exception {
+        QueryStats stats = QueryStats.start();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("select id from item where id <= ?")) {
+            statement.setInt(1, 2);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    resultSet.getInt(1);
+                }
+            }
+        } finally {
+            stats.close();
+        }
+
+        assertEquals(1, stats.getStatements());
+        assertEquals(2, stats.getRows());
+        assertTrue(stats.getNanos() > 0);
+    }
+
+    @Test
+    void should_ReportMostRepeatedStatement_When_SameSqlRunsInLoop() throws Exception {
+        QueryStats stats = QueryStats.start();
+        try (Connection connection = dataSource.getConnection()) {
+            for (int id = 1; id <= 3; id++) {
+                try (PreparedStatement statement = connection.prepareStatement("select id from item where id = ?")) {
+                    statement.setInt(1, id);
+                    statement.executeQuery().close();
+                }
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.executeQuery("select count(*) from item").close();
+            }
+        } finally {
+            stats.close();
+        }
+
+        assertEquals(4, stats.getStatements());
+        assertEquals(3, stats.getMaxRepeats());
+        assertEquals("select id from item where id = ?", stats.getMostRepeatedSql());
+    }
+
+    @Test
+    void should_NotCount_When_NoScopeIsOpen() throws Exception {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeQuery("select id from item").close();
+        }
+
+        QueryStats stats = QueryStats.start();
+        stats.close();
+
+        assertEquals(0, stats.getStatements());
+        assertNull(QueryStats.current());
+    }
+
+    @Test
+    void should_RestoreOuterScope_When_InnerScopeCloses() throws Exception {
+        QueryStats outer = QueryStats.start();
+        QueryStats inner = QueryStats.start();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeQuery("select id from item").close();
+            inner.close();
+            assertSame(outer, QueryStats.current());
+            statement.executeQuery("select id from item").close();
+        } finally {
+            outer.close();
+        }
+
+        assertEquals(1, inner.getStatements());
+        assertEquals(1, outer.getStatements());
+        assertNull(QueryStats.current());
+    }
+
+    @Test
+    void should_UseIdentityEquality_When_ProxiesAreUsedAsMapKeys() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement first = connection.createStatement();
+             Statement second = connection.createStatement()) {
+            assertEquals(first, first);
+            assertNotEquals(first, second);
+            assertEquals(System.identityHashCode(first), first.hashCode());
+            assertTrue(connection.isWrapperFor(org.h2.jdbc.JdbcConnection.class));
+        }
+    }
+}
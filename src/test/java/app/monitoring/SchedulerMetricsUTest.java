@@ -0,0 +1,45 @@
+package app.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SchedulerMetricsUTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SchedulerMetrics schedulerMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        schedulerMetrics = new SchedulerMetrics(meterRegistry);
+    }
+
+    @Test
+    void should_RecordItemsAndSuccessfulRun_When_RunSucceeds() {
+        SchedulerMetrics.Run run = schedulerMetrics.start("monthly-report");
+        run.processed();
+        run.processed(2);
+        run.skipped();
+        run.itemFailed();
+        run.succeeded();
+
+        assertEquals(3.0, meterRegistry.get("scheduler.items").tags("job", "monthly-report", "result", "processed").counter().count());
+        assertEquals(1.0, meterRegistry.get("scheduler.items").tags("job", "monthly-report", "result", "skipped").counter().count());
+        assertEquals(1.0, meterRegistry.get("scheduler.items").tags("job", "monthly-report", "result", "failed").counter().count());
+        assertEquals(1, meterRegistry.get("scheduler.run").tags("job", "monthly-report", "outcome", "success").timer().count());
+    }
+
+    @Test
+    void should_RecordRunOnlyOnce_When_FinishedTwice() {
+        SchedulerMetrics.Run run = schedulerMetrics.start("notification-outbox");
+        run.failed();
+        run.succeeded();
+
+        assertEquals(1, meterRegistry.get("scheduler.run").tags("job", "notification-outbox", "outcome", "failure").timer().count());
+        assertNull(meterRegistry.find("scheduler.run").tags("outcome", "success").timer());
+    }
+}
@@ -0,0 +1,58 @@
+package app.notification.client.config;
+
+import feign.Request;
+import feign.RequestTemplate;
+import feign.RetryableException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JitteredRetryerUTest {
+
+    @Test
+    void should_RetryIdempotentRequest_UntilMaxAttemptsReached() {
+        JitteredRetryer retryer = new JitteredRetryer(3, 1, 2);
+        RetryableException exception = retryableException(Request.HttpMethod.GET);
+
+        assertDoesNotThrow(() -> retryer.continueOrPropagate(exception));
+        assertDoesNotThrow(() -> retryer.continueOrPropagate(exception));
+        assertThrows(RetryableException.class, () -> retryer.continueOrPropagate(exception));
+    }
+
+    @Test
+    void should_PropagateImmediately_When_RequestIsNotIdempotent() {
+        JitteredRetryer retryer = new JitteredRetryer(3, 1, 2);
+        RetryableException exception = retryableException(Request.HttpMethod.POST);
+
+        assertThrows(RetryableException.class, () -> retryer.continueOrPropagate(exception));
+    }
+
+    @Test
+    void should_KeepBackoffWithinMaxBackoff() {
+        JitteredRetryer retryer = new JitteredRetryer(10, 50, 200);
+
+        for (int i = 0; i < 100; i++) {
+            long backoff = retryer.nextBackoffMillis(null);
+            assertTrue(backoff >= 0 && backoff <= 200);
+        }
+    }
+
+    @Test
+    void should_StartFromFreshAttemptCounter_When_Cloned() {
+        JitteredRetryer retryer = new JitteredRetryer(2, 1, 2);
+        RetryableException exception = retryableException(Request.HttpMethod.GET);
+
+        assertDoesNotThrow(() -> retryer.continueOrPropagate(exception));
+        assertThrows(RetryableException.class, () -> retryer.continueOrPropagate(exception));
+        assertDoesNotThrow(() -> retryer.clone().continueOrPropagate(exception));
+    }
+
+    private RetryableException retryableException(Request.HttpMethod method) {
+        Request request = Request.create(method, "http://localhost:9091/api/v1/preferences",
+                Collections.emptyMap(), null, StandardCharsets.UTF_8, new RequestTemplate());
+        return new RetryableException(503, "Service Unavailable", method, (Long) null, request);
+    }
+}
@@ -0,0 +1,115 @@
+package app.notification.service;
+
+import app.notification.model.NotificationOutbox;
+import app.notification.model.OutboxMessageType;
+import app.notification.model.OutboxStatus;
+import app.notification.repository.NotificationOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = "notification.outbox.batch-size=2")
+@Transactional
+class NotificationOutboxServiceITest {
+
+    @Autowired
+    private NotificationOutboxService notificationOutboxService;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void should_DeliverNewerDueMessages_When_OldestMessagesAreBackingOff() {
+        LocalDateTime now = LocalDateTime.now();
+        UUID backingOff = UUID.randomUUID();
+        UUID healthy = UUID.randomUUID();
+        // a full page of older messages, all waiting for their retry
+        NotificationOutbox held = save(backingOff, "held", now.minusMinutes(10), now.plusMinutes(5));
+        save(UUID.randomUUID(), "held too", now.minusMinutes(9), now.plusMinutes(5));
+        NotificationOutbox queuedBehind = save(backingOff, "queued behind", now.minusMinutes(8), now.minusMinutes(8));
+        NotificationOutbox due = save(healthy, "due", now.minusMinutes(7), now.minusMinutes(7));
+
+        int delivered = notificationOutboxService.relayPendingBatch();
+
+        assertEquals(1, delivered);
+        assertEquals(OutboxStatus.SENT, due.getStatus());
+        assertEquals(OutboxStatus.PENDING, queuedBehind.getStatus());
+        assertEquals(OutboxStatus.PENDING, held.getStatus());
+        verify(notificationService).send(healthy, "due", "Body");
+        verify(notificationService, never()).send(eq(backingOff), any(), any());
+    }
+
+    @Test
+    void should_RejectSecondPendingMessage_When_DedupKeyIsAlreadyPending() {
+        UUID userId = UUID.randomUUID();
+        notificationOutboxService.enqueueNotification(userId, "Report", "Body", "report:1");
+        NotificationOutbox racing = NotificationOutbox.builder()
+                .type(OutboxMessageType.NOTIFICATION)
+                .userId(userId)
+                .subject("Report")
+                .body("Body")
+                .dedupKey("report:1")
+                .pendingDedupKey("report:1")
+                .status(OutboxStatus.PENDING)
+                .nextAttemptAt(LocalDateTime.now())
+                .createdOn(LocalDateTime.now())
+                .build();
+
+        assertThrows(DataIntegrityViolationException.class, () -> outboxRepository.saveAndFlush(racing));
+    }
+
+    @Test
+    void should_QueueDedupKeyAgain_When_EarlierMessageWasSent() {
+        UUID userId = UUID.randomUUID();
+        notificationOutboxService.enqueueNotification(userId, "Report", "Body", "report:1");
+        notificationOutboxService.relayPendingBatch();
+
+        notificationOutboxService.enqueueNotification(userId, "Report", "Body", "report:1");
+        outboxRepository.flush();
+
+        assertEquals(2, outboxRepository.count());
+        assertTrue(outboxRepository.existsByPendingDedupKey("report:1"));
+    }
+
+    @Test
+    void should_ClaimMessageOnce_When_TwoRelaysFetchedIt() {
+        LocalDateTime now = LocalDateTime.now();
+        NotificationOutbox message = save(UUID.randomUUID(), "due", now.minusMinutes(1), now.minusMinutes(1));
+        outboxRepository.flush();
+
+        assertEquals(1, outboxRepository.claim(message.getId(), now, now.plusMinutes(5)));
+        assertEquals(0, outboxRepository.claim(message.getId(), now, now.plusMinutes(5)));
+        assertTrue(outboxRepository.findDuePending(now, PageRequest.of(0, 10)).isEmpty());
+    }
+
+    private NotificationOutbox save(UUID userId, String subject, LocalDateTime createdOn, LocalDateTime nextAttemptAt) {
+        return outboxRepository.save(NotificationOutbox.builder()
+                .type(OutboxMessageType.NOTIFICATION)
+                .userId(userId)
+                .subject(subject)
+                .body("Body")
+                .status(OutboxStatus.PENDING)
+                .nextAttemptAt(nextAttemptAt)
+                .createdOn(createdOn)
+                .build());
+    }
+}
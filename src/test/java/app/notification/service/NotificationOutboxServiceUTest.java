@@ -0,0 +1,191 @@
+package app.notification.service;
+
+import app.exception.NotificationRetryFailedException;
+import app.notification.model.NotificationOutbox;
+import app.notification.model.OutboxMessageType;
+import app.notification.model.OutboxStatus;
+import app.notification.repository.NotificationOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxServiceUTest {
+
+    @Mock
+    private NotificationOutboxRepository outboxRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    private NotificationOutboxService notificationOutboxService;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        notificationOutboxService = new NotificationOutboxService(outboxRepository, notificationService, 50, 3, 5, 300);
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    void should_SavePendingPreferenceUpsert_When_Enqueued() {
+        notificationOutboxService.enqueuePreferenceUpsert(userId, true, "test@example.com");
+
+        ArgumentCaptor<NotificationOutbox> captor = ArgumentCaptor.forClass(NotificationOutbox.class);
+        verify(outboxRepository).save(captor.capture());
+        NotificationOutbox saved = captor.getValue();
+        assertEquals(OutboxMessageType.PREFERENCE_UPSERT, saved.getType());
+        assertEquals(OutboxStatus.PENDING, saved.getStatus());
+        assertEquals(userId, saved.getUserId());
+        assertTrue(saved.isNotificationEnabled());
+        assertEquals("test@example.com", saved.getContactInfo());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void should_SkipNotification_When_SameDedupKeyIsAlreadyPending() {
+        when(outboxRepository.existsByPendingDedupKey("report:1")).thenReturn(true);
+
+        notificationOutboxService.enqueueNotification(userId, "Subject", "Body", "report:1");
+
+        verify(outboxRepository, never()).save(any());
+    }
+
+    @Test
+    void should_QueueNotificationUnderPendingDedupKey_When_KeyIsNotPending() {
+        notificationOutboxService.enqueueNotification(userId, "Subject", "Body", "report:1");
+
+        ArgumentCaptor<NotificationOutbox> captor = ArgumentCaptor.forClass(NotificationOutbox.class);
+        verify(outboxRepository).save(captor.capture());
+        assertEquals("report:1", captor.getValue().getDedupKey());
+        assertEquals("report:1", captor.getValue().getPendingDedupKey());
+    }
+
+    @Test
+    void should_MarkMessageSent_When_DeliverySucceeds() {
+        NotificationOutbox message = pending(OutboxMessageType.NOTIFICATION, userId, LocalDateTime.now().minusSeconds(1));
+        when(outboxRepository.findDuePending(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(message));
+        when(outboxRepository.claim(any(UUID.class), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(1);
+
+        int delivered = notificationOutboxService.relayPendingBatch();
+
+        assertEquals(1, delivered);
+        assertEquals(OutboxStatus.SENT, message.getStatus());
+        assertEquals(1, message.getAttempts());
+        assertNotNull(message.getSentOn());
+        assertNull(message.getPendingDedupKey());
+        verify(notificationService).send(userId, "Subject", "Body");
+        verify(outboxRepository).save(message);
+    }
+
+    @Test
+    void should_ScheduleRetryAndHoldLaterMessagesOfSameUser_When_DeliveryFails() {
+        UUID otherUserId = UUID.randomUUID();
+        NotificationOutbox first = pending(OutboxMessageType.PREFERENCE_UPSERT, userId, LocalDateTime.now().minusSeconds(1));
+        NotificationOutbox second = pending(OutboxMessageType.NOTIFICATION, userId, LocalDateTime.now().minusSeconds(1));
+        NotificationOutbox other = pending(OutboxMessageType.NOTIFICATION, otherUserId, LocalDateTime.now().minusSeconds(1));
+        when(outboxRepository.findDuePending(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(first, second, other));
+        when(outboxRepository.claim(any(UUID.class), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(1);
+        doThrow(new NotificationRetryFailedException("down", null))
+                .when(notificationService).upsertPreference(userId, false, null);
+
+        int delivered = notificationOutboxService.relayPendingBatch();
+
+        assertEquals(1, delivered);
+        assertEquals(OutboxStatus.PENDING, first.getStatus());
+        assertEquals(1, first.getAttempts());
+        assertEquals("down", first.getLastError());
+        assertTrue(first.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertEquals(OutboxStatus.PENDING, second.getStatus());
+        assertEquals(OutboxStatus.SENT, other.getStatus());
+        verify(notificationService, never()).send(eq(userId), any(), any());
+        verify(notificationService).send(otherUserId, "Subject", "Body");
+    }
+
+    @Test
+    void should_MarkMessageFailed_When_MaxAttemptsReached() {
+        NotificationOutbox message = pending(OutboxMessageType.NOTIFICATION, userId, LocalDateTime.now().minusSeconds(1));
+        message.setAttempts(2);
+        when(outboxRepository.findDuePending(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(message));
+        when(outboxRepository.claim(any(UUID.class), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(1);
+        doThrow(new NotificationRetryFailedException("down", null))
+                .when(notificationService).send(userId, "Subject", "Body");
+
+        notificationOutboxService.relayPendingBatch();
+
+        assertEquals(OutboxStatus.FAILED, message.getStatus());
+        assertEquals(3, message.getAttempts());
+        assertNull(message.getPendingDedupKey());
+    }
+
+    @Test
+    void should_SkipMessageAndHoldLaterMessagesOfSameUser_When_AnotherRelayClaimedIt() {
+        UUID otherUserId = UUID.randomUUID();
+        NotificationOutbox claimed = pending(OutboxMessageType.NOTIFICATION, userId, LocalDateTime.now().minusSeconds(1));
+        NotificationOutbox second = pending(OutboxMessageType.NOTIFICATION, userId, LocalDateTime.now().minusSeconds(1));
+        NotificationOutbox other = pending(OutboxMessageType.NOTIFICATION, otherUserId, LocalDateTime.now().minusSeconds(1));
+        when(outboxRepository.findDuePending(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(claimed, second, other));
+        when(outboxRepository.claim(eq(claimed.getId()), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(0);
+        when(outboxRepository.claim(eq(other.getId()), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(1);
+
+        int delivered = notificationOutboxService.relayPendingBatch();
+
+        assertEquals(1, delivered);
+        assertEquals(OutboxStatus.PENDING, claimed.getStatus());
+        assertEquals(0, claimed.getAttempts());
+        verify(outboxRepository, never()).claim(eq(second.getId()), any(), any());
+        verify(outboxRepository, never()).save(claimed);
+        verify(notificationService, never()).send(eq(userId), any(), any());
+        verify(notificationService).send(otherUserId, "Subject", "Body");
+    }
+
+    @Test
+    void should_CountAttempt_When_DeliveryThrowsUnexpectedException() {
+        NotificationOutbox message = pending(OutboxMessageType.NOTIFICATION, userId, LocalDateTime.now().minusSeconds(1));
+        when(outboxRepository.findDuePending(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(message));
+        when(outboxRepository.claim(any(UUID.class), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(1);
+        doThrow(new IllegalStateException("bad payload"))
+                .when(notificationService).send(userId, "Subject", "Body");
+
+        int delivered = notificationOutboxService.relayPendingBatch();
+
+        assertEquals(0, delivered);
+        assertEquals(OutboxStatus.PENDING, message.getStatus());
+        assertEquals(1, message.getAttempts());
+        assertEquals("IllegalStateException: bad payload", message.getLastError());
+        assertTrue(message.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        verify(outboxRepository).save(message);
+    }
+
+    private NotificationOutbox pending(OutboxMessageType type, UUID userId, LocalDateTime nextAttemptAt) {
+        return NotificationOutbox.builder()
+                .id(UUID.randomUUID())
+                .type(type)
+                .userId(userId)
+                .subject("Subject")
+                .body("Body")
+                .dedupKey("report:" + UUID.randomUUID())
+                .pendingDedupKey("report:" + UUID.randomUUID())
+                .status(OutboxStatus.PENDING)
+                .nextAttemptAt(nextAttemptAt)
+                .createdOn(LocalDateTime.now().minusMinutes(1))
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package app.notification.service;
+
+import app.notification.client.NotificationClient;
+import app.notification.client.dto.PreferenceResponse;
+import app.notification.client.dto.UpsertPreferenceRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+class NotificationServiceITest {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private NotificationClient notificationClient;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        cacheManager.getCache(NotificationService.PREFERENCES_CACHE).clear();
+    }
+
+    @Test
+    void should_ServePreferenceFromCache_When_RequestedTwice() {
+        PreferenceResponse preference = PreferenceResponse.builder().notificationEnabled(true).contactInfo("test@example.com").build();
+        when(notificationClient.getPreferences(userId)).thenReturn(ResponseEntity.ok(preference));
+
+        PreferenceResponse first = notificationService.getPreferenceByUserId(userId);
+        PreferenceResponse second = notificationService.getPreferenceByUserId(userId);
+
+        assertEquals(preference, first);
+        assertEquals(preference, second);
+        verify(notificationClient, times(1)).getPreferences(userId);
+    }
+
+    @Test
+    void should_ReloadPreference_When_PreferenceWasUpserted() {
+        PreferenceResponse preference = PreferenceResponse.builder().notificationEnabled(false).build();
+        when(notificationClient.getPreferences(userId)).thenReturn(ResponseEntity.ok(preference));
+        when(notificationClient.upsertPreference(any(UpsertPreferenceRequest.class))).thenReturn(ResponseEntity.ok().build());
+
+        notificationService.getPreferenceByUserId(userId);
+        notificationService.upsertPreference(userId, true, "test@example.com");
+        notificationService.getPreferenceByUserId(userId);
+
+        verify(notificationClient, times(2)).getPreferences(userId);
+    }
+
+    @Test
+    void should_NotCachePreference_When_ServiceReturnsNoBody() {
+        when(notificationClient.getPreferences(userId)).thenReturn(ResponseEntity.ok().build());
+
+        assertNull(notificationService.getPreferenceByUserId(userId));
+        assertNull(notificationService.getPreferenceByUserId(userId));
+
+        verify(notificationClient, times(2)).getPreferences(userId);
+    }
+}
@@ -14,6 +14,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import java.time.LocalDateTime;
@@ -82,6 +83,15 @@ class NotificationServiceUTest {
         verify(notificationClient).upsertPreference(any(UpsertPreferenceRequest.class));
     }
 
+    @Test
+    void should_ThrowNotificationRetryFailedException_When_UpsertFallsBackWithServiceUnavailable() {
+        when(notificationClient.upsertPreference(any(UpsertPreferenceRequest.class)))
+                .thenReturn(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+
+        assertThrows(NotificationRetryFailedException.class,
+                () -> notificationService.upsertPreference(userId, true, "test@example.com"));
+    }
+
     @Test
     void should_ReturnPreferenceResponse_When_UserIdExists() {
         ResponseEntity<PreferenceResponse> responseEntity = ResponseEntity.ok(preferenceResponse);
@@ -120,13 +130,13 @@ class NotificationServiceUTest {
         );
 
         ResponseEntity<List<NotificationsResponse>> responseEntity = ResponseEntity.ok(notifications);
-        when(notificationClient.getNotifications(userId)).thenReturn(responseEntity);
+        when(notificationClient.getNotifications(userId, 5)).thenReturn(responseEntity);
 
         List<NotificationsResponse> result = notificationService.getUserLastNotifications(userId);
 
         assertNotNull(result);
         assertEquals(5, result.size());
-        verify(notificationClient).getNotifications(userId);
+        verify(notificationClient).getNotifications(userId, 5);
     }
 
     @Test
@@ -137,25 +147,25 @@ class NotificationServiceUTest {
         );
 
         ResponseEntity<List<NotificationsResponse>> responseEntity = ResponseEntity.ok(notifications);
-        when(notificationClient.getNotifications(userId)).thenReturn(responseEntity);
+        when(notificationClient.getNotifications(userId, 5)).thenReturn(responseEntity);
 
         List<NotificationsResponse> result = notificationService.getUserLastNotifications(userId);
 
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(notificationClient).getNotifications(userId);
+        verify(notificationClient).getNotifications(userId, 5);
     }
 
     @Test
     void should_ReturnEmptyList_When_ResponseBodyIsNull() {
         ResponseEntity<List<NotificationsResponse>> responseEntity = ResponseEntity.ok(null);
-        when(notificationClient.getNotifications(userId)).thenReturn(responseEntity);
+        when(notificationClient.getNotifications(userId, 5)).thenReturn(responseEntity);
 
         List<NotificationsResponse> result = notificationService.getUserLastNotifications(userId);
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(notificationClient).getNotifications(userId);
+        verify(notificationClient).getNotifications(userId, 5);
     }
 
     @Test
@@ -191,6 +201,15 @@ class NotificationServiceUTest {
         verify(notificationClient).sendNotification(any(NotificationRequest.class));
     }
 
+    @Test
+    void should_ThrowNotificationRetryFailedException_When_SendFallsBackWithServiceUnavailable() {
+        when(notificationClient.sendNotification(any(NotificationRequest.class)))
+                .thenReturn(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+
+        assertThrows(NotificationRetryFailedException.class,
+                () -> notificationService.send(userId, "Test Subject", "Test Body"));
+    }
+
     @Test
     void should_UpsertPreferenceWithDisabledNotifications_When_NotificationEnabledIsFalse() {
         when(notificationClient.upsertPreference(any(UpsertPreferenceRequest.class)))
@@ -0,0 +1,141 @@
+package app.recurring.service;
+
+import app.recurring.model.Cadence;
+import app.recurring.model.RecurringTransaction;
+import app.recurring.repository.RecurringTransactionRepository;
+import app.transactions.model.Category;
+import app.transactions.model.Type;
+import app.transactions.repository.TransactionRepository;
+import app.user.model.Country;
+import app.user.model.Role;
+import app.user.model.User;
+import app.user.model.UserVersion;
+import app.user.repository.UserRepository;
+import app.wallet.model.Wallet;
+import app.wallet.repository.WalletRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class RecurringTransactionServiceITest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 5, 10);
+
+    @Autowired
+    private RecurringTransactionService recurringTransactionService;
+
+    @Autowired
+    private RecurringTransactionRepository recurringTransactionRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Wallet testWallet;
+    private RecurringTransaction salary;
+    private RecurringTransaction rent;
+
+    @BeforeEach
+    void setUp() {
+        User testUser = userRepository.save(User.builder()
+                .username("recurringuser")
+                .email("recurring@example.com")
+                .password("password123")
+                .isActive(true)
+                .role(Role.USER)
+                .country(Country.BULGARIA)
+                .userVersion(UserVersion.BASIC)
+                .createdOn(LocalDateTime.now())
+                .updatedOn(LocalDateTime.now())
+                .build());
+
+        testWallet = walletRepository.save(Wallet.builder()
+                .user(testUser)
+                .name("Default")
+                .income(BigDecimal.ZERO)
+                .expense(BigDecimal.ZERO)
+                .balance(BigDecimal.ZERO)
+                .currency(Currency.getInstance("EUR"))
+                .build());
+
+        salary = recurringTransactionRepository.save(template(Type.INCOME, Category.OTHER, "2000", LocalDate.of(2025, 3, 1)));
+        rent = recurringTransactionRepository.save(template(Type.EXPENSE, Category.HOUSING, "800", LocalDate.of(2025, 3, 5)));
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void should_MaterialiseMissedOccurrencesOnce_When_RunTwice() {
+        assertNull(recurringTransactionService.materialiseDue(TODAY, RecurringTransactionService.SCAN_START));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertNull(recurringTransactionService.materialiseDue(TODAY, RecurringTransactionService.SCAN_START));
+        entityManager.flush();
+        entityManager.clear();
+
+        // March, April and May for both schedules
+        assertEquals(6, transactionRepository.count());
+
+        Wallet wallet = walletRepository.findById(testWallet.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("6000").compareTo(wallet.getIncome()));
+        assertEquals(0, new BigDecimal("2400").compareTo(wallet.getExpense()));
+        assertEquals(0, new BigDecimal("3600").compareTo(wallet.getBalance()));
+
+        RecurringTransaction advancedRent = recurringTransactionRepository.findById(rent.getId()).orElseThrow();
+        assertEquals(3, advancedRent.getNextIndex());
+        assertEquals(LocalDate.of(2025, 6, 5), advancedRent.getNextOccurrence());
+        assertEquals(LocalDate.of(2025, 6, 1),
+                recurringTransactionRepository.findById(salary.getId()).orElseThrow().getNextOccurrence());
+    }
+
+    @Test
+    void should_SkipInactiveTemplates_When_Materialising() {
+        RecurringTransaction stopped = recurringTransactionRepository.findById(rent.getId()).orElseThrow();
+        stopped.setActive(false);
+        entityManager.flush();
+        entityManager.clear();
+
+        recurringTransactionService.materialiseDue(TODAY, RecurringTransactionService.SCAN_START);
+        entityManager.flush();
+
+        assertEquals(3, transactionRepository.count());
+        assertEquals(1, recurringTransactionService.getActiveForUser(testWallet.getUser().getId()).size());
+    }
+
+    private RecurringTransaction template(Type type, Category category, String amount, LocalDate start) {
+        return RecurringTransaction.builder()
+                .amount(new BigDecimal(amount))
+                .type(type)
+                .category(category)
+                .description(category.getName())
+                .cadence(Cadence.MONTHLY)
+                .startDate(start)
+                .nextIndex(0)
+                .nextOccurrence(start)
+                .createdOn(LocalDateTime.now())
+                .wallet(testWallet)
+                .build();
+    }
+}
@@ -0,0 +1,207 @@
+package app.recurring.service;
+
+import app.exception.CustomException;
+import app.recurring.model.Cadence;
+import app.recurring.model.RecurringTransaction;
+import app.recurring.repository.RecurringTransactionRepository;
+import app.transactions.model.Category;
+import app.transactions.model.Transaction;
+import app.transactions.model.Type;
+import app.transactions.service.TransactionService;
+import app.user.model.User;
+import app.wallet.model.Wallet;
+import app.wallet.repository.WalletRepository;
+import app.web.dto.RecurringTransactionDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecurringTransactionServiceUTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 5, 10);
+
+    @Mock
+    private RecurringTransactionRepository recurringTransactionRepository;
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @InjectMocks
+    private RecurringTransactionService recurringTransactionService;
+
+    private UUID userId;
+    private Wallet wallet;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        User user = User.builder().id(userId).username("testuser").build();
+        wallet = Wallet.builder()
+                .id(UUID.randomUUID())
+                .balance(new BigDecimal("1000.00"))
+                .user(user)
+                .build();
+    }
+
+    @Test
+    void should_GenerateAllMissedOccurrencesFromAnchor_When_CatchingUp() {
+        RecurringTransaction rent = template(Cadence.MONTHLY, LocalDate.of(2025, 1, 31), null);
+        when(recurringTransactionRepository.findDueForMaterialisation(eq(TODAY), eq(RecurringTransactionService.SCAN_START), any()))
+                .thenReturn(List.of(rent));
+        when(transactionService.bookOccurrences(anyList()))
+                .thenAnswer(invocation -> keysOf(invocation.getArgument(0)));
+
+        UUID cursor = recurringTransactionService.materialiseDue(TODAY, RecurringTransactionService.SCAN_START);
+
+        ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
+        verify(transactionService).bookOccurrences(captor.capture());
+        assertEquals(List.of(
+                        LocalDate.of(2025, 1, 31), LocalDate.of(2025, 2, 28),
+                        LocalDate.of(2025, 3, 31), LocalDate.of(2025, 4, 30)),
+                captor.getValue().stream().map(t -> t.getDate().toLocalDate()).toList());
+        assertTrue(captor.getValue().stream().allMatch(t -> t.getCategory() == Category.HOUSING));
+
+        assertEquals(4, rent.getNextIndex());
+        assertEquals(LocalDate.of(2025, 5, 31), rent.getNextOccurrence());
+        assertTrue(rent.isActive());
+        assertNull(cursor);
+        verify(recurringTransactionRepository).saveAll(List.of(rent));
+    }
+
+    @Test
+    void should_StopAtFirstUnsettledOccurrence_When_WalletCannotCoverAll() {
+        RecurringTransaction rent = template(Cadence.MONTHLY, LocalDate.of(2025, 3, 1), null);
+        when(recurringTransactionRepository.findDueForMaterialisation(eq(TODAY), eq(RecurringTransactionService.SCAN_START), any()))
+                .thenReturn(List.of(rent));
+        when(transactionService.bookOccurrences(anyList()))
+                .thenReturn(Set.of("recurring:%s:2025-03-01".formatted(rent.getId())));
+
+        recurringTransactionService.materialiseDue(TODAY, RecurringTransactionService.SCAN_START);
+
+        assertEquals(1, rent.getNextIndex());
+        assertEquals(LocalDate.of(2025, 4, 1), rent.getNextOccurrence());
+    }
+
+    @Test
+    void should_DeactivateTemplate_When_EndDateIsPassed() {
+        RecurringTransaction gym = template(Cadence.WEEKLY, LocalDate.of(2025, 4, 20), LocalDate.of(2025, 5, 4));
+        when(recurringTransactionRepository.findDueForMaterialisation(eq(TODAY), eq(RecurringTransactionService.SCAN_START), any()))
+                .thenReturn(List.of(gym));
+        when(transactionService.bookOccurrences(anyList()))
+                .thenAnswer(invocation -> keysOf(invocation.getArgument(0)));
+
+        recurringTransactionService.materialiseDue(TODAY, RecurringTransactionService.SCAN_START);
+
+        assertEquals(3, gym.getNextIndex());
+        assertFalse(gym.isActive());
+    }
+
+    @Test
+    void should_EndPageAtTemplateReachingCap_When_OccurrencesExceedPageLimit() {
+        // 20 daily schedules with a year of backlog each: 400 occurrences per template, 8000 in the page
+        List<RecurringTransaction> due = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            due.add(template(Cadence.DAILY, TODAY.minusYears(2), null));
+        }
+        when(recurringTransactionRepository.findDueForMaterialisation(eq(TODAY), eq(RecurringTransactionService.SCAN_START), any()))
+                .thenReturn(due);
+        when(transactionService.bookOccurrences(anyList()))
+                .thenAnswer(invocation -> keysOf(invocation.getArgument(0)));
+
+        UUID cursor = recurringTransactionService.materialiseDue(TODAY, RecurringTransactionService.SCAN_START);
+
+        ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
+        verify(transactionService).bookOccurrences(captor.capture());
+        assertEquals(5_000, captor.getValue().size());
+        // twelve full templates, the thirteenth cut short; the next page starts after it
+        assertEquals(due.get(12).getId(), cursor);
+        assertEquals(400, due.get(11).getNextIndex());
+        assertEquals(200, due.get(12).getNextIndex());
+        assertEquals(0, due.get(13).getNextIndex());
+        verify(recurringTransactionRepository).saveAll(due.subList(0, 13));
+    }
+
+    @Test
+    void should_RejectSchedule_When_EndDateBeforeStart() {
+        RecurringTransactionDto dto = RecurringTransactionDto.builder()
+                .amount(new BigDecimal("10.00"))
+                .type(Type.EXPENSE)
+                .category(Category.FOOD)
+                .cadence(Cadence.DAILY)
+                .startDate(LocalDate.of(2025, 5, 1))
+                .endDate(LocalDate.of(2025, 4, 1))
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> recurringTransactionService.create(userId, dto));
+
+        verifyNoInteractions(walletRepository, recurringTransactionRepository);
+    }
+
+    @Test
+    void should_ThrowCustomException_When_WalletNotFoundOnCreate() {
+        RecurringTransactionDto dto = RecurringTransactionDto.builder()
+                .amount(new BigDecimal("10.00"))
+                .type(Type.EXPENSE)
+                .category(Category.FOOD)
+                .cadence(Cadence.DAILY)
+                .startDate(LocalDate.now().plusDays(1))
+                .build();
+        when(walletRepository.findPrimaryByUserId(userId)).thenReturn(Optional.empty());
+
+        assertThrows(CustomException.class, () -> recurringTransactionService.create(userId, dto));
+    }
+
+    @Test
+    void should_ThrowSecurityException_When_DifferentUserStopsSchedule() {
+        RecurringTransaction rent = template(Cadence.MONTHLY, LocalDate.of(2025, 1, 1), null);
+        when(recurringTransactionRepository.findById(rent.getId())).thenReturn(Optional.of(rent));
+
+        assertThrows(SecurityException.class,
+                () -> recurringTransactionService.deactivate(rent.getId(), UUID.randomUUID()));
+
+        assertTrue(rent.isActive());
+        verify(recurringTransactionRepository, never()).save(any());
+    }
+
+    private RecurringTransaction template(Cadence cadence, LocalDate start, LocalDate end) {
+        return RecurringTransaction.builder()
+                .id(UUID.randomUUID())
+                .amount(new BigDecimal("500.00"))
+                .type(Type.EXPENSE)
+                .category(Category.HOUSING)
+                .description("Rent")
+                .cadence(cadence)
+                .startDate(start)
+                .endDate(end)
+                .nextIndex(0)
+                .nextOccurrence(start)
+                .createdOn(LocalDateTime.now())
+                .wallet(wallet)
+                .build();
+    }
+
+    private static Set<String> keysOf(List<Transaction> transactions) {
+        return transactions.stream().map(Transaction::getOccurrenceKey).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,65 @@
+package app.scheduler;
+
+import app.monitoring.SchedulerMetrics;
+import app.notification.service.NotificationService;
+import app.subscription.repository.SubscriptionsRepository;
+import app.subscription.service.SubscriptionsService;
+import app.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SubscriptionSchedulerUTest {
+
+    @Mock
+    private SubscriptionsRepository subscriptionsRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private SubscriptionsService subscriptionsService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SubscriptionScheduler subscriptionScheduler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        subscriptionScheduler = new SubscriptionScheduler(subscriptionsRepository, userRepository, notificationService,
+                subscriptionsService, new SchedulerMetrics(meterRegistry));
+    }
+
+    @Test
+    void should_ContinueWithNextBatch_When_RenewalBatchFails() {
+        UUID failedPageEnd = UUID.randomUUID();
+        UUID lastPageEnd = UUID.randomUUID();
+        when(subscriptionsService.renewDueSubscriptions(any(LocalDate.class), eq(SubscriptionsService.RENEWAL_START)))
+                .thenThrow(new IllegalStateException("deadlock"));
+        when(subscriptionsService.skipRenewalPage(any(LocalDate.class), eq(SubscriptionsService.RENEWAL_START)))
+                .thenReturn(failedPageEnd);
+        when(subscriptionsService.renewDueSubscriptions(any(LocalDate.class), eq(failedPageEnd))).thenReturn(lastPageEnd);
+        when(subscriptionsService.renewDueSubscriptions(any(LocalDate.class), eq(lastPageEnd))).thenReturn(null);
+
+        subscriptionScheduler.renewDueSubscriptions();
+
+        verify(subscriptionsService).renewDueSubscriptions(any(LocalDate.class), eq(lastPageEnd));
+        assertEquals(1.0, meterRegistry.get("scheduler.items").tags("job", "subscription-renewal", "result", "failed").counter().count());
+        assertEquals(1, meterRegistry.get("scheduler.run").tags("job", "subscription-renewal", "outcome", "success").timer().count());
+    }
+}
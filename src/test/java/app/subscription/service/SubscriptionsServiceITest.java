@@ -0,0 +1,188 @@
+package app.subscription.service;
+
+import app.subscription.model.Subscription;
+import app.subscription.model.SubscriptionPeriod;
+import app.subscription.model.SubscriptionType;
+import app.subscription.repository.SubscriptionsRepository;
+import app.transactions.model.Category;
+import app.transactions.model.Transaction;
+import app.transactions.repository.TransactionRepository;
+import app.user.model.Country;
+import app.user.model.Role;
+import app.user.model.User;
+import app.user.model.UserVersion;
+import app.user.repository.UserRepository;
+import app.wallet.model.Wallet;
+import app.wallet.repository.WalletRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class SubscriptionsServiceITest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+    @Autowired
+    private SubscriptionsService subscriptionsService;
+
+    @Autowired
+    private SubscriptionsRepository subscriptionsRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Wallet testWallet;
+    private Subscription monthly;
+    private Subscription yearly;
+
+    @BeforeEach
+    void setUp() {
+        User testUser = userRepository.save(User.builder()
+                .username("renewaluser")
+                .email("renewal@example.com")
+                .password("password123")
+                .isActive(true)
+                .role(Role.USER)
+                .country(Country.BULGARIA)
+                .userVersion(UserVersion.PRO)
+                .createdOn(LocalDateTime.now())
+                .updatedOn(LocalDateTime.now())
+                .build());
+
+        testWallet = walletRepository.save(Wallet.builder()
+                .user(testUser)
+                .name("Default")
+                .income(BigDecimal.ZERO)
+                .expense(BigDecimal.ZERO)
+                .balance(new BigDecimal("100"))
+                .currency(Currency.getInstance("EUR"))
+                .build());
+        testUser.setWallet(testWallet);
+
+        monthly = subscriptionsRepository.save(subscription(testUser, "Music", SubscriptionPeriod.MONTHLY,
+                LocalDate.of(2025, 2, 1), "10"));
+        yearly = subscriptionsRepository.save(subscription(testUser, "Cloud", SubscriptionPeriod.YEARLY,
+                LocalDate.of(2025, 4, 1), "50"));
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void should_BookElapsedPeriodsAndAdvanceExpiry_When_SubscriptionIsDue() {
+        assertNull(subscriptionsService.renewDueSubscriptions(TODAY, SubscriptionsService.RENEWAL_START));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Transaction> ledger = transactionRepository.findAll();
+        assertEquals(2, ledger.size());
+        assertTrue(ledger.stream().allMatch(t -> t.getCategory() == Category.SUBSCRIPTIONS));
+
+        Subscription renewed = subscriptionsRepository.findById(monthly.getId()).orElseThrow();
+        assertEquals(LocalDate.of(2025, 4, 1), renewed.getExpiryOn());
+        assertEquals(TODAY, renewed.getPaidDate());
+        assertEquals(LocalDate.of(2025, 4, 1), subscriptionsRepository.findById(yearly.getId()).orElseThrow().getExpiryOn());
+
+        Wallet wallet = walletRepository.findById(testWallet.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("80").compareTo(wallet.getBalance()));
+        assertEquals(0, new BigDecimal("20").compareTo(wallet.getExpense()));
+    }
+
+    @Test
+    void should_NotChargeTwice_When_PeriodWasBookedButExpiryNotAdvanced() {
+        subscriptionsService.renewDueSubscriptions(TODAY, SubscriptionsService.RENEWAL_START);
+        entityManager.flush();
+        entityManager.clear();
+
+        // simulate a run that booked the ledger entries but lost the expiry update
+        Subscription stale = subscriptionsRepository.findById(monthly.getId()).orElseThrow();
+        stale.setExpiryOn(LocalDate.of(2025, 2, 1));
+        entityManager.flush();
+        entityManager.clear();
+
+        subscriptionsService.renewDueSubscriptions(TODAY, SubscriptionsService.RENEWAL_START);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(2, transactionRepository.count());
+        assertEquals(LocalDate.of(2025, 4, 1), subscriptionsRepository.findById(monthly.getId()).orElseThrow().getExpiryOn());
+        assertEquals(0, new BigDecimal("80").compareTo(walletRepository.findById(testWallet.getId()).orElseThrow().getBalance()));
+    }
+
+    @Test
+    void should_DateChargeTodayAndNotRenewTwice_When_NewSubscriptionIsPaidBeforeExpiry() {
+        LocalDate expiryOn = LocalDate.now().plusMonths(1);
+        Subscription fresh = subscriptionsRepository.save(subscription(
+                userRepository.findById(testWallet.getUser().getId()).orElseThrow(), "Video", SubscriptionPeriod.MONTHLY, expiryOn, "15"));
+        entityManager.flush();
+        entityManager.clear();
+
+        subscriptionsService.paySubscription(fresh.getId(), testWallet.getUser().getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Transaction> ledger = transactionRepository.findAll();
+        assertEquals(1, ledger.size());
+        assertEquals(LocalDate.now(), ledger.get(0).getDate().toLocalDate());
+
+        // the renewal job reaching the same period, e.g. from a copy that missed the expiry update
+        Subscription stale = subscriptionsRepository.findById(fresh.getId()).orElseThrow();
+        stale.setExpiryOn(expiryOn);
+        entityManager.flush();
+        entityManager.clear();
+        subscriptionsService.renewDueSubscriptions(expiryOn, SubscriptionsService.RENEWAL_START);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(1, transactionRepository.findAll().stream()
+                .filter(t -> t.getOccurrenceKey().startsWith("subscription:" + fresh.getId())).count());
+    }
+
+    @Test
+    void should_FilterSubscriptionsInQueries_When_ListingForUser() {
+        Subscription paidThisMonth = subscriptionsRepository.findById(yearly.getId()).orElseThrow();
+        paidThisMonth.setPaidDate(LocalDate.now());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(List.of(monthly.getId()),
+                subscriptionsService.getByUsername("renewaluser").stream().map(Subscription::getId).toList());
+        assertEquals(List.of(monthly.getId()),
+                subscriptionsService.getDashboardSubscriptions(testWallet.getUser().getId()).stream().map(Subscription::getId).toList());
+        assertEquals(List.of(yearly.getId()),
+                subscriptionsService.getPaidSubscriptionsForCurrentMonth(testWallet.getUser().getId()).stream().map(Subscription::getId).toList());
+    }
+
+    private Subscription subscription(User user, String name, SubscriptionPeriod period, LocalDate expiryOn, String price) {
+        return Subscription.builder()
+                .user(user)
+                .name(name)
+                .period(period)
+                .type(SubscriptionType.DEFAULT)
+                .expiryOn(expiryOn)
+                .price(new BigDecimal(price))
+                .build();
+    }
+}
@@ -1,15 +1,19 @@
 package app.subscription.service;
 
+import app.event.SubscriptionPaidEvent;
 import app.exception.CustomException;
 import app.exception.UserNotFoundException;
 import app.subscription.model.Subscription;
 import app.subscription.model.SubscriptionPeriod;
 import app.subscription.model.SubscriptionType;
 import app.subscription.repository.SubscriptionsRepository;
+import app.transactions.model.Category;
+import app.transactions.model.Transaction;
+import app.transactions.model.Type;
+import app.transactions.service.TransactionService;
 import app.user.model.User;
 import app.user.repository.UserRepository;
 import app.wallet.model.Wallet;
-import app.wallet.repository.WalletRepository;
 import app.web.dto.SubscriptionDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +22,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -25,6 +30,7 @@ import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -40,7 +46,10 @@ class SubscriptionsServiceUTest {
     private UserRepository userRepository;
 
     @Mock
-    private WalletRepository walletRepository;
+    private TransactionService transactionService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private SubscriptionsService subscriptionsService;
@@ -130,89 +139,57 @@ class SubscriptionsServiceUTest {
                 .paidDate(null)
                 .build();
 
-        Subscription paidSubscription = Subscription.builder()
-                .id(UUID.randomUUID())
-                .user(testUser)
-                .name("Gym")
-                .paidDate(LocalDate.now())
-                .build();
-
-        List<Subscription> allSubscriptions = List.of(unpaidSubscription1, unpaidSubscription2, paidSubscription);
-        when(subscriptionsRepository.findAllByUser_UsernameOrderByExpiryOnAsc("testuser"))
-                .thenReturn(allSubscriptions);
+        when(subscriptionsRepository.findAllByUser_UsernameAndPaidDateIsNullOrderByExpiryOnAsc("testuser"))
+                .thenReturn(List.of(unpaidSubscription1, unpaidSubscription2));
 
         List<Subscription> result = subscriptionsService.getByUsername("testuser");
 
         assertNotNull(result);
         assertEquals(2, result.size());
-        assertTrue(result.stream().allMatch(s -> s.getPaidDate() == null));
-        verify(subscriptionsRepository).findAllByUser_UsernameOrderByExpiryOnAsc("testuser");
+        verify(subscriptionsRepository).findAllByUser_UsernameAndPaidDateIsNullOrderByExpiryOnAsc("testuser");
+        verify(subscriptionsRepository, never()).findAllByUser_UsernameOrderByExpiryOnAsc(anyString());
     }
 
     @Test
     void should_ReturnEmptyList_When_NoUnpaidSubscriptions() {
-        Subscription paidSubscription = Subscription.builder()
-                .id(UUID.randomUUID())
-                .user(testUser)
-                .name("Gym")
-                .paidDate(LocalDate.now())
-                .build();
-
-        when(subscriptionsRepository.findAllByUser_UsernameOrderByExpiryOnAsc("testuser"))
-                .thenReturn(List.of(paidSubscription));
+        when(subscriptionsRepository.findAllByUser_UsernameAndPaidDateIsNullOrderByExpiryOnAsc("testuser"))
+                .thenReturn(List.of());
 
         List<Subscription> result = subscriptionsService.getByUsername("testuser");
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(subscriptionsRepository).findAllByUser_UsernameOrderByExpiryOnAsc("testuser");
+        verify(subscriptionsRepository).findAllByUser_UsernameAndPaidDateIsNullOrderByExpiryOnAsc("testuser");
     }
 
     @Test
-    void should_ReturnPaidSubscriptionsForCurrentMonth_When_SubscriptionsExist() {
+    void should_QueryPaidSubscriptionsWithinCurrentMonth_When_UserExists() {
         YearMonth currentMonth = YearMonth.now();
-        LocalDate currentMonthDate = LocalDate.now();
 
         Subscription paidThisMonth = Subscription.builder()
                 .id(UUID.randomUUID())
                 .user(testUser)
                 .name("Netflix")
-                .paidDate(currentMonthDate)
-                .build();
-
-        Subscription paidLastMonth = Subscription.builder()
-                .id(UUID.randomUUID())
-                .user(testUser)
-                .name("Spotify")
-                .paidDate(currentMonthDate.minusMonths(1))
-                .build();
-
-        Subscription unpaid = Subscription.builder()
-                .id(UUID.randomUUID())
-                .user(testUser)
-                .name("Gym")
-                .paidDate(null)
+                .paidDate(LocalDate.now())
                 .build();
 
-        testUser.setSubscriptions(new ArrayList<>(List.of(paidThisMonth, paidLastMonth, unpaid)));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(subscriptionsRepository.findAllByUser_IdAndPaidDateBetweenOrderByPaidDateDesc(userId,
+                currentMonth.atDay(1), currentMonth.atEndOfMonth())).thenReturn(List.of(paidThisMonth));
 
         List<Subscription> result = subscriptionsService.getPaidSubscriptionsForCurrentMonth(userId);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(paidThisMonth, result.get(0));
-        verify(userRepository).findById(userId);
+        assertEquals(List.of(paidThisMonth), result);
+        verify(userRepository, never()).findById(any());
     }
 
     @Test
     void should_ThrowUserNotFoundException_When_UserNotFoundForPaidSubscriptions() {
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userRepository.existsById(userId)).thenReturn(false);
 
         assertThrows(UserNotFoundException.class,
                 () -> subscriptionsService.getPaidSubscriptionsForCurrentMonth(userId));
-
-        verify(userRepository).findById(userId);
+        verifyNoInteractions(subscriptionsRepository);
     }
 
     @Test
@@ -277,19 +254,84 @@ class SubscriptionsServiceUTest {
     }
 
     @Test
-    void should_PaySubscription_When_SufficientBalanceExists() {
+    void should_PaySubscriptionAndDateChargeToday_When_PaidBeforeExpiry() {
+        LocalDate dueOn = testSubscription.getExpiryOn();
+        String key = "subscription:%s:%s".formatted(subscriptionId, dueOn);
         when(subscriptionsRepository.findById(subscriptionId)).thenReturn(Optional.of(testSubscription));
+        when(transactionService.bookOccurrences(anyList())).thenReturn(Set.of(key));
         when(subscriptionsRepository.save(any(Subscription.class))).thenReturn(testSubscription);
-        when(walletRepository.save(any(Wallet.class))).thenReturn(testWallet);
 
         subscriptionsService.paySubscription(subscriptionId, userId);
 
+        ArgumentCaptor<List<Transaction>> chargesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(transactionService).bookOccurrences(chargesCaptor.capture());
+        Transaction charge = chargesCaptor.getValue().get(0);
+        assertEquals(key, charge.getOccurrenceKey());
+        assertTrue(dueOn.isAfter(LocalDate.now()));
+        assertEquals(LocalDate.now(), charge.getDate().toLocalDate());
+        assertEquals(Type.EXPENSE, charge.getType());
+        assertEquals(Category.SUBSCRIPTIONS, charge.getCategory());
+        assertEquals(new BigDecimal("15.99"), charge.getAmount());
+        assertSame(testWallet, charge.getWallet());
+
         assertEquals(LocalDate.now(), testSubscription.getPaidDate());
-        assertEquals(new BigDecimal("484.01"), testWallet.getBalance());
-        assertEquals(new BigDecimal("15.99"), testWallet.getExpense());
-        verify(subscriptionsRepository).findById(subscriptionId);
+        assertEquals(dueOn.plusMonths(1), testSubscription.getExpiryOn());
         verify(subscriptionsRepository).save(testSubscription);
-        verify(walletRepository).save(testWallet);
+        verify(eventPublisher).publishEvent(any(SubscriptionPaidEvent.class));
+    }
+
+    @Test
+    void should_BookEveryElapsedPeriod_When_RenewingOverdueSubscription() {
+        LocalDate today = LocalDate.of(2025, 3, 10);
+        testSubscription.setExpiryOn(LocalDate.of(2025, 1, 15));
+        testSubscription.setPaidDate(LocalDate.of(2024, 12, 15));
+        when(subscriptionsRepository.findDueForRenewal(eq(today), eq(SubscriptionsService.RENEWAL_START), any()))
+                .thenReturn(List.of(testSubscription));
+        when(transactionService.bookOccurrences(anyList())).thenReturn(Set.of(
+                "subscription:%s:2025-01-15".formatted(subscriptionId),
+                "subscription:%s:2025-02-15".formatted(subscriptionId)));
+
+        UUID cursor = subscriptionsService.renewDueSubscriptions(today, SubscriptionsService.RENEWAL_START);
+
+        ArgumentCaptor<List<Transaction>> chargesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(transactionService).bookOccurrences(chargesCaptor.capture());
+        assertEquals(List.of(LocalDate.of(2025, 1, 15).atStartOfDay(), LocalDate.of(2025, 2, 15).atStartOfDay()),
+                chargesCaptor.getValue().stream().map(Transaction::getDate).toList());
+        assertEquals(LocalDate.of(2025, 3, 15), testSubscription.getExpiryOn());
+        assertEquals(today, testSubscription.getPaidDate());
+        assertNull(cursor);
+
+        ArgumentCaptor<SubscriptionPaidEvent> eventCaptor = ArgumentCaptor.forClass(SubscriptionPaidEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertEquals(new BigDecimal("31.98"), eventCaptor.getValue().getAmount());
+        verify(subscriptionsRepository).saveAll(List.of(testSubscription));
+    }
+
+    @Test
+    void should_KeepSubscriptionDue_When_RenewalCannotBeCovered() {
+        LocalDate today = LocalDate.of(2025, 3, 10);
+        testSubscription.setExpiryOn(LocalDate.of(2025, 3, 1));
+        testSubscription.setPaidDate(LocalDate.of(2025, 2, 1));
+        when(subscriptionsRepository.findDueForRenewal(eq(today), eq(SubscriptionsService.RENEWAL_START), any()))
+                .thenReturn(List.of(testSubscription));
+        when(transactionService.bookOccurrences(anyList())).thenReturn(Set.of());
+
+        subscriptionsService.renewDueSubscriptions(today, SubscriptionsService.RENEWAL_START);
+
+        assertEquals(LocalDate.of(2025, 3, 1), testSubscription.getExpiryOn());
+        assertNull(testSubscription.getPaidDate());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void should_ReturnNullCursor_When_NothingIsDue() {
+        LocalDate today = LocalDate.of(2025, 3, 10);
+        when(subscriptionsRepository.findDueForRenewal(eq(today), eq(SubscriptionsService.RENEWAL_START), any()))
+                .thenReturn(List.of());
+
+        assertNull(subscriptionsService.renewDueSubscriptions(today, SubscriptionsService.RENEWAL_START));
+
+        verifyNoInteractions(transactionService);
     }
 
     @Test
@@ -301,7 +343,7 @@ class SubscriptionsServiceUTest {
                 () -> subscriptionsService.paySubscription(nonExistentId, userId));
 
         verify(subscriptionsRepository).findById(nonExistentId);
-        verify(walletRepository, never()).save(any(Wallet.class));
+        verify(transactionService, never()).bookOccurrences(anyList());
     }
 
     @Test
@@ -313,7 +355,7 @@ class SubscriptionsServiceUTest {
                 () -> subscriptionsService.paySubscription(subscriptionId, userId));
 
         verify(subscriptionsRepository).findById(subscriptionId);
-        verify(walletRepository, never()).save(any(Wallet.class));
+        verify(transactionService, never()).bookOccurrences(anyList());
     }
 
     @Test
@@ -325,7 +367,7 @@ class SubscriptionsServiceUTest {
                 () -> subscriptionsService.paySubscription(subscriptionId, userId));
 
         verify(subscriptionsRepository).findById(subscriptionId);
-        verify(walletRepository, never()).save(any(Wallet.class));
+        verify(transactionService, never()).bookOccurrences(anyList());
     }
 
     @Test
@@ -337,19 +379,20 @@ class SubscriptionsServiceUTest {
                 () -> subscriptionsService.paySubscription(subscriptionId, differentUserId));
 
         verify(subscriptionsRepository).findById(subscriptionId);
-        verify(walletRepository, never()).save(any(Wallet.class));
+        verify(transactionService, never()).bookOccurrences(anyList());
     }
 
     @Test
     void should_ThrowCustomException_When_InsufficientBalance() {
-        testWallet.setBalance(new BigDecimal("10.00"));
+        LocalDate dueOn = testSubscription.getExpiryOn();
         when(subscriptionsRepository.findById(subscriptionId)).thenReturn(Optional.of(testSubscription));
+        when(transactionService.bookOccurrences(anyList())).thenReturn(Set.of());
 
         assertThrows(CustomException.class,
                 () -> subscriptionsService.paySubscription(subscriptionId, userId));
 
-        verify(subscriptionsRepository).findById(subscriptionId);
-        verify(walletRepository, never()).save(any(Wallet.class));
+        assertEquals(dueOn, testSubscription.getExpiryOn());
+        assertNull(testSubscription.getPaidDate());
+        verify(subscriptionsRepository, never()).save(any(Subscription.class));
     }
 }
-
@@ -0,0 +1,63 @@
+package app.transactions.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CategoryVectorUTest {
+
+    @Test
+    void should_RankLargestFirst_When_CategoriesHaveSpending() {
+        CategoryVector vector = new CategoryVector()
+                .add(Category.FOOD, new BigDecimal("50.00"))
+                .add(Category.HOUSING, new BigDecimal("100.00"))
+                .add(Category.TRAVEL, new BigDecimal("50.00"))
+                .add(Category.FOOD, new BigDecimal("25.00"));
+
+        assertEquals(List.of("HOUSING", "FOOD", "TRAVEL"), vector.rankedNames());
+        assertEquals(List.of(new BigDecimal("100.00"), new BigDecimal("75.00"), new BigDecimal("50.00")),
+                vector.rankedAmounts());
+        assertEquals(List.of(44, 33, 22), vector.rankedPercents());
+        assertEquals(List.of(Category.HOUSING, Category.FOOD), vector.top(2));
+    }
+
+    @Test
+    void should_ReRank_When_AmountAddedAfterRanking() {
+        CategoryVector vector = new CategoryVector()
+                .add(Category.FOOD, 100)
+                .add(Category.TRANSPORT, 50);
+        assertEquals(List.of(Category.FOOD, Category.TRANSPORT), vector.ranked());
+
+        vector.add(Category.TRANSPORT, 100);
+
+        assertEquals(List.of(Category.TRANSPORT, Category.FOOD), vector.ranked());
+    }
+
+    @Test
+    void should_AddSlotWise_When_Merging() {
+        CategoryVector left = new CategoryVector().add(Category.FOOD, 100);
+        CategoryVector right = new CategoryVector().add(Category.FOOD, 50).add(Category.HEALTH, 25);
+
+        left.merge(right);
+
+        assertEquals(150, left.get(Category.FOOD));
+        assertEquals(25, left.get(Category.HEALTH));
+        assertEquals(new BigDecimal("1.75"), left.totalAmount());
+        assertEquals(Map.of(Category.FOOD, new BigDecimal("1.50"), Category.HEALTH, new BigDecimal("0.25")), left.toMap());
+    }
+
+    @Test
+    void should_ReturnEmptyViews_When_NothingWasAdded() {
+        CategoryVector vector = new CategoryVector();
+
+        assertTrue(vector.isEmpty());
+        assertEquals(BigDecimal.ZERO, vector.amount(Category.FOOD));
+        assertEquals(0, vector.percentOf(Category.FOOD));
+        assertTrue(vector.rankedNames().isEmpty());
+        assertTrue(vector.categories().isEmpty());
+    }
+}
@@ -0,0 +1,174 @@
+package app.transactions.service;
+
+import app.transactions.model.ArchivedTransaction;
+import app.transactions.model.Category;
+import app.transactions.model.Transaction;
+import app.transactions.model.TransactionMonthlyRollup;
+import app.transactions.model.Type;
+import app.transactions.repository.ArchivedTransactionRepository;
+import app.transactions.repository.TransactionMonthlyRollupRepository;
+import app.transactions.repository.TransactionRepository;
+import app.user.model.Country;
+import app.user.model.Role;
+import app.user.model.User;
+import app.user.model.UserVersion;
+import app.user.repository.UserRepository;
+import app.wallet.model.Wallet;
+import app.wallet.repository.WalletRepository;
+import app.web.dto.TopCategories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Currency;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "app.transactions.archive.enabled=true",
+        "app.transactions.archive.after-months=24",
+        "app.transactions.archive.batch-size=2"
+})
+@Transactional
+class TransactionArchiveServiceITest {
+
+    private static final Currency BGN = Currency.getInstance("BGN");
+
+    @Autowired
+    private TransactionArchiveService archiveService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ArchivedTransactionRepository archivedTransactionRepository;
+
+    @Autowired
+    private TransactionMonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User testUser;
+    private Wallet testWallet;
+    private YearMonth oldMonth;
+
+    @BeforeEach
+    void setUp() {
+        testUser = userRepository.save(User.builder()
+                .username("archiveuser")
+                .email("archive@example.com")
+                .firstName("Archive")
+                .lastName("User")
+                .password("password123")
+                .isActive(true)
+                .role(Role.USER)
+                .country(Country.BULGARIA)
+                .userVersion(UserVersion.BASIC)
+                .createdOn(LocalDateTime.now())
+                .updatedOn(LocalDateTime.now())
+                .monthlyReportEmailEnabled(false)
+                .build());
+
+        testWallet = walletRepository.save(Wallet.builder()
+                .user(testUser)
+                .name("Default")
+                .currency(BGN)
+                .income(BigDecimal.ZERO)
+                .expense(BigDecimal.ZERO)
+                .balance(new BigDecimal("1000"))
+                .build());
+
+        oldMonth = archiveService.horizon().minusMonths(3);
+    }
+
+    @Test
+    void should_MoveOldTransactionsIntoArchiveAndRollup_When_BatchesRun() {
+        Transaction first = save(oldMonth.atDay(2).atTime(10, 0), Type.EXPENSE, Category.FOOD, "10.00", "rent-old-1");
+        save(oldMonth.atDay(5).atTime(10, 0), Type.INCOME, Category.OTHER, "300.00", null);
+        // lands in the second batch and must be added to the FOOD row the first batch created
+        save(oldMonth.atDay(9).atTime(10, 0), Type.EXPENSE, Category.FOOD, "15.50", null);
+        Transaction recent = save(LocalDateTime.now(), Type.EXPENSE, Category.FOOD, "7.00", null);
+
+        assertEquals(2, archiveService.archiveBatch(archiveService.horizon()));
+        assertEquals(1, archiveService.archiveBatch(archiveService.horizon()));
+        assertEquals(0, archiveService.archiveBatch(archiveService.horizon()));
+
+        assertEquals(List.of(recent.getId()), transactionRepository.findAll().stream().map(Transaction::getId).toList());
+        assertTrue(archivedTransactionRepository.existsById(first.getId()));
+
+        List<TransactionMonthlyRollup> rollups = rollupRepository.findAll();
+        assertEquals(2, rollups.size());
+        TransactionMonthlyRollup food = rollups.stream().filter(r -> r.getCategory() == Category.FOOD).findFirst().orElseThrow();
+        assertEquals(0, new BigDecimal("25.50").compareTo(food.getTotalAmount()));
+        assertEquals(2, food.getTransactionCount());
+        assertEquals(oldMonth, food.getYearMonth());
+
+        List<ArchivedTransaction> detail = archiveService.getArchivedTransactions(testWallet.getId(), oldMonth);
+        assertEquals(3, detail.size());
+        assertEquals(oldMonth.atDay(9).atTime(10, 0), detail.get(0).getDate());
+    }
+
+    @Test
+    void should_IncludeArchivedMonths_When_ReadingTotals() {
+        save(oldMonth.atDay(2).atTime(10, 0), Type.EXPENSE, Category.FOOD, "10.00", null);
+        save(oldMonth.atDay(3).atTime(10, 0), Type.EXPENSE, Category.TRAVEL, "40.00", null);
+        save(LocalDateTime.now(), Type.EXPENSE, Category.FOOD, "35.00", null);
+
+        archiveService.archiveBatch(archiveService.horizon());
+
+        assertEquals(0, new BigDecimal("10.00").compareTo(
+                transactionService.getCategoryTotalsForMonth(testUser.getId(), BGN, oldMonth).amount(Category.FOOD)));
+        assertEquals(0, new BigDecimal("50.00").compareTo(
+                transactionService.getTotalExpensesForMonth(testWallet.getId(), oldMonth)));
+
+        List<TopCategories> categories = transactionService.getAllExpenseCategories(testWallet.getId());
+        assertEquals(Category.FOOD, categories.get(0).getCategory());
+        assertEquals(0, new BigDecimal("45.00").compareTo(categories.get(0).getTotalAmount()));
+        assertEquals(Category.TRAVEL, categories.get(1).getCategory());
+    }
+
+    @Test
+    void should_TreatArchivedOccurrenceAsSettled_When_BookedAgain() {
+        save(oldMonth.atDay(2).atTime(10, 0), Type.EXPENSE, Category.SUBSCRIPTIONS, "9.99", "sub-old");
+        archiveService.archiveBatch(archiveService.horizon());
+
+        Transaction again = Transaction.builder()
+                .wallet(testWallet)
+                .amount(new BigDecimal("9.99"))
+                .type(Type.EXPENSE)
+                .category(Category.SUBSCRIPTIONS)
+                .description("Renewal")
+                .date(oldMonth.atDay(2).atTime(10, 0))
+                .occurrenceKey("sub-old")
+                .build();
+
+        assertEquals(Set.of("sub-old"), transactionService.bookOccurrences(List.of(again)));
+        assertTrue(transactionRepository.findAll().isEmpty());
+    }
+
+    private Transaction save(LocalDateTime date, Type type, Category category, String amount, String occurrenceKey) {
+        return transactionRepository.save(Transaction.builder()
+                .wallet(testWallet)
+                .amount(new BigDecimal(amount))
+                .type(type)
+                .category(category)
+                .description(category.name())
+                .date(date)
+                .occurrenceKey(occurrenceKey)
+                .build());
+    }
+}
@@ -0,0 +1,112 @@
+package app.transactions.service;
+
+import app.transactions.repository.TransactionPartitionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionPartitionServiceUTest {
+
+    private static final YearMonth NOW = YearMonth.of(2025, 11);
+
+    @Mock
+    private TransactionPartitionRepository partitionRepository;
+
+    @Mock
+    private TransactionArchiveService archiveService;
+
+    @Test
+    void should_DoNothing_When_TableIsNotPartitioned() {
+        when(partitionRepository.isPartitioned()).thenReturn(false);
+
+        TransactionPartitionService.Maintenance result = service(0).maintain(NOW);
+
+        assertEquals(new TransactionPartitionService.Maintenance(0, 0, 0), result);
+        verify(partitionRepository, never()).findMonthPartitions();
+    }
+
+    @Test
+    void should_CreateMissingMonthsAhead_When_PartitionsRunOut() {
+        when(partitionRepository.isPartitioned()).thenReturn(true);
+        when(partitionRepository.findMonthPartitions()).thenReturn(List.of(NOW, NOW.plusMonths(1)));
+
+        TransactionPartitionService.Maintenance result = service(0).maintain(NOW);
+
+        assertEquals(2, result.created());
+        verify(partitionRepository).createMonthPartition(NOW.plusMonths(2));
+        verify(partitionRepository).createMonthPartition(NOW.plusMonths(3));
+        verify(partitionRepository, never()).createMonthPartition(NOW);
+        verify(partitionRepository, never()).detachMonthPartition(any());
+    }
+
+    @Test
+    void should_ContinueWithLaterMonths_When_OnePartitionCannotBeCreated() {
+        when(partitionRepository.isPartitioned()).thenReturn(true);
+        when(partitionRepository.findMonthPartitions()).thenReturn(List.of(NOW, NOW.plusMonths(1)));
+        doThrow(new DataIntegrityViolationException("default partition holds rows"))
+                .when(partitionRepository).createMonthPartition(NOW.plusMonths(2));
+
+        TransactionPartitionService.Maintenance result = service(0).maintain(NOW);
+
+        assertEquals(1, result.created());
+        assertEquals(1, result.failed());
+        verify(partitionRepository).createMonthPartition(NOW.plusMonths(3));
+    }
+
+    @Test
+    void should_DetachOnlyMonthsPastRetention_When_DetachConfigured() {
+        List<YearMonth> attached = List.of(NOW.minusMonths(26), NOW.minusMonths(25), NOW.minusMonths(24),
+                NOW, NOW.plusMonths(1), NOW.plusMonths(2), NOW.plusMonths(3));
+        when(archiveService.isEnabled()).thenReturn(true);
+        when(archiveService.horizon(NOW)).thenReturn(NOW.minusMonths(24));
+        when(partitionRepository.isPartitioned()).thenReturn(true);
+        when(partitionRepository.findMonthPartitions()).thenReturn(attached);
+
+        TransactionPartitionService.Maintenance result = service(24).maintain(NOW);
+
+        assertEquals(2, result.detached());
+        verify(partitionRepository).detachMonthPartition(NOW.minusMonths(26));
+        verify(partitionRepository).detachMonthPartition(NOW.minusMonths(25));
+        verify(partitionRepository, never()).detachMonthPartition(NOW.minusMonths(24));
+    }
+
+    @Test
+    void should_KeepMonthsNotYetArchived_When_DetachRetentionIsShorterThanArchiveHorizon() {
+        List<YearMonth> attached = List.of(NOW.minusMonths(26), NOW.minusMonths(25), NOW.minusMonths(13),
+                NOW, NOW.plusMonths(1), NOW.plusMonths(2), NOW.plusMonths(3));
+        when(archiveService.isEnabled()).thenReturn(true);
+        when(archiveService.horizon(NOW)).thenReturn(NOW.minusMonths(24));
+        when(partitionRepository.isPartitioned()).thenReturn(true);
+        when(partitionRepository.findMonthPartitions()).thenReturn(attached);
+
+        TransactionPartitionService.Maintenance result = service(12).maintain(NOW);
+
+        assertEquals(2, result.detached());
+        verify(partitionRepository, never()).detachMonthPartition(NOW.minusMonths(13));
+    }
+
+    @Test
+    void should_RefuseToStart_When_DetachIsConfiguredWithoutArchiving() {
+        when(archiveService.isEnabled()).thenReturn(false);
+
+        assertThrows(IllegalStateException.class, () -> service(24));
+    }
+
+    @Test
+    void should_NamePartitionsByMonth() {
+        assertEquals("transaction_p2025_03", TransactionPartitionRepository.partitionName(YearMonth.of(2025, 3)));
+    }
+
+    private TransactionPartitionService service(int detachAfterMonths) {
+        return new TransactionPartitionService(partitionRepository, archiveService, 3, detachAfterMonths);
+    }
+}
@@ -12,7 +12,12 @@ import app.user.model.UserVersion;
 import app.user.repository.UserRepository;
 import app.wallet.model.Wallet;
 import app.wallet.repository.WalletRepository;
+import app.web.dto.RecentTransaction;
 import app.web.dto.TransactionDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +26,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Currency;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -41,6 +47,12 @@ class TransactionServiceITest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private User testUser;
     private Wallet testWallet;
 
@@ -69,6 +81,7 @@ class TransactionServiceITest {
         testWallet = Wallet.builder()
                 .user(testUser)
                 .name("Default")
+                .currency(Currency.getInstance("BGN"))
                 .income(new BigDecimal("0"))
                 .expense(new BigDecimal("0"))
                 .balance(new BigDecimal("1000"))
@@ -97,8 +110,63 @@ class TransactionServiceITest {
         assertEquals(new BigDecimal("200"), saved.getAmount());
         assertEquals(testWallet.getId(), saved.getWallet().getId());
     }
-}
 
+    @Test
+    void should_DeleteWithoutLoadingWalletHistory_When_TransactionDeleted() {
+        Transaction transaction = transactionRepository.save(Transaction.builder()
+                .wallet(testWallet)
+                .amount(new BigDecimal("40"))
+                .type(Type.EXPENSE)
+                .category(Category.FOOD)
+                .description("Groceries")
+                .date(LocalDateTime.now())
+                .build());
+        entityManager.flush();
+        entityManager.clear();
 
+        transactionService.deleteTransaction(transaction.getId(), testUser.getId());
+        entityManager.flush();
 
+        assertFalse(Hibernate.isInitialized(entityManager.find(Wallet.class, testWallet.getId()).getTransactions()));
+        assertTrue(transactionRepository.findById(transaction.getId()).isEmpty());
+    }
 
+    @Test
+    void should_ReturnNewestFirstUpToLimit_When_RecentTransactionsRequested() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 5; i++) {
+            transactionRepository.save(Transaction.builder()
+                    .wallet(testWallet)
+                    .amount(new BigDecimal(10 + i))
+                    .type(Type.EXPENSE)
+                    .category(Category.FOOD)
+                    .description("Meal " + i)
+                    .date(now.minusDays(i))
+                    .build());
+        }
+
+        List<RecentTransaction> recent = transactionService.getRecentTransactions(testWallet.getId(), 3);
+
+        assertEquals(List.of("Meal 0", "Meal 1", "Meal 2"), recent.stream().map(RecentTransaction::getDescription).toList());
+        assertNotNull(recent.get(0).getId());
+        assertEquals(Category.FOOD, recent.get(0).getCategory());
+    }
+
+    @Test
+    void should_RecordProcessTimer_When_TransactionProcessed() {
+        TransactionDto dto = TransactionDto.builder()
+                .amount(new BigDecimal("25.00"))
+                .type(Type.EXPENSE)
+                .category(Category.FOOD)
+                .description("Lunch")
+                .date(LocalDateTime.now())
+                .build();
+        Timer timer = meterRegistry.timer("transactions.process", "class", TransactionService.class.getName(),
+                "method", "processTransaction", "exception", "none");
+        long before = timer.count();
+
+        transactionService.processTransaction(dto, testUser.getId());
+
+        assertEquals(before + 1, timer.count());
+    }
+}
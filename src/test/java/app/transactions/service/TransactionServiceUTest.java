@@ -1,24 +1,33 @@
 package app.transactions.service;
 
+import app.currency.model.FxRateSnapshot;
+import app.currency.service.FxRateService;
+import app.event.TransactionCreatedEvent;
+import app.event.TransactionDeletedEvent;
 import app.exception.CustomException;
 import app.transactions.model.Category;
+import app.transactions.model.CategoryVector;
 import app.transactions.model.Transaction;
 import app.transactions.model.Type;
 import app.transactions.repository.TransactionRepository;
 import app.user.model.User;
 import app.wallet.model.Wallet;
 import app.wallet.repository.WalletRepository;
+import app.web.dto.MonthlyCategoryTotal;
 import app.web.dto.TopCategories;
 import app.web.dto.TransactionDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.*;
@@ -35,6 +44,15 @@ class TransactionServiceUTest {
     @Mock
     private WalletRepository walletRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private FxRateService fxRateService;
+
+    @Mock
+    private TransactionArchiveService archiveService;
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -109,7 +127,8 @@ class TransactionServiceUTest {
 
     @Test
     void should_ProcessExpenseTransaction_When_SufficientBalanceExists() {
-        when(walletRepository.findByUserId(userId)).thenReturn(Optional.of(testWallet));
+        when(walletRepository.findPrimaryWalletId(userId)).thenReturn(Optional.of(walletId));
+        when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.of(testWallet));
         when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
         when(walletRepository.save(any(Wallet.class))).thenReturn(testWallet);
 
@@ -117,20 +136,22 @@ class TransactionServiceUTest {
 
         assertEquals(new BigDecimal("300.00"), testWallet.getExpense());
         assertEquals(new BigDecimal("700.00"), testWallet.getBalance());
-        verify(walletRepository).findByUserId(userId);
+        verify(walletRepository).findPrimaryWalletId(userId);
         verify(transactionRepository).save(any(Transaction.class));
         verify(walletRepository).save(testWallet);
+        verify(eventPublisher).publishEvent(any(TransactionCreatedEvent.class));
     }
 
     @Test
     void should_ThrowIllegalArgumentException_When_InsufficientBalanceForExpense() {
         transactionDto.setAmount(new BigDecimal("1000.00"));
-        when(walletRepository.findByUserId(userId)).thenReturn(Optional.of(testWallet));
+        when(walletRepository.findPrimaryWalletId(userId)).thenReturn(Optional.of(walletId));
+        when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.of(testWallet));
 
         assertThrows(IllegalArgumentException.class,
                 () -> transactionService.processTransaction(transactionDto, userId));
 
-        verify(walletRepository).findByUserId(userId);
+        verify(walletRepository).findPrimaryWalletId(userId);
         verify(transactionRepository, never()).save(any(Transaction.class));
         verify(walletRepository, never()).save(any(Wallet.class));
     }
@@ -138,7 +159,8 @@ class TransactionServiceUTest {
     @Test
     void should_ProcessIncomeTransaction_When_ValidIncomeProvided() {
         transactionDto.setType(Type.INCOME);
-        when(walletRepository.findByUserId(userId)).thenReturn(Optional.of(testWallet));
+        when(walletRepository.findPrimaryWalletId(userId)).thenReturn(Optional.of(walletId));
+        when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.of(testWallet));
         when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
         when(walletRepository.save(any(Wallet.class))).thenReturn(testWallet);
 
@@ -146,19 +168,42 @@ class TransactionServiceUTest {
 
         assertEquals(new BigDecimal("1100.00"), testWallet.getIncome());
         assertEquals(new BigDecimal("900.00"), testWallet.getBalance());
-        verify(walletRepository).findByUserId(userId);
+        verify(walletRepository).findPrimaryWalletId(userId);
         verify(transactionRepository).save(any(Transaction.class));
         verify(walletRepository).save(testWallet);
     }
 
     @Test
     void should_ThrowCustomException_When_WalletNotFound() {
-        when(walletRepository.findByUserId(userId)).thenReturn(Optional.empty());
+        when(walletRepository.findPrimaryWalletId(userId)).thenReturn(Optional.empty());
 
         assertThrows(CustomException.class,
                 () -> transactionService.processTransaction(transactionDto, userId));
 
-        verify(walletRepository).findByUserId(userId);
+        verify(walletRepository).findPrimaryWalletId(userId);
+        verify(transactionRepository, never()).save(any(Transaction.class));
+    }
+
+    @Test
+    void should_BookIntoRequestedWallet_When_WalletIdProvided() {
+        transactionDto.setWalletId(walletId);
+        when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.of(testWallet));
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
+
+        transactionService.processTransaction(transactionDto, userId);
+
+        assertEquals(new BigDecimal("700.00"), testWallet.getBalance());
+        verify(walletRepository, never()).findPrimaryWalletId(any());
+    }
+
+    @Test
+    void should_ThrowSecurityException_When_WalletBelongsToAnotherUser() {
+        transactionDto.setWalletId(walletId);
+        when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.of(testWallet));
+
+        assertThrows(SecurityException.class,
+                () -> transactionService.processTransaction(transactionDto, UUID.randomUUID()));
+
         verify(transactionRepository, never()).save(any(Transaction.class));
     }
 
@@ -232,68 +277,67 @@ class TransactionServiceUTest {
         testWallet.getTransactions().add(currentMonthTransaction);
         testWallet.getTransactions().add(oldTransaction);
 
-        when(walletRepository.findById(walletId)).thenReturn(Optional.of(testWallet));
+        stubMonthQuery();
 
         List<Transaction> result = transactionService.getCurrentMonthTransactions(walletId);
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(currentMonthTransaction, result.get(0));
-        verify(walletRepository).findById(walletId);
+        verify(transactionRepository).findByWalletIdAndDateRange(eq(walletId), any(), any());
     }
 
     @Test
     void should_ThrowCustomException_When_WalletNotFoundForCurrentMonthTransactions() {
-        when(walletRepository.findById(walletId)).thenReturn(Optional.empty());
+        when(walletRepository.existsById(walletId)).thenReturn(false);
 
         assertThrows(CustomException.class,
                 () -> transactionService.getCurrentMonthTransactions(walletId));
 
-        verify(walletRepository).findById(walletId);
+        verify(walletRepository).existsById(walletId);
+        verifyNoInteractions(transactionRepository);
     }
 
     @Test
     void should_ReturnCategoryTotalsForMonth_When_MultipleTransactionsExist() {
-        YearMonth yearMonth = YearMonth.now();
-        LocalDateTime now = LocalDateTime.now();
+        YearMonth yearMonth = YearMonth.of(2024, 6);
+        LocalDateTime monthStart = LocalDateTime.of(2024, 6, 1, 0, 0);
+        LocalDateTime monthEnd = LocalDateTime.of(2024, 7, 1, 0, 0);
+        Currency eur = Currency.getInstance("EUR");
 
-        Transaction transaction1 = Transaction.builder()
-                .amount(new BigDecimal("100.00"))
-                .date(now)
-                .type(Type.EXPENSE)
-                .category(Category.FOOD)
-                .wallet(testWallet)
-                .build();
+        when(fxRateService.snapshot()).thenReturn(new FxRateSnapshot(eur, Map.of(eur, BigDecimal.ONE), Instant.now()));
+        when(transactionRepository.sumExpensesByMonthAndCategory(userId, monthStart, monthEnd)).thenReturn(List.of(
+                new MonthlyCategoryTotal(2024, 6, eur, Category.FOOD, new BigDecimal("150.00")),
+                new MonthlyCategoryTotal(2024, 6, eur, Category.TRANSPORT, new BigDecimal("75.00"))
+        ));
 
-        Transaction transaction2 = Transaction.builder()
-                .amount(new BigDecimal("50.00"))
-                .date(now)
-                .type(Type.EXPENSE)
-                .category(Category.FOOD)
-                .wallet(testWallet)
-                .build();
+        CategoryVector result = transactionService.getCategoryTotalsForMonth(userId, eur, yearMonth);
 
-        Transaction transaction3 = Transaction.builder()
-                .amount(new BigDecimal("75.00"))
-                .date(now)
-                .type(Type.EXPENSE)
-                .category(Category.TRANSPORT)
-                .wallet(testWallet)
-                .build();
+        assertNotNull(result);
+        assertEquals(List.of(Category.FOOD, Category.TRANSPORT), result.categories());
+        assertEquals(new BigDecimal("150.00"), result.amount(Category.FOOD));
+        assertEquals(new BigDecimal("75.00"), result.amount(Category.TRANSPORT));
+        verify(transactionRepository).sumExpensesByMonthAndCategory(userId, monthStart, monthEnd);
+        verifyNoInteractions(walletRepository);
+    }
 
-        testWallet.getTransactions().add(transaction1);
-        testWallet.getTransactions().add(transaction2);
-        testWallet.getTransactions().add(transaction3);
+    @Test
+    void should_ConvertAndMergeWalletCurrencies_When_AggregatingCategoryTotals() {
+        YearMonth yearMonth = YearMonth.of(2024, 6);
+        Currency eur = Currency.getInstance("EUR");
+        Currency bgn = Currency.getInstance("BGN");
 
-        when(walletRepository.findById(walletId)).thenReturn(Optional.of(testWallet));
+        when(fxRateService.snapshot()).thenReturn(new FxRateSnapshot(eur,
+                Map.of(eur, BigDecimal.ONE, bgn, new BigDecimal("1.95583")), Instant.now()));
+        when(transactionRepository.sumExpensesByMonthAndCategory(eq(userId), any(), any())).thenReturn(List.of(
+                new MonthlyCategoryTotal(2024, 6, eur, Category.FOOD, new BigDecimal("10.00")),
+                new MonthlyCategoryTotal(2024, 6, bgn, Category.FOOD, new BigDecimal("195.58"))
+        ));
 
-        Map<Category, BigDecimal> result = transactionService.getCategoryTotalsForMonth(walletId, yearMonth);
+        Map<YearMonth, CategoryVector> result =
+                transactionService.getCategoryTotalsByMonth(userId, eur, yearMonth, yearMonth);
 
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals(new BigDecimal("150.00"), result.get(Category.FOOD));
-        assertEquals(new BigDecimal("75.00"), result.get(Category.TRANSPORT));
-        verify(walletRepository).findById(walletId);
+        assertEquals(new BigDecimal("110.00"), result.get(yearMonth).amount(Category.FOOD));
     }
 
     @Test
@@ -327,24 +371,24 @@ class TransactionServiceUTest {
         testWallet.getTransactions().add(expense2);
         testWallet.getTransactions().add(income);
 
-        when(walletRepository.findById(walletId)).thenReturn(Optional.of(testWallet));
+        stubMonthQuery();
 
         BigDecimal result = transactionService.getTotalExpensesForCurrentMonth(walletId);
 
         assertNotNull(result);
         assertEquals(new BigDecimal("80.00"), result);
-        verify(walletRepository).findById(walletId);
+        verify(transactionRepository).findByWalletIdAndDateRange(eq(walletId), any(), any());
     }
 
     @Test
     void should_ReturnZero_When_NoExpensesForCurrentMonth() {
-        when(walletRepository.findById(walletId)).thenReturn(Optional.of(testWallet));
+        stubMonthQuery();
 
         BigDecimal result = transactionService.getTotalExpensesForCurrentMonth(walletId);
 
         assertNotNull(result);
         assertEquals(BigDecimal.ZERO, result);
-        verify(walletRepository).findById(walletId);
+        verify(transactionRepository).findByWalletIdAndDateRange(eq(walletId), any(), any());
     }
 
     @Test
@@ -362,13 +406,13 @@ class TransactionServiceUTest {
 
         testWallet.getTransactions().add(expense);
 
-        when(walletRepository.findById(walletId)).thenReturn(Optional.of(testWallet));
+        stubMonthQuery();
 
         BigDecimal result = transactionService.getTotalExpensesForMonth(walletId, yearMonth);
 
         assertNotNull(result);
         assertEquals(new BigDecimal("100.00"), result);
-        verify(walletRepository).findById(walletId);
+        verify(transactionRepository).findByWalletIdAndDateRange(eq(walletId), any(), any());
     }
 
     @Test
@@ -402,13 +446,13 @@ class TransactionServiceUTest {
         testWallet.getTransactions().add(income2);
         testWallet.getTransactions().add(expense);
 
-        when(walletRepository.findById(walletId)).thenReturn(Optional.of(testWallet));
+        stubMonthQuery();
 
         BigDecimal result = transactionService.getTotalIncomeForCurrentMonth(walletId);
 
         assertNotNull(result);
         assertEquals(new BigDecimal("800.00"), result);
-        verify(walletRepository).findById(walletId);
+        verify(transactionRepository).findByWalletIdAndDateRange(eq(walletId), any(), any());
     }
 
     @Test
@@ -433,24 +477,24 @@ class TransactionServiceUTest {
         testWallet.getTransactions().add(expense1);
         testWallet.getTransactions().add(expense2);
 
-        when(walletRepository.findById(walletId)).thenReturn(Optional.of(testWallet));
+        stubMonthQuery();
 
         Transaction result = transactionService.getBiggestExpenseForCurrentMonth(walletId);
 
         assertNotNull(result);
         assertEquals(new BigDecimal("150.00"), result.getAmount());
         assertEquals(Category.TRANSPORT, result.getCategory());
-        verify(walletRepository).findById(walletId);
+        verify(transactionRepository).findByWalletIdAndDateRange(eq(walletId), any(), any());
     }
 
     @Test
     void should_ReturnNull_When_NoExpensesForCurrentMonth() {
-        when(walletRepository.findById(walletId)).thenReturn(Optional.of(testWallet));
+        stubMonthQuery();
 
         Transaction result = transactionService.getBiggestExpenseForCurrentMonth(walletId);
 
         assertNull(result);
-        verify(walletRepository).findById(walletId);
+        verify(transactionRepository).findByWalletIdAndDateRange(eq(walletId), any(), any());
     }
 
     @Test
@@ -466,23 +510,23 @@ class TransactionServiceUTest {
 
         testWallet.getTransactions().add(biggestExpense);
 
-        when(walletRepository.findById(walletId)).thenReturn(Optional.of(testWallet));
+        stubMonthQuery();
 
         String result = transactionService.getBiggestExpenseCategoryName(walletId);
 
         assertNotNull(result);
         assertEquals("Entertainment", result);
-        verify(walletRepository).findById(walletId);
+        verify(transactionRepository).findByWalletIdAndDateRange(eq(walletId), any(), any());
     }
 
     @Test
     void should_ReturnNull_When_NoExpensesForCategoryName() {
-        when(walletRepository.findById(walletId)).thenReturn(Optional.of(testWallet));
+        stubMonthQuery();
 
         String result = transactionService.getBiggestExpenseCategoryName(walletId);
 
         assertNull(result);
-        verify(walletRepository).findById(walletId);
+        verify(transactionRepository).findByWalletIdAndDateRange(eq(walletId), any(), any());
     }
 
     @Test
@@ -498,12 +542,12 @@ class TransactionServiceUTest {
 
         testWallet.getTransactions().add(expense);
 
-        when(walletRepository.findById(walletId)).thenReturn(Optional.of(testWallet));
+        stubMonthQuery();
 
         String result = transactionService.getBiggestExpenseCategoryName(walletId);
 
         assertNull(result);
-        verify(walletRepository).findById(walletId);
+        verify(transactionRepository).findByWalletIdAndDateRange(eq(walletId), any(), any());
     }
 
     @Test
@@ -528,13 +572,13 @@ class TransactionServiceUTest {
         testWallet.getTransactions().add(expense1);
         testWallet.getTransactions().add(expense2);
 
-        when(walletRepository.findById(walletId)).thenReturn(Optional.of(testWallet));
+        stubMonthQuery();
 
         Map<String, BigDecimal> result = transactionService.getExpenseHistoryByDay(walletId);
 
         assertNotNull(result);
         assertFalse(result.isEmpty());
-        verify(walletRepository).findById(walletId);
+        verify(transactionRepository).findByWalletIdAndDateRange(eq(walletId), any(), any());
     }
 
     @Test
@@ -559,25 +603,25 @@ class TransactionServiceUTest {
         testWallet.getTransactions().add(expense1);
         testWallet.getTransactions().add(expense2);
 
-        when(walletRepository.findById(walletId)).thenReturn(Optional.of(testWallet));
+        stubMonthQuery();
 
-        List<String> result = transactionService.getCategoryNamesForCurrentMonth(walletId);
+        List<String> result = transactionService.getCategoryBreakdownForCurrentMonth(walletId).rankedNames();
 
         assertNotNull(result);
         assertFalse(result.isEmpty());
         assertEquals("FOOD", result.get(0));
-        verify(walletRepository, atLeastOnce()).findById(walletId);
+        verify(transactionRepository, atLeastOnce()).findByWalletIdAndDateRange(eq(walletId), any(), any());
     }
 
     @Test
     void should_ReturnEmptyList_When_NoExpensesForCategoryNames() {
-        when(walletRepository.findById(walletId)).thenReturn(Optional.of(testWallet));
+        stubMonthQuery();
 
-        List<String> result = transactionService.getCategoryNamesForCurrentMonth(walletId);
+        List<String> result = transactionService.getCategoryBreakdownForCurrentMonth(walletId).rankedNames();
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(walletRepository, atLeastOnce()).findById(walletId);
+        verify(transactionRepository, atLeastOnce()).findByWalletIdAndDateRange(eq(walletId), any(), any());
     }
 
     @Test
@@ -602,25 +646,25 @@ class TransactionServiceUTest {
         testWallet.getTransactions().add(expense1);
         testWallet.getTransactions().add(expense2);
 
-        when(walletRepository.findById(walletId)).thenReturn(Optional.of(testWallet));
+        stubMonthQuery();
 
-        List<Integer> result = transactionService.getCategoryPercentsForCurrentMonth(walletId);
+        List<Integer> result = transactionService.getCategoryBreakdownForCurrentMonth(walletId).rankedPercents();
 
         assertNotNull(result);
         assertFalse(result.isEmpty());
         assertTrue(result.get(0) > result.get(1));
-        verify(walletRepository, atLeastOnce()).findById(walletId);
+        verify(transactionRepository, atLeastOnce()).findByWalletIdAndDateRange(eq(walletId), any(), any());
     }
 
     @Test
     void should_ReturnEmptyList_When_NoExpensesForCategoryPercentages() {
-        when(walletRepository.findById(walletId)).thenReturn(Optional.of(testWallet));
+        stubMonthQuery();
 
-        List<Integer> result = transactionService.getCategoryPercentsForCurrentMonth(walletId);
+        List<Integer> result = transactionService.getCategoryBreakdownForCurrentMonth(walletId).rankedPercents();
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(walletRepository, atLeastOnce()).findById(walletId);
+        verify(transactionRepository, atLeastOnce()).findByWalletIdAndDateRange(eq(walletId), any(), any());
     }
 
     @Test
@@ -645,15 +689,15 @@ class TransactionServiceUTest {
         testWallet.getTransactions().add(expense1);
         testWallet.getTransactions().add(expense2);
 
-        when(walletRepository.findById(walletId)).thenReturn(Optional.of(testWallet));
+        stubMonthQuery();
 
-        List<BigDecimal> result = transactionService.getCategoryAmountsForCurrentMonth(walletId);
+        List<BigDecimal> result = transactionService.getCategoryBreakdownForCurrentMonth(walletId).rankedAmounts();
 
         assertNotNull(result);
         assertEquals(2, result.size());
         assertEquals(new BigDecimal("100.00"), result.get(0));
         assertEquals(new BigDecimal("50.00"), result.get(1));
-        verify(walletRepository, atLeastOnce()).findById(walletId);
+        verify(transactionRepository, atLeastOnce()).findByWalletIdAndDateRange(eq(walletId), any(), any());
     }
 
     @Test
@@ -662,13 +706,14 @@ class TransactionServiceUTest {
         testWallet.getTransactions().add(testTransaction);
 
         when(transactionRepository.findById(transactionId)).thenReturn(Optional.of(testTransaction));
-        when(walletRepository.save(any(Wallet.class))).thenReturn(testWallet);
 
         assertDoesNotThrow(() -> transactionService.deleteTransaction(transactionId, userId));
 
         assertFalse(testWallet.getTransactions().contains(testTransaction));
         verify(transactionRepository).findById(transactionId);
-        verify(walletRepository).save(testWallet);
+        verify(transactionRepository).delete(testTransaction);
+        verify(eventPublisher).publishEvent(any(TransactionDeletedEvent.class));
+        verify(walletRepository, never()).save(any(Wallet.class));
     }
 
     @Test
@@ -726,4 +771,84 @@ class TransactionServiceUTest {
         verify(transactionRepository).findById(transactionId);
         verify(walletRepository, never()).save(any(Wallet.class));
     }
+
+    @Test
+    void should_SkipSettledAndUncoveredOccurrences_When_BookingRecurringCharges() {
+        Transaction alreadyBooked = occurrence("subscription:a:2025-01-01", "20.00");
+        Transaction rent = occurrence("subscription:b:2025-01-01", "700.00");
+        Transaction overdraw = occurrence("subscription:c:2025-01-01", "150.00");
+        when(transactionRepository.findExistingOccurrenceKeys(anyList())).thenReturn(Set.of("subscription:a:2025-01-01"));
+        when(walletRepository.lockAllForUpdate(List.of(walletId))).thenReturn(Map.of(walletId, testWallet));
+        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Set<String> settled = transactionService.bookOccurrences(List.of(alreadyBooked, rent, overdraw));
+
+        assertEquals(Set.of("subscription:a:2025-01-01", "subscription:b:2025-01-01"), settled);
+        assertEquals(new BigDecimal("100.00"), testWallet.getBalance());
+        assertEquals(new BigDecimal("900.00"), testWallet.getExpense());
+        verify(transactionRepository).saveAll(List.of(rent));
+        verify(walletRepository).saveAll(argThat(wallets -> wallets.iterator().next() == testWallet));
+        verify(eventPublisher, times(1)).publishEvent(any(TransactionCreatedEvent.class));
+    }
+
+    @Test
+    void should_ChargeLockedWallet_When_OccurrenceCarriesStaleWallet() {
+        Wallet stale = Wallet.builder().id(walletId).balance(BigDecimal.ZERO).build();
+        Transaction rent = occurrence("recurring:r:2025-01-01", "700.00");
+        rent.setWallet(stale);
+        when(transactionRepository.findExistingOccurrenceKeys(anyList())).thenReturn(Set.of());
+        when(walletRepository.lockAllForUpdate(List.of(walletId))).thenReturn(Map.of(walletId, testWallet));
+        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Set<String> settled = transactionService.bookOccurrences(List.of(rent));
+
+        assertEquals(Set.of("recurring:r:2025-01-01"), settled);
+        assertSame(testWallet, rent.getWallet());
+        assertEquals(new BigDecimal("100.00"), testWallet.getBalance());
+        assertEquals(BigDecimal.ZERO, stale.getBalance());
+    }
+
+    @Test
+    void should_LookUpOccurrenceKeysInChunks_When_ManyOccurrencesAreBooked() {
+        List<Transaction> entries = new ArrayList<>();
+        for (int i = 0; i < 2_500; i++) {
+            entries.add(occurrence("recurring:r:" + i, "0.01"));
+        }
+        when(transactionRepository.findExistingOccurrenceKeys(anyList())).thenReturn(Set.of());
+        when(walletRepository.lockAllForUpdate(List.of(walletId))).thenReturn(Map.of(walletId, testWallet));
+        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Set<String> settled = transactionService.bookOccurrences(entries);
+
+        assertEquals(2_500, settled.size());
+        ArgumentCaptor<List<String>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository, times(3)).findExistingOccurrenceKeys(chunks.capture());
+        assertEquals(List.of(1_000, 1_000, 500), chunks.getAllValues().stream().map(List::size).toList());
+        verify(archiveService, times(3)).archivedOccurrenceKeys(anyList());
+    }
+
+    // answers the month query from testWallet's transactions the way the database would: [from, to), newest first
+    private void stubMonthQuery() {
+        when(walletRepository.existsById(walletId)).thenReturn(true);
+        when(transactionRepository.findByWalletIdAndDateRange(eq(walletId), any(), any())).thenAnswer(invocation -> {
+            LocalDateTime from = invocation.getArgument(1);
+            LocalDateTime to = invocation.getArgument(2);
+            return testWallet.getTransactions().stream()
+                    .filter(t -> !t.getDate().isBefore(from) && t.getDate().isBefore(to))
+                    .sorted(Comparator.comparing(Transaction::getDate).reversed())
+                    .toList();
+        });
+    }
+
+    private Transaction occurrence(String key, String amount) {
+        return Transaction.builder()
+                .amount(new BigDecimal(amount))
+                .date(LocalDateTime.of(2025, 1, 1, 0, 0))
+                .type(Type.EXPENSE)
+                .category(Category.SUBSCRIPTIONS)
+                .description("Renewal")
+                .occurrenceKey(key)
+                .wallet(testWallet)
+                .build();
+    }
 }
@@ -1,9 +1,10 @@
 package app.user.service;
 
 import app.confg.BeanConfiguration;
+import app.event.UserUpgradedEvent;
 import app.exception.UserNotFoundException;
 import app.exception.UsernameAlreadyExistException;
-import app.notification.service.NotificationService;
+import app.notification.service.NotificationOutboxService;
 import app.security.UserData;
 import app.subscription.service.SubscriptionsService;
 import app.user.model.Country;
@@ -20,6 +21,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -48,11 +50,14 @@ class UserServiceUTest {
     private BeanConfiguration beanConfiguration;
 
     @Mock
-    private NotificationService notificationService;
+    private NotificationOutboxService notificationOutboxService;
 
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
@@ -113,7 +118,7 @@ class UserServiceUTest {
         verify(userRepository).save(any(User.class));
         verify(walletService).createDefaultWallet(any(User.class));
         verify(subscriptionsService).createDefaultSubscription(any(User.class));
-        verify(notificationService).upsertPreference(eq(testUser.getId()), eq(false), eq(testUser.getEmail()));
+        verify(notificationOutboxService).enqueuePreferenceUpsert(eq(testUser.getId()), eq(false), eq(testUser.getEmail()));
     }
 
     @Test
@@ -368,6 +373,29 @@ class UserServiceUTest {
         verify(userRepository).save(testUser);
     }
 
+    @Test
+    void should_UpgradeUserAndPublishEvent_When_UserIsBasic() {
+        when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
+        when(userRepository.save(testUser)).thenReturn(testUser);
+
+        userService.upgradeToPro(testUserId);
+
+        assertEquals(UserVersion.PRO, testUser.getUserVersion());
+        verify(userRepository).save(testUser);
+        verify(eventPublisher).publishEvent(any(UserUpgradedEvent.class));
+    }
+
+    @Test
+    void should_NotPublishEvent_When_UserIsAlreadyPro() {
+        testUser.setUserVersion(UserVersion.PRO);
+        when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
+
+        userService.upgradeToPro(testUserId);
+
+        verify(userRepository, never()).save(any(User.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
     @Test
     void should_UpdateNotificationPreference_When_EmailIsProvided() {
         userEditRequest.setEmail("newemail@example.com");
@@ -376,7 +404,7 @@ class UserServiceUTest {
 
         userService.editUserDetails(testUserId, userEditRequest);
 
-        verify(notificationService).upsertPreference(testUserId, true, "newemail@example.com");
+        verify(notificationOutboxService).enqueuePreferenceUpsert(testUserId, true, "newemail@example.com");
         verify(userRepository).findById(testUserId);
         verify(userRepository).save(testUser);
     }
@@ -409,7 +437,7 @@ class UserServiceUTest {
 
         userService.editUserDetails(testUserId, userEditRequest);
 
-        verify(notificationService).upsertPreference(testUserId, false, null);
+        verify(notificationOutboxService).enqueuePreferenceUpsert(testUserId, false, null);
         verify(userRepository).findById(testUserId);
         verify(userRepository).save(testUser);
     }
@@ -422,7 +450,7 @@ class UserServiceUTest {
 
         userService.editUserDetails(testUserId, userEditRequest);
 
-        verify(notificationService).upsertPreference(testUserId, false, null);
+        verify(notificationOutboxService).enqueuePreferenceUpsert(testUserId, false, null);
         verify(userRepository).findById(testUserId);
         verify(userRepository).save(testUser);
     }
@@ -435,7 +463,7 @@ class UserServiceUTest {
 
         userService.editUserDetails(testUserId, userEditRequest);
 
-        verify(notificationService).upsertPreference(testUserId, false, null);
+        verify(notificationOutboxService).enqueuePreferenceUpsert(testUserId, false, null);
         verify(userRepository).findById(testUserId);
         verify(userRepository).save(testUser);
     }
@@ -7,6 +7,12 @@ import app.user.model.UserVersion;
 import app.user.repository.UserRepository;
 import app.wallet.model.Wallet;
 import app.wallet.repository.WalletRepository;
+import app.wallet.repository.WalletTransferRepository;
+import app.web.dto.WalletDto;
+import app.web.dto.WalletOverview;
+import app.web.dto.WalletSummary;
+import app.web.dto.WalletTransferDto;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +23,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Currency;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,6 +41,12 @@ class WalletServiceITest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private WalletTransferRepository walletTransferRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private User testUser;
 
     @BeforeEach
@@ -66,7 +79,7 @@ class WalletServiceITest {
 
         walletService.createDefaultWallet(testUser);
 
-        Optional<Wallet> savedWalletOpt = walletRepository.findByUserId(testUser.getId());
+        Optional<Wallet> savedWalletOpt = walletRepository.findPrimaryByUserId(testUser.getId());
         assertTrue(savedWalletOpt.isPresent(), "Wallet should be saved in database");
 
         Wallet savedWallet = savedWalletOpt.get();
@@ -90,7 +103,7 @@ class WalletServiceITest {
         long walletCountAfter = walletRepository.count();
         assertEquals(walletCountBefore + 1, walletCountAfter, "Wallet count should increase by 1");
 
-        Wallet savedWallet = walletRepository.findByUserId(testUser.getId())
+        Wallet savedWallet = walletRepository.findPrimaryByUserId(testUser.getId())
                 .orElseThrow(() -> new AssertionError("Wallet should exist in database"));
 
         assertEquals("Default", savedWallet.getName());
@@ -100,5 +113,34 @@ class WalletServiceITest {
         assertEquals(Currency.getInstance("BGN"), savedWallet.getCurrency());
     }
 
+    @Test
+    void should_TransferAndAggregateAcrossWallets_When_UserOwnsSeveralWallets() {
+        walletService.createDefaultWallet(testUser);
+        Wallet savings = walletService.createWallet(testUser.getId(), WalletDto.builder()
+                .name("Savings")
+                .currency(Currency.getInstance("BGN"))
+                .build());
+        Wallet primary = walletRepository.findPrimaryByUserId(testUser.getId()).orElseThrow();
+
+        walletService.transfer(testUser.getId(), WalletTransferDto.builder()
+                .fromWalletId(primary.getId())
+                .toWalletId(savings.getId())
+                .amount(new BigDecimal("40"))
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(0, new BigDecimal("60").compareTo(walletRepository.findById(primary.getId()).orElseThrow().getBalance()));
+        assertEquals(0, new BigDecimal("40").compareTo(walletRepository.findById(savings.getId()).orElseThrow().getBalance()));
+        assertEquals(1, walletTransferRepository.count());
+
+        List<WalletSummary> wallets = walletService.getWallets(testUser.getId());
+        assertEquals(List.of("Default", "Savings"), wallets.stream().map(WalletSummary::getName).toList());
+        assertTrue(wallets.get(0).isPrimary());
+        assertFalse(wallets.get(1).isPrimary());
+
+        WalletOverview overview = walletService.getOverview(testUser.getId(), Currency.getInstance("BGN"));
+        assertEquals(2, overview.getWalletCount());
+        assertEquals(0, new BigDecimal("100").compareTo(overview.getTotalBalance()));
+    }
 }
-
@@ -1,23 +1,36 @@
 package app.wallet.service;
 
+import app.currency.model.FxRateSnapshot;
+import app.currency.model.Money;
+import app.currency.service.FxRateService;
 import app.transactions.service.TransactionService;
 import app.user.model.Country;
 import app.user.model.Role;
 import app.user.model.User;
 import app.user.model.UserVersion;
+import app.user.repository.UserRepository;
 import app.wallet.model.Wallet;
+import app.wallet.model.WalletTransfer;
 import app.wallet.repository.WalletRepository;
+import app.wallet.repository.WalletTransferRepository;
+import app.web.dto.WalletCurrencyTotal;
+import app.web.dto.WalletOverview;
+import app.web.dto.WalletTransferDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Currency;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -33,6 +46,15 @@ class WalletServiceUTest {
     @Mock
     private TransactionService transactionService;
 
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private WalletTransferRepository walletTransferRepository;
+
+    @Mock
+    private FxRateService fxRateService;
+
     @InjectMocks
     private WalletService walletService;
 
@@ -142,5 +164,124 @@ class WalletServiceUTest {
         assertEquals(new BigDecimal("100"), capturedWallet.getBalance());
         assertEquals(Currency.getInstance("BGN"), capturedWallet.getCurrency());
     }
-}
 
+    @Test
+    void should_MakeNewWalletPrimary_When_DefaultWalletCreated() {
+        when(walletRepository.save(any(Wallet.class))).thenReturn(testWallet);
+
+        walletService.createDefaultWallet(testUser);
+
+        assertEquals(testWallet, testUser.getWallet());
+        verify(userRepository).save(testUser);
+    }
+
+    @Test
+    void should_MoveBalanceBetweenWallets_When_TransferIsCovered() {
+        Wallet target = wallet(UUID.randomUUID(), "Savings", "10", "BGN");
+        when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.of(testWallet));
+        when(walletRepository.findByIdForUpdate(target.getId())).thenReturn(Optional.of(target));
+        when(fxRateService.convert(new BigDecimal("30"), Currency.getInstance("BGN"), Currency.getInstance("BGN")))
+                .thenReturn(new BigDecimal("30"));
+        when(walletTransferRepository.save(any(WalletTransfer.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        WalletTransfer transfer = walletService.transfer(userId, transferDto(walletId, target.getId(), "30"));
+
+        assertEquals(new BigDecimal("70"), testWallet.getBalance());
+        assertEquals(new BigDecimal("40"), target.getBalance());
+        assertEquals(Money.of(new BigDecimal("30")), transfer.getCreditedAmount());
+        assertEquals(0, BigDecimal.ZERO.compareTo(testWallet.getExpense()));
+    }
+
+    @Test
+    void should_LockWalletsInIdOrder_When_TransferRunsEitherWay() {
+        UUID lowId = new UUID(0L, 1L);
+        UUID highId = new UUID(0L, 2L);
+        Wallet low = wallet(lowId, "Low", "100", "BGN");
+        Wallet high = wallet(highId, "High", "100", "BGN");
+        when(walletRepository.findByIdForUpdate(lowId)).thenReturn(Optional.of(low));
+        when(walletRepository.findByIdForUpdate(highId)).thenReturn(Optional.of(high));
+        when(fxRateService.convert(any(), any(), any())).thenReturn(BigDecimal.ONE);
+
+        walletService.transfer(userId, transferDto(highId, lowId, "1"));
+        walletService.transfer(userId, transferDto(lowId, highId, "1"));
+
+        InOrder inOrder = inOrder(walletRepository);
+        inOrder.verify(walletRepository).findByIdForUpdate(lowId);
+        inOrder.verify(walletRepository).findByIdForUpdate(highId);
+        inOrder.verify(walletRepository).findByIdForUpdate(lowId);
+        inOrder.verify(walletRepository).findByIdForUpdate(highId);
+    }
+
+    @Test
+    void should_ThrowIllegalArgumentException_When_TransferExceedsBalance() {
+        Wallet target = wallet(UUID.randomUUID(), "Savings", "0", "BGN");
+        when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.of(testWallet));
+        when(walletRepository.findByIdForUpdate(target.getId())).thenReturn(Optional.of(target));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> walletService.transfer(userId, transferDto(walletId, target.getId(), "150")));
+
+        verify(walletRepository, never()).saveAll(any());
+        verifyNoInteractions(walletTransferRepository);
+    }
+
+    @Test
+    void should_ThrowSecurityException_When_TargetWalletBelongsToAnotherUser() {
+        Wallet foreign = wallet(UUID.randomUUID(), "Foreign", "0", "BGN");
+        foreign.setUser(User.builder().id(UUID.randomUUID()).build());
+        when(walletRepository.findByIdForUpdate(walletId)).thenReturn(Optional.of(testWallet));
+        when(walletRepository.findByIdForUpdate(foreign.getId())).thenReturn(Optional.of(foreign));
+
+        assertThrows(SecurityException.class,
+                () -> walletService.transfer(userId, transferDto(walletId, foreign.getId(), "10")));
+
+        verify(walletRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void should_ThrowIllegalArgumentException_When_TransferTargetsSameWallet() {
+        assertThrows(IllegalArgumentException.class,
+                () -> walletService.transfer(userId, transferDto(walletId, walletId, "10")));
+
+        verifyNoInteractions(walletRepository);
+    }
+
+    @Test
+    void should_SumOverviewInReportingCurrency_When_WalletsUseDifferentCurrencies() {
+        Currency bgn = Currency.getInstance("BGN");
+        Currency eur = Currency.getInstance("EUR");
+        when(fxRateService.snapshot()).thenReturn(new FxRateSnapshot(eur,
+                Map.of(eur, BigDecimal.ONE, bgn, new BigDecimal("2")), Instant.now()));
+        when(walletRepository.sumTotalsByCurrency(userId)).thenReturn(List.of(
+                new WalletCurrencyTotal(bgn, 2L, new BigDecimal("200.00"), new BigDecimal("40.00"), new BigDecimal("20.00")),
+                new WalletCurrencyTotal(eur, 1L, new BigDecimal("50.00"), new BigDecimal("10.00"), new BigDecimal("5.00"))));
+
+        WalletOverview overview = walletService.getOverview(userId, bgn);
+
+        assertEquals(3, overview.getWalletCount());
+        assertEquals(new BigDecimal("300.00"), overview.getTotalBalance());
+        assertEquals(new BigDecimal("60.00"), overview.getTotalIncome());
+        assertEquals(new BigDecimal("30.00"), overview.getTotalExpense());
+        verify(walletRepository).sumTotalsByCurrency(userId);
+    }
+
+    private Wallet wallet(UUID id, String name, String balance, String currency) {
+        return Wallet.builder()
+                .id(id)
+                .name(name)
+                .income(BigDecimal.ZERO)
+                .expense(BigDecimal.ZERO)
+                .balance(new BigDecimal(balance))
+                .currency(Currency.getInstance(currency))
+                .user(testUser)
+                .build();
+    }
+
+    private WalletTransferDto transferDto(UUID fromWalletId, UUID toWalletId, String amount) {
+        return WalletTransferDto.builder()
+                .fromWalletId(fromWalletId)
+                .toWalletId(toWalletId)
+                .amount(new BigDecimal(amount))
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package app.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=health,info,prometheus",
+        "app.metrics.scrape.username=scraper",
+        "app.metrics.scrape.password=scrape-secret"
+})
+@AutoConfigureMockMvc
+class ActuatorSecurityITest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void should_ServeHealth_When_Anonymous() throws Exception {
+
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void should_RejectScrape_When_Anonymous() throws Exception {
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void should_RejectScrape_When_CredentialsAreWrong() throws Exception {
+
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("scraper", "guess")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void should_RejectActuator_When_SignedInAsApplicationUser() throws Exception {
+
+        mockMvc.perform(get("/actuator/info").with(user("someone").roles("USER")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void should_ServeActuator_When_ScrapeCredentialsMatch() throws Exception {
+
+        mockMvc.perform(get("/actuator/info").with(httpBasic("scraper", "scrape-secret")))
+                .andExpect(status().isOk());
+    }
+}
@@ -12,6 +12,7 @@ import app.user.repository.UserRepository;
 import app.user.service.UserService;
 import app.web.dto.BudgetDto;
 import app.web.dto.BudgetPageData;
+import app.web.dto.BudgetTrendResponse;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -25,6 +26,7 @@ import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -160,6 +162,192 @@ public class BudgetControllerApiTest {
         verify(budgetService).createOrUpdateBudget(eq(userId), any(BudgetDto.class));
     }
 
+    @Test
+    void getBudgetTrend_shouldReturnColumnarJson_whenRangeProvided() throws Exception {
+
+        UUID userId = UUID.randomUUID();
+        when(userService.getById(userId)).thenReturn(mockProUser(userId));
+        BudgetTrendResponse trend = BudgetTrendResponse.builder()
+                .months(List.of("2024-11", "2024-12"))
+                .categories(List.of(Category.FOOD))
+                .budget(Map.of(Category.FOOD, List.of(new BigDecimal("200"), BigDecimal.ZERO)))
+                .actual(Map.of(Category.FOOD, List.of(new BigDecimal("150"), new BigDecimal("20"))))
+                .totalBudget(List.of(new BigDecimal("200"), BigDecimal.ZERO))
+                .totalActual(List.of(new BigDecimal("150"), new BigDecimal("20")))
+                .build();
+        when(budgetService.getBudgetTrend(userId, YearMonth.of(2024, 11), YearMonth.of(2024, 12))).thenReturn(trend);
+
+        MockHttpServletRequestBuilder requestBuilder = get("/budget/trend")
+                .with(user(mockAuth(userId)))
+                .param("from", "2024-11")
+                .param("to", "2024-12");
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.months[1]").value("2024-12"))
+                .andExpect(jsonPath("$.budget.FOOD[0]").value(200))
+                .andExpect(jsonPath("$.actual.FOOD[1]").value(20))
+                .andExpect(jsonPath("$.totalActual[0]").value(150));
+    }
+
+    @Test
+    void rolloverBudgets_shouldRedirectToNextMonth_whenCalled() throws Exception {
+
+        UUID userId = UUID.randomUUID();
+        when(userService.getById(userId)).thenReturn(mockProUser(userId));
+
+        MockHttpServletRequestBuilder requestBuilder = post("/budget/rollover")
+                .with(user(mockAuth(userId)))
+                .with(csrf())
+                .param("month", "12")
+                .param("year", "2024")
+                .param("months", "3")
+                .param("carryOver", "true");
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/budget?month=1&year=2025"));
+
+        verify(budgetService).rolloverBudgets(userId, YearMonth.of(2024, 12), 3, true);
+    }
+
+    @Test
+    void rolloverBudgets_shouldRedirectWithError_whenMonthsExceedLimit() throws Exception {
+
+        UUID userId = UUID.randomUUID();
+        when(userService.getById(userId)).thenReturn(mockProUser(userId));
+
+        MockHttpServletRequestBuilder requestBuilder = post("/budget/rollover")
+                .with(user(mockAuth(userId)))
+                .with(csrf())
+                .param("month", "12")
+                .param("year", "2024")
+                .param("months", "100000");
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/budget?error=validation_failed"));
+
+        verifyNoInteractions(budgetService);
+    }
+
+    @Test
+    void rolloverBudgets_shouldRedirectWithError_whenMonthIsInvalid() throws Exception {
+
+        UUID userId = UUID.randomUUID();
+        when(userService.getById(userId)).thenReturn(mockProUser(userId));
+
+        MockHttpServletRequestBuilder requestBuilder = post("/budget/rollover")
+                .with(user(mockAuth(userId)))
+                .with(csrf())
+                .param("month", "13")
+                .param("year", "2024");
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/budget?error=validation_failed"));
+
+        verifyNoInteractions(budgetService);
+    }
+
+    @Test
+    void getBudgetTrend_shouldReturnForbidden_whenBasicUser() throws Exception {
+
+        UUID userId = UUID.randomUUID();
+        when(userService.getById(userId)).thenReturn(mockBasicUser(userId));
+
+        MockHttpServletRequestBuilder requestBuilder = get("/budget/trend")
+                .with(user(mockAuth(userId)));
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(budgetService);
+    }
+
+    @Test
+    void rolloverBudgets_shouldRedirectToUpgrade_whenBasicUser() throws Exception {
+
+        UUID userId = UUID.randomUUID();
+        when(userService.getById(userId)).thenReturn(mockBasicUser(userId));
+
+        MockHttpServletRequestBuilder requestBuilder = post("/budget/rollover")
+                .with(user(mockAuth(userId)))
+                .with(csrf())
+                .param("month", "12")
+                .param("year", "2024")
+                .param("months", "3");
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/upgrade"));
+
+        verifyNoInteractions(budgetService);
+    }
+
+    @Test
+    void applyBudgetPlan_shouldRedirectToUpgrade_whenBasicUser() throws Exception {
+
+        UUID userId = UUID.randomUUID();
+        when(userService.getById(userId)).thenReturn(mockBasicUser(userId));
+
+        MockHttpServletRequestBuilder requestBuilder = post("/budget/plan")
+                .with(user(mockAuth(userId)))
+                .with(csrf())
+                .param("month", "11")
+                .param("year", "2024")
+                .param("months", "6")
+                .param("amounts[FOOD]", "400.00");
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/upgrade"));
+
+        verifyNoInteractions(budgetService);
+    }
+
+    @Test
+    void applyBudgetPlan_shouldRedirectToPlanMonth_whenValidData() throws Exception {
+
+        UUID userId = UUID.randomUUID();
+        when(userService.getById(userId)).thenReturn(mockProUser(userId));
+
+        MockHttpServletRequestBuilder requestBuilder = post("/budget/plan")
+                .with(user(mockAuth(userId)))
+                .with(csrf())
+                .param("month", "11")
+                .param("year", "2024")
+                .param("months", "6")
+                .param("amounts[FOOD]", "400.00")
+                .param("amounts[TRANSPORT]", "120.00");
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/budget?month=11&year=2024"));
+
+        verify(budgetService).applyBudgetPlan(eq(userId), argThat(plan ->
+                plan.getMonths() == 6 && plan.getAmounts().get(Category.FOOD).compareTo(new BigDecimal("400.00")) == 0));
+    }
+
+    @Test
+    void applyBudgetPlan_shouldRedirectWithError_whenPlanIsEmpty() throws Exception {
+
+        UUID userId = UUID.randomUUID();
+        when(userService.getById(userId)).thenReturn(mockProUser(userId));
+
+        MockHttpServletRequestBuilder requestBuilder = post("/budget/plan")
+                .with(user(mockAuth(userId)))
+                .with(csrf())
+                .param("month", "11")
+                .param("year", "2024");
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/budget?error=validation_failed"));
+
+        verify(budgetService, never()).applyBudgetPlan(any(), any());
+    }
+
     @Test
     void addBudget_shouldRedirectToBudgetWithError_whenValidationFails() throws Exception {
 
@@ -1,9 +1,12 @@
 package app.web;
 
+import app.currency.model.FxRateSnapshot;
+import app.currency.service.FxRateService;
 import app.security.UserData;
 import app.subscription.model.Subscription;
 import app.subscription.model.SubscriptionPeriod;
 import app.subscription.model.SubscriptionType;
+import app.subscription.service.SubscriptionsService;
 import app.transactions.model.Category;
 import app.transactions.service.TransactionService;
 import app.user.model.Country;
@@ -15,6 +18,9 @@ import app.user.service.UserService;
 import app.wallet.model.Wallet;
 import app.wallet.service.WalletService;
 import app.web.dto.TopCategories;
+import app.web.dto.WalletOverview;
+import app.web.dto.WalletSummary;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -25,12 +31,17 @@ import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilde
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.Currency;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -50,9 +61,28 @@ public class DashboardControllerApiTest {
 
     @MockitoBean
     private TransactionService transactionService;
+
+    @MockitoBean
+    private SubscriptionsService subscriptionsService;
     @MockitoBean
     private UserRepository userRepository;
 
+    @MockitoBean
+    private FxRateService fxRateService;
+
+    @BeforeEach
+    void setUp() {
+        Currency bgn = Currency.getInstance("BGN");
+        when(fxRateService.snapshot()).thenReturn(new FxRateSnapshot(bgn, Map.of(bgn, BigDecimal.ONE), Instant.now()));
+        when(walletService.getOverview(any(), any())).thenReturn(WalletOverview.builder()
+                .currency(bgn)
+                .walletCount(1)
+                .totalBalance(new BigDecimal("800.00"))
+                .totalIncome(new BigDecimal("1000.00"))
+                .totalExpense(new BigDecimal("200.00"))
+                .build());
+    }
+
     @Test
     void getDashboardPage_shouldReturnDashboardView_withEmptyTopCategories() throws Exception {
 
@@ -142,6 +172,60 @@ public class DashboardControllerApiTest {
                 .andExpect(model().attribute("subscription", Collections.emptyList()));
     }
 
+    @Test
+    void getDashboardPage_shouldShowSubscriptionsFromService_whenUserHasUnpaidOnes() throws Exception {
+
+        UUID userId = UUID.randomUUID();
+        User mockUser = mockUser(userId);
+        Wallet wallet = mockWallet(UUID.randomUUID(), mockUser);
+        mockUser.setWallet(wallet);
+
+        List<Subscription> upcoming = List.of(mockSubscription("Netflix", null, mockUser));
+
+        when(userService.getById(userId)).thenReturn(mockUser);
+        when(transactionService.getTopCategories(wallet.getId())).thenReturn(Collections.emptyList());
+        when(subscriptionsService.getDashboardSubscriptions(userId)).thenReturn(upcoming);
+
+        UserData userData = new UserData(
+                userId, mockUser.getUsername(), mockUser.getPassword(), mockUser.getEmail(), mockUser.getRole(), mockUser.isActive());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/dashboard").with(user(userData)))
+                .andExpect(status().isOk())
+                .andExpect(view().name("dashboard"))
+                .andExpect(model().attribute("subscription", upcoming));
+
+        verify(subscriptionsService).getDashboardSubscriptions(userId);
+    }
+
+    @Test
+    void getDashboardPage_shouldShowCrossWalletOverview_whenUserHasSeveralWallets() throws Exception {
+
+        UUID userId = UUID.randomUUID();
+        User mockUser = mockUser(userId);
+        Wallet wallet = mockWallet(UUID.randomUUID(), mockUser);
+        wallet.setCurrency(Currency.getInstance("BGN"));
+        mockUser.setWallet(wallet);
+
+        List<WalletSummary> wallets = List.of(
+                new WalletSummary(wallet.getId(), "Default", Currency.getInstance("BGN"), new BigDecimal("800.00"), true),
+                new WalletSummary(UUID.randomUUID(), "Travel", Currency.getInstance("EUR"), new BigDecimal("50.00"), false));
+
+        when(userService.getById(userId)).thenReturn(mockUser);
+        when(transactionService.getTopCategories(wallet.getId())).thenReturn(Collections.emptyList());
+        when(walletService.getWallets(userId)).thenReturn(wallets);
+
+        UserData userData = new UserData(
+                userId, mockUser.getUsername(), mockUser.getPassword(), mockUser.getEmail(), mockUser.getRole(), mockUser.isActive());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/dashboard").with(user(userData)))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("wallets", wallets))
+                .andExpect(model().attributeExists("walletOverview"))
+                .andExpect(model().attributeExists("transfer"));
+
+        verify(walletService).getOverview(userId, Currency.getInstance("BGN"));
+    }
+
     private User mockUser(UUID id) {
 
         return User.builder()
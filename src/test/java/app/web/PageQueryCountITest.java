@@ -0,0 +1,172 @@
+package app.web;
+
+import app.budget.model.Budget;
+import app.budget.repository.BudgetRepository;
+import app.monitoring.QueryCount;
+import app.security.UserData;
+import app.subscription.model.Subscription;
+import app.subscription.model.SubscriptionPeriod;
+import app.subscription.model.SubscriptionType;
+import app.subscription.repository.SubscriptionsRepository;
+import app.transactions.model.Category;
+import app.transactions.model.Transaction;
+import app.transactions.model.Type;
+import app.transactions.repository.TransactionRepository;
+import app.user.model.Country;
+import app.user.model.Role;
+import app.user.model.User;
+import app.user.model.UserVersion;
+import app.user.repository.UserRepository;
+import app.wallet.model.Wallet;
+import app.wallet.repository.WalletRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins how many statements the main pages may run. The dataset is big enough that a per-row lazy load
+ * (one select per transaction, subscription or budget) blows through the ceiling, so an eager-fetch or
+ * N+1 regression fails here rather than in production.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class PageQueryCountITest {
+
+    private static final int TRANSACTIONS = 40;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private SubscriptionsRepository subscriptionsRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    private UserData principal;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        User user = userRepository.save(User.builder()
+                .username("query-count-user")
+                .email("query-count@example.com")
+                .password("password")
+                .isActive(true)
+                .role(Role.USER)
+                .country(Country.BULGARIA)
+                .userVersion(UserVersion.PRO)
+                .createdOn(now)
+                .updatedOn(now)
+                .build());
+        Wallet wallet = walletRepository.save(Wallet.builder()
+                .user(user)
+                .name("Default")
+                .currency(Currency.getInstance("BGN"))
+                .income(new BigDecimal("3000.00"))
+                .expense(new BigDecimal("400.00"))
+                .balance(new BigDecimal("2600.00"))
+                .build());
+        user.setWallet(wallet);
+        userRepository.save(user);
+
+        List<Transaction> transactions = new ArrayList<>();
+        Category[] categories = Category.values();
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            transactions.add(Transaction.builder()
+                    .wallet(wallet)
+                    .type(i == 0 ? Type.INCOME : Type.EXPENSE)
+                    .category(categories[i % categories.length])
+                    .amount(new BigDecimal("10.00"))
+                    .date(now.minusDays(i % 60))
+                    .description("transaction " + i)
+                    .build());
+        }
+        transactionRepository.saveAll(transactions);
+
+        for (int i = 0; i < 3; i++) {
+            Subscription subscription = new Subscription();
+            subscription.setName("Service " + i);
+            subscription.setPeriod(SubscriptionPeriod.MONTHLY);
+            subscription.setType(SubscriptionType.values()[i % SubscriptionType.values().length]);
+            subscription.setPrice(new BigDecimal("9.99"));
+            subscription.setExpiryOn(LocalDate.now().plusDays(5 + i));
+            subscription.setUser(user);
+            subscriptionsRepository.save(subscription);
+        }
+
+        YearMonth month = YearMonth.now();
+        for (Category category : List.of(Category.FOOD, Category.TRANSPORT, Category.HOME)) {
+            budgetRepository.save(Budget.builder()
+                    .user(user)
+                    .category(category)
+                    .amount(new BigDecimal("200.00"))
+                    .year(month.getYear())
+                    .month(month.getMonthValue())
+                    .build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        principal = new UserData(user.getId(), user.getUsername(), user.getPassword(), user.getEmail(), user.getRole(), true);
+    }
+
+    @Test
+    void dashboard_shouldStayWithinQueryBudget() throws Exception {
+        mockMvc.perform(get("/dashboard").with(user(principal)))
+                .andExpect(status().isOk())
+                .andExpect(QueryCount.atMost(6));
+    }
+
+    @Test
+    void transactions_shouldStayWithinQueryBudget() throws Exception {
+        mockMvc.perform(get("/transactions").with(user(principal)))
+                .andExpect(status().isOk())
+                .andExpect(QueryCount.atMost(3));
+    }
+
+    @Test
+    void budget_shouldStayWithinQueryBudget() throws Exception {
+        mockMvc.perform(get("/budget").with(user(principal)))
+                .andExpect(status().isOk())
+                .andExpect(QueryCount.atMost(3));
+    }
+
+    @Test
+    void report_shouldStayWithinQueryBudget() throws Exception {
+        mockMvc.perform(get("/report").with(user(principal)))
+                .andExpect(status().isOk())
+                .andExpect(QueryCount.atMost(3));
+    }
+}
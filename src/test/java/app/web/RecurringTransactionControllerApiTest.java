@@ -0,0 +1,117 @@
+package app.web;
+
+import app.recurring.model.Cadence;
+import app.recurring.service.RecurringTransactionService;
+import app.security.UserData;
+import app.transactions.model.Category;
+import app.transactions.model.Type;
+import app.user.model.Role;
+import app.user.repository.UserRepository;
+import app.web.dto.RecurringTransactionDto;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(RecurringTransactionController.class)
+@Import({GlobalExceptionHandler.class, TestWebMvcConfig.class})
+public class RecurringTransactionControllerApiTest {
+
+    @MockitoBean
+    private RecurringTransactionService recurringTransactionService;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void addRecurringTransaction_shouldCreateScheduleAndRedirect_whenValidData() throws Exception {
+
+        UUID userId = UUID.randomUUID();
+
+        MockHttpServletRequestBuilder requestBuilder = post("/transactions/recurring/add")
+                .with(user(mockAuth(userId)))
+                .with(csrf())
+                .param("amount", "650.00")
+                .param("type", Type.EXPENSE.name())
+                .param("category", Category.HOUSING.name())
+                .param("cadence", Cadence.MONTHLY.name())
+                .param("startDate", "2025-01-31")
+                .param("description", "Rent");
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/transactions"));
+
+        ArgumentCaptor<RecurringTransactionDto> captor = ArgumentCaptor.forClass(RecurringTransactionDto.class);
+        verify(recurringTransactionService).create(eq(userId), captor.capture());
+        assertEquals(new BigDecimal("650.00"), captor.getValue().getAmount());
+        assertEquals(LocalDate.of(2025, 1, 31), captor.getValue().getStartDate());
+        assertEquals(Cadence.MONTHLY, captor.getValue().getCadence());
+    }
+
+    @Test
+    void addRecurringTransaction_shouldRedirectWithError_whenCadenceMissing() throws Exception {
+
+        UUID userId = UUID.randomUUID();
+
+        MockHttpServletRequestBuilder requestBuilder = post("/transactions/recurring/add")
+                .with(user(mockAuth(userId)))
+                .with(csrf())
+                .param("amount", "650.00")
+                .param("type", Type.EXPENSE.name())
+                .param("category", Category.HOUSING.name())
+                .param("startDate", "2025-01-31");
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/transactions?error=validation_failed"));
+
+        verifyNoInteractions(recurringTransactionService);
+    }
+
+    @Test
+    void stopRecurringTransaction_shouldDeactivateAndRedirect_whenCalled() throws Exception {
+
+        UUID userId = UUID.randomUUID();
+        UUID recurringId = UUID.randomUUID();
+
+        MockHttpServletRequestBuilder requestBuilder = post("/transactions/recurring/delete/" + recurringId)
+                .with(user(mockAuth(userId)))
+                .with(csrf());
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/transactions"));
+
+        verify(recurringTransactionService).deactivate(recurringId, userId);
+    }
+
+    private UserData mockAuth(UUID id) {
+
+        return new UserData(id
+                , "testUser"
+                , "password"
+                , "test@example.com"
+                , Role.USER
+                , true);
+    }
+}
@@ -6,6 +6,7 @@ import app.subscription.model.SubscriptionPeriod;
 import app.subscription.model.SubscriptionType;
 import app.subscription.service.SubscriptionsService;
 import app.transactions.model.Category;
+import app.transactions.model.CategoryVector;
 import app.transactions.model.Transaction;
 import app.transactions.model.Type;
 import app.transactions.service.TransactionService;
@@ -89,9 +90,9 @@ public class ReportControllerApiTest {
                 .build();
 
         when(userService.getById(userId)).thenReturn(mockUser);
-        when(transactionService.getCategoryNamesForCurrentMonth(wallet.getId())).thenReturn(List.of("Food", "Transport"));
-        when(transactionService.getCategoryPercentsForCurrentMonth(wallet.getId())).thenReturn(List.of(50, 30));
-        when(transactionService.getCategoryAmountsForCurrentMonth(wallet.getId())).thenReturn(List.of(new BigDecimal("100.00"), new BigDecimal("60.00")));
+        when(transactionService.getCategoryBreakdownForCurrentMonth(wallet.getId())).thenReturn(new CategoryVector()
+                .add(Category.FOOD, new BigDecimal("100.00"))
+                .add(Category.TRANSPORT, new BigDecimal("60.00")));
         when(transactionService.getCurrentMonthTransactions(wallet.getId())).thenReturn(List.of(transaction));
         when(transactionService.getBiggestExpenseForCurrentMonth(wallet.getId())).thenReturn(transaction);
         when(transactionService.getBiggestExpenseCategoryName(wallet.getId())).thenReturn("Food");
@@ -183,9 +184,7 @@ public class ReportControllerApiTest {
         mockUser.setWallet(wallet);
 
         when(userService.getById(userId)).thenReturn(mockUser);
-        when(transactionService.getCategoryNamesForCurrentMonth(wallet.getId())).thenReturn(Collections.emptyList());
-        when(transactionService.getCategoryPercentsForCurrentMonth(wallet.getId())).thenReturn(Collections.emptyList());
-        when(transactionService.getCategoryAmountsForCurrentMonth(wallet.getId())).thenReturn(Collections.emptyList());
+        when(transactionService.getCategoryBreakdownForCurrentMonth(wallet.getId())).thenReturn(new CategoryVector());
         when(transactionService.getCurrentMonthTransactions(wallet.getId())).thenReturn(Collections.emptyList());
         when(transactionService.getBiggestExpenseForCurrentMonth(wallet.getId())).thenReturn(null);
         when(transactionService.getBiggestExpenseCategoryName(wallet.getId())).thenReturn(null);
@@ -210,7 +209,7 @@ public class ReportControllerApiTest {
     }
 
     @Test
-    void getReportPage_shouldReturnReportView_withCombinedExpenses() throws Exception {
+    void getReportPage_shouldNotAddSubscriptionPricesOnTop_whenRenewalsAreOnLedger() throws Exception {
 
         UUID userId = UUID.randomUUID();
         User mockUser = User.builder()
@@ -244,11 +243,10 @@ public class ReportControllerApiTest {
                 .build();
         List<Subscription> subscriptions = List.of(subscription);
 
-        BigDecimal transactionExpenses = new BigDecimal("200.00");
-        BigDecimal subscriptionExpenses = new BigDecimal("19.99");
-        BigDecimal expectedTotal = transactionExpenses.add(subscriptionExpenses);
+        BigDecimal transactionExpenses = new BigDecimal("219.99");
 
         when(userService.getById(userId)).thenReturn(mockUser);
+        when(transactionService.getCategoryBreakdownForCurrentMonth(wallet.getId())).thenReturn(new CategoryVector());
         when(transactionService.getTotalExpensesForCurrentMonth(wallet.getId())).thenReturn(transactionExpenses);
         when(subscriptionsService.getPaidSubscriptionsForCurrentMonth(userId)).thenReturn(subscriptions);
 
@@ -261,6 +259,7 @@ public class ReportControllerApiTest {
         mockMvc.perform(requestBuilder)
                 .andExpect(status().isOk())
                 .andExpect(view().name("report"))
-                .andExpect(model().attribute("currentMonthExpenses", expectedTotal));
+                .andExpect(model().attribute("currentMonthExpenses", transactionExpenses))
+                .andExpect(model().attribute("paidSubscriptions", subscriptions));
     }
 }
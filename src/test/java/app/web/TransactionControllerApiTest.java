@@ -1,5 +1,6 @@
 package app.web;
 
+import app.recurring.service.RecurringTransactionService;
 import app.security.UserData;
 import app.transactions.model.Category;
 import app.transactions.model.Transaction;
@@ -12,6 +13,7 @@ import app.user.model.UserVersion;
 import app.user.repository.UserRepository;
 import app.user.service.UserService;
 import app.wallet.model.Wallet;
+import app.wallet.service.WalletService;
 import app.web.dto.TransactionDto;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -44,6 +46,12 @@ public class TransactionControllerApiTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private RecurringTransactionService recurringTransactionService;
+
+    @MockitoBean
+    private WalletService walletService;
+
     @MockitoBean
     private UserRepository userRepository;
 
@@ -74,9 +82,12 @@ public class TransactionControllerApiTest {
                 .andExpect(model().attributeExists("transaction"))
                 .andExpect(model().attributeExists("types"))
                 .andExpect(model().attributeExists("categories"))
-                .andExpect(model().attributeExists("allTransactions"));
+                .andExpect(model().attributeExists("allTransactions"))
+                .andExpect(model().attributeExists("recurringTransactions"))
+                .andExpect(model().attributeExists("cadences"));
 
         verify(userService).getById(userId);
+        verify(recurringTransactionService).getActiveForUser(userId);
     }
 
     @Test
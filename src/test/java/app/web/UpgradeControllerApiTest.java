@@ -1,5 +1,6 @@
 package app.web;
 
+import app.currency.service.FxRateService;
 import app.payment.service.StripeService;
 import app.security.UserData;
 import app.user.model.Country;
@@ -22,6 +23,7 @@ import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilde
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Currency;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -47,6 +49,9 @@ public class UpgradeControllerApiTest {
     @MockitoBean
     private StripeService stripeService;
 
+    @MockitoBean
+    private FxRateService fxRateService;
+
     @MockitoBean
     private ApplicationEventPublisher eventPublisher;
 
@@ -127,7 +132,35 @@ public class UpgradeControllerApiTest {
         Session mockSession = mock(Session.class);
         when(mockSession.getId()).thenReturn("test_session_id");
         when(userService.getById(userId)).thenReturn(basicUser);
-        when(stripeService.createCheckoutSession(eq(basicUser), any(BigDecimal.class))).thenReturn(mockSession);
+        when(stripeService.createCheckoutSession(eq(basicUser), any(BigDecimal.class), any(Currency.class))).thenReturn(mockSession);
+
+        MockHttpServletRequestBuilder requestBuilder = post("/upgrade/create-checkout-session")
+                .with(user(mockAuth(userId)))
+                .with(csrf());
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(content().string("{\"sessionId\": \"test_session_id\"}"));
+
+        verify(stripeService).createCheckoutSession(eq(basicUser), any(BigDecimal.class), any(Currency.class));
+    }
+
+    @Test
+    void createCheckoutSession_shouldChargeInWalletCurrency_whenWalletIsNotInBgn() throws Exception {
+
+        UUID userId = UUID.randomUUID();
+        User basicUser = mockBasicUser(userId);
+        Wallet wallet = mockWallet(userId);
+        Currency eur = Currency.getInstance("EUR");
+        wallet.setCurrency(eur);
+        basicUser.setWallet(wallet);
+
+        Session mockSession = mock(Session.class);
+        when(mockSession.getId()).thenReturn("test_session_id");
+        when(userService.getById(userId)).thenReturn(basicUser);
+        when(fxRateService.convert(new BigDecimal("29.99"), Currency.getInstance("BGN"), eur))
+                .thenReturn(new BigDecimal("15.33"));
+        when(stripeService.createCheckoutSession(basicUser, new BigDecimal("15.33"), eur)).thenReturn(mockSession);
 
         MockHttpServletRequestBuilder requestBuilder = post("/upgrade/create-checkout-session")
                 .with(user(mockAuth(userId)))
@@ -137,7 +170,7 @@ public class UpgradeControllerApiTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("{\"sessionId\": \"test_session_id\"}"));
 
-        verify(stripeService).createCheckoutSession(eq(basicUser), any(BigDecimal.class));
+        verify(stripeService).createCheckoutSession(basicUser, new BigDecimal("15.33"), eur);
     }
 
     @Test
@@ -158,7 +191,7 @@ public class UpgradeControllerApiTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("{\"error\": \"User is already Pro\"}"));
 
-        verify(stripeService, never()).createCheckoutSession(any(User.class), any(BigDecimal.class));
+        verify(stripeService, never()).createCheckoutSession(any(User.class), any(BigDecimal.class), any(Currency.class));
     }
 
     @Test
@@ -172,7 +205,7 @@ public class UpgradeControllerApiTest {
         StripeException stripeException = mock(StripeException.class);
         when(stripeException.getMessage()).thenReturn("Stripe error");
         when(userService.getById(userId)).thenReturn(basicUser);
-        when(stripeService.createCheckoutSession(eq(basicUser), any(BigDecimal.class)))
+        when(stripeService.createCheckoutSession(eq(basicUser), any(BigDecimal.class), any(Currency.class)))
                 .thenThrow(stripeException);
 
         MockHttpServletRequestBuilder requestBuilder = post("/upgrade/create-checkout-session")
@@ -184,6 +217,29 @@ public class UpgradeControllerApiTest {
                 .andExpect(content().string(containsString("\"error\"")));
     }
 
+    @Test
+    void handleSuccess_shouldUpgradeUserAndRedirectToReport_whenPaymentIsComplete() throws Exception {
+
+        UUID userId = UUID.randomUUID();
+        Session mockSession = mock(Session.class);
+        when(mockSession.getStatus()).thenReturn("complete");
+        when(mockSession.getPaymentStatus()).thenReturn("paid");
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("userId", userId.toString());
+        when(mockSession.getMetadata()).thenReturn(metadata);
+        when(stripeService.retrieveSession("test_session_id")).thenReturn(mockSession);
+
+        MockHttpServletRequestBuilder requestBuilder = get("/upgrade/success")
+                .param("session_id", "test_session_id")
+                .with(user(mockAuth(userId)))
+                .with(csrf());
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/report"));
+        verify(userService).upgradeToPro(userId);
+    }
+
     @Test
     void handleSuccess_shouldRedirectToUpgradeWithError_whenPaymentNotComplete() throws Exception {
 
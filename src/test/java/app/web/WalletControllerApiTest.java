@@ -0,0 +1,131 @@
+package app.web;
+
+import app.security.UserData;
+import app.user.model.Role;
+import app.user.repository.UserRepository;
+import app.wallet.service.WalletService;
+import app.web.dto.WalletDto;
+import app.web.dto.WalletTransferDto;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(WalletController.class)
+@Import({GlobalExceptionHandler.class, TestWebMvcConfig.class})
+public class WalletControllerApiTest {
+
+    @MockitoBean
+    private WalletService walletService;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void addWallet_shouldCreateWalletAndRedirect_whenValidData() throws Exception {
+
+        UUID userId = UUID.randomUUID();
+
+        MockHttpServletRequestBuilder requestBuilder = post("/wallets/add")
+                .with(user(mockAuth(userId)))
+                .with(csrf())
+                .param("name", "Travel")
+                .param("currency", "EUR");
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/dashboard"));
+
+        ArgumentCaptor<WalletDto> captor = ArgumentCaptor.forClass(WalletDto.class);
+        verify(walletService).createWallet(eq(userId), captor.capture());
+        assertEquals("Travel", captor.getValue().getName());
+        assertEquals(Currency.getInstance("EUR"), captor.getValue().getCurrency());
+    }
+
+    @Test
+    void addWallet_shouldRedirectWithError_whenNameMissing() throws Exception {
+
+        MockHttpServletRequestBuilder requestBuilder = post("/wallets/add")
+                .with(user(mockAuth(UUID.randomUUID())))
+                .with(csrf())
+                .param("currency", "EUR");
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/dashboard?error=validation_failed"));
+
+        verifyNoInteractions(walletService);
+    }
+
+    @Test
+    void transfer_shouldMoveMoneyAndRedirect_whenValidData() throws Exception {
+
+        UUID userId = UUID.randomUUID();
+        UUID fromWalletId = UUID.randomUUID();
+        UUID toWalletId = UUID.randomUUID();
+
+        MockHttpServletRequestBuilder requestBuilder = post("/wallets/transfer")
+                .with(user(mockAuth(userId)))
+                .with(csrf())
+                .param("fromWalletId", fromWalletId.toString())
+                .param("toWalletId", toWalletId.toString())
+                .param("amount", "25.50");
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/dashboard"));
+
+        ArgumentCaptor<WalletTransferDto> captor = ArgumentCaptor.forClass(WalletTransferDto.class);
+        verify(walletService).transfer(eq(userId), captor.capture());
+        assertEquals(fromWalletId, captor.getValue().getFromWalletId());
+        assertEquals(toWalletId, captor.getValue().getToWalletId());
+        assertEquals(new BigDecimal("25.50"), captor.getValue().getAmount());
+    }
+
+    @Test
+    void transfer_shouldReturnBadRequest_whenBalanceIsInsufficient() throws Exception {
+
+        UUID userId = UUID.randomUUID();
+        when(walletService.transfer(eq(userId), any(WalletTransferDto.class)))
+                .thenThrow(new IllegalArgumentException("Insufficient balance for this transfer."));
+
+        MockHttpServletRequestBuilder requestBuilder = post("/wallets/transfer")
+                .with(user(mockAuth(userId)))
+                .with(csrf())
+                .param("fromWalletId", UUID.randomUUID().toString())
+                .param("toWalletId", UUID.randomUUID().toString())
+                .param("amount", "1000.00");
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(status().isBadRequest());
+    }
+
+    private UserData mockAuth(UUID id) {
+
+        return new UserData(id
+                , "testUser"
+                , "password"
+                , "test@example.com"
+                , Role.USER
+                , true);
+    }
+}